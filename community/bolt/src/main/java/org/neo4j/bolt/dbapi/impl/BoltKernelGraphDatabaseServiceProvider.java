@@ -103,6 +103,10 @@ public class BoltKernelGraphDatabaseServiceProvider implements BoltGraphDatabase
         awaitUpToDate( bookmarks );
         InternalTransaction topLevelInternalTransaction = beginInternalTransaction( type, loginContext, clientInfo, txTimeout, txMetadata );
         KernelTransaction kernelTransaction = topLevelInternalTransaction.kernelTransaction();
+        if ( accessMode == AccessMode.READ )
+        {
+            kernelTransaction.declareReadOnly();
+        }
         if ( KernelTransaction.Type.IMPLICIT == type )
         {
             memoryTracker.allocateHeap( PeriodicBoltKernelTransaction.SHALLOW_SIZE );
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.collection.pool;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A {@link Pool} in front of a {@link LinkedQueuePool} keeping a small, bounded, number of released resources in slots picked by the releasing
+ * thread, so that a thread acquiring and releasing resources over and over, like a worker thread running one short transaction after another,
+ * gets the same resource back without going through the shared delegate pool. Threads mapping to the same slot simply compete for it,
+ * anything that doesn't fit in a slot goes to and comes from the delegate.
+ */
+public class ThreadAffinePool<R> implements Pool<R>
+{
+    public interface Monitor
+    {
+        /**
+         * @param fromSlot {@code true} if the acquired resource came from the slot of the acquiring thread, otherwise it came from the delegate.
+         */
+        void acquired( boolean fromSlot );
+
+        Monitor NO_MONITOR = fromSlot -> {};
+    }
+
+    private final LinkedQueuePool<R> delegate;
+    private final AtomicReferenceArray<R> slots;
+    private final int mask;
+    private final Monitor monitor;
+
+    /**
+     * @param delegate pool to acquire from when the slot of the acquiring thread is empty, and to release to when it is taken.
+     * @param numberOfSlots upper bound of resources kept outside of the delegate, rounded up to the closest power of two.
+     * Zero disables the slots, making this pool a pass-through to the delegate.
+     * @param monitor notified of every acquisition.
+     */
+    public ThreadAffinePool( LinkedQueuePool<R> delegate, int numberOfSlots, Monitor monitor )
+    {
+        if ( numberOfSlots < 0 )
+        {
+            throw new IllegalArgumentException( "Number of slots can not be negative, was " + numberOfSlots );
+        }
+        int size = numberOfSlots <= 1 ? numberOfSlots : Integer.highestOneBit( numberOfSlots - 1 ) << 1;
+        this.delegate = delegate;
+        this.slots = new AtomicReferenceArray<>( size );
+        this.mask = size - 1;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public R acquire()
+    {
+        if ( slots.length() > 0 )
+        {
+            R resource = slots.getAndSet( slot(), null );
+            if ( resource != null )
+            {
+                monitor.acquired( true );
+                return resource;
+            }
+        }
+        R resource = delegate.acquire();
+        monitor.acquired( false );
+        return resource;
+    }
+
+    @Override
+    public void release( R resource )
+    {
+        if ( slots.length() == 0 || !slots.compareAndSet( slot(), null, resource ) )
+        {
+            delegate.release( resource );
+        }
+    }
+
+    /**
+     * Hands all resources kept in slots back to the delegate and closes it.
+     */
+    @Override
+    public void close()
+    {
+        for ( int i = 0; i < slots.length(); i++ )
+        {
+            R resource = slots.getAndSet( i, null );
+            if ( resource != null )
+            {
+                delegate.release( resource );
+            }
+        }
+        delegate.close();
+    }
+
+    private int slot()
+    {
+        return (int) (Thread.currentThread().getId() & mask);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.collection.pool;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ThreadAffinePoolTest
+{
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger disposed = new AtomicInteger();
+    private final List<Boolean> acquisitions = new ArrayList<>();
+
+    @Test
+    void shouldHandBackResourceReleasedBySameThread()
+    {
+        ThreadAffinePool<Object> pool = new ThreadAffinePool<>( delegate(), 4, acquisitions::add );
+
+        Object first = pool.acquire();
+        pool.release( first );
+        Object second = pool.acquire();
+
+        assertThat( second ).isSameAs( first );
+        assertThat( acquisitions ).containsExactly( false, true );
+        assertThat( created.get() ).isEqualTo( 1 );
+    }
+
+    @Test
+    void shouldReleaseToDelegateWhenSlotIsTaken()
+    {
+        ThreadAffinePool<Object> pool = new ThreadAffinePool<>( delegate(), 4, acquisitions::add );
+
+        Object first = pool.acquire();
+        Object second = pool.acquire();
+        pool.release( first );
+        pool.release( second );
+        Object third = pool.acquire();
+        Object fourth = pool.acquire();
+
+        assertThat( third ).isSameAs( first );
+        assertThat( fourth ).isSameAs( second );
+        assertThat( acquisitions ).containsExactly( false, false, true, false );
+    }
+
+    @Test
+    void shouldPassThroughToDelegateWithoutSlots()
+    {
+        ThreadAffinePool<Object> pool = new ThreadAffinePool<>( delegate(), 0, acquisitions::add );
+
+        Object first = pool.acquire();
+        pool.release( first );
+        Object second = pool.acquire();
+
+        assertThat( second ).isSameAs( first );
+        assertThat( acquisitions ).containsExactly( false, false );
+    }
+
+    @Test
+    void shouldGiveResourcesKeptInSlotsBackToDelegateOnClose() throws Exception
+    {
+        ThreadAffinePool<Object> pool = new ThreadAffinePool<>( delegate(), 4, ThreadAffinePool.Monitor.NO_MONITOR );
+        Object resource = pool.acquire();
+        CompletableFuture.runAsync( () -> pool.release( pool.acquire() ) ).get();
+        pool.release( resource );
+
+        pool.close();
+
+        assertThat( disposed.get() ).isEqualTo( created.get() );
+    }
+
+    @Test
+    void shouldNotAcceptNegativeNumberOfSlots()
+    {
+        assertThatThrownBy( () -> new ThreadAffinePool<>( delegate(), -1, ThreadAffinePool.Monitor.NO_MONITOR ) )
+                .isInstanceOf( IllegalArgumentException.class );
+    }
+
+    private LinkedQueuePool<Object> delegate()
+    {
+        return new LinkedQueuePool<>( 8, () ->
+        {
+            created.incrementAndGet();
+            return new Object();
+        }, () -> false, new LinkedQueuePool.Monitor.Adapter<>()
+        {
+            @Override
+            public void disposed( Object resource )
+            {
+                disposed.incrementAndGet();
+            }
+        } );
+    }
+}
@@ -35,6 +35,8 @@ public enum Group
     PAGE_CACHE_EVICTION( "PageCacheEviction" ),
     /* Page cache background eviction. */
     PAGE_CACHE_PRE_FETCHER( "PageCachePreFetcher", ExecutorServiceFactory.cachedWithDiscard(), 4 ),
+    /* Page cache background writing of dirty pages. */
+    PAGE_CACHE_WRITER( "PageCacheWriter" ),
     /** Watch out for, and report, external manipulation of store files. */
     FILE_WATCHER( "FileWatcher", ExecutorServiceFactory.unschedulable() ),
     /** Monitor and report system-wide pauses, in case they lead to service interruption. */
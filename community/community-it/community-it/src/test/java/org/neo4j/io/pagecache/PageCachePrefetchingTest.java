@@ -27,24 +27,34 @@ import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Consumer;
 
 import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.impl.muninn.ReadAheadPolicy;
 import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.io.pagecache.tracing.cursor.DefaultPageCursorTracer;
 import org.neo4j.kernel.impl.store.NoStoreHeader;
 import org.neo4j.kernel.impl.store.format.RecordFormat;
 import org.neo4j.kernel.impl.store.format.standard.Standard;
 import org.neo4j.kernel.impl.store.record.RelationshipRecord;
+import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.test.extension.Inject;
 import org.neo4j.test.extension.pagecache.PageCacheExtension;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
 import org.neo4j.test.utils.TestDirectory;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.eclipse.collections.api.factory.Sets.immutable;
 import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
 import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.test.assertion.Assert.assertEventually;
 
 @PageCacheExtension
 class PageCachePrefetchingTest
@@ -112,6 +122,91 @@ class PageCachePrefetchingTest
         assertThat( faultsWithPreFetch ).as( "faults" ).isLessThan( faultsWithoutPreFetch );
     }
 
+    @Test
+    void stridedScanMustBeReadAheadAndReportReadAheadHits() throws Exception
+    {
+        scanner = cursor -> cursor.putBytes( PageCache.PAGE_SIZE, (byte) 0xA7 );
+        runScan( file, cursorContext, "Writer", 0 );
+
+        try ( PagedFile pagedFile = pageCache.map( file, PageCache.PAGE_SIZE, DEFAULT_DATABASE_NAME );
+              PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK | PF_READ_AHEAD, cursorContext ) )
+        {
+            // Visit every third page, backwards, and a little slowly, so the read-ahead has a chance to get in front of us.
+            for ( long pageId = 5_999; pageId >= 0; pageId -= 3 )
+            {
+                assertThat( cursor.next( pageId ) ).isTrue();
+                LockSupport.parkNanos( TimeUnit.MICROSECONDS.toNanos( 50 ) );
+            }
+            assertEventually( () -> pagedFile.pageFileCounters().readAheads(), pages -> pages > 0, 1, TimeUnit.MINUTES );
+            assertThat( pagedFile.pageFileCounters().readAheadHits() ).as( "read-ahead hits" ).isGreaterThan( 0 );
+        }
+    }
+
+    @Test
+    void scanWithoutReadAheadFlagMustReportHitsOnPagesItSteppedOverWithoutObservingThem() throws Exception
+    {
+        scanner = cursor -> cursor.putBytes( PageCache.PAGE_SIZE, (byte) 0xA7 );
+        runScan( file, cursorContext, "Writer", 0 );
+
+        try ( JobScheduler jobScheduler = new ThreadPoolJobScheduler();
+              PageCache readAheadPageCache = createPageCache( jobScheduler, ReadAheadPolicy.ALL );
+              PagedFile pagedFile = readAheadPageCache.map( file, PageCache.PAGE_SIZE, DEFAULT_DATABASE_NAME ) )
+        {
+            // Only the page faults of this cursor are observed, so the read-ahead hits are only seen when the scan faults past the read-ahead.
+            scanSlowly( pagedFile, 0 );
+            assertEventually( () -> pagedFile.pageFileCounters().readAheads(), pages -> pages > 0, 1, TimeUnit.MINUTES );
+            assertThat( pagedFile.pageFileCounters().readAheadHits() ).as( "read-ahead hits" ).isGreaterThan( 0 );
+        }
+    }
+
+    @Test
+    void scanWithoutReadAheadFlagMustNotReadAheadByDefault() throws Exception
+    {
+        scanner = cursor -> cursor.putBytes( PageCache.PAGE_SIZE, (byte) 0xA7 );
+        runScan( file, cursorContext, "Writer", 0 );
+
+        try ( JobScheduler jobScheduler = new ThreadPoolJobScheduler();
+              PageCache readAheadPageCache = createPageCache( jobScheduler, ReadAheadPolicy.REQUESTED );
+              PagedFile pagedFile = readAheadPageCache.map( file, PageCache.PAGE_SIZE, DEFAULT_DATABASE_NAME ) )
+        {
+            scanSlowly( pagedFile, 0 );
+            assertThat( pagedFile.pageFileCounters().readAheads() ).as( "read-ahead pages" ).isZero();
+        }
+    }
+
+    @Test
+    void disabledReadAheadMustNotReadAheadOfScanThatAsksForIt() throws Exception
+    {
+        scanner = cursor -> cursor.putBytes( PageCache.PAGE_SIZE, (byte) 0xA7 );
+        runScan( file, cursorContext, "Writer", 0 );
+
+        try ( JobScheduler jobScheduler = new ThreadPoolJobScheduler();
+              PageCache readAheadPageCache = createPageCache( jobScheduler, ReadAheadPolicy.DISABLED );
+              PagedFile pagedFile = readAheadPageCache.map( file, PageCache.PAGE_SIZE, DEFAULT_DATABASE_NAME ) )
+        {
+            scanSlowly( pagedFile, PF_READ_AHEAD );
+            assertThat( pagedFile.pageFileCounters().readAheads() ).as( "read-ahead pages" ).isZero();
+        }
+    }
+
+    private PageCache createPageCache( JobScheduler jobScheduler, ReadAheadPolicy readAheadPolicy )
+    {
+        MuninnPageCache.Configuration configuration = MuninnPageCache.config( 1_000 ).readAheadPolicy( readAheadPolicy );
+        return new MuninnPageCache( new SingleFilePageSwapperFactory( fs, PageCacheTracer.NULL ), jobScheduler, configuration );
+    }
+
+    private void scanSlowly( PagedFile pagedFile, int additionalPfFlags ) throws IOException
+    {
+        try ( PageCursor cursor = pagedFile.io( 0, PF_SHARED_READ_LOCK | additionalPfFlags, cursorContext ) )
+        {
+            for ( long pageId = 0; pageId < 6_000; pageId++ )
+            {
+                assertThat( cursor.next( pageId ) ).isTrue();
+                LockSupport.parkNanos( TimeUnit.MICROSECONDS.toNanos( 50 ) );
+            }
+        }
+    }
+
     private long runScan( Path file, CursorContext cursorContext, String threadName, int additionalPfFlags ) throws InterruptedException
     {
         long faultsWith;
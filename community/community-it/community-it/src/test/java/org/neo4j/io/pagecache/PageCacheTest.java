@@ -310,6 +310,90 @@ public abstract class PageCacheTest<T extends PageCache> extends PageCacheTestSu
         assertThat( ioCounter.get() ).isGreaterThanOrEqualTo( pagesToDirty - 30 ); // -30 because of the eviction thread
     }
 
+    @Test
+    void flushAndForceOfManyFilesMustFeedTheirIOThroughTheSharedIOPSLimiterOneAtATime() throws Exception
+    {
+        int pagesToDirty = 3_000;
+        PageCache cache = getPageCache( fs, ceilingPowerOfTwo( 4 * pagesToDirty ), PageCacheTracer.NULL );
+        int pagesPerFlush = DISABLED_BUFFER_FACTORY.equals( cache.getBufferFactory() ) ? 1 : pagecache_flush_buffer_size_in_pages.defaultValue();
+
+        AtomicInteger callbackCounter = new AtomicInteger();
+        AtomicInteger ioCounter = new AtomicInteger();
+        AtomicInteger concurrentCallbacks = new AtomicInteger();
+        AtomicInteger maxConcurrentCallbacks = new AtomicInteger();
+        PageCacheIOController ioController = new PageCacheIOController( ioCounter, pagesPerFlush, callbackCounter )
+        {
+            @Override
+            public void maybeLimitIO( int recentlyCompletedIOs, Flushable flushable, MajorFlushEvent flushEvent )
+            {
+                maxConcurrentCallbacks.accumulateAndGet( concurrentCallbacks.incrementAndGet(), Math::max );
+                super.maybeLimitIO( recentlyCompletedIOs, flushable, flushEvent );
+                concurrentCallbacks.decrementAndGet();
+            }
+        };
+
+        PagedFile pfA = cache.map( existingFile( "a" ), filePageSize, DEFAULT_DATABASE_NAME, immutable.empty(), ioController );
+        PagedFile pfB = cache.map( existingFile( "b" ), filePageSize, DEFAULT_DATABASE_NAME, immutable.empty(), ioController );
+        PagedFile pfC = cache.map( existingFile( "c" ), filePageSize, DEFAULT_DATABASE_NAME, immutable.empty(), ioController );
+        dirtyManyPages( pfA, pagesToDirty );
+        dirtyManyPages( pfB, pagesToDirty );
+        dirtyManyPages( pfC, pagesToDirty );
+
+        cache.flushAndForce( List.of( pfA, pfB, pfC ) );
+        pfA.close();
+        pfB.close();
+        pfC.close();
+
+        assertThat( callbackCounter.get() ).isGreaterThan( 0 );
+        assertThat( ioCounter.get() ).isGreaterThanOrEqualTo( 3 * pagesToDirty - 30 ); // -30 because of the eviction thread
+        assertThat( maxConcurrentCallbacks.get() ).isOne();
+    }
+
+    @Test
+    void flushAndForceOfManyFilesMustFlushFilesWrappedByDelegatingPageCacheThroughTheWrapper() throws Exception
+    {
+        PageCache cache = getPageCache( fs, 1_000, PageCacheTracer.NULL );
+        AtomicInteger wrapperFlushes = new AtomicInteger();
+        AtomicBoolean failFlush = new AtomicBoolean();
+        PageCache delegatingCache = new DelegatingPageCache( cache )
+        {
+            @Override
+            public PagedFile map( Path path, int pageSize, String databaseName, ImmutableSet<OpenOption> openOptions, IOController ioController )
+                    throws IOException
+            {
+                return new DelegatingPagedFile( super.map( path, pageSize, databaseName, openOptions, ioController ) )
+                {
+                    @Override
+                    public void flushAndForce() throws IOException
+                    {
+                        wrapperFlushes.incrementAndGet();
+                        if ( failFlush.get() )
+                        {
+                            throw new IOException( "Boom!" );
+                        }
+                        super.flushAndForce();
+                    }
+                };
+            }
+        };
+
+        try ( PagedFile wrapped = delegatingCache.map( existingFile( "a" ), filePageSize, DEFAULT_DATABASE_NAME, immutable.empty(), IOController.DISABLED );
+              PagedFile plain = cache.map( existingFile( "b" ), filePageSize, DEFAULT_DATABASE_NAME, immutable.empty(), DISABLED ) )
+        {
+            dirtyManyPages( wrapped, 10 );
+            dirtyManyPages( plain, 10 );
+
+            delegatingCache.flushAndForce( List.of( wrapped, plain ) );
+            assertThat( wrapperFlushes.get() ).isOne();
+
+            dirtyManyPages( wrapped, 10 );
+            failFlush.set( true );
+            IOException e = assertThrows( IOException.class, () -> delegatingCache.flushAndForce( List.of( wrapped, plain ) ) );
+            assertThat( e ).hasMessage( "Boom!" );
+            failFlush.set( false );
+        }
+    }
+
     private static void dirtyManyPages( PagedFile pf, int pagesToDirty ) throws IOException
     {
         dirtyManyPages( pf, pagesToDirty, NULL );
@@ -25,6 +25,7 @@ import org.eclipse.collections.impl.factory.primitive.IntSets;
 import org.eclipse.collections.impl.factory.primitive.LongLists;
 import org.junit.jupiter.api.Test;
 
+import java.io.Flushable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.OpenOption;
@@ -35,6 +36,7 @@ import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntSupplier;
 
 import org.neo4j.configuration.Config;
@@ -47,6 +49,7 @@ import org.neo4j.io.fs.FileSystemAbstraction;
 import org.neo4j.io.fs.StoreChannel;
 import org.neo4j.io.memory.ByteBuffers;
 import org.neo4j.io.pagecache.DelegatingPageSwapper;
+import org.neo4j.io.pagecache.EmptyIOController;
 import org.neo4j.io.pagecache.IOController;
 import org.neo4j.io.pagecache.PageCacheTest;
 import org.neo4j.io.pagecache.PageCursor;
@@ -57,6 +60,7 @@ import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.context.VersionContext;
 import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.tracing.BackgroundWriteEvent;
 import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.DelegatingPageCacheTracer;
 import org.neo4j.io.pagecache.tracing.EvictionEvent;
@@ -85,6 +89,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
 import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_buffered_flush_enabled;
 import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_flush_buffer_size_in_pages;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
@@ -1757,6 +1762,276 @@ public class MuninnPageCacheTest extends PageCacheTest<MuninnPageCache>
         }
     }
 
+    @Test
+    void scanResistantEvictionMustKeepHotPagesAndEvictProbationaryPages() throws IOException
+    {
+        writeInitialDataTo( file( "a" ) );
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        int maxPages = 20;
+        int hotPages = 10;
+        MuninnPageCache.Configuration configuration = MuninnPageCache.config( maxPages )
+                .pageCacheTracer( tracer )
+                .evictionPolicy( EvictionPolicy.SCAN_RESISTANT )
+                .disableEvictionThread();
+        try ( MuninnPageCache pageCache = new MuninnPageCache( new SingleFilePageSwapperFactory( fs, tracer ), jobScheduler, configuration );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() ) )
+        {
+            // Fill the whole cache. The hot pages are accessed repeatedly, the rest only once, like a scan would do.
+            for ( int pageId = 0; pageId < maxPages; pageId++ )
+            {
+                touchPage( pagedFile, pageId, PF_SHARED_WRITE_LOCK, NULL );
+            }
+            for ( int round = 0; round < 2; round++ )
+            {
+                for ( int pageId = 0; pageId < hotPages; pageId++ )
+                {
+                    touchPage( pagedFile, pageId, PF_SHARED_READ_LOCK, NULL );
+                }
+            }
+
+            pageCache.evictPages( maxPages - hotPages, 0, tracer.beginPageEvictions( maxPages - hotPages ) );
+            assertThat( tracer.evictions() ).isEqualTo( maxPages - hotPages );
+            assertThat( tracer.probationaryEvictions() ).isEqualTo( maxPages - hotPages );
+
+            var cursorTracer = new DefaultPageCursorTracer( tracer, "scanResistantEviction" );
+            try ( CursorContext cursorContext = new CursorContext( cursorTracer ) )
+            {
+                for ( int pageId = 0; pageId < hotPages; pageId++ )
+                {
+                    touchPage( pagedFile, pageId, PF_SHARED_READ_LOCK, cursorContext );
+                }
+                assertThat( cursorTracer.faults() ).isZero();
+                assertThat( cursorTracer.hits() ).isEqualTo( hotPages );
+            }
+        }
+    }
+
+    @Test
+    void touchMustLoadPagesThatAreNotInMemory() throws IOException
+    {
+        writeInitialDataTo( file( "a" ) );
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        try ( MuninnPageCache pageCache = createPageCache( fs, 20, tracer );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() ) )
+        {
+            for ( int pageId = 0; pageId < 20; pageId++ )
+            {
+                touchPage( pagedFile, pageId, PF_SHARED_WRITE_LOCK, NULL );
+            }
+            pagedFile.flushAndForce();
+            evictAllPages( pageCache );
+
+            touchPage( pagedFile, 5, PF_SHARED_READ_LOCK, NULL );
+            // Page 5 is already in memory, and pages past the end of the file are ignored.
+            assertThat( pagedFile.touch( 0, 30, NULL ) ).isEqualTo( 19 );
+            assertThat( pagedFile.touch( 0, 30, NULL ) ).isZero();
+
+            var cursorTracer = new DefaultPageCursorTracer( tracer, "touchMustLoadPagesThatAreNotInMemory" );
+            try ( CursorContext cursorContext = new CursorContext( cursorTracer ) )
+            {
+                for ( int pageId = 0; pageId < 20; pageId++ )
+                {
+                    touchPage( pagedFile, pageId, PF_SHARED_READ_LOCK, cursorContext );
+                }
+                assertThat( cursorTracer.faults() ).isZero();
+            }
+        }
+    }
+
+    @Test
+    void evictionMustNotEvictPagesOfPartitionWithinItsReservation() throws IOException
+    {
+        ensureExists( file( "b" ) );
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        MuninnPageCache.Configuration configuration = MuninnPageCache.config( 20 )
+                .pageCacheTracer( tracer )
+                .partitions( List.of( PageCachePartition.parse( "reserved:**/a:5" ) ) )
+                .disableEvictionThread();
+        try ( MuninnPageCache pageCache = new MuninnPageCache( new SingleFilePageSwapperFactory( fs, tracer ), jobScheduler, configuration );
+                PagedFile reservedFile = map( pageCache, file( "a" ), pageCache.pageSize() );
+                PagedFile otherFile = map( pageCache, file( "b" ), pageCache.pageSize() ) )
+        {
+            for ( int pageId = 0; pageId < 5; pageId++ )
+            {
+                touchPage( reservedFile, pageId, PF_SHARED_WRITE_LOCK, NULL );
+            }
+            for ( int pageId = 0; pageId < 15; pageId++ )
+            {
+                touchPage( otherFile, pageId, PF_SHARED_WRITE_LOCK, NULL );
+            }
+
+            pageCache.evictPages( 10, 0, tracer.beginPageEvictions( 10 ) );
+            assertThat( tracer.evictions() ).isEqualTo( 10 );
+            assertThat( tracer.partitionPages( "reserved" ) ).isEqualTo( 5 );
+
+            var cursorTracer = new DefaultPageCursorTracer( tracer, "reservedPartition" );
+            try ( CursorContext cursorContext = new CursorContext( cursorTracer ) )
+            {
+                for ( int pageId = 0; pageId < 5; pageId++ )
+                {
+                    touchPage( reservedFile, pageId, PF_SHARED_READ_LOCK, cursorContext );
+                }
+                assertThat( cursorTracer.faults() ).isZero();
+            }
+        }
+    }
+
+    @Test
+    void evictionMustPreferPagesOfPartitionOverItsMax() throws IOException
+    {
+        ensureExists( file( "b" ) );
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        MuninnPageCache.Configuration configuration = MuninnPageCache.config( 20 )
+                .pageCacheTracer( tracer )
+                .partitions( List.of( PageCachePartition.parse( "limited:**/b:0:5" ) ) )
+                .disableEvictionThread();
+        try ( MuninnPageCache pageCache = new MuninnPageCache( new SingleFilePageSwapperFactory( fs, tracer ), jobScheduler, configuration );
+                PagedFile otherFile = map( pageCache, file( "a" ), pageCache.pageSize() );
+                PagedFile limitedFile = map( pageCache, file( "b" ), pageCache.pageSize() ) )
+        {
+            // Both files are equally hot, but the limited file takes up more than its max.
+            for ( int round = 0; round < 3; round++ )
+            {
+                for ( int pageId = 0; pageId < 10; pageId++ )
+                {
+                    touchPage( otherFile, pageId, PF_SHARED_WRITE_LOCK, NULL );
+                    touchPage( limitedFile, pageId, PF_SHARED_WRITE_LOCK, NULL );
+                }
+            }
+
+            pageCache.evictPages( 5, 0, tracer.beginPageEvictions( 5 ) );
+            assertThat( tracer.evictions() ).isEqualTo( 5 );
+            assertThat( tracer.partitionPages( "limited" ) ).isEqualTo( 5 );
+
+            var cursorTracer = new DefaultPageCursorTracer( tracer, "limitedPartition" );
+            try ( CursorContext cursorContext = new CursorContext( cursorTracer ) )
+            {
+                for ( int pageId = 0; pageId < 10; pageId++ )
+                {
+                    touchPage( otherFile, pageId, PF_SHARED_READ_LOCK, cursorContext );
+                }
+                assertThat( cursorTracer.faults() ).isZero();
+            }
+        }
+    }
+
+    @Test
+    void pageFaultsOnEvictedPagesMustBeServedFromCompressedTier() throws IOException
+    {
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        MuninnPageCache.Configuration configuration = MuninnPageCache.config( 20 )
+                .pageCacheTracer( tracer )
+                .compressedTierSize( ByteUnit.mebiBytes( 1 ) )
+                .disableEvictionThread();
+        try ( MuninnPageCache pageCache = new MuninnPageCache( new SingleFilePageSwapperFactory( fs, tracer ), jobScheduler, configuration );
+                PagedFile pagedFile = map( pageCache, file( "a" ), pageCache.pageSize() ) )
+        {
+            for ( int pageId = 0; pageId < 10; pageId++ )
+            {
+                try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_WRITE_LOCK, NULL ) )
+                {
+                    assertTrue( cursor.next() );
+                    cursor.putLong( pageId + 1 );
+                }
+            }
+
+            pageCache.evictPages( 10, 0, tracer.beginPageEvictions( 10 ) );
+            assertThat( tracer.evictions() ).isEqualTo( 10 );
+            assertThat( pageCache.compressedTier.stores() ).isEqualTo( 10 );
+
+            long bytesRead = tracer.bytesRead();
+            for ( int pageId = 0; pageId < 10; pageId++ )
+            {
+                try ( PageCursor cursor = pagedFile.io( pageId, PF_SHARED_READ_LOCK, NULL ) )
+                {
+                    assertTrue( cursor.next() );
+                    long value;
+                    do
+                    {
+                        value = cursor.getLong();
+                    }
+                    while ( cursor.shouldRetry() );
+                    assertThat( value ).isEqualTo( pageId + 1 );
+                }
+            }
+            assertThat( pageCache.compressedTier.hits() ).isEqualTo( 10 );
+            assertThat( tracer.bytesRead() ).isEqualTo( bytesRead );
+        }
+    }
+
+    @Test
+    void backgroundWriterMustWriteDirtyPagesInFileOrderAndLeaveThemClean() throws IOException
+    {
+        AtomicInteger fileFlushes = new AtomicInteger();
+        AtomicInteger backgroundWrites = new AtomicInteger();
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer()
+        {
+            @Override
+            public MajorFlushEvent beginFileFlush( PageSwapper swapper )
+            {
+                fileFlushes.incrementAndGet();
+                return super.beginFileFlush( swapper );
+            }
+
+            @Override
+            public BackgroundWriteEvent beginBackgroundWrite( PageSwapper swapper )
+            {
+                backgroundWrites.incrementAndGet();
+                return super.beginBackgroundWrite( swapper );
+            }
+        };
+        AtomicInteger ioLimits = new AtomicInteger();
+        IOController ioController = new EmptyIOController()
+        {
+            @Override
+            public void maybeLimitIO( int recentlyCompletedIOs, Flushable flushable, MajorFlushEvent flushEvent )
+            {
+                ioLimits.incrementAndGet();
+                flushEvent.reportIO( recentlyCompletedIOs );
+            }
+        };
+        MuninnPageCache.Configuration configuration = MuninnPageCache.config( 20 )
+                .pageCacheTracer( tracer )
+                .disableEvictionThread();
+        try ( MuninnPageCache pageCache = new MuninnPageCache( new SingleFilePageSwapperFactory( fs, tracer ), jobScheduler, configuration );
+                PagedFile pagedFile = pageCache.map( file( "a" ), pageCache.pageSize(), DEFAULT_DATABASE_NAME, openOptions, ioController ) )
+        {
+            for ( int pageId = 0; pageId < 10; pageId++ )
+            {
+                touchPage( pagedFile, pageId, PF_SHARED_WRITE_LOCK, NULL );
+            }
+            assertThat( pageCache.countDirtyPages() ).isEqualTo( 10 );
+
+            assertThat( pageCache.writeDirtyPages( 4 ) ).isEqualTo( 4 );
+            assertThat( pageCache.countDirtyPages() ).isEqualTo( 6 );
+            var cursorTracer = new DefaultPageCursorTracer( tracer, "backgroundWriter" );
+            try ( CursorContext cursorContext = new CursorContext( cursorTracer );
+                    PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK | PF_NO_FAULT, cursorContext ) )
+            {
+                // Dirty the first page again, which the writer must come back around to, after it has written the rest of the file.
+                assertTrue( cursor.next() );
+                cursor.putByte( (byte) 1 );
+            }
+
+            assertThat( pageCache.writeDirtyPages( 100 ) ).isEqualTo( 7 );
+            assertThat( pageCache.countDirtyPages() ).isZero();
+            assertThat( tracer.flushes() ).isEqualTo( 11 );
+            assertThat( backgroundWrites.get() ).isEqualTo( 2 );
+            assertThat( fileFlushes.get() ).isZero();
+            // One run of pages in the first round, and two in the second, since it wraps around to the first page.
+            assertThat( ioLimits.get() ).isEqualTo( 3 );
+            assertThat( tracer.iopqPerformed() ).isPositive();
+        }
+    }
+
+    private static void touchPage( PagedFile pagedFile, long pageId, int flags, CursorContext cursorContext ) throws IOException
+    {
+        try ( PageCursor cursor = pagedFile.io( pageId, flags, cursorContext ) )
+        {
+            assertTrue( cursor.next() );
+        }
+    }
+
     @Test
     void shouldDealWithOutOfBoundsWithRetries() throws IOException
     {
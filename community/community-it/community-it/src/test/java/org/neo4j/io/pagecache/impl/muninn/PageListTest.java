@@ -2305,6 +2305,11 @@ public class PageListTest
             this.swapper = swapper;
         }
 
+        @Override
+        public void setProbationary( boolean probationary )
+        {
+        }
+
         @Override
         public void threwException( IOException exception )
         {
@@ -250,6 +250,47 @@ class DefaultPageCacheTracerTest
         assertThat( tracer.usageRatio() ).isCloseTo( 0, within( 0.0001 ) );
     }
 
+    @Test
+    void mustRecordLatenciesOfFaultsFlushesAndEvictionsPerFileAndPerTag()
+    {
+        var fileTracer = new DefaultPageFileSwapperTracer();
+        var tracedSwapper = new DummyPageSwapper( "traced", (int) ByteUnit.kibiBytes( 8 ), fileTracer );
+        try ( var cursorTracer = tracer.createPageCursorTracer( "reader" ) )
+        {
+            PinEvent pinEvent = cursorTracer.beginPin( false, 0, tracedSwapper );
+            try ( PageFaultEvent faultEvent = pinEvent.beginPageFault( 0, tracedSwapper ) )
+            {
+                try ( EvictionEvent evictionEvent = faultEvent.beginEviction( 0 ) )
+                {
+                    evictionEvent.setSwapper( tracedSwapper );
+                    evictionEvent.beginFlush( 0, tracedSwapper, pageReferenceTranslator ).done();
+                }
+            }
+            pinEvent.done();
+        }
+        try ( EvictionRunEvent evictionRunEvent = tracer.beginPageEvictions( 1 );
+              EvictionEvent evictionEvent = evictionRunEvent.beginEviction( 0 ) )
+        {
+            evictionEvent.setSwapper( tracedSwapper );
+            evictionEvent.beginFlush( 0, tracedSwapper, pageReferenceTranslator ).done();
+        }
+
+        assertEquals( 1, tracer.latencies().faults().count() );
+        assertEquals( 2, tracer.latencies().flushes().count() );
+        assertEquals( 2, tracer.latencies().evictions().count() );
+
+        assertThat( tracer.tagLatencies() ).containsOnlyKeys( "reader" );
+        assertEquals( 1, tracer.tagLatencies().get( "reader" ).faults().count() );
+        assertEquals( 1, tracer.tagLatencies().get( "reader" ).flushes().count() );
+        assertEquals( 1, tracer.tagLatencies().get( "reader" ).evictions().count() );
+
+        assertEquals( 1, fileTracer.latencies().faults().count() );
+        assertEquals( 2, fileTracer.latencies().flushes().count() );
+        assertEquals( 2, fileTracer.latencies().evictions().count() );
+        // A page fault includes the eviction it did to make room.
+        assertThat( fileTracer.latencies().faults().maxNanos() ).isGreaterThanOrEqualTo( tracer.tagLatencies().get( "reader" ).evictions().maxNanos() );
+    }
+
     private void assertCounts( long pins, long unpins, long hits, long faults, long evictions, long evictionExceptions, long flushes, long merges,
                                long bytesRead, long bytesWritten, long filesMapped, long filesUnmapped, double hitRatio, long cooperativeEvictions )
     {
@@ -19,8 +19,11 @@
  */
 package org.neo4j.io.pagecache.tracing;
 
+import java.util.Map;
+
 import org.neo4j.io.pagecache.PageSwapper;
 import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.monitoring.PageCacheLatencies;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 
 /**
@@ -97,6 +100,12 @@ public class DelegatingPageCacheTracer implements PageCacheTracer
         return delegate.beginCacheFlush();
     }
 
+    @Override
+    public BackgroundWriteEvent beginBackgroundWrite( PageSwapper swapper )
+    {
+        return delegate.beginBackgroundWrite( swapper );
+    }
+
     @Override
     public long bytesWritten()
     {
@@ -139,6 +148,12 @@ public class DelegatingPageCacheTracer implements PageCacheTracer
         return delegate.usageRatio();
     }
 
+    @Override
+    public long partitionPages( String partition )
+    {
+        return delegate.partitionPages( partition );
+    }
+
     @Override
     public long iopqPerformed()
     {
@@ -211,6 +226,12 @@ public class DelegatingPageCacheTracer implements PageCacheTracer
         delegate.cooperativeEvictions( evictions );
     }
 
+    @Override
+    public void probationaryEvictions( long evictions )
+    {
+        delegate.probationaryEvictions( evictions );
+    }
+
     @Override
     public void evictionExceptions( long evictionExceptions )
     {
@@ -241,6 +262,12 @@ public class DelegatingPageCacheTracer implements PageCacheTracer
         delegate.maxPages( maxPages, pageSize );
     }
 
+    @Override
+    public void partitionPages( String partition, long pages )
+    {
+        delegate.partitionPages( partition, pages );
+    }
+
     @Override
     public void iopq( long iopq )
     {
@@ -259,6 +286,36 @@ public class DelegatingPageCacheTracer implements PageCacheTracer
         delegate.closeCursor();
     }
 
+    @Override
+    public void faultLatency( String tag, long nanos )
+    {
+        delegate.faultLatency( tag, nanos );
+    }
+
+    @Override
+    public void flushLatency( String tag, long nanos )
+    {
+        delegate.flushLatency( tag, nanos );
+    }
+
+    @Override
+    public void evictionLatency( String tag, long nanos )
+    {
+        delegate.evictionLatency( tag, nanos );
+    }
+
+    @Override
+    public PageCacheLatencies latencies()
+    {
+        return delegate.latencies();
+    }
+
+    @Override
+    public Map<String,PageCacheLatencies> tagLatencies()
+    {
+        return delegate.tagLatencies();
+    }
+
     @Override
     public void openCursor()
     {
@@ -300,4 +357,10 @@ public class DelegatingPageCacheTracer implements PageCacheTracer
     {
         return delegate.cooperativeEvictions();
     }
+
+    @Override
+    public long probationaryEvictions()
+    {
+        return delegate.probationaryEvictions();
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyHistogramTest
+{
+    @Test
+    void emptyHistogramMustReportZeroes()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals( 0, histogram.count() );
+        assertEquals( 0, histogram.maxNanos() );
+        assertEquals( 0, histogram.valueAtPercentile( 99 ) );
+        assertEquals( 0.0, histogram.meanNanos() );
+    }
+
+    @Test
+    void bucketsMustCoverAllValuesInOrder()
+    {
+        long previousUpperBound = -1;
+        for ( long value = 0; value < 100_000; value++ )
+        {
+            int index = LatencyHistogram.bucketIndex( value );
+            assertThat( LatencyHistogram.bucketUpperBound( index ) ).isGreaterThanOrEqualTo( value );
+            assertThat( LatencyHistogram.bucketUpperBound( index ) ).isGreaterThanOrEqualTo( previousUpperBound );
+            previousUpperBound = LatencyHistogram.bucketUpperBound( index );
+        }
+        assertEquals( Long.MAX_VALUE, LatencyHistogram.bucketUpperBound( LatencyHistogram.bucketIndex( Long.MAX_VALUE ) ) );
+    }
+
+    @Test
+    void percentilesMustBeWithinBucketPrecisionOfRecordedValues()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for ( long micros = 1; micros <= 1000; micros++ )
+        {
+            histogram.record( micros * 1000 );
+        }
+
+        assertEquals( 1000, histogram.count() );
+        assertEquals( 1_000_000, histogram.maxNanos() );
+        assertEquals( 500_500.0, histogram.meanNanos() );
+        assertThat( histogram.valueAtPercentile( 50 ) ).isBetween( 500_000L, 562_500L );
+        assertThat( histogram.valueAtPercentile( 99 ) ).isBetween( 990_000L, 1_000_000L );
+        assertEquals( 1_000_000, histogram.valueAtPercentile( 100 ) );
+    }
+
+    @Test
+    void mustRecordFromConcurrentThreads() throws InterruptedException
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for ( int i = 0; i < threads.length; i++ )
+        {
+            threads[i] = new Thread( () ->
+            {
+                for ( int j = 0; j < 10_000; j++ )
+                {
+                    histogram.record( ThreadLocalRandom.current().nextLong( 1_000_000 ) );
+                }
+            } );
+            threads[i].start();
+        }
+        for ( Thread thread : threads )
+        {
+            thread.join();
+        }
+
+        assertEquals( 40_000, histogram.count() );
+        assertThat( histogram.valueAtPercentile( 100 ) ).isEqualTo( histogram.maxNanos() );
+    }
+}
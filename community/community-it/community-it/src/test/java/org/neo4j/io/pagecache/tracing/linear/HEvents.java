@@ -388,6 +388,7 @@ class HEvents
         private long filePageId;
         private Path path;
         private IOException exception;
+        private boolean probationary;
         private final long cachePageId;
 
         EvictionHEvent( LinearHistoryTracer linearHistoryTracer, long cachePageId )
@@ -408,6 +409,12 @@ class HEvents
             path = swapper == null ? null : swapper.path();
         }
 
+        @Override
+        public void setProbationary( boolean probationary )
+        {
+            this.probationary = probationary;
+        }
+
         @Override
         public void threwException( IOException exception )
         {
@@ -427,6 +434,8 @@ class HEvents
             out.print( filePageId );
             out.print( ", cachePageId:" );
             out.print( cachePageId );
+            out.print( ", probationary:" );
+            out.print( probationary );
             print( out, path );
             print( out, exception, exceptionLinePrefix );
         }
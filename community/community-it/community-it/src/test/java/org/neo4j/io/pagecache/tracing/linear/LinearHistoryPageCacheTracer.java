@@ -19,8 +19,12 @@
  */
 package org.neo4j.io.pagecache.tracing.linear;
 
+import java.util.Map;
+
 import org.neo4j.io.pagecache.PageSwapper;
 import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.monitoring.PageCacheLatencies;
+import org.neo4j.io.pagecache.tracing.BackgroundWriteEvent;
 import org.neo4j.io.pagecache.tracing.EvictionRunEvent;
 import org.neo4j.io.pagecache.tracing.MajorFlushEvent;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
@@ -97,6 +101,12 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer
         return tracer.add( new MajorFlushHEvent( tracer, null ) );
     }
 
+    @Override
+    public BackgroundWriteEvent beginBackgroundWrite( PageSwapper swapper )
+    {
+        return BackgroundWriteEvent.NULL;
+    }
+
     @Override
     public long faults()
     {
@@ -115,6 +125,12 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer
         return 0;
     }
 
+    @Override
+    public long probationaryEvictions()
+    {
+        return 0;
+    }
+
     @Override
     public long pins()
     {
@@ -187,6 +203,12 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer
         return 0d;
     }
 
+    @Override
+    public long partitionPages( String partition )
+    {
+        return 0;
+    }
+
     @Override
     public long iopqPerformed()
     {
@@ -252,6 +274,11 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer
     {
     }
 
+    @Override
+    public void probationaryEvictions( long evictions )
+    {
+    }
+
     @Override
     public void evictionExceptions( long evictionExceptions )
     {
@@ -277,6 +304,11 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer
     {
     }
 
+    @Override
+    public void partitionPages( String partition, long pages )
+    {
+    }
+
     @Override
     public void iopq( long iopq )
     {
@@ -292,6 +324,33 @@ public final class LinearHistoryPageCacheTracer implements PageCacheTracer
     {
     }
 
+    @Override
+    public void faultLatency( String tag, long nanos )
+    {
+    }
+
+    @Override
+    public void flushLatency( String tag, long nanos )
+    {
+    }
+
+    @Override
+    public void evictionLatency( String tag, long nanos )
+    {
+    }
+
+    @Override
+    public PageCacheLatencies latencies()
+    {
+        return PageCacheLatencies.EMPTY;
+    }
+
+    @Override
+    public Map<String,PageCacheLatencies> tagLatencies()
+    {
+        return Map.of();
+    }
+
     @Override
     public void openCursor()
     {
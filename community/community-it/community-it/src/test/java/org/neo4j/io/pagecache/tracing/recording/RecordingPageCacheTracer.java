@@ -20,10 +20,13 @@
 package org.neo4j.io.pagecache.tracing.recording;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.neo4j.io.pagecache.PageSwapper;
 import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.monitoring.PageCacheLatencies;
+import org.neo4j.io.pagecache.tracing.BackgroundWriteEvent;
 import org.neo4j.io.pagecache.tracing.EvictionEvent;
 import org.neo4j.io.pagecache.tracing.EvictionRunEvent;
 import org.neo4j.io.pagecache.tracing.FlushEvent;
@@ -115,6 +118,12 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
         return MajorFlushEvent.NULL;
     }
 
+    @Override
+    public BackgroundWriteEvent beginBackgroundWrite( PageSwapper swapper )
+    {
+        return BackgroundWriteEvent.NULL;
+    }
+
     @Override
     public long faults()
     {
@@ -139,6 +148,12 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
         return 0;
     }
 
+    @Override
+    public long probationaryEvictions()
+    {
+        return 0;
+    }
+
     @Override
     public long unpins()
     {
@@ -205,6 +220,12 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
         return 0d;
     }
 
+    @Override
+    public long partitionPages( String partition )
+    {
+        return 0;
+    }
+
     @Override
     public long iopqPerformed()
     {
@@ -273,6 +294,11 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
     {
     }
 
+    @Override
+    public void probationaryEvictions( long evictions )
+    {
+    }
+
     @Override
     public void evictionExceptions( long evictionExceptions )
     {
@@ -298,6 +324,11 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
     {
     }
 
+    @Override
+    public void partitionPages( String partition, long pages )
+    {
+    }
+
     @Override
     public void iopq( long iopq )
     {
@@ -313,6 +344,33 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
     {
     }
 
+    @Override
+    public void faultLatency( String tag, long nanos )
+    {
+    }
+
+    @Override
+    public void flushLatency( String tag, long nanos )
+    {
+    }
+
+    @Override
+    public void evictionLatency( String tag, long nanos )
+    {
+    }
+
+    @Override
+    public PageCacheLatencies latencies()
+    {
+        return PageCacheLatencies.EMPTY;
+    }
+
+    @Override
+    public Map<String,PageCacheLatencies> tagLatencies()
+    {
+        return Map.of();
+    }
+
     @Override
     public void openCursor()
     {
@@ -349,6 +407,11 @@ public class RecordingPageCacheTracer extends RecordingTracer implements PageCac
             this.swapper = swapper;
         }
 
+        @Override
+        public void setProbationary( boolean probationary )
+        {
+        }
+
         @Override
         public FlushEvent beginFlush( long pageRef, PageSwapper swapper, PageReferenceTranslator pageTranslator )
         {
@@ -149,6 +149,15 @@ public interface ProcedureITBase
                         "Triggers an index resample and waits for it to complete, and after that clears query caches." +
                                 " After this procedure has finished queries will be planned using the latest database " + "statistics.",
                         stringArray( "admin" ), "READ" ),
+                proc( "db.lockContention",
+                        "() :: (resourceType :: STRING?, resourceId :: INTEGER?, waits :: FLOAT?, waitTimeMillis :: FLOAT?, currentWaiters :: INTEGER?)",
+                        "List how long transactions have waited for locks, per resource type and for the most contended resources of every type. " +
+                                "The waits of resources decay over time, so that they show recent contention.",
+                        stringArray( "admin" ), "READ" ),
+                proc( "db.lockWaitForGraph",
+                        "() :: (waitingTransactionId :: STRING?, holdingTransactionId :: STRING?, resourceType :: STRING?, resourceId :: INTEGER?)",
+                        "List the transactions that are waiting for locks right now, together with the transactions that hold those locks.",
+                        stringArray( "admin" ), "READ" ),
                 proc( "db.stats.retrieve", "(section :: STRING?, config = {} :: MAP?) :: (section :: STRING?, data :: MAP?)",
                         "Retrieve statistical data about the current database. Valid sections are 'GRAPH COUNTS', 'TOKENS', 'QUERIES', 'META'",
                         stringArray( "admin" ), "READ" ),
@@ -956,6 +956,18 @@ class QueryExecutionLocksIT
             return internal.lastTransactionIdWhenStarted();
         }
 
+        @Override
+        public void declareReadOnly()
+        {
+            internal.declareReadOnly();
+        }
+
+        @Override
+        public boolean isDeclaredReadOnly()
+        {
+            return internal.isDeclaredReadOnly();
+        }
+
         @Override
         public void bindToUserTransaction( InternalTransaction internalTransaction )
         {
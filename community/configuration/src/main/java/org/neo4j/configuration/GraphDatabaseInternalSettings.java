@@ -27,7 +27,9 @@ import java.util.List;
 import java.util.Set;
 
 import org.neo4j.annotations.service.ServiceProvider;
+import org.neo4j.configuration.pagecache.PageCachePartitionsParser;
 import org.neo4j.graphdb.config.Setting;
+import org.neo4j.io.pagecache.impl.muninn.PageCachePartition;
 
 import static java.time.Duration.ofDays;
 import static java.time.Duration.ofMillis;
@@ -91,6 +93,18 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     @Description( "Include additional information in deadlock descriptions." )
     public static final Setting<Boolean> lock_manager_verbose_deadlocks = newBuilder( "unsupported.dbms.lock_manager.verbose_deadlocks", BOOL, false ).build();
 
+    @Internal
+    @Description( "Number of resources with the most lock contention that the lock manager keeps track of, per resource type. " +
+            "Zero disables tracking of individual resources, contention is still tracked per resource type." )
+    public static final Setting<Integer> lock_contention_tracked_resources =
+            newBuilder( "unsupported.dbms.lock_manager.contention.tracked_resources", INT, 16 ).addConstraint( min( 0 ) ).build();
+
+    @Internal
+    @Description( "Half-life of the lock contention tracked for individual resources, after which their wait counts and wait times have decayed " +
+            "to half, so that resources that stopped being contended make room for new ones." )
+    public static final Setting<Duration> lock_contention_half_life =
+            newBuilder( "unsupported.dbms.lock_manager.contention.half_life", DURATION, ofMinutes( 1 ) ).addConstraint( min( ofSeconds( 1 ) ) ).build();
+
     @Internal
     @Description( "Name of the tracer factory to be used. Current implementations are: null, default & verbose." )
     public static final Setting<String> tracer = newBuilder( "unsupported.dbms.tracer", STRING, null ).build();
@@ -593,6 +607,14 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<Integer> checkpoint_logical_log_keep_threshold =
             newBuilder( "unsupported.dbms.checkpoint_log.rotation.keep.files", INT, 3 ).addConstraint( range( 2, 100 ) ).build();
 
+    @Internal
+    @Description( "How long the writing of dirty pages by a checkpoint under the 'continuous' check-point policy should take. " +
+            "Such checkpoints run back to back, each writing out what was dirtied since the previous one, and are paced to write at the " +
+            "rate that would spread the amount of IO of the previous checkpoint over this duration. Recovery then has to replay at most " +
+            "about two checkpoints worth of transactions. Checkpoints that are forced, e.g. on shutdown, are not paced." )
+    public static final Setting<Duration> check_point_continuous_flush_duration =
+            newBuilder( "unsupported.dbms.checkpoint.continuous.flush_duration", DURATION, Duration.ofSeconds( 30 ) ).build();
+
     @Internal
     @Description( "Whether or not to dump system and database diagnostics. This takes a non-negligible amount of time to do and therefore " +
             "test databases can disable this to reduce startup times" )
@@ -801,6 +823,14 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<Boolean> dedicated_transaction_appender =
             newBuilder( "unsupported.dbms.tx.logs.dedicated.appender", BOOL, Boolean.FALSE ).build();
 
+    @Internal
+    @Description( "Commit latency that the dedicated transaction appender aims for when gathering transactions into batches that share a " +
+            "single force of the transaction log. Based on the observed force latency and transaction arrival rate, the appender waits for more " +
+            "transactions to arrive as long as that is expected to fit within the target. Zero means that batches are forced as soon as they are " +
+            "appended. Only used when unsupported.dbms.tx.logs.dedicated.appender is enabled." )
+    public static final Setting<Duration> group_commit_target_latency =
+            newBuilder( "unsupported.dbms.tx.logs.dedicated.appender.target_latency", DURATION, Duration.ZERO ).build();
+
     @Internal
     @Description( "Enable per page file metrics collection in a default page cache and cursor tracer." )
     public static final Setting<Boolean> per_file_metrics_counters = newBuilder( "unsupported.dbms.page.file.tracer", BOOL, false ).build();
@@ -812,10 +842,118 @@ public class GraphDatabaseInternalSettings implements SettingsDeclaration
     public static final Setting<Boolean> pagecache_warmup_legacy_profile_loader =
             newBuilder( "unsupported.dbms.memory.pagecache.warmup.legacy_profile_loader", BOOL, false ).build();
 
+    @Internal
+    @Description( "Make the database wait for the page cache warmup to complete before it is started and accepts any traffic. " +
+            "By default the warmup runs in the background, in parallel with the database serving requests." )
+    public static final Setting<Boolean> pagecache_warmup_blocking =
+            newBuilder( "unsupported.dbms.memory.pagecache.warmup.blocking", BOOL, false ).build();
+
+    @Internal
+    @Description( "Let each database profile the pages it has in the page cache, as files in its directory, and load them back into the page cache " +
+            "when it starts, as long as 'dbms.memory.pagecache.warmup.enable' is also enabled. The profiles are rewritten at the " +
+            "'dbms.memory.pagecache.warmup.profile.interval'." )
+    public static final Setting<Boolean> pagecache_warmer_enabled =
+            newBuilder( "unsupported.dbms.memory.pagecache.warmer.enable", BOOL, false ).build();
+
+    @Internal
+    @Description( "Use native positioned vectored io (preadv/pwritev) for multi-page reads and writes of the page cache, when available. " +
+            "This lets concurrent vectored page cache io on the same file proceed without serialising on the file channel position lock. " +
+            "Falls back to file channel based io on platforms where native access is not available." )
+    public static final Setting<Boolean> pagecache_native_vectored_io =
+            newBuilder( "unsupported.dbms.memory.pagecache.native_vectored_io", BOOL, false ).build();
+
+    public enum PageCacheEvictionPolicy
+    {
+        CLOCK, SCAN_RESISTANT
+    }
+
+    @Internal
+    @Description( "The policy used by the page cache to select pages for eviction. " +
+            "CLOCK is the classic clock sweep. SCAN_RESISTANT first evicts pages that have not been accessed again since they were loaded, " +
+            "which keeps large one-off scans from pushing the frequently accessed pages out of the page cache." )
+    public static final Setting<PageCacheEvictionPolicy> pagecache_eviction_policy =
+            newBuilder( "unsupported.dbms.memory.pagecache.eviction_policy", ofEnum( PageCacheEvictionPolicy.class ), PageCacheEvictionPolicy.CLOCK )
+                    .build();
+
+    public enum PageCacheReadAhead
+    {
+        DISABLED, REQUESTED, ALL
+    }
+
+    @Internal
+    @Description( "Which page accesses the page cache detects strided access patterns in, to read ahead of them. " +
+            "DISABLED never reads ahead. REQUESTED reads ahead of the cursors that ask for it, like store scans. ALL also reads ahead of the " +
+            "page faults of all other cursors, like index seeks and relationship chain traversals." )
+    public static final Setting<PageCacheReadAhead> pagecache_read_ahead =
+            newBuilder( "unsupported.dbms.memory.pagecache.read_ahead", ofEnum( PageCacheReadAhead.class ), PageCacheReadAhead.REQUESTED ).build();
+
+    @Internal
+    @Description( "Page cache partitions, that divide the page cache between groups of store files. Each partition is given as " +
+            "`name:glob:reserved:max`, where the glob is matched against the paths of the mapped files, and a file belongs to the first " +
+            "partition it matches. The eviction leaves the pages of a partition alone while it occupies no more than `reserved` pages, " +
+            "and evicts its pages first when it occupies more than `max` pages. The `max` part can be left out. At most half of the " +
+            "page cache can be reserved. The glob can contain colons, like the drive letter of a Windows path, and commas within braces, " +
+            "like `**/{index,schema}/**`. For example `indexes:**/index/**:10000:100000`." )
+    public static final Setting<List<PageCachePartition>> pagecache_partitions =
+            newBuilder( "unsupported.dbms.memory.pagecache.partitions", new PageCachePartitionsParser(), List.of() ).build();
+
+    @Internal
+    @Description( "The size of the compressed tier of the page cache, that keeps recently evicted pages compressed in memory, so that page " +
+            "faults on them can be served without reading from the store files. The tier is allocated off-heap, in addition to the page " +
+            "cache memory. Zero disables the tier." )
+    public static final Setting<Long> pagecache_compressed_tier_size =
+            newBuilder( "unsupported.dbms.memory.pagecache.compressed_tier.size", BYTES, 0L ).addConstraint( min( 0L ) ).build();
+
+    @Internal
+    @Description( "The percentage of the page cache that is allowed to be dirty, before a background writer starts writing dirty pages to " +
+            "the store files, in file order. This leaves less to flush for checkpoints, and lets eviction evict pages without flushing them " +
+            "first. The writes are limited by the IO controller of the database. Zero disables the background writer." )
+    public static final Setting<Integer> pagecache_target_dirty_percentage =
+            newBuilder( "unsupported.dbms.memory.pagecache.background_writer.target_dirty_percentage", INT, 0 ).addConstraint( range( 0, 100 ) ).build();
+
+    public enum PageCacheHugePages
+    {
+        DISABLED, TRANSPARENT, EXPLICIT
+    }
+
+    @Internal
+    @Description( "How the page cache memory is backed by huge pages, which reduces the TLB misses of random page accesses in large page caches. " +
+            "DISABLED allocates the memory with the system allocator. TRANSPARENT maps memory aligned to the huge page size, and advises the " +
+            "operating system to back it with transparent huge pages. EXPLICIT maps memory from the huge pages reserved in the operating system, " +
+            "and falls back to TRANSPARENT when they are used up. Memory is allocated with the system allocator if it cannot be mapped." )
+    public static final Setting<PageCacheHugePages> pagecache_huge_pages =
+            newBuilder( "unsupported.dbms.memory.pagecache.huge_pages", ofEnum( PageCacheHugePages.class ), PageCacheHugePages.DISABLED ).build();
+
+    @Internal
+    @Description( "Allocate all of the page cache memory at startup, and write to it so the operating system backs it with physical memory " +
+            "right away. This makes startup slower, but avoids the latency of faulting the memory in while the database is serving requests." )
+    public static final Setting<Boolean> pagecache_pretouch =
+            newBuilder( "unsupported.dbms.memory.pagecache.pretouch", BOOL, false ).build();
+
     @Internal
     @Description( "Enables sketching of next transaction log file in the background during reverse recovery." )
     public static final Setting<Boolean> pre_sketch_transaction_logs = newBuilder( "unsupported.dbms.tx_log.presketch", BOOL, false ).build();
 
+    @Internal
+    @Description( "Compress transactions with zstd before appending them to the transaction log. Only applies to log files created after " +
+            "the setting is enabled, since those get a log format version that older versions of Neo4j are unable to read. " +
+            "Small transactions, and transactions that don't compress well, are written uncompressed." )
+    public static final Setting<Boolean> compress_transaction_logs = newBuilder( "unsupported.dbms.tx_log.compression", BOOL, false ).build();
+
+    @Internal
+    @Description( "Number of pruned transaction log files to keep around, zero filled, for reuse by later log rotations. " +
+            "Reusing a fully written file means appends never extend it, so forcing it does not have to update file system metadata. " +
+            "Zero disables recycling and pruned log files are deleted." )
+    public static final Setting<Integer> recycled_transaction_log_files =
+            newBuilder( "unsupported.dbms.tx_log.recycled_files", INT, 0 ).addConstraint( min( 0 ) ).build();
+
+    @Internal
+    @Description( "Record the log position of every n:th transaction in a sparse index next to the transaction logs, so that looking up " +
+            "a transaction that is no longer cached only has to read forward from the closest recorded transaction before it, instead of " +
+            "scanning the log files. Zero disables the index." )
+    public static final Setting<Integer> transaction_log_position_index_interval =
+            newBuilder( "unsupported.dbms.tx_log.position_index_interval", INT, 0 ).addConstraint( min( 0 ) ).build();
+
     @Internal
     @Description( "Maximum size after which the planner will not attempt to plan the disjunction of predicates on a single variable as a distinct union." +
               "For example, given the following pattern: `()-[e:FOO|BAR|BAZ]->()`, the planner will attempt to plan a union of `e:Foo`, `e:Bar`, and `e:Baz`" +
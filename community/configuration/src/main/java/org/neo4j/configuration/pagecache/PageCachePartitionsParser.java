@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.configuration.pagecache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.neo4j.configuration.SettingValueParser;
+import org.neo4j.io.pagecache.impl.muninn.PageCachePartition;
+
+/**
+ * Parses a comma separated list of page cache partition definitions, see {@link PageCachePartition#parse(String)}. Commas within the braces or
+ * brackets of a glob, like {@code {a,b}}, don't separate definitions, and colons within a glob, like the drive letter of a Windows
+ * path, are left to the partition parser, so that such globs survive the parsing and malformed definitions are rejected with the rest of the config.
+ */
+public class PageCachePartitionsParser implements SettingValueParser<List<PageCachePartition>>
+{
+    private static final char SEPARATOR = ',';
+
+    @Override
+    public List<PageCachePartition> parse( String value )
+    {
+        List<PageCachePartition> partitions = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for ( int i = 0; i < value.length(); i++ )
+        {
+            char c = value.charAt( i );
+            if ( c == '{' || c == '[' )
+            {
+                depth++;
+            }
+            else if ( ( c == '}' || c == ']' ) && depth > 0 )
+            {
+                depth--;
+            }
+            else if ( c == SEPARATOR && depth == 0 )
+            {
+                addPartition( partitions, value.substring( start, i ) );
+                start = i + 1;
+            }
+        }
+        if ( depth > 0 )
+        {
+            throw new IllegalArgumentException( "Page cache partitions '" + value + "' has an unclosed brace or bracket." );
+        }
+        addPartition( partitions, value.substring( start ) );
+        return List.copyOf( partitions );
+    }
+
+    private static void addPartition( List<PageCachePartition> partitions, String definition )
+    {
+        if ( !definition.isBlank() )
+        {
+            partitions.add( PageCachePartition.parse( definition ) );
+        }
+    }
+
+    @Override
+    public String getDescription()
+    {
+        return "a ',' separated list of page cache partitions on the form 'name:glob:reserved:max'.";
+    }
+
+    @SuppressWarnings( "unchecked" )
+    @Override
+    public Class<List<PageCachePartition>> getType()
+    {
+        return (Class<List<PageCachePartition>>) (Class<?>) List.class;
+    }
+
+    @Override
+    public String valueToString( List<PageCachePartition> value )
+    {
+        return value.stream().map( PageCachePartition::toString ).collect( Collectors.joining( String.valueOf( SEPARATOR ) ) );
+    }
+}
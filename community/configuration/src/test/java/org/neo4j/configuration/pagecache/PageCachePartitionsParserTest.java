@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.configuration.pagecache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.io.pagecache.impl.muninn.PageCachePartition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_partitions;
+
+class PageCachePartitionsParserTest
+{
+    private final PageCachePartitionsParser parser = new PageCachePartitionsParser();
+
+    @Test
+    void parseDefinitionsWithAndWithoutMaxPages()
+    {
+        List<PageCachePartition> partitions = parser.parse( "reserved:**/a:5, limited:**/b:0:10" );
+
+        assertThat( partitions ).hasSize( 2 );
+        assertPartition( partitions.get( 0 ), "reserved", "**/a", 5, Long.MAX_VALUE );
+        assertPartition( partitions.get( 1 ), "limited", "**/b", 0, 10 );
+    }
+
+    @Test
+    void globWithCommaWithinBracesMustNotSplitTheDefinition()
+    {
+        List<PageCachePartition> partitions = parser.parse( "indexes:**/{index,schema}/**:10:20,other:**/[a,b]*:5" );
+
+        assertThat( partitions ).hasSize( 2 );
+        assertPartition( partitions.get( 0 ), "indexes", "**/{index,schema}/**", 10, 20 );
+        assertPartition( partitions.get( 1 ), "other", "**/[a,b]*", 5, Long.MAX_VALUE );
+    }
+
+    @Test
+    void globWithDriveLetterMustKeepItsColon()
+    {
+        List<PageCachePartition> partitions = parser.parse( "limited:C:\\\\data\\\\**:10:20,reserved:D:\\\\**:5" );
+
+        assertThat( partitions ).hasSize( 2 );
+        assertPartition( partitions.get( 0 ), "limited", "C:\\\\data\\\\**", 10, 20 );
+        assertPartition( partitions.get( 1 ), "reserved", "D:\\\\**", 5, Long.MAX_VALUE );
+    }
+
+    @Test
+    void valueToStringMustParseBackToTheSamePartitions()
+    {
+        List<PageCachePartition> partitions = parser.parse( "indexes:**/{index,schema}/**:10:20,limited:C:\\\\data\\\\**:5" );
+
+        List<PageCachePartition> reparsed = parser.parse( parser.valueToString( partitions ) );
+
+        assertEquals( partitions.toString(), reparsed.toString() );
+    }
+
+    @Test
+    void rejectMalformedDefinitions()
+    {
+        assertThrows( IllegalArgumentException.class, () -> parser.parse( "nameonly" ) );
+        assertThrows( IllegalArgumentException.class, () -> parser.parse( "name:**/a" ) );
+        assertThrows( IllegalArgumentException.class, () -> parser.parse( ":**/a:5" ) );
+        assertThrows( IllegalArgumentException.class, () -> parser.parse( "name::5" ) );
+        assertThrows( IllegalArgumentException.class, () -> parser.parse( "name:**/a:10:5" ) );
+        assertThrows( IllegalArgumentException.class, () -> parser.parse( "name:**/{a,b:5" ) );
+    }
+
+    @Test
+    void rejectMalformedDefinitionsWhenConfigIsParsed()
+    {
+        Config.Builder builder = Config.newBuilder().setRaw( Map.of( pagecache_partitions.name(), "indexes:**/index/**:many" ) );
+
+        assertThrows( IllegalArgumentException.class, builder::build );
+    }
+
+    @Test
+    void configMustParseGlobsWithCommasAndColons()
+    {
+        Config config = Config.newBuilder().setRaw( Map.of( pagecache_partitions.name(), "indexes:**/{index,schema}/**:10:20,limited:C:\\\\**:5" ) ).build();
+
+        List<PageCachePartition> partitions = config.get( pagecache_partitions );
+        assertThat( partitions ).hasSize( 2 );
+        assertPartition( partitions.get( 0 ), "indexes", "**/{index,schema}/**", 10, 20 );
+        assertPartition( partitions.get( 1 ), "limited", "C:\\\\**", 5, Long.MAX_VALUE );
+    }
+
+    private static void assertPartition( PageCachePartition partition, String name, String glob, long reservedPages, long maxPages )
+    {
+        assertEquals( name, partition.name() );
+        assertEquals( glob, partition.glob() );
+        assertEquals( reservedPages, partition.reservedPages() );
+        assertEquals( maxPages, partition.maxPages() );
+    }
+}
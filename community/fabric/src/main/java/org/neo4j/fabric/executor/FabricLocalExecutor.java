@@ -164,6 +164,11 @@ public class FabricLocalExecutor
             var executionEngine = dependencyResolver.resolveDependency( ExecutionEngine.class );
 
             var internalTransaction = beginInternalTransaction( databaseFacade, transactionInfo );
+            if ( accessMode == AccessMode.READ )
+            {
+                // A reading-only transaction can never be upgraded to a writing one, so the kernel can skip its write side
+                internalTransaction.kernelTransaction().declareReadOnly();
+            }
 
             var queryService = dependencyResolver.resolveDependency( GraphDatabaseQueryService.class );
             var transactionalContextFactory = Neo4jTransactionalContextFactory.create( queryService );
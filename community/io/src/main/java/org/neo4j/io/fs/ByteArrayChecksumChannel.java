@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.fs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.Checksum;
+
+import static org.neo4j.io.fs.ChecksumWriter.CHECKSUM_FACTORY;
+import static org.neo4j.io.fs.PhysicalFlushableChecksumChannel.DISABLE_WAL_CHECKSUM;
+
+/**
+ * A heap backed channel that can be written to and then read back, calculating checksums the same way as
+ * {@link PhysicalFlushableChecksumChannel} and {@link ReadAheadChannel} do. Useful for staging data that is going to be transformed,
+ * e.g. compressed, before it reaches a physical channel, and for reading such data back once it has been restored.
+ * <p>
+ * The backing array grows as needed. Call {@link #clear()} before writing and {@link #prepareForReading(int)} before reading.
+ */
+public class ByteArrayChecksumChannel implements WritableChecksumChannel, ReadableChecksumChannel
+{
+    private final Checksum checksum = CHECKSUM_FACTORY.get();
+    private ByteBuffer buffer;
+    private int checksumStart;
+
+    public ByteArrayChecksumChannel( int initialCapacity )
+    {
+        this.buffer = ByteBuffer.allocate( initialCapacity );
+    }
+
+    /**
+     * Forget all content and prepare for writing from the beginning of the backing array.
+     */
+    public void clear()
+    {
+        buffer.clear();
+        checksumStart = 0;
+    }
+
+    /**
+     * Prepare for reading {@code length} bytes from the beginning of the backing array. The returned array is the backing array, into
+     * which the caller is expected to put the content that is going to be read.
+     *
+     * @param length number of bytes that will be readable.
+     * @return the backing array, of at least {@code length} bytes.
+     */
+    public byte[] prepareForReading( int length )
+    {
+        buffer.clear();
+        ensureCapacity( length );
+        buffer.limit( length );
+        checksumStart = 0;
+        return buffer.array();
+    }
+
+    /**
+     * @return the backing array, containing the written content in the range {@code [0, size())}.
+     */
+    public byte[] array()
+    {
+        return buffer.array();
+    }
+
+    /**
+     * @return the number of bytes written since the last {@link #clear()}, or read since the last {@link #prepareForReading(int)}.
+     */
+    public int size()
+    {
+        return buffer.position();
+    }
+
+    /**
+     * @return {@code true} if there are unread bytes left.
+     */
+    public boolean hasRemaining()
+    {
+        return buffer.hasRemaining();
+    }
+
+    @Override
+    public void beginChecksum()
+    {
+        checksumStart = buffer.position();
+    }
+
+    @Override
+    public int putChecksum() throws IOException
+    {
+        if ( DISABLE_WAL_CHECKSUM )
+        {
+            putInt( 0xDEAD5EED );
+            return 0xDEAD5EED;
+        }
+        int checksum = calculateChecksum();
+        putInt( checksum );
+        return checksum;
+    }
+
+    @Override
+    public int endChecksumAndValidate() throws IOException
+    {
+        ensureDataExists( Integer.BYTES );
+        if ( DISABLE_WAL_CHECKSUM )
+        {
+            buffer.getInt();
+            return 0xDEAD5EED;
+        }
+
+        int calculatedChecksum = calculateChecksum();
+        int checksum = buffer.getInt();
+        if ( calculatedChecksum != checksum )
+        {
+            throw new ChecksumMismatchException( checksum, calculatedChecksum );
+        }
+        beginChecksum();
+        return calculatedChecksum;
+    }
+
+    @Override
+    public ByteArrayChecksumChannel put( byte value )
+    {
+        ensureCapacity( buffer.position() + Byte.BYTES );
+        buffer.put( value );
+        return this;
+    }
+
+    @Override
+    public ByteArrayChecksumChannel putShort( short value )
+    {
+        ensureCapacity( buffer.position() + Short.BYTES );
+        buffer.putShort( value );
+        return this;
+    }
+
+    @Override
+    public ByteArrayChecksumChannel putInt( int value )
+    {
+        ensureCapacity( buffer.position() + Integer.BYTES );
+        buffer.putInt( value );
+        return this;
+    }
+
+    @Override
+    public ByteArrayChecksumChannel putLong( long value )
+    {
+        ensureCapacity( buffer.position() + Long.BYTES );
+        buffer.putLong( value );
+        return this;
+    }
+
+    @Override
+    public ByteArrayChecksumChannel putFloat( float value )
+    {
+        ensureCapacity( buffer.position() + Float.BYTES );
+        buffer.putFloat( value );
+        return this;
+    }
+
+    @Override
+    public ByteArrayChecksumChannel putDouble( double value )
+    {
+        ensureCapacity( buffer.position() + Double.BYTES );
+        buffer.putDouble( value );
+        return this;
+    }
+
+    @Override
+    public ByteArrayChecksumChannel put( byte[] value, int offset, int length )
+    {
+        ensureCapacity( buffer.position() + length );
+        buffer.put( value, offset, length );
+        return this;
+    }
+
+    @Override
+    public byte get() throws IOException
+    {
+        ensureDataExists( Byte.BYTES );
+        return buffer.get();
+    }
+
+    @Override
+    public short getShort() throws IOException
+    {
+        ensureDataExists( Short.BYTES );
+        return buffer.getShort();
+    }
+
+    @Override
+    public int getInt() throws IOException
+    {
+        ensureDataExists( Integer.BYTES );
+        return buffer.getInt();
+    }
+
+    @Override
+    public long getLong() throws IOException
+    {
+        ensureDataExists( Long.BYTES );
+        return buffer.getLong();
+    }
+
+    @Override
+    public float getFloat() throws IOException
+    {
+        ensureDataExists( Float.BYTES );
+        return buffer.getFloat();
+    }
+
+    @Override
+    public double getDouble() throws IOException
+    {
+        ensureDataExists( Double.BYTES );
+        return buffer.getDouble();
+    }
+
+    @Override
+    public void get( byte[] bytes, int length ) throws IOException
+    {
+        ensureDataExists( length );
+        buffer.get( bytes, 0, length );
+    }
+
+    @Override
+    public void close()
+    {
+        // nothing to close
+    }
+
+    private int calculateChecksum()
+    {
+        checksum.reset();
+        checksum.update( buffer.array(), checksumStart, buffer.position() - checksumStart );
+        return (int) checksum.getValue();
+    }
+
+    private void ensureDataExists( int bytes ) throws ReadPastEndException
+    {
+        if ( buffer.remaining() < bytes )
+        {
+            throw ReadPastEndException.INSTANCE;
+        }
+    }
+
+    private void ensureCapacity( int capacity )
+    {
+        if ( capacity > buffer.capacity() )
+        {
+            int position = buffer.position();
+            int newCapacity = Math.max( capacity, buffer.capacity() << 1 );
+            buffer = ByteBuffer.wrap( Arrays.copyOf( buffer.array(), newCapacity ) );
+            buffer.position( position );
+        }
+    }
+}
@@ -19,12 +19,17 @@
  */
 package org.neo4j.io.mem;
 
+import org.neo4j.internal.nativeimpl.NativeAccess;
+import org.neo4j.internal.nativeimpl.NativeAccessProvider;
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.memory.MemoryTracker;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.ref.Cleaner;
 
 import static org.neo4j.io.ByteUnit.kibiBytes;
+import static org.neo4j.io.ByteUnit.mebiBytes;
 import static org.neo4j.util.FeatureToggles.getInteger;
 
 /**
@@ -48,7 +53,21 @@ public final class GrabAllocator implements MemoryAllocator
      */
     GrabAllocator( long expectedMaxMemory, MemoryTracker memoryTracker )
     {
-        this.grabs = new Grabs( expectedMaxMemory, memoryTracker );
+        this( expectedMaxMemory, HugePages.DISABLED, false, memoryTracker );
+    }
+
+    /**
+     * Create a new GrabAllocator that will allocate the given amount of memory, backed by huge pages as requested.
+     *
+     * @param expectedMaxMemory The maximum amount of memory that this memory manager is expected to allocate.
+     * @param hugePages how the grabs should be backed by huge pages. Memory is allocated with the system allocator if it cannot be mapped.
+     * @param preTouch true if all of the expected memory should be allocated up front, and written to so the operating system backs it with physical
+     * memory right away, rather than on first access.
+     * @param memoryTracker memory usage tracker
+     */
+    GrabAllocator( long expectedMaxMemory, HugePages hugePages, boolean preTouch, MemoryTracker memoryTracker )
+    {
+        this.grabs = new Grabs( expectedMaxMemory, hugePages, preTouch, memoryTracker );
         this.cleanable = globalCleaner.register( this, new GrabsDeallocator( grabs ) );
     }
 
@@ -81,6 +100,7 @@ public final class GrabAllocator implements MemoryAllocator
         public final Grab next;
         private final long address;
         private final long limit;
+        private final boolean mapped;
         private final MemoryTracker memoryTracker;
         private long nextPointer;
 
@@ -89,16 +109,18 @@ public final class GrabAllocator implements MemoryAllocator
             this.next = next;
             this.address = UnsafeUtil.allocateMemory( size, memoryTracker );
             this.limit = address + size;
+            this.mapped = false;
             this.memoryTracker = memoryTracker;
             nextPointer = address;
         }
 
-        Grab( Grab next, long address, long limit, long nextPointer, MemoryTracker memoryTracker )
+        Grab( Grab next, long address, long limit, long nextPointer, boolean mapped, MemoryTracker memoryTracker )
         {
             this.next = next;
             this.address = address;
             this.limit = limit;
             this.nextPointer = nextPointer;
+            this.mapped = mapped;
             this.memoryTracker = memoryTracker;
         }
 
@@ -125,7 +147,36 @@ public final class GrabAllocator implements MemoryAllocator
 
         void free()
         {
-            UnsafeUtil.free( address, limit - address, memoryTracker );
+            if ( !mapped )
+            {
+                UnsafeUtil.free( address, limit - address, memoryTracker );
+                return;
+            }
+            UnsafeUtil.unregisterAllocation( address );
+            try
+            {
+                NativeAccessProvider.getNativeAccess().unmapMemory( address, limit - address );
+            }
+            catch ( IOException e )
+            {
+                throw new UncheckedIOException( e );
+            }
+            finally
+            {
+                memoryTracker.releaseNative( limit - address );
+            }
+        }
+
+        /**
+         * Write to every operating system page of this grab, so they are all backed by physical memory.
+         */
+        void touch()
+        {
+            long stride = UnsafeUtil.pageSize();
+            for ( long pointer = address; pointer < limit; pointer += stride )
+            {
+                UnsafeUtil.putByte( pointer, (byte) 0 );
+            }
         }
 
         boolean canAllocate( long bytes, long alignment )
@@ -135,7 +186,7 @@ public final class GrabAllocator implements MemoryAllocator
 
         Grab setNext( Grab grab )
         {
-            return new Grab( grab, address, limit, nextPointer, memoryTracker );
+            return new Grab( grab, address, limit, nextPointer, mapped, memoryTracker );
         }
 
         @Override
@@ -155,14 +206,39 @@ public final class GrabAllocator implements MemoryAllocator
          */
         private static final long GRAB_SIZE = getInteger( GrabAllocator.class, "GRAB_SIZE", (int) kibiBytes( 512 ) );
 
+        /**
+         * The size, in bytes, of a huge page. Grabs backed by huge pages are aligned to, and a multiple of, this size.
+         */
+        private static final long HUGE_PAGE_SIZE = getInteger( GrabAllocator.class, "HUGE_PAGE_SIZE", (int) mebiBytes( 2 ) );
+
         private final MemoryTracker memoryTracker;
+        private final long grabSize;
+        private HugePages hugePages;
         private long expectedMaxMemory;
         private Grab head;
+        // Grabs that have been allocated and touched up front, but not used yet. Linked through their next field.
+        private Grab preTouched;
 
-        Grabs( long expectedMaxMemory, MemoryTracker memoryTracker )
+        Grabs( long expectedMaxMemory, HugePages hugePages, boolean preTouch, MemoryTracker memoryTracker )
         {
             this.expectedMaxMemory = expectedMaxMemory;
             this.memoryTracker = memoryTracker;
+            this.hugePages = NativeAccessProvider.getNativeAccess().isAvailable() ? hugePages : HugePages.DISABLED;
+            this.grabSize = this.hugePages == HugePages.DISABLED ? GRAB_SIZE : roundUpToHugePage( Math.max( GRAB_SIZE, HUGE_PAGE_SIZE ) );
+            if ( preTouch )
+            {
+                // Take all the expected memory up front, in the grabs we would otherwise take as we go, so the cost of faulting it in is paid
+                // here rather than on first access. Grabbing it in one piece would make every allocation beyond it a grab of its own.
+                // Any partial grab goes first, so that it ends up at the bottom of the stack, below the full sized ones.
+                for ( long remaining = expectedMaxMemory; remaining > 0; )
+                {
+                    long size = remaining % grabSize == 0 ? grabSize : remaining % grabSize;
+                    Grab grab = newGrab( preTouched, size );
+                    grab.touch();
+                    preTouched = grab;
+                    remaining -= size;
+                }
+            }
         }
 
         long usedMemory()
@@ -190,14 +266,21 @@ public final class GrabAllocator implements MemoryAllocator
 
         public void close()
         {
-            Grab current = head;
+            freeAll( head );
+            freeAll( preTouched );
+            head = null;
+            preTouched = null;
+        }
+
+        private static void freeAll( Grab grab )
+        {
+            Grab current = grab;
 
             while ( current != null )
             {
                 current.free();
                 current = current.next;
             }
-            head = null;
         }
 
         long allocateAligned( long bytes, long alignment )
@@ -206,19 +289,19 @@ public final class GrabAllocator implements MemoryAllocator
             {
                 throw new IllegalArgumentException( "Invalid alignment: " + alignment + ". Alignment must be positive." );
             }
-            long grabSize = Math.min( GRAB_SIZE, expectedMaxMemory );
+            long grabSize = Math.min( this.grabSize, expectedMaxMemory );
             long maxAllocationSize = bytes + alignment - 1;
-            if ( maxAllocationSize > GRAB_SIZE )
+            if ( maxAllocationSize > this.grabSize && (head == null || !head.canAllocate( bytes, alignment )) )
             {
                 // This is a huge allocation. Put it in its own grab and keep any existing grab at the head.
                 grabSize = bytes;
                 Grab nextGrab = head == null ? null : head.next;
-                Grab allocationGrab = new Grab( nextGrab, grabSize, memoryTracker );
+                Grab allocationGrab = newGrab( nextGrab, grabSize );
                 if ( !allocationGrab.canAllocate( bytes, alignment ) )
                 {
                     allocationGrab.free();
                     grabSize = maxAllocationSize;
-                    allocationGrab = new Grab( nextGrab, grabSize, memoryTracker );
+                    allocationGrab = newGrab( nextGrab, grabSize );
                 }
                 long allocation = allocationGrab.allocate( bytes, alignment );
                 head = head == null ? allocationGrab : head.setNext( allocationGrab );
@@ -231,7 +314,7 @@ public final class GrabAllocator implements MemoryAllocator
                 if ( grabSize < maxAllocationSize )
                 {
                     grabSize = bytes;
-                    Grab grab = new Grab( head, grabSize, memoryTracker );
+                    Grab grab = newGrab( head, grabSize );
                     if ( grab.canAllocate( bytes, alignment ) )
                     {
                         expectedMaxMemory -= grabSize;
@@ -241,11 +324,87 @@ public final class GrabAllocator implements MemoryAllocator
                     grab.free();
                     grabSize = maxAllocationSize;
                 }
-                head = new Grab( head, grabSize, memoryTracker );
+                head = newGrab( head, grabSize );
                 expectedMaxMemory -= grabSize;
             }
             return head.allocate( bytes, alignment );
         }
+
+        private Grab newGrab( Grab next, long size )
+        {
+            if ( preTouched != null && preTouched.canAllocate( size, 1 ) )
+            {
+                Grab grab = preTouched;
+                preTouched = grab.next;
+                return grab.setNext( next );
+            }
+            if ( hugePages == HugePages.EXPLICIT )
+            {
+                Grab grab = tryMapGrab( next, roundUpToHugePage( size ), true );
+                if ( grab != null )
+                {
+                    return grab;
+                }
+                // The reserved huge pages are used up, or were never reserved. Do not keep asking for them.
+                hugePages = HugePages.TRANSPARENT;
+            }
+            if ( hugePages == HugePages.TRANSPARENT )
+            {
+                Grab grab = tryMapGrab( next, size, false );
+                if ( grab != null )
+                {
+                    return grab;
+                }
+            }
+            return new Grab( next, size, memoryTracker );
+        }
+
+        private Grab tryMapGrab( Grab next, long size, boolean hugeTlb )
+        {
+            NativeAccess nativeAccess = NativeAccessProvider.getNativeAccess();
+            // Mappings are made of whole operating system pages, so that is what the grab gets, and what it is charged for.
+            size = roundUpToOsPage( size );
+            // Transparent huge pages can only back the parts of a mapping that are aligned to the huge page size,
+            // so we over-map by one huge page, and give back the unaligned ends.
+            long mappedSize = hugeTlb ? size : size + HUGE_PAGE_SIZE;
+            memoryTracker.allocateNative( size );
+            try
+            {
+                long mapping = nativeAccess.mapMemory( mappedSize, hugeTlb );
+                long address = mapping;
+                if ( !hugeTlb )
+                {
+                    address = Grab.nextAligned( mapping, HUGE_PAGE_SIZE );
+                    long end = address + size;
+                    if ( address > mapping )
+                    {
+                        nativeAccess.unmapMemory( mapping, address - mapping );
+                    }
+                    if ( mapping + mappedSize > end )
+                    {
+                        nativeAccess.unmapMemory( end, mapping + mappedSize - end );
+                    }
+                    nativeAccess.tryAdviseHugePages( address, size );
+                }
+                UnsafeUtil.registerAllocation( address, size );
+                return new Grab( next, address, address + size, address, true, memoryTracker );
+            }
+            catch ( IOException e )
+            {
+                memoryTracker.releaseNative( size );
+                return null;
+            }
+        }
+
+        private static long roundUpToHugePage( long size )
+        {
+            return Grab.nextAligned( size, HUGE_PAGE_SIZE );
+        }
+
+        private static long roundUpToOsPage( long size )
+        {
+            return Grab.nextAligned( size, UnsafeUtil.pageSize() );
+        }
     }
 
     private static Cleaner globalCleaner()
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.mem;
+
+/**
+ * How the memory of a {@link MemoryAllocator} should be backed by huge pages.
+ */
+public enum HugePages
+{
+    /**
+     * Allocate memory with the system allocator, and leave it to the operating system to decide what pages to use.
+     */
+    DISABLED,
+    /**
+     * Map memory aligned to the huge page size, and advise the operating system to back it with transparent huge pages.
+     */
+    TRANSPARENT,
+    /**
+     * Map memory from the huge pages explicitly reserved in the operating system. Falls back to {@link #TRANSPARENT} if no more pages are reserved.
+     */
+    EXPLICIT
+}
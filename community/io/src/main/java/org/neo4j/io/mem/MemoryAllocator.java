@@ -31,6 +31,19 @@ public interface MemoryAllocator
         return new GrabAllocator( expectedMemory, memoryTracker );
     }
 
+    /**
+     * Create an allocator whose memory is backed by huge pages as requested, and optionally allocated and faulted in up front.
+     * @param expectedMemory the amount of memory the allocator is expected to allocate.
+     * @param hugePages how the memory should be backed by huge pages.
+     * @param preTouch true if all of the expected memory should be allocated and written to right away.
+     * @param memoryTracker memory usage tracker.
+     * @return the new allocator.
+     */
+    static MemoryAllocator createAllocator( long expectedMemory, HugePages hugePages, boolean preTouch, MemoryTracker memoryTracker )
+    {
+        return new GrabAllocator( expectedMemory, hugePages, preTouch, memoryTracker );
+    }
+
     /**
      * @return The sum, in bytes, of all the memory currently allocating through this allocator.
      */
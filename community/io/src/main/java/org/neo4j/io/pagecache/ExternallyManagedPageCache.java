@@ -81,6 +81,18 @@ public class ExternallyManagedPageCache implements PageCache
         delegate.flushAndForce();
     }
 
+    @Override
+    public void flushAndForce( List<PagedFile> files ) throws IOException
+    {
+        delegate.flushAndForce( files );
+    }
+
+    @Override
+    public void flushAndForce( List<PagedFile> files, IOController limiter ) throws IOException
+    {
+        delegate.flushAndForce( files, limiter );
+    }
+
     @Override
     public int pageSize()
     {
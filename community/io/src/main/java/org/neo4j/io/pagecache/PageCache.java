@@ -156,6 +156,38 @@ public interface PageCache extends AutoCloseable
      */
     void flushAndForce() throws IOException;
 
+    /**
+     * Flush all dirty pages of the given files, that must have been mapped by this page cache, and force them to the storage device.
+     * <p>
+     * Unlike {@link PagedFile#flushAndForce()} on each of the files in turn, the page cache is free to flush the files concurrently.
+     * The IO is still limited by the {@link IOController}s the files were mapped with, and files that share an IO controller also share
+     * its IO budget, no matter how many of them are flushed at the same time.
+     *
+     * @param files the mapped files to flush.
+     */
+    default void flushAndForce( List<PagedFile> files ) throws IOException
+    {
+        for ( PagedFile file : files )
+        {
+            file.flushAndForce();
+        }
+    }
+
+    /**
+     * Flush all dirty pages of the given files, like {@link #flushAndForce(List)}, but with the IO of all of them limited by the given
+     * {@link IOController} instead of the ones the files were mapped with.
+     * <p>
+     * A page cache that cannot limit the IO of a flush with anything but the IO controllers of the files, flushes them as if by
+     * {@link #flushAndForce(List)}.
+     *
+     * @param files the mapped files to flush.
+     * @param limiter the IO controller that limits the flush.
+     */
+    default void flushAndForce( List<PagedFile> files, IOController limiter ) throws IOException
+    {
+        flushAndForce( files );
+    }
+
     /**
      * Close the page cache to prevent any future mapping of files.
      *
@@ -62,7 +62,8 @@ public interface PagedFile extends AutoCloseable
      */
     int PF_NO_GROW = 1 << 2;
     /**
-     * Read-ahead hint for sequential scanning.
+     * Read-ahead hint for scanning. Every page the cursor moves to is taken into account, when the page cache looks for sequential or strided
+     * access patterns in the file to read ahead of.
      */
     int PF_READ_AHEAD = 1 << 3;
     /**
@@ -140,6 +141,22 @@ public interface PagedFile extends AutoCloseable
      */
     PageCursor io( long pageId, int pf_flags, CursorContext context ) throws IOException;
 
+    /**
+     * Load a range of file pages into the page cache, without pinning them.
+     * <p>
+     * Pages that are already in memory, or that are concurrently being faulted in by someone else, are skipped.
+     * Consecutive pages that are not in memory are read from the file with large vectored reads, which makes this a
+     * much cheaper way of warming up the page cache, than pinning the pages one by one.
+     * Pages beyond the end of the file are ignored.
+     *
+     * @param pageId the file-page-id of the first page in the range.
+     * @param count the number of pages in the range.
+     * @param context underlying page cursor context
+     * @return the number of pages that were read into the page cache by this call.
+     * @throws IOException if there was an error accessing the underlying file.
+     */
+    int touch( long pageId, int count, CursorContext context ) throws IOException;
+
     /**
      * Get the size of the file-pages, in bytes.
      */
@@ -33,6 +33,9 @@ import java.nio.file.OpenOption;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.neo4j.internal.nativeimpl.NativeAccess;
 import org.neo4j.internal.nativeimpl.NativeAccessProvider;
@@ -99,11 +102,16 @@ public class SingleFilePageSwapper implements PageSwapper
     private StoreChannel channel;
     private FileLock fileLock;
     private final boolean hasPositionLock;
+    private final boolean nativeVectoredIO;
     private final int swapperId;
     private final PageFileSwapperTracer fileSwapperTracer;
 
     // Guarded by synchronized(this). See tryReopen() and close().
     private boolean closed;
+    // Native io calls use the raw file descriptor of the channel, which the channel knows nothing about. They hold the read lock for the
+    // duration of the call, and the channel is only closed or replaced under the write lock, so the descriptor can't be closed, and then
+    // reused for another file, while a call is using it. Closing by interrupts is ruled out by making the channel uninterruptible.
+    private final ReadWriteLock nativeCallGuard = new ReentrantReadWriteLock();
 
     @SuppressWarnings( "unused" ) // accessed via VarHandle
     private volatile long fileSize;
@@ -124,6 +132,13 @@ public class SingleFilePageSwapper implements PageSwapper
 
     SingleFilePageSwapper( Path path, FileSystemAbstraction fs, int filePageSize, PageEvictionCallback onEviction, boolean useDirectIO,
             boolean preallocateStoreFiles, IOController ioController, SwapperSet swapperSet, PageFileSwapperTracer fileSwapperTracer ) throws IOException
+    {
+        this( path, fs, filePageSize, onEviction, useDirectIO, preallocateStoreFiles, false, ioController, swapperSet, fileSwapperTracer );
+    }
+
+    SingleFilePageSwapper( Path path, FileSystemAbstraction fs, int filePageSize, PageEvictionCallback onEviction, boolean useDirectIO,
+            boolean preallocateStoreFiles, boolean useNativeVectoredIO, IOController ioController, SwapperSet swapperSet,
+            PageFileSwapperTracer fileSwapperTracer ) throws IOException
     {
         this.fs = fs;
         this.path = path;
@@ -161,6 +176,9 @@ public class SingleFilePageSwapper implements PageSwapper
             throw e;
         }
         hasPositionLock = channel.hasPositionLock();
+        // Native vectored io needs a real file descriptor, which is not available for example for in-memory file systems.
+        nativeVectoredIO = useNativeVectoredIO && NativeAccessProvider.getNativeAccess().isAvailable()
+                && channel.getFileDescriptor() != INVALID_FILE_DESCRIPTOR;
         swapperId = swapperSet.allocate( this );
     }
 
@@ -341,6 +359,10 @@ public class SingleFilePageSwapper implements PageSwapper
             {
                 try
                 {
+                    if ( nativeVectoredIO )
+                    {
+                        return readPositionedVectoredNative( startFilePageId, bufferAddresses, bufferLengths, length );
+                    }
                     if ( hasPositionLock )
                     {
                         return readPositionedVectoredToFileChannel( startFilePageId, bufferAddresses, bufferLengths, length );
@@ -373,22 +395,65 @@ public class SingleFilePageSwapper implements PageSwapper
         }
         else if ( bytesRead < bytesToRead )
         {
-            long bytesToKeep = bytesRead;
-            for ( int bufferIndex = 0; bufferIndex < length; bufferIndex++ )
+            zeroFillUnreadTail( bufferAddresses, bufferLengths, length, bytesRead );
+        }
+        return bytesRead;
+    }
+
+    private long readPositionedVectoredNative( long startFilePageId, long[] bufferAddresses, int[] bufferLengths, int length ) throws IOException
+    {
+        long fileOffset = pageIdToPosition( startFilePageId );
+        long bytesToRead = countBuffersLengths( bufferLengths, length );
+        long bytesRead;
+        Lock guard = nativeCallGuard.readLock();
+        guard.lock();
+        try
+        {
+            bytesRead = NativeAccessProvider.getNativeAccess().readVectored( nativeFileDescriptor(), bufferAddresses, bufferLengths, length, fileOffset );
+        }
+        finally
+        {
+            guard.unlock();
+        }
+        ioController.reportIO( 1 );
+        if ( bytesRead < bytesToRead )
+        {
+            zeroFillUnreadTail( bufferAddresses, bufferLengths, length, bytesRead );
+        }
+        return bytesRead;
+    }
+
+    private static void zeroFillUnreadTail( long[] bufferAddresses, int[] bufferLengths, int length, long bytesRead )
+    {
+        long bytesToKeep = bytesRead;
+        for ( int bufferIndex = 0; bufferIndex < length; bufferIndex++ )
+        {
+            int bufferLength = bufferLengths[bufferIndex];
+            if ( bytesToKeep > bufferLength )
             {
-                int bufferLength = bufferLengths[bufferIndex];
-                if ( bytesToKeep > bufferLength )
-                {
-                    bytesToKeep = Math.subtractExact( bytesToKeep, bufferLength );
-                }
-                else
-                {
-                    UnsafeUtil.setMemory( bufferAddresses[bufferIndex] + bytesToKeep, bufferLength - bytesToKeep, MuninnPageCache.ZERO_BYTE );
-                    bytesToKeep = 0;
-                }
+                bytesToKeep = Math.subtractExact( bytesToKeep, bufferLength );
+            }
+            else
+            {
+                UnsafeUtil.setMemory( bufferAddresses[bufferIndex] + bytesToKeep, bufferLength - bytesToKeep, MuninnPageCache.ZERO_BYTE );
+                bytesToKeep = 0;
             }
         }
-        return bytesRead;
+    }
+
+    /**
+     * @return the file descriptor of the current channel, for use with native io calls. Must be called, and the descriptor used, while holding
+     * the read lock of the {@link #nativeCallGuard}.
+     * @throws ClosedChannelException if the channel has been closed, so the caller can reopen it and retry.
+     */
+    private int nativeFileDescriptor() throws ClosedChannelException
+    {
+        StoreChannel storeChannel = channel;
+        if ( !storeChannel.isOpen() )
+        {
+            throw new ClosedChannelException();
+        }
+        return storeChannel.getFileDescriptor();
     }
 
     private static long countBuffersLengths( int[] bufferLengths, int length )
@@ -482,6 +547,10 @@ public class SingleFilePageSwapper implements PageSwapper
             {
                 try
                 {
+                    if ( nativeVectoredIO )
+                    {
+                        return writePositionedVectoredNative( startFilePageId, bufferAddresses, bufferLengths, length );
+                    }
                     if ( hasPositionLock )
                     {
                         return writePositionedVectoredToFileChannel( startFilePageId, bufferAddresses, bufferLengths, length );
@@ -508,6 +577,33 @@ public class SingleFilePageSwapper implements PageSwapper
         return lockPositionWriteVector( fileOffset, srcs, bytesToWrite );
     }
 
+    private long writePositionedVectoredNative( long startFilePageId, long[] bufferAddresses, int[] bufferLengths, int length ) throws IOException
+    {
+        long fileOffset = pageIdToPosition( startFilePageId );
+        long bytesToWrite = countBuffersLengths( bufferLengths, length );
+        increaseFileSizeTo( fileOffset + bytesToWrite );
+        // we do not report external io to ioController here since its only checkpoint that is calling this method and
+        // io is counted as related to checkpoint
+        long bytesWritten;
+        Lock guard = nativeCallGuard.readLock();
+        guard.lock();
+        try
+        {
+            bytesWritten = NativeAccessProvider.getNativeAccess().writeVectored( nativeFileDescriptor(), bufferAddresses, bufferLengths, length,
+                    fileOffset );
+        }
+        finally
+        {
+            guard.unlock();
+        }
+        if ( bytesWritten < bytesToWrite )
+        {
+            throw new IOException( "Vectored write of " + bytesToWrite + " bytes at file offset " + fileOffset + " to " + path +
+                    " only wrote " + bytesWritten + " bytes." );
+        }
+        return bytesWritten;
+    }
+
     private static ByteBuffer[] convertToByteBuffers( long[] bufferAddresses, int[] bufferLengths, int length )
     {
         ByteBuffer[] buffers = new ByteBuffer[length];
@@ -650,6 +746,8 @@ public class SingleFilePageSwapper implements PageSwapper
             throw closedException;
         }
 
+        Lock guard = nativeCallGuard.writeLock();
+        guard.lock();
         try
         {
             channel = createStoreChannel();
@@ -661,18 +759,25 @@ public class SingleFilePageSwapper implements PageSwapper
             closedException.addSuppressed( e );
             throw closedException;
         }
+        finally
+        {
+            guard.unlock();
+        }
     }
 
     @Override
     public synchronized void close() throws IOException
     {
         closed = true;
+        Lock guard = nativeCallGuard.writeLock();
+        guard.lock();
         try
         {
             channel.close();
         }
         finally
         {
+            guard.unlock();
             // Eagerly relinquish our reference to the onEviction callback, because even though
             // we've closed the PagedFile at this point, there are likely still pages in the cache that are bound to
             // this swapper, and will stay bound, until the eviction threads eventually gets around to kicking them out.
@@ -790,6 +895,7 @@ public class SingleFilePageSwapper implements PageSwapper
     {
         return "SingleFilePageSwapper{" +
                 "filePageSize=" + filePageSize +
+                ", nativeVectoredIO=" + nativeVectoredIO +
                 ", file=" + path +
                 '}';
     }
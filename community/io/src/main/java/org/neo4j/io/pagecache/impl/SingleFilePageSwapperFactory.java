@@ -40,11 +40,25 @@ public class SingleFilePageSwapperFactory implements PageSwapperFactory
 {
     private final FileSystemAbstraction fs;
     private final PageCacheTracer pageCacheTracer;
+    private final boolean useNativeVectoredIO;
 
     public SingleFilePageSwapperFactory( FileSystemAbstraction fs, PageCacheTracer pageCacheTracer )
+    {
+        this( fs, pageCacheTracer, false );
+    }
+
+    /**
+     * @param fs file system to open swapped files on
+     * @param pageCacheTracer global page cache tracer
+     * @param useNativeVectoredIO when true, vectored reads and writes of several pages go through positioned native calls
+     * ({@code preadv}/{@code pwritev}) without taking the channel position lock, on platforms that support it.
+     * Swappers fall back to channel based io otherwise.
+     */
+    public SingleFilePageSwapperFactory( FileSystemAbstraction fs, PageCacheTracer pageCacheTracer, boolean useNativeVectoredIO )
     {
         this.fs = fs;
         this.pageCacheTracer = pageCacheTracer;
+        this.useNativeVectoredIO = useNativeVectoredIO;
     }
 
     @Override
@@ -55,7 +69,7 @@ public class SingleFilePageSwapperFactory implements PageSwapperFactory
         {
             throw new NoSuchFileException( file.toString(), null, "Cannot map non-existing file" );
         }
-        return new SingleFilePageSwapper( file, fs, filePageSize, onEviction, useDirectIO, preallocateStoreFiles, ioController, swappers,
-                pageCacheTracer.createFileSwapperTracer() );
+        return new SingleFilePageSwapper( file, fs, filePageSize, onEviction, useDirectIO, preallocateStoreFiles, useNativeVectoredIO, ioController,
+                swappers, pageCacheTracer.createFileSwapperTracer() );
     }
 }
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.neo4j.util.FeatureToggles.getInteger;
+
+/**
+ * Detects strided access patterns in the page accesses of a {@link MuninnPagedFile}, and asks the {@link ReadAheadQueue} to read ahead of them.
+ * <p>
+ * The detector keeps track of a small number of independent streams, so that interleaved scans by multiple cursors over the same file, like
+ * concurrent GBPTree leaf walks, or chains hopping through the relationship store, can each be recognised on their own.
+ * A stream is a sequence of page ids that are a fixed stride apart, where the stride can be negative for backwards scans, and can be larger
+ * than one page for scans that skip over pages. Once a stride has been seen enough times in a row, the detector starts issuing read-ahead
+ * requests for the pages further along the stride. The read-ahead window of a stream starts out small, and doubles each time the stream
+ * catches up with it, up to a maximum size, and halves each time the read-ahead budget of the page cache is spent.
+ * <p>
+ * Cursors opened with {@link org.neo4j.io.pagecache.PagedFile#PF_READ_AHEAD} report every page they move to. With the {@link ReadAheadPolicy#ALL}
+ * policy, all other cursors report the pages they have to fault in, so the detector adds no overhead to the hot path of cursors that mostly hit
+ * in the cache. With the default {@link ReadAheadPolicy#REQUESTED} policy they report nothing, and with {@link ReadAheadPolicy#DISABLED} no
+ * cursor reports anything.
+ * The detector is only a heuristic, so observations that race with other observations on the same file are simply dropped, rather than
+ * making the observing threads wait for each other.
+ */
+final class AccessPatternDetector
+{
+    private static final int streamCount = getInteger( AccessPatternDetector.class, "streams", 8 );
+    private static final int maxStride = getInteger( AccessPatternDetector.class, "maxStride", 64 );
+    private static final int confirmations = getInteger( AccessPatternDetector.class, "confirmations", 2 );
+    private static final int initialWindow = getInteger( AccessPatternDetector.class, "initialWindow", 4 );
+    private static final int maxWindow = getInteger( AccessPatternDetector.class, "maxWindow", 256 );
+
+    private final MuninnPagedFile pagedFile;
+    private final ReadAheadQueue readAheadQueue;
+    private final AtomicBoolean busy = new AtomicBoolean();
+
+    // The stream state, indexed by stream number. Only accessed by the thread that managed to set the busy flag.
+    private final long[] lastPageIds;
+    private final long[] strides;
+    private final int[] matches;
+    private final long[] readAheadEnds;
+    private final int[] windows;
+    private final long[] lastUsed;
+    private long observationCount;
+
+    AccessPatternDetector( MuninnPagedFile pagedFile, ReadAheadQueue readAheadQueue )
+    {
+        this.pagedFile = pagedFile;
+        this.readAheadQueue = readAheadQueue;
+        this.lastPageIds = new long[streamCount];
+        this.strides = new long[streamCount];
+        this.matches = new int[streamCount];
+        this.readAheadEnds = new long[streamCount];
+        this.windows = new int[streamCount];
+        this.lastUsed = new long[streamCount];
+    }
+
+    /**
+     * Observe an access to the given file page.
+     *
+     * @param filePageId the file page id that was accessed.
+     * @param faulted {@code true} if the access had to fault the page in, {@code false} if the page was already in memory.
+     */
+    void observe( long filePageId, boolean faulted )
+    {
+        if ( !busy.compareAndSet( false, true ) )
+        {
+            return;
+        }
+        try
+        {
+            observeStreams( filePageId, faulted );
+        }
+        finally
+        {
+            busy.set( false );
+        }
+    }
+
+    private void observeStreams( long filePageId, boolean faulted )
+    {
+        long now = ++observationCount;
+        int victim = 0;
+        int candidate = -1;
+        long candidateDistance = Long.MAX_VALUE;
+        for ( int i = 0; i < streamCount; i++ )
+        {
+            if ( lastUsed[i] < lastUsed[victim] )
+            {
+                victim = i;
+            }
+            if ( lastUsed[i] == 0 )
+            {
+                continue; // This stream is not in use.
+            }
+            long delta = filePageId - lastPageIds[i];
+            if ( delta == 0 )
+            {
+                lastUsed[i] = now;
+                return; // Same page as last time. Nothing new to learn.
+            }
+            long stride = strides[i];
+            if ( stride != 0 && delta % stride == 0 )
+            {
+                // The access may have skipped over pages that we read ahead, since hits are not observed for all cursors.
+                long steps = delta / stride;
+                long stepsReadAhead = Math.max( 1, ( readAheadEnds[i] - lastPageIds[i] ) / stride );
+                if ( steps > 0 && steps <= stepsReadAhead )
+                {
+                    advance( i, filePageId, faulted, now );
+                    return;
+                }
+            }
+            long distance = Math.abs( delta );
+            if ( matches[i] == 0 && distance <= maxStride && distance < candidateDistance )
+            {
+                candidate = i;
+                candidateDistance = distance;
+            }
+        }
+
+        if ( candidate != -1 )
+        {
+            // A stream that has not established its stride yet, which is close enough to this access to take it as its stride.
+            strides[candidate] = filePageId - lastPageIds[candidate];
+            resetStream( candidate, filePageId, now );
+        }
+        else
+        {
+            strides[victim] = 0;
+            resetStream( victim, filePageId, now );
+        }
+    }
+
+    private void resetStream( int stream, long filePageId, long now )
+    {
+        lastPageIds[stream] = filePageId;
+        matches[stream] = 0;
+        readAheadEnds[stream] = filePageId;
+        windows[stream] = initialWindow;
+        lastUsed[stream] = now;
+    }
+
+    private void advance( int stream, long filePageId, boolean faulted, long now )
+    {
+        long stride = strides[stream];
+        // Every page along the stride between the last observed page and the end of the read-ahead range has been read ahead. The stream may have
+        // stepped over several of them since the last observation, because hits are not observed for all cursors, and each one is a hit, except
+        // the page of this access if it was faulted in after all.
+        long steps = ( filePageId - lastPageIds[stream] ) / stride;
+        long stepsReadAhead = ( readAheadEnds[stream] - lastPageIds[stream] ) / stride;
+        long hits = Math.min( steps, stepsReadAhead );
+        if ( faulted && steps <= stepsReadAhead )
+        {
+            hits--;
+        }
+        if ( hits > 0 )
+        {
+            pagedFile.swapper.fileSwapperTracer().readAheadHits( hits );
+        }
+        lastPageIds[stream] = filePageId;
+        lastUsed[stream] = now;
+        if ( matches[stream] < confirmations )
+        {
+            matches[stream]++;
+        }
+        if ( matches[stream] >= confirmations )
+        {
+            readAhead( stream );
+        }
+    }
+
+    private void readAhead( int stream )
+    {
+        long stride = strides[stream];
+        long filePageId = lastPageIds[stream];
+        long stepsAhead = ( readAheadEnds[stream] - filePageId ) / stride;
+        if ( stepsAhead < 0 )
+        {
+            // The stream has moved past everything we have read ahead.
+            readAheadEnds[stream] = filePageId;
+            stepsAhead = 0;
+        }
+        int window = windows[stream];
+        if ( stepsAhead > window / 2 )
+        {
+            return; // There is still plenty read ahead in front of the stream.
+        }
+        long start = readAheadEnds[stream] + stride;
+        long count = window - stepsAhead;
+        if ( stride < 0 )
+        {
+            // Don't read ahead past the beginning of the file. The end of the file is taken care of by touch.
+            if ( start < 0 )
+            {
+                return;
+            }
+            count = Math.min( count, start / -stride + 1 );
+        }
+        if ( readAheadQueue.offer( pagedFile, start, stride, (int) count ) )
+        {
+            readAheadEnds[stream] = start + stride * ( count - 1 );
+            windows[stream] = Math.min( window * 2, maxWindow );
+        }
+        else
+        {
+            // The read-ahead budget is spent, so back off and ask for less next time.
+            windows[stream] = Math.max( 1, window / 2 );
+        }
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import com.github.luben.zstd.Zstd;
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.LongLongHashMap;
+
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.neo4j.io.mem.MemoryAllocator;
+import org.neo4j.memory.MemoryTracker;
+
+import static org.neo4j.internal.unsafe.UnsafeUtil.copyMemory;
+import static org.neo4j.internal.unsafe.UnsafeUtil.getDirectByteBufferAddress;
+import static org.neo4j.internal.unsafe.UnsafeUtil.getInt;
+import static org.neo4j.internal.unsafe.UnsafeUtil.getLong;
+import static org.neo4j.internal.unsafe.UnsafeUtil.putInt;
+import static org.neo4j.internal.unsafe.UnsafeUtil.putLong;
+import static org.neo4j.util.FeatureToggles.getInteger;
+
+/**
+ * A victim cache for the {@link MuninnPageCache}, that keeps the contents of recently evicted pages zstd compressed in off-heap memory, so that
+ * page faults on them can be served by decompressing, rather than by reading from the file.
+ * <p>
+ * The pages are only ever put here as they are evicted, at which point they have been flushed, so the compressed contents are always the same
+ * as the contents of the file page. An entry is removed from the tier when it is used to fault its page back into the cache, and when the page
+ * is put here again on its next eviction, so there is never more than one entry per file page.
+ * <p>
+ * The memory is used as a ring buffer, where entries are appended at the head, and the oldest entries are dropped from the tail to make room.
+ * Each entry consists of a 16 byte header, with the key and the compressed length, followed by the compressed page. Entries never wrap around
+ * the end of the memory; the space at the end that is too small for an entry is filled with a padding entry instead. Evicting threads compress
+ * into a buffer of their own, and only take the monitor lock of the tier to append the compressed page. The faulting threads only take the lock
+ * of the key to position map, and decompress without any lock. A faulting thread that races with the tail being moved past its entry will
+ * notice, by re-reading the tail after decompressing, and treat its look-up as a miss. The memory is not freed on close until the faulting threads
+ * that are decompressing are done with it.
+ */
+final class CompressedPageTier implements AutoCloseable
+{
+    private static final int compressionLevel = getInteger( CompressedPageTier.class, "compressionLevel", 1 );
+
+    private static final int ENTRY_HEADER_SIZE = 16;
+    private static final int ENTRY_ALIGNMENT = 16;
+    private static final int ENTRY_LENGTH_OFFSET = Long.BYTES;
+    private static final long PADDING_KEY = -1;
+    private static final long NO_POSITION = -1;
+    // Swapper ids are never more than 21 bits, see SwapperSet.
+    private static final int SWAPPER_ID_BITS = 21;
+    private static final long SWAPPER_ID_MASK = (1L << SWAPPER_ID_BITS) - 1;
+    private static final long MAX_FILE_PAGE_ID = Long.MAX_VALUE >>> SWAPPER_ID_BITS;
+
+    private final MemoryAllocator allocator;
+    private final long address;
+    private final long capacity;
+    private final long maxEntrySize;
+    // The positions of the entries, by key. Guarded by its own monitor lock.
+    private final LongLongHashMap positions = new LongLongHashMap();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    // The number of faulting threads that might be reading the memory.
+    private final AtomicInteger readers = new AtomicInteger();
+    private final ThreadLocal<ByteBuffer> compressionBuffers;
+    private long head; // Guarded by the tier monitor lock.
+    private volatile long tail;
+    private volatile boolean closed; // Only changed under the tier monitor lock.
+
+    /**
+     * @param size the number of bytes of off-heap memory to keep the compressed pages in.
+     * @param cachePageSize the size of the pages in the page cache.
+     * @param memoryTracker the memory tracker to account the off-heap memory to.
+     */
+    CompressedPageTier( long size, int cachePageSize, MemoryTracker memoryTracker )
+    {
+        maxEntrySize = align( ENTRY_HEADER_SIZE + Zstd.compressBound( cachePageSize ) );
+        capacity = size - size % ENTRY_ALIGNMENT;
+        if ( capacity < 2 * maxEntrySize )
+        {
+            throw new IllegalArgumentException( "The compressed page cache tier must be at least " + 2 * maxEntrySize + " bytes, but was " + size + "." );
+        }
+        allocator = MemoryAllocator.createAllocator( capacity, memoryTracker );
+        address = allocator.allocateAligned( capacity, Long.BYTES );
+        int compressionBufferSize = (int) (maxEntrySize - ENTRY_HEADER_SIZE);
+        compressionBuffers = ThreadLocal.withInitial( () -> ByteBuffer.allocateDirect( compressionBufferSize ) );
+    }
+
+    /**
+     * Compress and keep the contents of the given, just evicted, file page. Pages that do not compress well enough to be worth keeping are
+     * dropped. Either way, any older entry for the file page is removed.
+     */
+    void put( int swapperId, long filePageId, long pageAddress, int length )
+    {
+        if ( closed || filePageId > MAX_FILE_PAGE_ID )
+        {
+            return;
+        }
+        long key = key( swapperId, filePageId );
+        synchronized ( positions )
+        {
+            positions.remove( key );
+        }
+
+        ByteBuffer compressionBuffer = compressionBuffers.get();
+        long compressedAddress = getDirectByteBufferAddress( compressionBuffer );
+        long compressedLength = Zstd.compressUnsafe( compressedAddress, compressionBuffer.capacity(), pageAddress, length, compressionLevel );
+        if ( Zstd.isError( compressedLength ) || compressedLength > length - (length >>> 3) )
+        {
+            // Not worth keeping.
+            return;
+        }
+        if ( append( key, compressedAddress, compressedLength ) )
+        {
+            stores.increment();
+        }
+    }
+
+    private synchronized boolean append( long key, long compressedAddress, long compressedLength )
+    {
+        if ( closed )
+        {
+            return false;
+        }
+        long entrySize = align( ENTRY_HEADER_SIZE + compressedLength );
+        long position = head;
+        long offset = position % capacity;
+        if ( offset + entrySize > capacity )
+        {
+            // Not enough room for the entry before the end of the memory, so pad it out and start over from the beginning.
+            long padding = capacity - offset;
+            reclaim( position + padding );
+            putLong( address + offset, PADDING_KEY );
+            putInt( address + offset + ENTRY_LENGTH_OFFSET, (int) (padding - ENTRY_HEADER_SIZE) );
+            position += padding;
+            offset = 0;
+            head = position;
+        }
+        reclaim( position + entrySize );
+
+        long entryAddress = address + offset;
+        putLong( entryAddress, key );
+        putInt( entryAddress + ENTRY_LENGTH_OFFSET, (int) compressedLength );
+        copyMemory( compressedAddress, entryAddress + ENTRY_HEADER_SIZE, compressedLength );
+        head = position + entrySize;
+        synchronized ( positions )
+        {
+            positions.put( key, position );
+        }
+        return true;
+    }
+
+    /**
+     * Decompress the contents of the given file page into the given buffer, and remove the entry, if the file page is in the tier.
+     *
+     * @return {@code true} if the file page was in the tier, and the buffer now holds its contents, otherwise {@code false}, and the buffer
+     * holds undefined contents.
+     */
+    boolean take( int swapperId, long filePageId, long bufferAddress, int length )
+    {
+        if ( filePageId > MAX_FILE_PAGE_ID )
+        {
+            return false;
+        }
+        long key = key( swapperId, filePageId );
+        // Announce that we might read the memory before checking if it is still there, since close checks for readers after marking us closed.
+        readers.incrementAndGet();
+        try
+        {
+            if ( closed )
+            {
+                return false;
+            }
+            long position;
+            synchronized ( positions )
+            {
+                position = positions.removeKeyIfAbsent( key, NO_POSITION );
+            }
+            if ( position == NO_POSITION || position < tail )
+            {
+                return false;
+            }
+
+            long entryAddress = address + position % capacity;
+            long compressedLength = getInt( entryAddress + ENTRY_LENGTH_OFFSET );
+            if ( getLong( entryAddress ) != key || compressedLength <= 0 || compressedLength > maxEntrySize - ENTRY_HEADER_SIZE )
+            {
+                return false;
+            }
+            long decompressedLength = Zstd.decompressUnsafe( bufferAddress, length, entryAddress + ENTRY_HEADER_SIZE, compressedLength );
+            // The entry might have been overwritten while we decompressed it. The tail is always moved before an entry is overwritten.
+            VarHandle.loadLoadFence();
+            if ( position < tail || Zstd.isError( decompressedLength ) || decompressedLength != length )
+            {
+                return false;
+            }
+            hits.increment();
+            return true;
+        }
+        finally
+        {
+            readers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Remove the entry for the given file page, if any.
+     */
+    void invalidate( int swapperId, long filePageId )
+    {
+        if ( filePageId <= MAX_FILE_PAGE_ID )
+        {
+            synchronized ( positions )
+            {
+                positions.remove( key( swapperId, filePageId ) );
+            }
+        }
+    }
+
+    /**
+     * Remove all the entries of the given swapper, as its file is unmapped, or the swapper id is given to another file.
+     */
+    void invalidate( int swapperId )
+    {
+        synchronized ( positions )
+        {
+            MutableLongList keys = new LongArrayList();
+            positions.forEachKey( key ->
+            {
+                if ( (key & SWAPPER_ID_MASK) == swapperId )
+                {
+                    keys.add( key );
+                }
+            } );
+            keys.forEach( positions::remove );
+        }
+    }
+
+    /**
+     * @return the number of page faults that have been served by this tier.
+     */
+    long hits()
+    {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of evicted pages that have been put into this tier.
+     */
+    long stores()
+    {
+        return stores.sum();
+    }
+
+    @Override
+    public synchronized void close()
+    {
+        if ( !closed )
+        {
+            closed = true;
+            synchronized ( positions )
+            {
+                positions.clear();
+            }
+            // Faulting threads that got in before we were closed might still be decompressing from the memory.
+            while ( readers.get() != 0 )
+            {
+                Thread.onSpinWait();
+            }
+            allocator.close();
+        }
+    }
+
+    /**
+     * Drop the oldest entries until the memory up to, but not including, the given position is free to be overwritten.
+     */
+    private void reclaim( long limit )
+    {
+        long newTail = tail;
+        while ( limit - newTail > capacity )
+        {
+            long entryAddress = address + newTail % capacity;
+            long key = getLong( entryAddress );
+            if ( key != PADDING_KEY )
+            {
+                synchronized ( positions )
+                {
+                    if ( positions.getIfAbsent( key, NO_POSITION ) == newTail )
+                    {
+                        positions.remove( key );
+                    }
+                }
+            }
+            newTail += align( ENTRY_HEADER_SIZE + getInt( entryAddress + ENTRY_LENGTH_OFFSET ) );
+        }
+        if ( newTail != tail )
+        {
+            tail = newTail;
+            // Readers re-check the tail after reading an entry, so the tail must be visibly moved before we overwrite anything.
+            VarHandle.fullFence();
+        }
+    }
+
+    private static long key( int swapperId, long filePageId )
+    {
+        return (filePageId << SWAPPER_ID_BITS) | swapperId;
+    }
+
+    private static long align( long size )
+    {
+        return (size + ENTRY_ALIGNMENT - 1) & -ENTRY_ALIGNMENT;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+/**
+ * The policy the {@link MuninnPageCache} uses when selecting pages for eviction.
+ */
+public enum EvictionPolicy
+{
+    /**
+     * The classic CLOCK sweep: every page the clock arm passes has its usage counter decremented, and pages are
+     * evicted once their usage counter drops to zero. A large sequential scan will gradually push the whole working
+     * set out of the cache.
+     */
+    CLOCK,
+    /**
+     * A scan resistant variant of CLOCK, in the spirit of 2Q and S3-FIFO. Pages that have only been touched once
+     * since they were faulted in form a probationary segment, which is always drained first. Pages that have been
+     * accessed repeatedly are left alone, with their usage counters intact, until the probationary segment is
+     * exhausted, at which point eviction falls back to the regular CLOCK sweep. This way one-off accesses, such as
+     * a large scan, are much less likely to evict the hot set.
+     */
+    SCAN_RESISTANT
+}
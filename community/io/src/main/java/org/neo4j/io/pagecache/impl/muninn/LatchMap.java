@@ -109,6 +109,22 @@ final class LatchMap
         return null;
     }
 
+    /**
+     * Like {@link #takeOrAwaitLatch(long)}, but never waits. If a latch is currently installed for the given (or any
+     * colliding) identifier, then {@code null} is returned straight away. This allows a thread to hold on to multiple
+     * latches at the same time, without risking a deadlock with other threads doing the same.
+     */
+    Latch tryTakeLatch( long identifier )
+    {
+        int index = index( identifier );
+        if ( getLatch( index ) != null )
+        {
+            return null;
+        }
+        Latch latch = new Latch( this, index );
+        return tryInsertLatch( index, latch ) ? latch : null;
+    }
+
     private int index( long identifier )
     {
         return (int) (identifier & faultLockMask);
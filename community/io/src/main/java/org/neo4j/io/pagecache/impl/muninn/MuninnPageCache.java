@@ -21,6 +21,7 @@ package org.neo4j.io.pagecache.impl.muninn;
 
 import org.eclipse.collections.api.set.ImmutableSet;
 
+import java.io.Flushable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.lang.invoke.MethodHandles;
@@ -30,13 +31,20 @@ import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
 
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.mem.MemoryAllocator;
@@ -54,6 +62,7 @@ import org.neo4j.memory.EmptyMemoryTracker;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.scheduler.Group;
 import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobMonitoringParams;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.time.Clocks;
 import org.neo4j.time.SystemNanoClock;
@@ -136,6 +145,34 @@ public class MuninnPageCache implements PageCache
     private static final int cooperativeEvictionLiveLockThreshold = getInteger(
             MuninnPageCache.class, "cooperativeEvictionLiveLockThreshold", 100 );
 
+    // With the scan resistant eviction policy, this is how many pages the background eviction thread will look at in
+    // the probationary segment, per page it wants to evict, before falling back to the regular clock sweep.
+    private static final int probationScanFactor = getInteger(
+            MuninnPageCache.class, "probationScanFactor", 4 );
+
+    // With the scan resistant eviction policy, this is how many pages a page fault will look at in the probationary
+    // segment, when it has to evict a page itself, before falling back to the regular clock sweep. The faulting thread
+    // is waiting for its page, so it must not walk a whole lap of a large cache looking for probationary pages.
+    private static final int cooperativeProbationScanLimit = getInteger(
+            MuninnPageCache.class, "cooperativeProbationScanLimit", 256 );
+
+    // The max number of pages that can be requested for read-ahead, but not yet read, at any point in time.
+    // Never more than an eighth of the page cache, so read-ahead can't push out too much of the working set.
+    private static final int maxReadAheadPages = getInteger(
+            MuninnPageCache.class, "maxReadAheadPages", 4096 ); // 32 MiB, by default.
+
+    // The max number of files that are flushed at the same time, when flushing more than one file.
+    private static final int flushParallelism = getInteger(
+            MuninnPageCache.class, "flushParallelism", Math.max( 2, Runtime.getRuntime().availableProcessors() / 2 ) );
+
+    // How often the background writer checks the number of dirty pages in the cache.
+    private static final int backgroundWriterIntervalMillis = getInteger(
+            MuninnPageCache.class, "backgroundWriterIntervalMillis", 100 );
+
+    // The max number of pages the background writer writes in each interval, on top of the limits of the IO controllers of the files it writes to.
+    private static final int backgroundWriterMaxPagesPerInterval = getInteger(
+            MuninnPageCache.class, "backgroundWriterMaxPagesPerInterval", 4096 );
+
     // This is a pre-allocated constant, so we can throw it without allocating any objects:
     @SuppressWarnings( "ThrowableInstanceNeverThrown" )
     private static final IOException oomException = new IOException(
@@ -152,7 +189,6 @@ public class MuninnPageCache implements PageCache
 
     // Scheduler that runs all the background jobs for page cache.
     private final JobScheduler scheduler;
-    private final SystemNanoClock clock;
 
     private static final List<OpenOption> ignoredOpenOptions = Arrays.asList( StandardOpenOption.APPEND,
             StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.SPARSE );
@@ -170,6 +206,12 @@ public class MuninnPageCache implements PageCache
     private final int faultLockStriping;
     private final boolean preallocateStoreFiles;
     private final boolean enableEvictionThread;
+    private final EvictionPolicy evictionPolicy;
+    final ReadAheadPolicy readAheadPolicy;
+    final ReadAheadQueue readAheadQueue;
+    final PagePartitions partitions;
+    // The compressed tier of recently evicted pages, or null if the page cache has no compressed tier.
+    final CompressedPageTier compressedTier;
     final PageList pages;
     // All PageCursors are initialised with their pointers pointing to the victim page. This way, we don't have to throw
     // exceptions on bounds checking failures; we can instead return the victim page pointer, and permit the page
@@ -192,12 +234,21 @@ public class MuninnPageCache implements PageCache
     // The thread that runs the eviction algorithm. We unpark this when we've run out of
     // free pages to grab.
     private volatile Thread evictionThread;
+    // The clock arm of the probationary sweep done by the scan resistant eviction policy.
+    // Only accessed by the background eviction thread.
+    private int probationClockArm;
     // True if the eviction thread is currently parked, without someone having
     // signalled it to wake up. This is used as a weak guard for unparking the
     // eviction thread, because calling unpark too much (from many page
     // faulting threads) can cause contention on the locks protecting that
     // threads scheduling meta-data in the OS kernel.
     private volatile boolean evictorParked;
+    // The thread that writes dirty pages in the background, to keep the number of dirty pages at or below the target.
+    private volatile Thread backgroundWriterThread;
+    // The number of dirty pages the background writer aims to stay below, or zero if there is no background writer.
+    private final long targetDirtyPages;
+    // The index of the mapped file the background writer starts from, in its next round. Only accessed by the background writer thread.
+    private int backgroundWriterFileIndex;
     private volatile IOException evictorException;
 
     // Flag for when page cache is closed - writes guarded by synchronized(this), reads can be unsynchronized
@@ -244,10 +295,16 @@ public class MuninnPageCache implements PageCache
         private final boolean enableEvictionThread;
         private final boolean preallocateStoreFiles;
         private final int reservedPageSize;
+        private final EvictionPolicy evictionPolicy;
+        private final List<PageCachePartition> partitions;
+        private final long compressedTierSize;
+        private final int targetDirtyPercentage;
+        private final ReadAheadPolicy readAheadPolicy;
 
         private Configuration( MemoryAllocator memoryAllocator, SystemNanoClock clock, MemoryTracker memoryTracker, PageCacheTracer pageCacheTracer,
                 int pageSize, IOBufferFactory bufferFactory, int faultLockStriping,
-                boolean enableEvictionThread, boolean preallocateStoreFiles, int reservedPageSize )
+                boolean enableEvictionThread, boolean preallocateStoreFiles, int reservedPageSize, EvictionPolicy evictionPolicy,
+                List<PageCachePartition> partitions, long compressedTierSize, int targetDirtyPercentage, ReadAheadPolicy readAheadPolicy )
         {
             this.memoryAllocator = memoryAllocator;
             this.clock = clock;
@@ -259,6 +316,11 @@ public class MuninnPageCache implements PageCache
             this.faultLockStriping = faultLockStriping;
             this.enableEvictionThread = enableEvictionThread;
             this.preallocateStoreFiles = preallocateStoreFiles;
+            this.evictionPolicy = evictionPolicy;
+            this.partitions = partitions;
+            this.compressedTierSize = compressedTierSize;
+            this.targetDirtyPercentage = targetDirtyPercentage;
+            this.readAheadPolicy = readAheadPolicy;
         }
 
         /**
@@ -267,7 +329,8 @@ public class MuninnPageCache implements PageCache
         public Configuration memoryAllocator( MemoryAllocator memoryAllocator )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize, evictionPolicy, partitions,
+                    compressedTierSize, targetDirtyPercentage, readAheadPolicy );
         }
 
         /**
@@ -276,7 +339,8 @@ public class MuninnPageCache implements PageCache
         public Configuration clock( SystemNanoClock clock )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize, evictionPolicy, partitions,
+                    compressedTierSize, targetDirtyPercentage, readAheadPolicy );
         }
 
         /**
@@ -285,7 +349,8 @@ public class MuninnPageCache implements PageCache
         public Configuration memoryTracker( MemoryTracker memoryTracker )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize, evictionPolicy, partitions,
+                    compressedTierSize, targetDirtyPercentage, readAheadPolicy );
         }
 
         /**
@@ -294,7 +359,8 @@ public class MuninnPageCache implements PageCache
         public Configuration pageCacheTracer( PageCacheTracer pageCacheTracer )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize, evictionPolicy, partitions,
+                    compressedTierSize, targetDirtyPercentage, readAheadPolicy );
         }
 
         /**
@@ -303,7 +369,8 @@ public class MuninnPageCache implements PageCache
         public Configuration pageSize( int pageSize )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize, evictionPolicy, partitions,
+                    compressedTierSize, targetDirtyPercentage, readAheadPolicy );
         }
 
         /**
@@ -312,7 +379,8 @@ public class MuninnPageCache implements PageCache
         public Configuration bufferFactory( IOBufferFactory bufferFactory )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize, evictionPolicy, partitions,
+                    compressedTierSize, targetDirtyPercentage, readAheadPolicy );
         }
 
         /**
@@ -321,7 +389,8 @@ public class MuninnPageCache implements PageCache
         public Configuration reservedPageBytes( int reservedPageBytes )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageBytes );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageBytes, evictionPolicy, partitions,
+                    compressedTierSize, targetDirtyPercentage, readAheadPolicy );
         }
 
         /**
@@ -330,7 +399,8 @@ public class MuninnPageCache implements PageCache
         public Configuration faultLockStriping( int faultLockStriping )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize, evictionPolicy, partitions,
+                    compressedTierSize, targetDirtyPercentage, readAheadPolicy );
         }
 
         /**
@@ -339,7 +409,8 @@ public class MuninnPageCache implements PageCache
         public Configuration disableEvictionThread()
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, false, preallocateStoreFiles, reservedPageSize );
+                    faultLockStriping, false, preallocateStoreFiles, reservedPageSize, evictionPolicy, partitions,
+                    compressedTierSize, targetDirtyPercentage, readAheadPolicy );
         }
 
         /**
@@ -348,7 +419,64 @@ public class MuninnPageCache implements PageCache
         public Configuration preallocateStoreFiles( boolean preallocateStoreFiles )
         {
             return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
-                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize );
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize, evictionPolicy, partitions,
+                    compressedTierSize, targetDirtyPercentage, readAheadPolicy );
+        }
+
+        /**
+         * @param evictionPolicy the {@link EvictionPolicy} used to select pages for eviction.
+         */
+        public Configuration evictionPolicy( EvictionPolicy evictionPolicy )
+        {
+            return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize, requireNonNull( evictionPolicy ), partitions,
+                    compressedTierSize, targetDirtyPercentage, readAheadPolicy );
+        }
+
+        /**
+         * @param partitions the {@link PageCachePartition}s that divide the cache pages between groups of files.
+         */
+        public Configuration partitions( List<PageCachePartition> partitions )
+        {
+            return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize, evictionPolicy, List.copyOf( partitions ),
+                    compressedTierSize, targetDirtyPercentage, readAheadPolicy );
+        }
+
+        /**
+         * @param compressedTierSize the number of bytes of off-heap memory to use for keeping recently evicted pages compressed,
+         * or zero to not have a compressed tier.
+         */
+        public Configuration compressedTierSize( long compressedTierSize )
+        {
+            return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize, evictionPolicy, partitions,
+                    compressedTierSize, targetDirtyPercentage, readAheadPolicy );
+        }
+
+        /**
+         * @param targetDirtyPercentage the percentage of the pages in the cache that the background writer allows to be dirty, before it starts
+         * writing dirty pages to their files, or zero to not have a background writer.
+         */
+        public Configuration targetDirtyPercentage( int targetDirtyPercentage )
+        {
+            if ( targetDirtyPercentage < 0 || targetDirtyPercentage > 100 )
+            {
+                throw new IllegalArgumentException( "The target dirty percentage must be between 0 and 100, but was " + targetDirtyPercentage + "." );
+            }
+            return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize, evictionPolicy, partitions,
+                    compressedTierSize, targetDirtyPercentage, readAheadPolicy );
+        }
+
+        /**
+         * @param readAheadPolicy the {@link ReadAheadPolicy} that decides which page accesses are read ahead of.
+         */
+        public Configuration readAheadPolicy( ReadAheadPolicy readAheadPolicy )
+        {
+            return new Configuration( memoryAllocator, clock, memoryTracker, pageCacheTracer, pageSize, bufferFactory,
+                    faultLockStriping, enableEvictionThread, preallocateStoreFiles, reservedPageSize, evictionPolicy, partitions,
+                    compressedTierSize, targetDirtyPercentage, requireNonNull( readAheadPolicy ) );
         }
     }
 
@@ -368,7 +496,8 @@ public class MuninnPageCache implements PageCache
     public static Configuration config( MemoryAllocator memoryAllocator )
     {
         return new Configuration( memoryAllocator, Clocks.nanoClock(), EmptyMemoryTracker.INSTANCE, PageCacheTracer.NULL,
-                PAGE_SIZE, DISABLED_BUFFER_FACTORY, LatchMap.faultLockStriping, true, true, 0 );
+                PAGE_SIZE, DISABLED_BUFFER_FACTORY, LatchMap.faultLockStriping, true, true, 0, EvictionPolicy.CLOCK, List.of(), 0, 0,
+                ReadAheadPolicy.REQUESTED );
     }
 
     /**
@@ -395,10 +524,16 @@ public class MuninnPageCache implements PageCache
         this.victimPage = VictimPageReference.getVictimPage( cachePageSize, configuration.memoryTracker );
         this.pages = new PageList( maxPages, cachePageSize, configuration.memoryAllocator, new SwapperSet(), victimPage, UnsafeUtil.pageSize() );
         this.scheduler = jobScheduler;
-        this.clock = configuration.clock;
         this.faultLockStriping = configuration.faultLockStriping;
         this.enableEvictionThread = configuration.enableEvictionThread;
+        this.targetDirtyPages = configuration.targetDirtyPercentage == 0 ? 0 : Math.max( 1, (long) maxPages * configuration.targetDirtyPercentage / 100 );
         this.preallocateStoreFiles = configuration.preallocateStoreFiles;
+        this.evictionPolicy = configuration.evictionPolicy;
+        this.partitions = new PagePartitions( configuration.partitions, maxPages );
+        this.readAheadPolicy = configuration.readAheadPolicy;
+        this.readAheadQueue = new ReadAheadQueue( jobScheduler, pageCacheTracer, Math.min( maxReadAheadPages, maxPages / 8 ) );
+        this.compressedTier = configuration.compressedTierSize > 0
+                              ? new CompressedPageTier( configuration.compressedTierSize, cachePageSize, configuration.memoryTracker ) : null;
         setFreelistHead( new AtomicInteger() );
 
         // Expose the total number of pages
@@ -527,6 +662,7 @@ public class MuninnPageCache implements PageCache
         }
 
         // there was no existing mapping
+        PagePartitions.Partition partition = partitions.partitionFor( path );
         MuninnPagedFile pagedFile = new MuninnPagedFile(
                 path,
                 this,
@@ -539,7 +675,12 @@ public class MuninnPageCache implements PageCache
                 preallocateStoreFiles,
                 databaseName,
                 faultLockStriping,
-                ioController );
+                ioController,
+                partition );
+        if ( partition != null )
+        {
+            partitions.bind( pagedFile.swapperId, partition );
+        }
         pagedFile.incrementRefCount();
         pagedFile.setDeleteOnClose( deleteOnClose );
         current = new FileMapping( path, pagedFile );
@@ -621,6 +762,11 @@ public class MuninnPageCache implements PageCache
                 var monitoringParams = systemJob( "Eviction of pages from the page cache" );
                 scheduler.schedule( Group.PAGE_CACHE_EVICTION, monitoringParams, new EvictionTask( this ) );
             }
+            if ( targetDirtyPages > 0 )
+            {
+                var monitoringParams = systemJob( "Background writing of dirty pages in the page cache" );
+                scheduler.schedule( Group.PAGE_CACHE_WRITER, monitoringParams, new BackgroundWriterTask( this ) );
+            }
         }
         catch ( Exception e )
         {
@@ -716,29 +862,96 @@ public class MuninnPageCache implements PageCache
         clearEvictorException();
     }
 
-    private void flushAllPagesParallel( List<PagedFile> files, IOController limiter ) throws IOException
+    @Override
+    public void flushAndForce( List<PagedFile> files ) throws IOException
+    {
+        // Every file is limited by the IO controller it was mapped with.
+        flushAllPagesParallel( files, null );
+        clearEvictorException();
+    }
+
+    @Override
+    public void flushAndForce( List<PagedFile> files, IOController limiter ) throws IOException
     {
-        List<JobHandle<?>> flushes = new ArrayList<>( files.size() );
+        flushAllPagesParallel( files, requireNonNull( limiter ) );
+        clearEvictorException();
+    }
 
-        // Submit all flushes to the background thread
+    /**
+     * Flush the given files, with at most {@link #flushParallelism} files being flushed at the same time. The largest files are flushed first,
+     * so a large file is not left to be flushed on its own at the end.
+     *
+     * @param limiter the IO controller to limit the flushes of all the files, or {@code null} to limit every file by its own IO controller.
+     */
+    private void flushAllPagesParallel( List<PagedFile> files, IOController limiter ) throws IOException
+    {
+        // The concurrent flushes of the files that share an IO controller also share its budget.
+        Map<IOController,IOController> sharedControllers = new IdentityHashMap<>();
+        List<FileFlush> fileFlushes = new ArrayList<>( files.size() );
         for ( PagedFile file : files )
         {
-            flushes.add( scheduler.schedule( FILE_IO_HELPER,
-                    systemJob( file.getDatabaseName(), "Flushing changes to file '" + file.path().getFileName() + "'" ),
-                    () ->
+            if ( !(file instanceof MuninnPagedFile) || ((MuninnPagedFile) file).pageCache != this )
+            {
+                // Not a file we mapped ourselves, e.g. one wrapped by a decorating page cache. Let it flush itself, with whatever it adds on top.
+                fileFlushes.add( new FileFlush( file ) );
+                continue;
+            }
+            MuninnPagedFile pagedFile = (MuninnPagedFile) file;
+            IOController controller = limiter != null ? limiter : pagedFile.ioController;
+            if ( controller != IOController.DISABLED )
+            {
+                controller = sharedControllers.computeIfAbsent( controller, SharedIOController::new );
+            }
+            fileFlushes.add( new FileFlush( pagedFile, controller ) );
+        }
+        if ( fileFlushes.isEmpty() )
+        {
+            return;
+        }
+        fileFlushes.sort( Comparator.comparingLong( ( FileFlush flush ) -> flush.pages ).reversed() );
+        Queue<FileFlush> queue = new ConcurrentLinkedQueue<>( fileFlushes );
+
+        // Submit the flushers to the background threads. They keep taking files from the queue until it is empty, or one of them fails.
+        int flushers = Math.max( 1, Math.min( flushParallelism, fileFlushes.size() ) );
+        List<String> databaseNames = fileFlushes.stream().map( flush -> flush.file.getDatabaseName() ).distinct().collect( Collectors.toList() );
+        JobMonitoringParams monitoringParams = databaseNames.size() == 1 ? systemJob( databaseNames.get( 0 ), "Flushing changes to mapped files" )
+                                                                         : systemJob( "Flushing changes to mapped files" );
+        AtomicBoolean failed = new AtomicBoolean();
+        List<JobHandle<?>> flushes = new ArrayList<>( flushers );
+        for ( int i = 0; i < flushers; i++ )
+        {
+            flushes.add( scheduler.schedule( FILE_IO_HELPER, monitoringParams, () ->
+            {
+                FileFlush fileFlush;
+                while ( !failed.get() && (fileFlush = queue.poll()) != null )
+                {
+                    try
                     {
-                        try
+                        if ( fileFlush.muninnFile != null )
                         {
-                            flushFile( (MuninnPagedFile) file, limiter );
+                            flushFile( fileFlush.muninnFile, fileFlush.limiter );
                         }
-                        catch ( IOException e )
+                        else
                         {
-                            throw new UncheckedIOException( e );
+                            fileFlush.file.flushAndForce();
                         }
-                    } ) );
+                    }
+                    catch ( IOException e )
+                    {
+                        failed.set( true );
+                        throw new UncheckedIOException( e );
+                    }
+                    catch ( RuntimeException | Error e )
+                    {
+                        failed.set( true );
+                        throw e;
+                    }
+                }
+            } ) );
         }
 
         // Wait for all to complete
+        IOException exception = null;
         for ( JobHandle<?> flush : flushes )
         {
             try
@@ -747,9 +960,23 @@ public class MuninnPageCache implements PageCache
             }
             catch ( InterruptedException | ExecutionException e )
             {
-                throw new IOException( e );
+                // Surface the IOException of a failed flush as it is, like flushing the file on its own would have
+                Throwable cause = e instanceof ExecutionException && e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e;
+                IOException flushException = cause instanceof IOException ? (IOException) cause : new IOException( cause );
+                if ( exception == null )
+                {
+                    exception = flushException;
+                }
+                else
+                {
+                    exception.addSuppressed( flushException );
+                }
             }
         }
+        if ( exception != null )
+        {
+            throw exception;
+        }
     }
 
     private void flushFile( MuninnPagedFile muninnPagedFile, IOController limiter ) throws IOException
@@ -788,8 +1015,15 @@ public class MuninnPageCache implements PageCache
 
         closed = true;
 
+        readAheadQueue.close();
         interrupt( evictionThread );
         evictionThread = null;
+        interrupt( backgroundWriterThread );
+        backgroundWriterThread = null;
+        if ( compressedTier != null )
+        {
+            compressedTier.close();
+        }
     }
 
     private static void interrupt( Thread thread )
@@ -937,6 +1171,8 @@ public class MuninnPageCache implements PageCache
         int iterations = 0;
         int pageCount = pages.getPageCount();
         int clockArm = ThreadLocalRandom.current().nextInt( pageCount );
+        // With the scan resistant policy we first look at a bounded number of pages for probationary ones, before falling back to clock.
+        int probationPagesLeft = evictionPolicy == EvictionPolicy.SCAN_RESISTANT ? Math.min( pageCount, cooperativeProbationScanLimit ) : 0;
         boolean evicted = false;
         long pageRef;
         do
@@ -958,7 +1194,15 @@ public class MuninnPageCache implements PageCache
             }
 
             pageRef = pages.deref( clockArm );
-            if ( PageList.isLoaded( pageRef ) && PageList.decrementUsage( pageRef ) )
+            if ( probationPagesLeft > 0 )
+            {
+                probationPagesLeft--;
+                if ( PageList.isLoaded( pageRef ) && isProbationaryEvictionCandidate( pageRef ) )
+                {
+                    evicted = pages.tryEvict( pageRef, faultEvent, true );
+                }
+            }
+            else if ( PageList.isLoaded( pageRef ) && isEvictionCandidate( pageRef ) )
             {
                 evicted = pages.tryEvict( pageRef, faultEvent );
             }
@@ -1041,6 +1285,78 @@ public class MuninnPageCache implements PageCache
         setFreelistHead( shutdownSignal );
     }
 
+    /**
+     * Every once in a while, check the number of dirty pages in the cache, and if there are more than the target number of dirty pages, write
+     * pages to their files until we are a bit below the target, so checkpoints have less to flush, and eviction rarely has to flush a page
+     * before it can evict it.
+     */
+    void continuouslyWriteDirtyPages()
+    {
+        backgroundWriterThread = Thread.currentThread();
+        long parkNanos = TimeUnit.MILLISECONDS.toNanos( backgroundWriterIntervalMillis );
+        // Write a little more than we have to, so we don't start writing again as soon as the next page is dirtied.
+        long slack = targetDirtyPages / 8;
+
+        while ( !closed )
+        {
+            LockSupport.parkNanos( this, parkNanos );
+            if ( Thread.interrupted() || closed )
+            {
+                break;
+            }
+            long dirtyPages = countDirtyPages();
+            if ( dirtyPages > targetDirtyPages )
+            {
+                writeDirtyPages( Math.min( dirtyPages - targetDirtyPages + slack, backgroundWriterMaxPagesPerInterval ) );
+            }
+        }
+    }
+
+    /**
+     * @return the number of dirty pages in the cache. This is kept up to date by the operations that mark pages as modified or unmodified,
+     * so it is cheap to call.
+     */
+    long countDirtyPages()
+    {
+        return pages.modifiedPages();
+    }
+
+    /**
+     * Write up to the given number of dirty pages, going through the mapped files one at a time, and through every file in file order, so that
+     * consecutive dirty pages are written together. Every round starts with the file after the one the previous round started with, so no file
+     * is starved. Writing is best effort; a file that fails to write, for instance because it is being unmapped, is skipped.
+     *
+     * @return the number of pages written.
+     */
+    long writeDirtyPages( long pagesToWrite )
+    {
+        List<PagedFile> files;
+        try
+        {
+            files = listExistingMappings();
+        }
+        catch ( IOException e )
+        {
+            return 0;
+        }
+        int fileCount = files.size();
+        long pagesWritten = 0;
+        int startIndex = fileCount == 0 ? 0 : Math.floorMod( backgroundWriterFileIndex++, fileCount );
+        for ( int i = 0; i < fileCount && pagesWritten < pagesToWrite && !closed; i++ )
+        {
+            MuninnPagedFile file = (MuninnPagedFile) files.get( (startIndex + i) % fileCount );
+            try
+            {
+                pagesWritten += file.writeDirtyPages( pagesToWrite - pagesWritten );
+            }
+            catch ( IOException e )
+            {
+                // Checkpoints and eviction will flush the pages of this file, and report the problem, if there is one.
+            }
+        }
+        return pagesWritten;
+    }
+
     private int parkUntilEvictionRequired( int keepFree )
     {
         // Park until we're either interrupted, or the number of free pages drops
@@ -1053,6 +1369,7 @@ public class MuninnPageCache implements PageCache
             {
                 return 0;
             }
+            partitions.reportOccupancy( pageCacheTracer );
 
             int namberOfPagesToEvict = tryGetNumberOfPagesToEvict( keepFree );
             if ( namberOfPagesToEvict != UNKNOWN_PAGES_TO_EVICT )
@@ -1093,6 +1410,10 @@ public class MuninnPageCache implements PageCache
 
     int evictPages( int pageCountToEvict, int clockArm, EvictionRunEvent evictionRunEvent )
     {
+        if ( evictionPolicy == EvictionPolicy.SCAN_RESISTANT )
+        {
+            pageCountToEvict = evictProbationaryPages( pageCountToEvict, evictionRunEvent );
+        }
         while ( pageCountToEvict > 0 && !closed )
         {
             if ( clockArm == pages.getPageCount() )
@@ -1107,38 +1428,119 @@ public class MuninnPageCache implements PageCache
             }
 
             long pageRef = pages.deref( clockArm );
-            if ( PageList.isLoaded( pageRef ) && PageList.decrementUsage( pageRef ) )
+            if ( PageList.isLoaded( pageRef ) && isEvictionCandidate( pageRef ) )
             {
-                try
-                {
-                    pageCountToEvict--;
-                    if ( pages.tryEvict( pageRef, evictionRunEvent ) )
-                    {
-                        clearEvictorException();
-                        addFreePageToFreelist( pageRef, evictionRunEvent );
-                    }
-                }
-                catch ( IOException e )
-                {
-                    evictorException = e;
-                }
-                catch ( OutOfMemoryError oom )
-                {
-                    evictorException = oomException;
-                }
-                catch ( Throwable th )
-                {
-                    evictorException = new IOException(
-                            "Eviction thread encountered a problem", th );
-                }
+                pageCountToEvict--;
+                evictToFreelist( pageRef, evictionRunEvent, false );
             }
 
             clockArm++;
         }
+        partitions.reportOccupancy( pageCacheTracer );
 
         return clockArm;
     }
 
+    /**
+     * Evict pages from the probationary segment, i.e. loaded pages that have not been accessed again since they were
+     * faulted in. The usage counters of the other pages are left untouched, so the hot set survives large scans.
+     * The sweep is bounded, so that if there are not enough probationary pages, the remaining pages can be evicted
+     * by the regular clock sweep.
+     *
+     * @return the number of pages that still need to be evicted.
+     */
+    private int evictProbationaryPages( int pageCountToEvict, EvictionRunEvent evictionRunEvent )
+    {
+        int pageCount = pages.getPageCount();
+        int pagesToScan = (int) Math.min( pageCount, (long) pageCountToEvict * probationScanFactor );
+        while ( pageCountToEvict > 0 && pagesToScan > 0 && !closed )
+        {
+            if ( probationClockArm >= pageCount )
+            {
+                probationClockArm = 0;
+            }
+
+            long pageRef = pages.deref( probationClockArm );
+            if ( PageList.isLoaded( pageRef ) && isProbationaryEvictionCandidate( pageRef ) )
+            {
+                pageCountToEvict--;
+                evictToFreelist( pageRef, evictionRunEvent, true );
+            }
+
+            probationClockArm++;
+            pagesToScan--;
+        }
+        return pageCountToEvict;
+    }
+
+    /**
+     * Decide if the regular clock sweep should evict the given loaded page, taking the quota of its partition into account.
+     * Pages of partitions that are within their reservation are never evicted, and pages of partitions that are over their max are
+     * always evicted. Otherwise, the usage counter of the page is decremented, and the page is evicted if it is no longer in use.
+     */
+    private boolean isEvictionCandidate( long pageRef )
+    {
+        PagePartitions.Partition partition = partitions.partitionOf( pageRef );
+        if ( partition != null )
+        {
+            if ( partition.isWithinReservation() )
+            {
+                return false;
+            }
+            if ( partition.isOverQuota() )
+            {
+                return true;
+            }
+        }
+        return PageList.decrementUsage( pageRef );
+    }
+
+    /**
+     * Like {@link #isEvictionCandidate(long)}, but for the probationary sweep of the scan resistant eviction policy,
+     * which leaves the usage counters alone.
+     */
+    private boolean isProbationaryEvictionCandidate( long pageRef )
+    {
+        PagePartitions.Partition partition = partitions.partitionOf( pageRef );
+        if ( partition != null )
+        {
+            if ( partition.isWithinReservation() )
+            {
+                return false;
+            }
+            if ( partition.isOverQuota() )
+            {
+                return true;
+            }
+        }
+        return PageList.getUsage( pageRef ) <= 1;
+    }
+
+    private void evictToFreelist( long pageRef, EvictionRunEvent evictionRunEvent, boolean probationary )
+    {
+        try
+        {
+            if ( pages.tryEvict( pageRef, evictionRunEvent, probationary ) )
+            {
+                clearEvictorException();
+                addFreePageToFreelist( pageRef, evictionRunEvent );
+            }
+        }
+        catch ( IOException e )
+        {
+            evictorException = e;
+        }
+        catch ( OutOfMemoryError oom )
+        {
+            evictorException = oomException;
+        }
+        catch ( Throwable th )
+        {
+            evictorException = new IOException(
+                    "Eviction thread encountered a problem", th );
+        }
+    }
+
     void addFreePageToFreelist( long pageRef, EvictionRunEvent evictions )
     {
         Object current;
@@ -1200,18 +1602,80 @@ public class MuninnPageCache implements PageCache
         } );
     }
 
-    void startPreFetching( MuninnPageCursor cursor, CursorFactory cursorFactory )
-    {
-        PreFetcher preFetcher = new PreFetcher( cursor, cursorFactory, pageCacheTracer, clock );
-        var pagedFile = cursor.pagedFile;
-        var fileName = pagedFile.swapper.path().getFileName();
-        var monitoringParams = systemJob( pagedFile.databaseName, "Pre-fetching of file '" + fileName + "'" );
-        cursor.preFetcher = scheduler.schedule( Group.PAGE_CACHE_PRE_FETCHER, monitoringParams, preFetcher );
-    }
-
     @VisibleForTesting
     int getKeepFree()
     {
         return keepFree;
     }
+
+    private static final class FileFlush
+    {
+        private final PagedFile file;
+        private final MuninnPagedFile muninnFile;
+        private final IOController limiter;
+        private final long pages;
+
+        FileFlush( MuninnPagedFile file, IOController limiter )
+        {
+            this.file = file;
+            this.muninnFile = file;
+            this.limiter = limiter;
+            this.pages = file.flushSizeHint();
+        }
+
+        /**
+         * A file flushed through its own {@link PagedFile#flushAndForce()}. Its size is unknown, so it is flushed after the files we know the size of.
+         */
+        FileFlush( PagedFile file )
+        {
+            this.file = file;
+            this.muninnFile = null;
+            this.limiter = null;
+            this.pages = -1;
+        }
+    }
+
+    /**
+     * Funnels the IO of concurrent flushes through a single {@link IOController}, one report at a time, so that the controller sees the same
+     * stream of IO as it would from a single flush, and any pause it injects holds back all the flushes it limits.
+     */
+    private static final class SharedIOController implements IOController
+    {
+        private final IOController delegate;
+
+        SharedIOController( IOController delegate )
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public synchronized void maybeLimitIO( int recentlyCompletedIOs, Flushable flushable, MajorFlushEvent flushEvent )
+        {
+            delegate.maybeLimitIO( recentlyCompletedIOs, flushable, flushEvent );
+        }
+
+        @Override
+        public synchronized void reportIO( int completedIOs )
+        {
+            delegate.reportIO( completedIOs );
+        }
+
+        @Override
+        public void disable()
+        {
+            delegate.disable();
+        }
+
+        @Override
+        public void enable()
+        {
+            delegate.enable();
+        }
+
+        @Override
+        public boolean isEnabled()
+        {
+            return delegate.isEnabled();
+        }
+    }
 }
@@ -37,12 +37,12 @@ import org.neo4j.io.pagecache.impl.FileIsNotMappedException;
 import org.neo4j.io.pagecache.tracing.PageFaultEvent;
 import org.neo4j.io.pagecache.tracing.PinEvent;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
-import org.neo4j.scheduler.JobHandle;
 import org.neo4j.util.Preconditions;
 import org.neo4j.util.VisibleForTesting;
 
 import static org.neo4j.io.pagecache.PagedFile.PF_EAGER_FLUSH;
 import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
+import static org.neo4j.io.pagecache.PagedFile.PF_READ_AHEAD;
 import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
 import static org.neo4j.io.pagecache.PagedFile.PF_TRANSIENT;
 import static org.neo4j.io.pagecache.impl.muninn.MuninnPagedFile.UNMAPPED_TTE;
@@ -77,12 +77,12 @@ public abstract class MuninnPageCursor extends PageCursor
     protected boolean noFault;
     protected boolean noGrow;
     protected boolean updateUsage;
+    protected boolean readAhead;
     @SuppressWarnings( "unused" ) // accessed via VarHandle.
     private long currentPageId;
     private static final VarHandle CURRENT_PAGE_ID;
     protected long nextPageId;
     protected MuninnPageCursor linkedCursor;
-    protected JobHandle<?> preFetcher;
     private long pointer;
     private int pageSize;
     private int filePageSize;
@@ -131,6 +131,7 @@ public abstract class MuninnPageCursor extends PageCursor
         this.updateUsage = !isFlagRaised( pf_flags, PF_TRANSIENT );
         this.noFault = isFlagRaised( pf_flags, PF_NO_FAULT );
         this.noGrow = noFault || isFlagRaised( pf_flags, PagedFile.PF_NO_GROW );
+        this.readAhead = !noFault && pagedFile.readAheadRequested && isFlagRaised( pf_flags, PF_READ_AHEAD );
     }
 
     private static boolean isFlagRaised( int flagSet, int flag )
@@ -143,11 +144,6 @@ public abstract class MuninnPageCursor extends PageCursor
         return currentPageId;
     }
 
-    long loadVolatileCurrentPageId()
-    {
-        return (long) CURRENT_PAGE_ID.getVolatile( this );
-    }
-
     void storeCurrentPageId( long pageId )
     {
         CURRENT_PAGE_ID.setRelease( this, pageId );
@@ -229,13 +225,7 @@ public abstract class MuninnPageCursor extends PageCursor
             // We null out the pagedFile field to allow it and its (potentially big) translation table to be garbage
             // collected when the file is unmapped, since the cursors can stick around in thread local caches, etc.
             cursor.pagedFile = null;
-            // Signal to any pre-fetchers that the cursor is closed.
             cursor.storeCurrentPageId( UNBOUND_PAGE_ID );
-            if ( preFetcher != null )
-            {
-                preFetcher.cancel();
-                preFetcher = null;
-            }
             cursor = cursor.linkedCursor;
         }
     }
@@ -352,6 +342,10 @@ public abstract class MuninnPageCursor extends PageCursor
                 {
                     pinCursorToPage( pageRef, filePageId, swapper );
                     pinEvent.hit();
+                    if ( readAhead )
+                    {
+                        pagedFile.accessPatternDetector.observe( filePageId, false );
+                    }
                     return;
                 }
                 if ( locked )
@@ -391,6 +385,10 @@ public abstract class MuninnPageCursor extends PageCursor
                 // Sweet, we didn't race with any other fault on this translation table entry.
                 long pageRef = pageFault( filePageId, swapper, chunkIndex, chunk, latch );
                 pinCursorToPage( pageRef, filePageId, swapper );
+                if ( readAhead || pagedFile.readAheadOnFaults )
+                {
+                    pagedFile.accessPatternDetector.observe( filePageId, true );
+                }
                 return true;
             }
             // Oops, looks like we raced with another page fault on this file page.
@@ -438,7 +436,7 @@ public abstract class MuninnPageCursor extends PageCursor
                 // the file channel.
                 assertPagedFileStillMappedAndGetIdOfLastPage();
                 pagedFile.initBuffer( pageRef );
-                PageList.fault( pageRef, swapper, pagedFile.swapperId, filePageId, faultEvent );
+                pagedFile.fault( pageRef, filePageId, faultEvent );
             }
             catch ( Throwable throwable )
             {
@@ -25,6 +25,7 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.nio.channels.ClosedChannelException;
 import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.pagecache.IOController;
@@ -38,11 +39,16 @@ import org.neo4j.io.pagecache.buffer.NativeIOBuffer;
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.io.pagecache.impl.FileIsNotMappedException;
 import org.neo4j.io.pagecache.monitoring.PageFileCounters;
+import org.neo4j.io.pagecache.tracing.BackgroundWriteEvent;
 import org.neo4j.io.pagecache.tracing.EvictionRunEvent;
 import org.neo4j.io.pagecache.tracing.FlushEvent;
+import org.neo4j.io.pagecache.tracing.FlushEventOpportunity;
 import org.neo4j.io.pagecache.tracing.MajorFlushEvent;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.io.pagecache.tracing.PageFaultEvent;
+import org.neo4j.io.pagecache.tracing.PageReferenceTranslator;
+import org.neo4j.io.pagecache.tracing.PinEvent;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 
 import static java.util.Arrays.fill;
 import static java.util.Objects.requireNonNull;
@@ -54,6 +60,9 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
     static final int UNMAPPED_TTE = -1;
     private static final boolean mergePagesOnFlush = flag( MuninnPagedFile.class, "mergePagesOnFlush", true );
     private static final int maxChunkGrowth = getInteger( MuninnPagedFile.class, "maxChunkGrowth", 16 ); // One chunk is 32 MiB, by default.
+    private static final int maxTouchBatchSize = getInteger( MuninnPagedFile.class, "maxTouchBatchSize", 128 ); // 1 MiB reads, by default.
+    // The arrays touch works with, per thread, since read-ahead and warmup call it over and over. The latches are cleared after each batch.
+    private static final ThreadLocal<TouchBuffers> touchBuffers = ThreadLocal.withInitial( TouchBuffers::new );
     private static final int translationTableChunkSizePower = getInteger( MuninnPagedFile.class, "translationTableChunkSizePower", 12 );
     private static final int translationTableChunkSize = 1 << translationTableChunkSizePower;
     private static final long translationTableChunkSizeMask = translationTableChunkSize - 1;
@@ -69,6 +78,14 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
     private final PageCacheTracer pageCacheTracer;
     private final IOBufferFactory bufferFactory;
     final LatchMap pageFaultLatches;
+    // The max number of pages read with a single vectored read in touch. Never more than the fault lock striping,
+    // since a batch holds the fault latches of all of its pages at the same time.
+    private final int touchBatchSize;
+    final AccessPatternDetector accessPatternDetector;
+    // Whether the cursors of this file that were opened with PF_READ_AHEAD report their page accesses to the access pattern detector.
+    final boolean readAheadRequested;
+    // Whether the page faults of all other cursors of this file are reported to the access pattern detector as well.
+    final boolean readAheadOnFaults;
 
     // This is the table where we translate file-page-ids to cache-page-ids. Only one thread can perform a resize at
     // a time, and we ensure this mutual exclusion using the monitor lock on this MuninnPagedFile object.
@@ -79,13 +96,21 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
     final int swapperId;
     private final CursorFactory cursorFactory;
     final String databaseName;
-    private final IOController ioController;
+    final IOController ioController;
 
     private volatile boolean deleteOnClose;
 
     // Used to trace the causes of any exceptions from getLastPageId.
     private volatile Exception closeStackTrace;
 
+    // The page cache partition this file belongs to, if any, and the number of pages this file holds in it.
+    // The partition is cleared when the file is unmapped, and whatever pages are still left are handed back.
+    private volatile PagePartitions.Partition partition;
+    private final AtomicLong partitionPages = new AtomicLong();
+
+    // The file page id the background writer will continue writing dirty pages from. Only accessed by the background writer thread.
+    private long backgroundWriterPosition;
+
     // max modifier transaction id among evicted pages for this file
     @SuppressWarnings( "unused" ) // accessed with VarHandle
     private volatile long highestEvictedTransactionId;
@@ -138,11 +163,12 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
      * @param databaseName an optional name of the database this file belongs to. This option associates the mapped file with a database.
      * This information is currently used only for monitoring purposes.
      * @param ioController io controller to report page file io operations
+     * @param partition the page cache partition the file belongs to, or {@code null} if it does not belong to any partition.
      * @throws IOException If the {@link PageSwapper} could not be created.
      */
     MuninnPagedFile( Path path, MuninnPageCache pageCache, int filePageSize, PageSwapperFactory swapperFactory, PageCacheTracer pageCacheTracer,
             boolean createIfNotExists, boolean truncateExisting, boolean useDirectIo, boolean preallocateStoreFiles, String databaseName,
-            int faultLockStriping, IOController ioController ) throws IOException
+            int faultLockStriping, IOController ioController, PagePartitions.Partition partition ) throws IOException
     {
         super( pageCache.pages );
         this.pageCache = pageCache;
@@ -150,9 +176,14 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         this.cursorFactory = new CursorFactory( this );
         this.pageCacheTracer = pageCacheTracer;
         this.pageFaultLatches = new LatchMap( faultLockStriping );
+        this.touchBatchSize = Math.max( 1, Math.min( maxTouchBatchSize, faultLockStriping ) );
+        this.accessPatternDetector = new AccessPatternDetector( this, pageCache.readAheadQueue );
+        this.readAheadRequested = pageCache.readAheadPolicy != ReadAheadPolicy.DISABLED;
+        this.readAheadOnFaults = pageCache.readAheadPolicy == ReadAheadPolicy.ALL;
         this.bufferFactory = pageCache.getBufferFactory();
         this.databaseName = requireNonNull( databaseName );
         this.ioController = requireNonNull( ioController );
+        this.partition = partition;
 
         // The translation table is an array of arrays of integers that are either UNMAPPED_TTE, or the id of a page in
         // the page list. The table only grows the outer array, and all the inner "chunks" all stay the same size. This
@@ -189,6 +220,12 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
 
         initialiseLastPageId( lastPageId );
         this.swapperId = swapper.swapperId();
+        CompressedPageTier compressedTier = pageCache.compressedTier;
+        if ( compressedTier != null )
+        {
+            // The swapper id might have belonged to a file that was unmapped, while some of its pages were still being evicted.
+            compressedTier.invalidate( swapperId );
+        }
     }
 
     @Override
@@ -217,11 +254,139 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         pageCacheTracer.openCursor();
 
         cursor.rewind();
-        if ( ( pf_flags & PF_READ_AHEAD ) == PF_READ_AHEAD && ( pf_flags & PF_NO_FAULT ) != PF_NO_FAULT )
+        return cursor;
+    }
+
+    @Override
+    public int touch( long pageId, int count, CursorContext context ) throws IOException
+    {
+        long endPageId = Math.min( pageId + count, getLastPageId() + 1 );
+        TouchBuffers buffers = touchBuffers.get();
+        LatchMap.Latch[] latches = buffers.latches;
+        long[] pageRefs = buffers.pageRefs;
+        long[] bufferAddresses = buffers.bufferAddresses;
+        int[] bufferLengths = buffers.bufferLengths;
+        PageCursorTracer cursorTracer = context.getCursorTracer();
+        int touched = 0;
+        long filePageId = Math.max( pageId, 0 );
+        while ( filePageId < endPageId )
         {
-            pageCache.startPreFetching( cursor, cursorFactory );
+            // Collect the longest run of consecutive pages, that are not in memory, and that we can take fault latches for.
+            int batchSize = 0;
+            while ( batchSize < touchBatchSize && filePageId + batchSize < endPageId )
+            {
+                LatchMap.Latch latch = tryLatchUnmappedPage( filePageId + batchSize );
+                if ( latch == null )
+                {
+                    break;
+                }
+                latches[batchSize++] = latch;
+            }
+            if ( batchSize == 0 )
+            {
+                // This page is either already in memory, or someone else is faulting it in right now.
+                filePageId++;
+                continue;
+            }
+            touchBatch( filePageId, batchSize, latches, pageRefs, bufferAddresses, bufferLengths, cursorTracer );
+            touched += batchSize;
+            filePageId += batchSize;
+        }
+        return touched;
+    }
+
+    private LatchMap.Latch tryLatchUnmappedPage( long filePageId ) throws IOException
+    {
+        int chunkId = computeChunkId( filePageId );
+        int chunkIndex = computeChunkIndex( filePageId );
+        int[][] tt = translationTable;
+        if ( tt.length <= chunkId )
+        {
+            tt = expandCapacity( chunkId );
+        }
+        int[] chunk = tt[chunkId];
+        if ( (int) TRANSLATION_TABLE_ARRAY.getVolatile( chunk, chunkIndex ) != UNMAPPED_TTE )
+        {
+            return null;
+        }
+        LatchMap.Latch latch = pageFaultLatches.tryTakeLatch( filePageId );
+        if ( latch != null && (int) TRANSLATION_TABLE_ARRAY.getVolatile( chunk, chunkIndex ) != UNMAPPED_TTE )
+        {
+            // We raced with a page fault that completed in-between our check and us taking the latch.
+            latch.release();
+            return null;
+        }
+        return latch;
+    }
+
+    /**
+     * Fault in a run of consecutive file pages, for which we are holding the fault latches, with a single vectored read.
+     * The whole batch is traced as one pin with one page fault, since that is what it costs in terms of IO.
+     * No matter what happens, all the latches are released when this method returns.
+     */
+    private void touchBatch( long startFilePageId, int batchSize, LatchMap.Latch[] latches, long[] pageRefs, long[] bufferAddresses,
+            int[] bufferLengths, PageCursorTracer cursorTracer ) throws IOException
+    {
+        PinEvent pinEvent = cursorTracer.beginPin( false, startFilePageId, swapper );
+        int grabbedPages = 0;
+        try ( PageFaultEvent faultEvent = pinEvent.beginPageFault( startFilePageId, swapper ) )
+        {
+            try
+            {
+                for ( ; grabbedPages < batchSize; grabbedPages++ )
+                {
+                    pageRefs[grabbedPages] = grabFreeAndExclusivelyLockedPage( faultEvent );
+                }
+                for ( int i = 0; i < batchSize; i++ )
+                {
+                    initBuffer( pageRefs[i] );
+                    bufferAddresses[i] = getAddress( pageRefs[i] );
+                    bufferLengths[i] = filePageSize;
+                }
+                // Check if we're racing with unmapping, before touching the swapper. See MuninnPageCursor#pageFault.
+                getLastPageId();
+                PageList.fault( pageRefs, bufferAddresses, bufferLengths, batchSize, swapper, swapperId, startFilePageId, faultEvent );
+                CompressedPageTier compressedTier = pageCache.compressedTier;
+                if ( compressedTier != null )
+                {
+                    for ( int i = 0; i < batchSize; i++ )
+                    {
+                        compressedTier.invalidate( swapperId, startFilePageId + i );
+                    }
+                }
+                pagesLoaded( batchSize );
+            }
+            catch ( Throwable throwable )
+            {
+                for ( int i = 0; i < grabbedPages; i++ )
+                {
+                    // Make sure to unlock the pages, so the eviction thread can pick up our trash.
+                    PageList.unlockExclusive( pageRefs[i] );
+                }
+                faultEvent.fail( throwable );
+                throw throwable;
+            }
+            int[][] tt = translationTable;
+            for ( int i = 0; i < batchSize; i++ )
+            {
+                long filePageId = startFilePageId + i;
+                long pageRef = pageRefs[i];
+                // Count the load as a first access, just like a regular page fault followed by a pin would.
+                PageList.incrementUsage( pageRef );
+                TRANSLATION_TABLE_ARRAY.setVolatile( tt[computeChunkId( filePageId )], computeChunkIndex( filePageId ), toId( pageRef ) );
+                PageList.unlockExclusive( pageRef );
+            }
+            faultEvent.setCachePageId( toId( pageRefs[0] ) );
+        }
+        finally
+        {
+            for ( int i = 0; i < batchSize; i++ )
+            {
+                latches[i].release();
+                latches[i] = null;
+            }
+            pinEvent.done();
         }
-        return cursor;
     }
 
     private static IllegalArgumentException wrongLocksArgument( int lockFlags )
@@ -273,7 +438,22 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         // But if we get here, to close the swapper, then we are definitely unmapping!
         closeStackTrace = new Exception( "tracing paged file closing" );
 
+        PagePartitions.Partition partition = this.partition;
+        if ( partition != null )
+        {
+            pageCache.partitions.unbind( swapperId );
+        }
         evictPages();
+        if ( partition != null )
+        {
+            this.partition = null;
+            partition.pagesEvicted( partitionPages.getAndSet( 0 ) );
+        }
+        CompressedPageTier compressedTier = pageCache.compressedTier;
+        if ( compressedTier != null )
+        {
+            compressedTier.invalidate( swapperId );
+        }
         if ( !deleteOnClose )
         {
             swapper.close();
@@ -332,6 +512,16 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         }
     }
 
+    /**
+     * @return the number of pages in the file, or zero if the file is no longer mapped, as a hint of how much there could be to flush.
+     */
+    long flushSizeHint()
+    {
+        long state = getHeaderState();
+        long lastPageId = state & headerStateLastPageIdMask;
+        return refCountOf( state ) == 0 || lastPageId < 0 ? 0 : lastPageId + 1;
+    }
+
     @Override
     public void flushAndForce() throws IOException
     {
@@ -396,7 +586,10 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
                         {
                             // The page is still bound to the expected file and file page id after we locked it,
                             // so we didn't race with eviction and faulting, and the page is dirty.
-                            explicitlyMarkPageUnmodifiedUnderExclusiveLock( pageRef );
+                            if ( explicitlyMarkPageUnmodifiedUnderExclusiveLock( pageRef ) )
+                            {
+                                countUnmodified();
+                            }
                             unlockExclusive( pageRef );
                             continue chunkLoop;
                         }
@@ -596,7 +789,7 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
 
     private void vectoredFlush(
             long[] pages, long[] bufferAddresses, long[] flushStamps, int[] bufferLengths, int numberOfBuffers, int pagesToFlush, int pagesMerged,
-            MajorFlushEvent flushEvent, boolean forClosing ) throws IOException
+            FlushEventOpportunity flushEvent, boolean forClosing ) throws IOException
     {
         FlushEvent flush = null;
         boolean successful = false;
@@ -633,9 +826,9 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
                 for ( int i = 0; i < pagesToFlush; i++ )
                 {
                     long pageRef = pages[i];
-                    if ( successful )
+                    if ( successful && explicitlyMarkPageUnmodifiedUnderExclusiveLock( pageRef ) )
                     {
-                        explicitlyMarkPageUnmodifiedUnderExclusiveLock( pageRef );
+                        countUnmodified();
                     }
                     unlockExclusive( pageRef );
                 }
@@ -644,10 +837,130 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
             {
                 for ( int i = 0; i < pagesToFlush; i++ )
                 {
-                    unlockFlush( pages[i], flushStamps[i], successful );
+                    if ( unlockFlush( pages[i], flushStamps[i], successful ) )
+                    {
+                        countUnmodified();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Write up to the given number of dirty pages of this file, in file order, starting from where the previous call left off, and wrapping
+     * around to the start of the file when reaching the end of it. Runs of consecutive dirty pages are written with vectored writes. Pages that
+     * are write locked are skipped, and the file is not forced. The writes are traced as a {@link BackgroundWriteEvent} rather than as a flush
+     * of the file, and are limited by the IO controller of the file, like the flushes of its database.
+     * This is only called by the background writer of the page cache.
+     *
+     * @param maxPagesToWrite the max number of pages to write.
+     * @return the number of pages written.
+     */
+    long writeDirtyPages( long maxPagesToWrite ) throws IOException
+    {
+        long lastPageId = getLastPageId();
+        if ( lastPageId < 0 )
+        {
+            return 0;
+        }
+        int maxRunLength = (int) Math.min( translationTableChunkSize, maxPagesToWrite );
+        long[] pages = new long[maxRunLength];
+        long[] flushStamps = new long[maxRunLength];
+        long[] bufferAddresses = new long[maxRunLength];
+        int[] bufferLengths = new int[maxRunLength];
+        long filePageId = backgroundWriterPosition > lastPageId ? 0 : backgroundWriterPosition;
+        long pagesWritten = 0;
+        try ( BackgroundWriteEvent writeEvent = pageCacheTracer.beginBackgroundWrite( swapper ) )
+        {
+            MajorFlushEvent ioEvent = new BackgroundWriteIOEvent( writeEvent );
+            int pagesGrabbed = 0;
+            int numberOfBuffers = 0;
+            int mergedPages = 0;
+            long nextSequentialAddress = -1;
+            for ( long pagesScanned = 0; pagesScanned <= lastPageId && pagesWritten + pagesGrabbed < maxPagesToWrite; pagesScanned++ )
+            {
+                boolean grabbed = tryGrabDirtyPage( filePageId, pages, flushStamps, pagesGrabbed );
+                if ( grabbed )
+                {
+                    long address = getAddress( pages[pagesGrabbed] );
+                    pagesGrabbed++;
+                    if ( mergePagesOnFlush && nextSequentialAddress == address )
+                    {
+                        bufferLengths[numberOfBuffers - 1] += filePageSize;
+                        mergedPages++;
+                    }
+                    else
+                    {
+                        bufferAddresses[numberOfBuffers] = address;
+                        bufferLengths[numberOfBuffers] = filePageSize;
+                        numberOfBuffers++;
+                    }
+                    nextSequentialAddress = address + filePageSize;
                 }
+                filePageId = filePageId == lastPageId ? 0 : filePageId + 1;
+                // The run ends at a page we did not grab, at the end of the file, or when the vector is full.
+                if ( pagesGrabbed > 0 && (!grabbed || filePageId == 0 || pagesGrabbed == maxRunLength) )
+                {
+                    vectoredFlush( pages, bufferAddresses, flushStamps, bufferLengths, numberOfBuffers, pagesGrabbed, mergedPages, writeEvent, false );
+                    ioController.maybeLimitIO( numberOfBuffers, this, ioEvent );
+                    pagesWritten += pagesGrabbed;
+                    pagesGrabbed = 0;
+                    numberOfBuffers = 0;
+                    mergedPages = 0;
+                    nextSequentialAddress = -1;
+                }
+            }
+            if ( pagesGrabbed > 0 )
+            {
+                vectoredFlush( pages, bufferAddresses, flushStamps, bufferLengths, numberOfBuffers, pagesGrabbed, mergedPages, writeEvent, false );
+                ioController.maybeLimitIO( numberOfBuffers, this, ioEvent );
+                pagesWritten += pagesGrabbed;
             }
         }
+        finally
+        {
+            backgroundWriterPosition = filePageId;
+        }
+        return pagesWritten;
+    }
+
+    /**
+     * Take the flush lock of the page the given file page is loaded into, if the page is dirty and the lock can be taken right away,
+     * and put the page and the flush lock stamp at the given index of the given arrays.
+     *
+     * @return {@code true} if the page was grabbed, or {@code false} if the file page is not in memory, is not dirty, or could not be flush locked.
+     */
+    private boolean tryGrabDirtyPage( long filePageId, long[] pages, long[] flushStamps, int index )
+    {
+        int chunkId = computeChunkId( filePageId );
+        int[][] tt = translationTable;
+        if ( chunkId >= tt.length )
+        {
+            return false;
+        }
+        int pageId = (int) TRANSLATION_TABLE_ARRAY.getVolatile( tt[chunkId], computeChunkIndex( filePageId ) );
+        if ( pageId == UNMAPPED_TTE )
+        {
+            return false;
+        }
+        long pageRef = deref( pageId );
+        if ( !isModified( pageRef ) )
+        {
+            return false;
+        }
+        long stamp = tryFlushLock( pageRef );
+        if ( stamp == 0 )
+        {
+            return false;
+        }
+        if ( !isBoundTo( pageRef, swapperId, filePageId ) || !isModified( pageRef ) )
+        {
+            unlockFlush( pageRef, stamp, false );
+            return false;
+        }
+        pages[index] = pageRef;
+        flushStamps[index] = stamp;
+        return true;
     }
 
     boolean flushLockedPage( long pageRef, long filePageId )
@@ -843,7 +1156,47 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
         int mappedPageId = (int) TRANSLATION_TABLE_ARRAY.getVolatile( chunk, chunkIndex );
         long pageRef = deref( mappedPageId );
         setHighestEvictedTransactionId( getAndResetLastModifiedTransactionId( pageRef ) );
+        CompressedPageTier compressedTier = pageCache.compressedTier;
+        if ( compressedTier != null && closeStackTrace == null )
+        {
+            // The page has been flushed, if it was modified, so the compressed page is the same as the file page.
+            // We don't keep the pages of files that are being unmapped, since nobody will fault them in again.
+            compressedTier.put( swapperId, filePageId, getAddress( pageRef ), filePageSize );
+        }
         TRANSLATION_TABLE_ARRAY.setVolatile( chunk, chunkIndex, UNMAPPED_TTE );
+        PagePartitions.Partition partition = this.partition;
+        if ( partition != null )
+        {
+            partitionPages.decrementAndGet();
+            partition.pagesEvicted( 1 );
+        }
+    }
+
+    /**
+     * Fault the given file page into the given exclusively locked and unbound page, from the compressed tier of the page cache if the page
+     * is there, and otherwise from the file.
+     */
+    void fault( long pageRef, long filePageId, PageFaultEvent faultEvent ) throws IOException
+    {
+        CompressedPageTier compressedTier = pageCache.compressedTier;
+        if ( compressedTier == null || !PageList.fault( pageRef, compressedTier, swapper, swapperId, filePageId, filePageSize ) )
+        {
+            PageList.fault( pageRef, swapper, swapperId, filePageId, faultEvent );
+        }
+        pagesLoaded( 1 );
+    }
+
+    /**
+     * Account for the given number of pages that have just been faulted into the cache, in the partition of this file.
+     */
+    void pagesLoaded( int count )
+    {
+        PagePartitions.Partition partition = this.partition;
+        if ( partition != null )
+        {
+            partitionPages.addAndGet( count );
+            partition.pagesLoaded( count );
+        }
     }
 
     private void setHighestEvictedTransactionId( long modifiedTransactionId )
@@ -926,4 +1279,67 @@ final class MuninnPagedFile extends PageList implements PagedFile, Flushable
     {
         return (int) (filePageId & translationTableChunkSizeMask);
     }
+
+    private static final class TouchBuffers
+    {
+        private final LatchMap.Latch[] latches = new LatchMap.Latch[Math.max( 1, maxTouchBatchSize )];
+        private final long[] pageRefs = new long[latches.length];
+        private final long[] bufferAddresses = new long[latches.length];
+        private final int[] bufferLengths = new int[latches.length];
+    }
+
+    /**
+     * Lets the IO controller of the file limit the writes of the background writer, which the controller sees as a flush, while the throttling
+     * and the IO it reports is traced by the {@link BackgroundWriteEvent} of the writer.
+     */
+    private static final class BackgroundWriteIOEvent implements MajorFlushEvent
+    {
+        private final BackgroundWriteEvent writeEvent;
+
+        BackgroundWriteIOEvent( BackgroundWriteEvent writeEvent )
+        {
+            this.writeEvent = writeEvent;
+        }
+
+        @Override
+        public FlushEvent beginFlush( long[] pageRefs, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator, int pagesToFlush,
+                int mergedPages )
+        {
+            return writeEvent.beginFlush( pageRefs, swapper, pageReferenceTranslator, pagesToFlush, mergedPages );
+        }
+
+        @Override
+        public FlushEvent beginFlush( long pageRef, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator )
+        {
+            return writeEvent.beginFlush( pageRef, swapper, pageReferenceTranslator );
+        }
+
+        @Override
+        public void startFlush( int[][] translationTable )
+        {
+        }
+
+        @Override
+        public ChunkEvent startChunk( int[] chunk )
+        {
+            return ChunkEvent.NULL;
+        }
+
+        @Override
+        public void throttle( long millis )
+        {
+            writeEvent.throttle( millis );
+        }
+
+        @Override
+        public void reportIO( int completedIOs )
+        {
+            writeEvent.reportIO( completedIOs );
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
 }
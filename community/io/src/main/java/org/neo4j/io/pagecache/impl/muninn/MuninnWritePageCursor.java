@@ -65,7 +65,10 @@ final class MuninnWritePageCursor extends MuninnPageCursor
             }
             finally
             {
-                PageList.unlockFlush( pageRef, flushStamp, success );
+                if ( PageList.unlockFlush( pageRef, flushStamp, success ) )
+                {
+                    pagedFile.countUnmodified();
+                }
             }
         }
     }
@@ -103,7 +106,12 @@ final class MuninnWritePageCursor extends MuninnPageCursor
     @Override
     protected boolean tryLockPage( long pageRef )
     {
-        return PageList.tryWriteLock( pageRef );
+        int result = PageList.tryWriteLockAndMarkModified( pageRef );
+        if ( result == OffHeapPageLock.WRITE_LOCKED_AND_MODIFIED )
+        {
+            pagedFile.countModified();
+        }
+        return result != OffHeapPageLock.WRITE_LOCK_FAILED;
     }
 
     @Override
@@ -134,7 +142,10 @@ final class MuninnWritePageCursor extends MuninnPageCursor
     @Override
     protected void convertPageFaultLock( long pageRef )
     {
-        PageList.unlockExclusiveAndTakeWriteLock( pageRef );
+        if ( PageList.unlockExclusiveAndTakeWriteLock( pageRef ) )
+        {
+            pagedFile.countModified();
+        }
     }
 
     @Override
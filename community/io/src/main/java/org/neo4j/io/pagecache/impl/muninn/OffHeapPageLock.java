@@ -103,6 +103,13 @@ public final class OffHeapPageLock
     // Unlocked mask:
     private static final long UNL_MASK = 0b11011111_11111111_11110000_00000000_00000000_00000000_00000000_00000000L;
 
+    /**
+     * Results of {@link #tryWriteLockAndMarkModified(long)}.
+     */
+    public static final int WRITE_LOCK_FAILED = 0;
+    public static final int WRITE_LOCKED = 1;
+    public static final int WRITE_LOCKED_AND_MODIFIED = 2;
+
     private OffHeapPageLock()
     {
         // The static version keeps all state externally.
@@ -176,6 +183,17 @@ public final class OffHeapPageLock
      * @return {@code true} if the write lock was taken, {@code false} otherwise.
      */
     public static boolean tryWriteLock( long address )
+    {
+        return tryWriteLockAndMarkModified( address ) != WRITE_LOCK_FAILED;
+    }
+
+    /**
+     * Like {@link #tryWriteLock(long)}, but also tell if taking the write lock is what raised the <em>modified</em> flag.
+     *
+     * @return {@link #WRITE_LOCK_FAILED} if the write lock was not taken, {@link #WRITE_LOCKED_AND_MODIFIED} if the write lock was taken and
+     * the <em>modified</em> flag was not raised before, or {@link #WRITE_LOCKED} if the write lock was taken and the flag was already raised.
+     */
+    public static int tryWriteLockAndMarkModified( long address )
     {
         long s;
         long n;
@@ -187,14 +205,15 @@ public final class OffHeapPageLock
 
             if ( unwritablyLocked || writeCountOverflow )
             {
-                return failWriteLock( s, writeCountOverflow );
+                failWriteLock( s, writeCountOverflow );
+                return WRITE_LOCK_FAILED;
             }
 
             n = s + CNT_UNIT | MOD_MASK;
             if ( compareAndSetState( address, s, n ) )
             {
                 VarHandle.releaseFence();
-                return true;
+                return (s & MOD_MASK) == 0 ? WRITE_LOCKED_AND_MODIFIED : WRITE_LOCKED;
             }
         }
     }
@@ -302,12 +321,15 @@ public final class OffHeapPageLock
 
     /**
      * Atomically unlock the currently held exclusive lock, and take a write lock.
+     *
+     * @return {@code true} if this raised the <em>modified</em> flag, {@code false} if it was already raised.
      */
-    public static void unlockExclusiveAndTakeWriteLock( long address )
+    public static boolean unlockExclusiveAndTakeWriteLock( long address )
     {
         long s = initiateExclusiveLockRelease( address );
         long n = (nextSeq( s ) - EXL_MASK + CNT_UNIT) | MOD_MASK;
         unconditionallySetState( address, n );
+        return (s & MOD_MASK) == 0;
     }
 
     private static long initiateExclusiveLockRelease( long address )
@@ -331,17 +353,18 @@ public final class OffHeapPageLock
      * <p>
      * If the <em>modified</em> flag is currently not raised, then this method does nothing.
      *
+     * @return {@code true} if the <em>modified</em> flag was lowered, {@code false} if it was not raised.
      * @throws IllegalStateException if the lock at the given address is not in the exclusively locked state.
      */
-    public static void explicitlyMarkPageUnmodifiedUnderExclusiveLock( long address )
+    public static boolean explicitlyMarkPageUnmodifiedUnderExclusiveLock( long address )
     {
         long s = getState( address );
         if ( (s & EXL_MASK) != EXL_MASK )
         {
             throw new IllegalStateException( "Page must be exclusively locked to explicitly lower modified bit" );
         }
-        s = s & (~MOD_MASK);
-        unconditionallySetState( address, s );
+        unconditionallySetState( address, s & (~MOD_MASK) );
+        return (s & MOD_MASK) != 0;
     }
 
     /**
@@ -372,8 +395,10 @@ public final class OffHeapPageLock
 
     /**
      * Unlock the currently held flush lock.
+     *
+     * @return {@code true} if the <em>modified</em> flag was lowered, because the flush was successful and did not overlap with any writes.
      */
-    public static void unlockFlush( long address, long stamp, boolean success )
+    public static boolean unlockFlush( long address, long stamp, boolean success )
     {
         long s;
         long n;
@@ -393,6 +418,7 @@ public final class OffHeapPageLock
             }
         }
         while ( !compareAndSetState( address, s, n ) );
+        return (s & MOD_MASK) != 0 && (n & MOD_MASK) == 0;
     }
 
     private static void throwUnmatchedUnlockFlush( long s )
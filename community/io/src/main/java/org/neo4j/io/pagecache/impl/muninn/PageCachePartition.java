@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The definition of a page cache partition: a named group of mapped files, selected by a glob on their paths, with a quota on how many cache
+ * pages the files in the group can occupy.
+ * <ul>
+ *     <li>The <em>reserved</em> page count is the number of pages the partition can keep in the cache, no matter how much other files want the
+ *     memory. Eviction will not touch the pages of a partition that occupies no more than its reserved pages.</li>
+ *     <li>The <em>max</em> page count is a soft limit on the number of pages the partition can occupy. The pages of a partition that occupies more
+ *     than its max pages are evicted before any other pages, regardless of how often they are accessed.</li>
+ * </ul>
+ * A file belongs to the first partition with a glob that matches its path. Files that don't match any partition are not subject to any quota.
+ */
+public final class PageCachePartition
+{
+    private final String name;
+    private final String glob;
+    private final long reservedPages;
+    private final long maxPages;
+    private final PathMatcher matcher;
+
+    public PageCachePartition( String name, String glob, long reservedPages, long maxPages )
+    {
+        if ( reservedPages < 0 || maxPages < reservedPages )
+        {
+            throw new IllegalArgumentException( "Page cache partition '" + name + "' must have 0 <= reserved pages <= max pages, but reserved pages was " +
+                    reservedPages + " and max pages was " + maxPages + "." );
+        }
+        this.name = requireNonNull( name );
+        this.glob = requireNonNull( glob );
+        this.reservedPages = reservedPages;
+        this.maxPages = maxPages;
+        this.matcher = FileSystems.getDefault().getPathMatcher( "glob:" + glob );
+    }
+
+    /**
+     * Parse a partition definition on the form {@code name:glob:reserved:max}, where {@code reserved} and {@code max} are page counts.
+     * The max page count can be left out, in which case the partition has no max. The name cannot contain a colon, but the glob can, like
+     * the drive letter of a Windows path, since the page counts are split off from the right.
+     *
+     * @param definition the partition definition to parse.
+     * @return the parsed partition.
+     */
+    public static PageCachePartition parse( String definition )
+    {
+        String[] nameAndRest = definition.trim().split( ":", 2 );
+        int reservedStart = nameAndRest.length == 2 ? nameAndRest[1].lastIndexOf( ':' ) : -1;
+        if ( reservedStart == -1 )
+        {
+            throw notOnTheForm( definition );
+        }
+        String name = nameAndRest[0].trim();
+        String glob = nameAndRest[1].substring( 0, reservedStart );
+        long reservedPages = parsePageCount( definition, nameAndRest[1].substring( reservedStart + 1 ) );
+        long maxPages = Long.MAX_VALUE;
+        int maxStart = glob.lastIndexOf( ':' );
+        if ( maxStart != -1 && isPageCount( glob.substring( maxStart + 1 ) ) )
+        {
+            maxPages = reservedPages;
+            reservedPages = parsePageCount( definition, glob.substring( maxStart + 1 ) );
+            glob = glob.substring( 0, maxStart );
+        }
+        glob = glob.trim();
+        if ( name.isEmpty() || glob.isEmpty() )
+        {
+            throw notOnTheForm( definition );
+        }
+        return new PageCachePartition( name, glob, reservedPages, maxPages );
+    }
+
+    private static boolean isPageCount( String part )
+    {
+        String trimmed = part.trim();
+        return !trimmed.isEmpty() && trimmed.chars().allMatch( Character::isDigit );
+    }
+
+    private static long parsePageCount( String definition, String part )
+    {
+        try
+        {
+            return Long.parseLong( part.trim() );
+        }
+        catch ( NumberFormatException e )
+        {
+            throw new IllegalArgumentException( "Page cache partition definition '" + definition + "' has a page count that is not a number.", e );
+        }
+    }
+
+    private static IllegalArgumentException notOnTheForm( String definition )
+    {
+        return new IllegalArgumentException( "Page cache partition definition '" + definition + "' is not on the form 'name:glob:reserved:max'." );
+    }
+
+    public String name()
+    {
+        return name;
+    }
+
+    public String glob()
+    {
+        return glob;
+    }
+
+    public long reservedPages()
+    {
+        return reservedPages;
+    }
+
+    public long maxPages()
+    {
+        return maxPages;
+    }
+
+    boolean matches( Path path )
+    {
+        return matcher.matches( path );
+    }
+
+    @Override
+    public String toString()
+    {
+        return name + ":" + glob + ":" + reservedPages + ":" + maxPages;
+    }
+}
@@ -21,6 +21,7 @@ package org.neo4j.io.pagecache.impl.muninn;
 
 import java.io.IOException;
 import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.mem.MemoryAllocator;
@@ -86,6 +87,8 @@ class PageList implements PageReferenceTranslator
     private final long victimPageAddress;
     private final long baseAddress;
     private final long bufferAlignment;
+    // The number of pages with their modified flag raised. Shared by every PageList that is a copy of the same PageList.
+    private final LongAdder modifiedPages;
 
     PageList( int pageCount, int cachePageSize, MemoryAllocator memoryAllocator, SwapperSet swappers,
               long victimPageAddress, long bufferAlignment )
@@ -98,6 +101,7 @@ class PageList implements PageReferenceTranslator
         long bytes = ((long) pageCount) * META_DATA_BYTES_PER_PAGE;
         this.baseAddress = memoryAllocator.allocateAligned( bytes, Long.BYTES );
         this.bufferAlignment = bufferAlignment;
+        this.modifiedPages = new LongAdder();
         clearMemory( baseAddress, pageCount );
     }
 
@@ -118,6 +122,7 @@ class PageList implements PageReferenceTranslator
         this.victimPageAddress = pageList.victimPageAddress;
         this.baseAddress = pageList.baseAddress;
         this.bufferAlignment = pageList.bufferAlignment;
+        this.modifiedPages = pageList.modifiedPages;
     }
 
     private static void clearMemory( long baseAddress, long pageCount )
@@ -245,6 +250,11 @@ class PageList implements PageReferenceTranslator
         return OffHeapPageLock.tryWriteLock( offLock( pageRef ) );
     }
 
+    static int tryWriteLockAndMarkModified( long pageRef )
+    {
+        return OffHeapPageLock.tryWriteLockAndMarkModified( offLock( pageRef ) );
+    }
+
     static void unlockWrite( long pageRef )
     {
         OffHeapPageLock.unlockWrite( offLock( pageRef ) );
@@ -265,9 +275,9 @@ class PageList implements PageReferenceTranslator
         return OffHeapPageLock.unlockExclusive( offLock( pageRef ) );
     }
 
-    static void unlockExclusiveAndTakeWriteLock( long pageRef )
+    static boolean unlockExclusiveAndTakeWriteLock( long pageRef )
     {
-        OffHeapPageLock.unlockExclusiveAndTakeWriteLock( offLock( pageRef ) );
+        return OffHeapPageLock.unlockExclusiveAndTakeWriteLock( offLock( pageRef ) );
     }
 
     static long tryFlushLock( long pageRef )
@@ -275,14 +285,38 @@ class PageList implements PageReferenceTranslator
         return OffHeapPageLock.tryFlushLock( offLock( pageRef ) );
     }
 
-    static void unlockFlush( long pageRef, long stamp, boolean success )
+    static boolean unlockFlush( long pageRef, long stamp, boolean success )
+    {
+        return OffHeapPageLock.unlockFlush( offLock( pageRef ), stamp, success );
+    }
+
+    static boolean explicitlyMarkPageUnmodifiedUnderExclusiveLock( long pageRef )
+    {
+        return OffHeapPageLock.explicitlyMarkPageUnmodifiedUnderExclusiveLock( offLock( pageRef ) );
+    }
+
+    /**
+     * Count a page whose modified flag was raised, as reported by the lock operation that raised it.
+     */
+    void countModified()
+    {
+        modifiedPages.increment();
+    }
+
+    /**
+     * Count a page whose modified flag was lowered, as reported by the lock operation that lowered it.
+     */
+    void countUnmodified()
     {
-        OffHeapPageLock.unlockFlush( offLock( pageRef ), stamp, success );
+        modifiedPages.decrement();
     }
 
-    static void explicitlyMarkPageUnmodifiedUnderExclusiveLock( long pageRef )
+    /**
+     * @return the number of pages whose modified flag is raised. Only lock operations that are in progress can make this inexact.
+     */
+    long modifiedPages()
     {
-        OffHeapPageLock.explicitlyMarkPageUnmodifiedUnderExclusiveLock( offLock( pageRef ) );
+        return modifiedPages.sum();
     }
 
     int getCachePageSize()
@@ -439,6 +473,65 @@ class PageList implements PageReferenceTranslator
         setSwapperId( pageRef, swapperId ); // Page now considered isBoundTo( swapper, filePageId )
     }
 
+    /**
+     * Fault the given file page into the given, exclusively locked, page from the given compressed tier, if the tier has the page.
+     * The same rules as for {@link #fault(long, PageSwapper, int, long, PageFaultEvent)} apply, except the page is left unbound if the
+     * tier does not have the page, so the caller can fault it in from the file instead.
+     *
+     * @return {@code true} if the page was faulted in from the compressed tier.
+     */
+    static boolean fault( long pageRef, CompressedPageTier compressedTier, PageSwapper swapper, int swapperId, long filePageId, int filePageSize )
+    {
+        int currentSwapper = getSwapperId( pageRef );
+        long currentFilePageId = getFilePageId( pageRef );
+        if ( filePageId == PageCursor.UNBOUND_PAGE_ID || !isExclusivelyLocked( pageRef )
+             || currentSwapper != 0 || currentFilePageId != PageCursor.UNBOUND_PAGE_ID )
+        {
+            throw cannotFaultException( pageRef, swapper, swapperId, filePageId, currentSwapper, currentFilePageId );
+        }
+        if ( !compressedTier.take( swapperId, filePageId, getAddress( pageRef ), filePageSize ) )
+        {
+            return false;
+        }
+        setFilePageId( pageRef, filePageId );
+        setSwapperId( pageRef, swapperId );
+        return true;
+    }
+
+    /**
+     * Fault a run of consecutive file pages into the given, exclusively locked, pages with a single vectored read.
+     * The same rules as for {@link #fault(long, PageSwapper, int, long, PageFaultEvent)} apply to every page.
+     */
+    static void fault( long[] pageRefs, long[] bufferAddresses, int[] bufferLengths, int length, PageSwapper swapper, int swapperId,
+            long startFilePageId, PageFaultEvent event ) throws IOException
+    {
+        if ( swapper == null )
+        {
+            throw swapperCannotBeNull();
+        }
+        for ( int i = 0; i < length; i++ )
+        {
+            long pageRef = pageRefs[i];
+            int currentSwapper = getSwapperId( pageRef );
+            long currentFilePageId = getFilePageId( pageRef );
+            if ( !isExclusivelyLocked( pageRef ) || currentSwapper != 0 || currentFilePageId != PageCursor.UNBOUND_PAGE_ID )
+            {
+                throw cannotFaultException( pageRef, swapper, swapperId, startFilePageId + i, currentSwapper, currentFilePageId );
+            }
+        }
+        // See the single page fault above, for why the file page ids are assigned before the read, and the swapper id after.
+        for ( int i = 0; i < length; i++ )
+        {
+            setFilePageId( pageRefs[i], startFilePageId + i );
+        }
+        long bytesRead = swapper.read( startFilePageId, bufferAddresses, bufferLengths, length );
+        event.addBytesRead( bytesRead );
+        for ( int i = 0; i < length; i++ )
+        {
+            setSwapperId( pageRefs[i], swapperId );
+        }
+    }
+
     private static IllegalArgumentException swapperCannotBeNull()
     {
         return new IllegalArgumentException( "swapper cannot be null" );
@@ -457,6 +550,19 @@ class PageList implements PageReferenceTranslator
     }
 
     boolean tryEvict( long pageRef, EvictionEventOpportunity evictionOpportunity ) throws IOException
+    {
+        return tryEvict( pageRef, evictionOpportunity, false );
+    }
+
+    /**
+     * Try to evict the given page.
+     *
+     * @param pageRef the page to evict.
+     * @param evictionOpportunity source of the eviction event.
+     * @param probationary {@code true} if the page was selected from the probationary segment of the scan resistant eviction policy.
+     * @return {@code true} if the page was evicted.
+     */
+    boolean tryEvict( long pageRef, EvictionEventOpportunity evictionOpportunity, boolean probationary ) throws IOException
     {
         if ( tryExclusiveLock( pageRef ) )
         {
@@ -464,6 +570,7 @@ class PageList implements PageReferenceTranslator
             {
                 try ( var evictionEvent = evictionOpportunity.beginEviction( toId( pageRef ) ) )
                 {
+                    evictionEvent.setProbationary( probationary );
                     evict( pageRef, evictionEvent );
                     return true;
                 }
@@ -507,7 +614,10 @@ class PageList implements PageReferenceTranslator
         {
             long address = getAddress( pageRef );
             long bytesWritten = swapper.write( filePageId, address );
-            explicitlyMarkPageUnmodifiedUnderExclusiveLock( pageRef );
+            if ( explicitlyMarkPageUnmodifiedUnderExclusiveLock( pageRef ) )
+            {
+                pageReferenceTranslator.countUnmodified();
+            }
             flushEvent.addBytesWritten( bytesWritten );
             flushEvent.addPagesFlushed( 1 );
             flushEvent.done();
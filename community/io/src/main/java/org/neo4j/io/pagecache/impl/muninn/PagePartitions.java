@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+
+/**
+ * Keeps track of the number of cache pages that each {@link PageCachePartition} occupies, and of which swapper ids belong to which partition,
+ * so the eviction can look up the partition of a page, and respect its quota.
+ */
+final class PagePartitions
+{
+    static final class Partition
+    {
+        private final PageCachePartition definition;
+        private final AtomicLong pages = new AtomicLong();
+
+        private Partition( PageCachePartition definition )
+        {
+            this.definition = definition;
+        }
+
+        void pagesLoaded( long count )
+        {
+            pages.addAndGet( count );
+        }
+
+        void pagesEvicted( long count )
+        {
+            pages.addAndGet( -count );
+        }
+
+        long pages()
+        {
+            return Math.max( 0, pages.get() );
+        }
+
+        /**
+         * @return {@code true} if the partition occupies no more than its reserved pages, and its pages must not be evicted.
+         */
+        boolean isWithinReservation()
+        {
+            return pages.get() <= definition.reservedPages();
+        }
+
+        /**
+         * @return {@code true} if the partition occupies more than its max pages, and its pages should be evicted before any others.
+         */
+        boolean isOverQuota()
+        {
+            return pages.get() > definition.maxPages();
+        }
+    }
+
+    private static final Partition[] NO_PARTITIONS = new Partition[0];
+
+    private final Partition[] partitions;
+    // Indexed by swapper id. Copied on write, since files are mapped and unmapped rarely, while the eviction reads it for every page it looks at.
+    private volatile Partition[] partitionsBySwapperId = NO_PARTITIONS;
+
+    PagePartitions( List<PageCachePartition> definitions, long maxPages )
+    {
+        long reservedPages = 0;
+        Set<String> names = new HashSet<>();
+        for ( PageCachePartition definition : definitions )
+        {
+            if ( !names.add( definition.name() ) )
+            {
+                throw new IllegalArgumentException( "There is more than one page cache partition named '" + definition.name() + "'." );
+            }
+            reservedPages += definition.reservedPages();
+        }
+        // The eviction must always be able to find pages to evict, so at least half of the cache is never reserved.
+        if ( reservedPages > maxPages / 2 )
+        {
+            throw new IllegalArgumentException( "The page cache partitions reserve " + reservedPages + " pages in total, but at most half of the " +
+                    maxPages + " pages in the page cache can be reserved." );
+        }
+        this.partitions = definitions.stream().map( Partition::new ).toArray( Partition[]::new );
+    }
+
+    /**
+     * @return the partition that the file with the given path belongs to, or {@code null} if it does not belong to any partition.
+     */
+    Partition partitionFor( Path path )
+    {
+        for ( Partition partition : partitions )
+        {
+            if ( partition.definition.matches( path ) )
+            {
+                return partition;
+            }
+        }
+        return null;
+    }
+
+    synchronized void bind( int swapperId, Partition partition )
+    {
+        Partition[] bySwapperId = partitionsBySwapperId;
+        bySwapperId = Arrays.copyOf( bySwapperId, Math.max( bySwapperId.length, swapperId + 1 ) );
+        bySwapperId[swapperId] = partition;
+        partitionsBySwapperId = bySwapperId;
+    }
+
+    synchronized void unbind( int swapperId )
+    {
+        Partition[] bySwapperId = partitionsBySwapperId;
+        if ( swapperId < bySwapperId.length && bySwapperId[swapperId] != null )
+        {
+            bySwapperId = bySwapperId.clone();
+            bySwapperId[swapperId] = null;
+            partitionsBySwapperId = bySwapperId;
+        }
+    }
+
+    /**
+     * @return the partition of the file that the given page is bound to, or {@code null} if the page is not bound to a file in any partition.
+     */
+    Partition partitionOf( long pageRef )
+    {
+        Partition[] bySwapperId = partitionsBySwapperId;
+        if ( bySwapperId.length == 0 )
+        {
+            return null;
+        }
+        int swapperId = PageList.getSwapperId( pageRef );
+        return swapperId < bySwapperId.length ? bySwapperId[swapperId] : null;
+    }
+
+    boolean isEmpty()
+    {
+        return partitions.length == 0;
+    }
+
+    void reportOccupancy( PageCacheTracer tracer )
+    {
+        for ( Partition partition : partitions )
+        {
+            tracer.partitionPages( partition.definition.name(), partition.pages() );
+        }
+    }
+}
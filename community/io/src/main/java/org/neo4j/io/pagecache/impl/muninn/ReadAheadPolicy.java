@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import org.neo4j.io.pagecache.PagedFile;
+
+/**
+ * Which page accesses the {@link MuninnPageCache} looks for strided access patterns in, to read ahead of them.
+ */
+public enum ReadAheadPolicy
+{
+    /**
+     * Never read ahead, not even for cursors opened with {@link PagedFile#PF_READ_AHEAD}.
+     */
+    DISABLED,
+    /**
+     * Read ahead for cursors opened with {@link PagedFile#PF_READ_AHEAD}, like store scans, which report every page they move to.
+     */
+    REQUESTED,
+    /**
+     * Like {@link #REQUESTED}, and also read ahead of the page faults of all other cursors, so that interleaved scans by cursors that did not
+     * ask for read-ahead, like GBPTree leaf walks and relationship chain hops, are also read ahead of.
+     */
+    ALL
+}
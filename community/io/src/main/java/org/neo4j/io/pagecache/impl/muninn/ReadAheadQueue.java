@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.impl.muninn;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobScheduler;
+
+import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
+
+/**
+ * The read-ahead requests of all the files mapped by a {@link MuninnPageCache} go through this queue, and are performed by a single background
+ * thread in the {@link Group#PAGE_CACHE_PRE_FETCHER} group. The thread is started when the first request arrives, and runs until the page cache is
+ * closed. It blocks on the queue while there is nothing to read ahead.
+ * <p>
+ * The queue has a budget, which is the number of pages that can be requested, but not yet read ahead, at any point in time. Requests that don't
+ * fit within the budget are rejected, so a slow disk cannot make the read-ahead fall arbitrarily far behind the accesses that caused it, and
+ * read-ahead cannot flood the page cache with pages nobody asked for yet. Read-ahead is best effort, so any failure to read ahead is ignored; the
+ * access that eventually needs the page will fault it in, and report the failure, by itself.
+ */
+final class ReadAheadQueue implements Runnable
+{
+    private static final String TRACER_READ_AHEAD_TAG = "Read-ahead";
+    // Put on the queue by close, to wake up the read-ahead thread and make it exit.
+    private static final Request CLOSE = new Request( null, 0, 0, 0 );
+
+    private final JobScheduler scheduler;
+    private final PageCacheTracer pageCacheTracer;
+    private final BlockingQueue<Request> requests = new LinkedBlockingQueue<>();
+    private final AtomicLong budget;
+    private final AtomicBoolean started = new AtomicBoolean();
+    private volatile boolean closed;
+
+    ReadAheadQueue( JobScheduler scheduler, PageCacheTracer pageCacheTracer, long budget )
+    {
+        this.scheduler = scheduler;
+        this.pageCacheTracer = pageCacheTracer;
+        this.budget = new AtomicLong( budget );
+    }
+
+    /**
+     * Request the given pages to be read ahead.
+     *
+     * @param pagedFile the file to read ahead in.
+     * @param startPageId the first file page id to read ahead.
+     * @param stride the distance between the file page ids to read ahead. Can be negative.
+     * @param count the number of pages to read ahead.
+     * @return {@code true} if the request was accepted, or {@code false} if it did not fit within the read-ahead budget.
+     */
+    boolean offer( MuninnPagedFile pagedFile, long startPageId, long stride, int count )
+    {
+        if ( closed )
+        {
+            return false;
+        }
+        if ( budget.addAndGet( -count ) < 0 )
+        {
+            budget.addAndGet( count );
+            return false;
+        }
+        requests.offer( new Request( pagedFile, startPageId, stride, count ) );
+        if ( !started.get() && started.compareAndSet( false, true ) )
+        {
+            try
+            {
+                scheduler.schedule( Group.PAGE_CACHE_PRE_FETCHER, systemJob( "Page cache read-ahead" ), this );
+            }
+            catch ( RuntimeException e )
+            {
+                // The scheduler is shutting down. The requests will just pile up until the budget is spent, and then be rejected.
+            }
+        }
+        return true;
+    }
+
+    void close()
+    {
+        closed = true;
+        requests.offer( CLOSE );
+    }
+
+    @Override
+    public void run()
+    {
+        try ( var cursorContext = new CursorContext( pageCacheTracer.createPageCursorTracer( TRACER_READ_AHEAD_TAG ) ) )
+        {
+            while ( !closed )
+            {
+                Request request = requests.take();
+                if ( request == CLOSE )
+                {
+                    break;
+                }
+                try
+                {
+                    request.readAhead( cursorContext );
+                }
+                finally
+                {
+                    budget.addAndGet( request.count );
+                }
+                cursorContext.getCursorTracer().reportEvents();
+            }
+        }
+        catch ( InterruptedException e )
+        {
+            // The scheduler is shutting down.
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            requests.clear();
+        }
+    }
+
+    private static final class Request
+    {
+        private final MuninnPagedFile pagedFile;
+        private final long startPageId;
+        private final long stride;
+        private final int count;
+
+        Request( MuninnPagedFile pagedFile, long startPageId, long stride, int count )
+        {
+            this.pagedFile = pagedFile;
+            this.startPageId = startPageId;
+            this.stride = stride;
+            this.count = count;
+        }
+
+        void readAhead( CursorContext cursorContext )
+        {
+            int pagesRead = 0;
+            try
+            {
+                if ( stride == 1 || stride == -1 )
+                {
+                    // Consecutive pages are read with vectored reads.
+                    long firstPageId = stride == 1 ? startPageId : startPageId - count + 1;
+                    pagesRead = pagedFile.touch( firstPageId, count, cursorContext );
+                }
+                else
+                {
+                    for ( int i = 0; i < count; i++ )
+                    {
+                        pagesRead += pagedFile.touch( startPageId + i * stride, 1, cursorContext );
+                    }
+                }
+            }
+            catch ( IOException | RuntimeException e )
+            {
+                // Ignore it. The file might have been unmapped since the request was made, and in any case it will be the
+                // problem of whoever is going to access these pages.
+            }
+            pagedFile.swapper.fileSwapperTracer().readAheads( pagesRead );
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.monitoring;
+
+/**
+ * A distribution of latencies, in nanoseconds, as recorded by a page cache tracer.
+ * <p>
+ * The distribution is kept in buckets whose width grows with the magnitude of the latencies they hold, so any value reported for a percentile is
+ * within 12.5% of the recorded latency it stands for.
+ */
+public interface LatencyDistribution
+{
+    /**
+     * A distribution that has no recorded latencies.
+     */
+    LatencyDistribution EMPTY = new LatencyDistribution()
+    {
+        @Override
+        public long count()
+        {
+            return 0;
+        }
+
+        @Override
+        public long totalNanos()
+        {
+            return 0;
+        }
+
+        @Override
+        public long maxNanos()
+        {
+            return 0;
+        }
+
+        @Override
+        public long valueAtPercentile( double percentile )
+        {
+            return 0;
+        }
+    };
+
+    /**
+     * @return number of recorded latencies.
+     */
+    long count();
+
+    /**
+     * @return sum of all recorded latencies, in nanoseconds.
+     */
+    long totalNanos();
+
+    /**
+     * @return the highest recorded latency, in nanoseconds.
+     */
+    long maxNanos();
+
+    /**
+     * @param percentile percentile between 0 and 100.
+     * @return the latency, in nanoseconds, that the given percentage of the recorded latencies is at or below, or zero if nothing was recorded.
+     */
+    long valueAtPercentile( double percentile );
+
+    /**
+     * @return the mean of the recorded latencies, in nanoseconds, or zero if nothing was recorded.
+     */
+    default double meanNanos()
+    {
+        long count = count();
+        return count == 0 ? 0 : totalNanos() / (double) count;
+    }
+}
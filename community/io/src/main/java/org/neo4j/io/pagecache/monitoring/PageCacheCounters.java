@@ -19,6 +19,8 @@
  */
 package org.neo4j.io.pagecache.monitoring;
 
+import java.util.Map;
+
 /**
  * The PageCacheCounters exposes internal counters from the page cache.
  * The data for these counters is sourced through the PageCacheTracer API.
@@ -40,6 +42,11 @@ public interface PageCacheCounters
      */
     long cooperativeEvictions();
 
+    /**
+     * @return The number of page evictions of pages from the probationary segment of the scan resistant eviction policy observed thus far.
+     */
+    long probationaryEvictions();
+
     /**
      * @return The number of page pins observed thus far.
      */
@@ -101,6 +108,13 @@ public interface PageCacheCounters
      */
     double usageRatio();
 
+    /**
+     * @param partition the name of a page cache partition.
+     * @return The number of pages most recently reported to be occupied by the given page cache partition, or {@code 0} if nothing has been
+     * reported for the partition.
+     */
+    long partitionPages( String partition );
+
     /**
      * @return The number of IOPQ performed thus far.
      */
@@ -126,4 +140,15 @@ public interface PageCacheCounters
      * @return Total number of closed page cache cursors.
      */
     long closedCursors();
+
+    /**
+     * @return Latency distributions of all page faults, flushes and evictions observed thus far.
+     */
+    PageCacheLatencies latencies();
+
+    /**
+     * @return Latency distributions of the page faults, flushes and evictions observed thus far, by the tag of the page cursor tracer
+     * that observed them. Background evictions and flushes have no tag, and are only part of {@link #latencies()}.
+     */
+    Map<String,PageCacheLatencies> tagLatencies();
 }
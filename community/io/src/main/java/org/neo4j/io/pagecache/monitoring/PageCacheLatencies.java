@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.monitoring;
+
+/**
+ * Latency distributions of the page cache operations that do IO: page faults, flushes and evictions.
+ * Telling apart slow page faults from many page faults, for example, shows if a workload is limited by the disk or by the size of the cache.
+ */
+public interface PageCacheLatencies
+{
+    /**
+     * Latencies of an empty page cache, or of a tracer that does not record them.
+     */
+    PageCacheLatencies EMPTY = new PageCacheLatencies()
+    {
+        @Override
+        public LatencyDistribution faults()
+        {
+            return LatencyDistribution.EMPTY;
+        }
+
+        @Override
+        public LatencyDistribution flushes()
+        {
+            return LatencyDistribution.EMPTY;
+        }
+
+        @Override
+        public LatencyDistribution evictions()
+        {
+            return LatencyDistribution.EMPTY;
+        }
+    };
+
+    /**
+     * @return latencies of page faults, from the start of the fault until the page is loaded, including any eviction done to make room for it.
+     */
+    LatencyDistribution faults();
+
+    /**
+     * @return latencies of writing dirty pages to their file, per write, which may cover multiple pages.
+     */
+    LatencyDistribution flushes();
+
+    /**
+     * @return latencies of evicting pages, including flushing them if they were dirty.
+     */
+    LatencyDistribution evictions();
+}
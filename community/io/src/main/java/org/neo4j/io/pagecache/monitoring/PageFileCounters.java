@@ -74,4 +74,20 @@ public interface PageFileCounters
      * @return The number of page evictions that have thrown exceptions thus far.
      */
     long evictionExceptions();
+
+    /**
+     * @return The number of pages read ahead of the accesses to the file thus far.
+     */
+    long readAheads();
+
+    /**
+     * @return The number of observed accesses to pages that had been read ahead thus far.
+     * Together with {@link #readAheads()}, this gives the hit ratio of the read-ahead for the file.
+     */
+    long readAheadHits();
+
+    /**
+     * @return Latency distributions of the page faults, flushes and evictions of pages of the file observed thus far.
+     */
+    PageCacheLatencies latencies();
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.tracing;
+
+import org.neo4j.io.pagecache.PageSwapper;
+
+/**
+ * The background writer of the page cache is writing dirty pages of a file, to keep the number of dirty pages in the cache below its target.
+ * Unlike a {@link MajorFlushEvent}, this is not a flush of the whole file, and the file is not forced afterwards.
+ */
+public interface BackgroundWriteEvent extends AutoCloseablePageCacheTracerEvent, FlushEventOpportunity
+{
+    /**
+     * A BackgroundWriteEvent that only returns the FlushEvent.NULL.
+     */
+    BackgroundWriteEvent NULL = new BackgroundWriteEvent()
+    {
+        @Override
+        public FlushEvent beginFlush( long[] pageRefs, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator, int pagesToFlush,
+                int mergedPages )
+        {
+            return FlushEvent.NULL;
+        }
+
+        @Override
+        public FlushEvent beginFlush( long pageRef, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator )
+        {
+            return FlushEvent.NULL;
+        }
+
+        @Override
+        public void throttle( long millis )
+        {
+        }
+
+        @Override
+        public void reportIO( int completedIOs )
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    };
+
+    /**
+     * The IO controller of the database of the file throttled the background writer.
+     * @param millis millis the background writer was throttled for
+     */
+    void throttle( long millis );
+
+    /**
+     * Report number of completed io operations by the background writer to the IO controller
+     * @param completedIOs number of completed io operations
+     */
+    void reportIO( int completedIOs );
+}
@@ -20,12 +20,15 @@
 package org.neo4j.io.pagecache.tracing;
 
 import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.LongAdder;
 
 import org.neo4j.internal.helpers.MathUtil;
 import org.neo4j.io.pagecache.PageSwapper;
 import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.monitoring.PageCacheLatencies;
 import org.neo4j.io.pagecache.tracing.cursor.DefaultPageCursorTracer;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 
@@ -37,6 +40,7 @@ public class DefaultPageCacheTracer implements PageCacheTracer
     protected final LongAdder faults = new LongAdder();
     protected final LongAdder evictions = new LongAdder();
     protected final LongAdder cooperativeEvictions = new LongAdder();
+    protected final LongAdder probationaryEvictions = new LongAdder();
     protected final LongAdder pins = new LongAdder();
     protected final LongAdder unpins = new LongAdder();
     protected final LongAdder hits = new LongAdder();
@@ -55,99 +59,96 @@ public class DefaultPageCacheTracer implements PageCacheTracer
     protected final LongAdder openedCursors = new LongAdder();
     protected final LongAdder closedCursors = new LongAdder();
     protected final AtomicLong maxPages = new AtomicLong();
+    protected final Map<String,Long> partitionPages = new ConcurrentHashMap<>();
+    protected final DefaultPageCacheLatencies latencies = new DefaultPageCacheLatencies();
+    protected final Map<String,DefaultPageCacheLatencies> tagLatencies = new ConcurrentHashMap<>();
 
     private final boolean tracePageFileIndividually;
 
-    private final PageCacheFlushEvent flushEvent = new PageCacheFlushEvent();
+    // Flushes and evictions are timed, so threads that flush or evict at the same time each need their own event.
+    private final ThreadLocal<PageCacheFlushEvent> flushEvents = ThreadLocal.withInitial( PageCacheFlushEvent::new );
+    private final ThreadLocal<PageCacheEvictionEvent> evictionEvents = ThreadLocal.withInitial( PageCacheEvictionEvent::new );
 
-    private final EvictionEvent evictionEvent = new EvictionEvent()
+    private final EvictionRunEvent evictionRunEvent = new EvictionRunEvent()
     {
-        private PageFileSwapperTracer swapperTracer;
-
         @Override
-        public void setFilePageId( long filePageId )
+        public void freeListSize( int size )
         {
+
         }
 
         @Override
-        public void setSwapper( PageSwapper swapper )
+        public EvictionEvent beginEviction( long cachePageId )
         {
-            this.swapperTracer = swapper.fileSwapperTracer();
+            return evictionEvents.get().begin();
         }
 
         @Override
-        public FlushEvent beginFlush( long pageRef, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator )
+        public void close()
         {
-            flushEvent.swapperTracer = swapper.fileSwapperTracer();
-            return flushEvent;
         }
+    };
+
+    private final MajorFlushEvent majorFlushEvent = new MajorFlushEvent()
+    {
 
         @Override
-        public void threwException( IOException exception )
+        public FlushEvent beginFlush( long[] pageRefs, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator, int pagesToFlush,
+                int mergedPages )
         {
-            evictionExceptions.increment();
-            swapperTracer.evictionExceptions( 1 );
+            return flushEvents.get().begin( swapper );
         }
 
         @Override
-        public void close()
+        public FlushEvent beginFlush( long pageRef, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator )
         {
-            evictions.increment();
-            if ( swapperTracer != null )
-            {
-                swapperTracer.evictions( 1 );
-            }
+            return flushEvents.get().begin( swapper );
         }
-    };
 
-    private final EvictionRunEvent evictionRunEvent = new EvictionRunEvent()
-    {
         @Override
-        public void freeListSize( int size )
+        public void startFlush( int[][] translationTable )
         {
 
         }
 
         @Override
-        public EvictionEvent beginEviction( long cachePageId )
+        public ChunkEvent startChunk( int[] chunk )
         {
-            return evictionEvent;
+            return ChunkEvent.NULL;
         }
 
         @Override
-        public void close()
+        public void throttle( long millis )
         {
+            ioLimitedTimes.increment();
+            ioLimitedMillis.add( millis );
         }
-    };
-
-    private final MajorFlushEvent majorFlushEvent = new MajorFlushEvent()
-    {
 
         @Override
-        public FlushEvent beginFlush( long[] pageRefs, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator, int pagesToFlush,
-                int mergedPages )
+        public void reportIO( int completedIOs )
         {
-            flushEvent.swapperTracer = swapper.fileSwapperTracer();
-            return flushEvent;
+            iopqPerformed.add( completedIOs );
         }
 
         @Override
-        public FlushEvent beginFlush( long pageRef, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator )
+        public void close()
         {
-            flushEvent.swapperTracer = swapper.fileSwapperTracer();
-            return flushEvent;
         }
+    };
 
+    private final BackgroundWriteEvent backgroundWriteEvent = new BackgroundWriteEvent()
+    {
         @Override
-        public void startFlush( int[][] translationTable )
+        public FlushEvent beginFlush( long[] pageRefs, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator, int pagesToFlush,
+                int mergedPages )
         {
-
+            return flushEvents.get().begin( swapper );
         }
 
         @Override
-        public ChunkEvent startChunk( int[] chunk )
+        public FlushEvent beginFlush( long pageRef, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator )
         {
-            return ChunkEvent.NULL;
+            return flushEvents.get().begin( swapper );
         }
 
         @Override
@@ -227,6 +228,12 @@ public class DefaultPageCacheTracer implements PageCacheTracer
         return majorFlushEvent;
     }
 
+    @Override
+    public BackgroundWriteEvent beginBackgroundWrite( PageSwapper swapper )
+    {
+        return backgroundWriteEvent;
+    }
+
     @Override
     public long faults()
     {
@@ -245,6 +252,12 @@ public class DefaultPageCacheTracer implements PageCacheTracer
         return cooperativeEvictions.sum();
     }
 
+    @Override
+    public long probationaryEvictions()
+    {
+        return probationaryEvictions.sum();
+    }
+
     @Override
     public long pins()
     {
@@ -311,6 +324,12 @@ public class DefaultPageCacheTracer implements PageCacheTracer
         return MathUtil.portion( hits(), faults() );
     }
 
+    @Override
+    public long partitionPages( String partition )
+    {
+        return partitionPages.getOrDefault( partition, 0L );
+    }
+
     @Override
     public double usageRatio()
     {
@@ -419,6 +438,12 @@ public class DefaultPageCacheTracer implements PageCacheTracer
         this.cooperativeEvictions.add( evictions );
     }
 
+    @Override
+    public void probationaryEvictions( long evictions )
+    {
+        this.probationaryEvictions.add( evictions );
+    }
+
     @Override
     public void evictionExceptions( long evictionExceptions )
     {
@@ -443,15 +468,143 @@ public class DefaultPageCacheTracer implements PageCacheTracer
         this.merges.add( merges );
     }
 
+    @Override
+    public void faultLatency( String tag, long nanos )
+    {
+        latencies.faults().record( nanos );
+        if ( tag != null )
+        {
+            tagLatencies( tag ).faults().record( nanos );
+        }
+    }
+
+    @Override
+    public void flushLatency( String tag, long nanos )
+    {
+        latencies.flushes().record( nanos );
+        if ( tag != null )
+        {
+            tagLatencies( tag ).flushes().record( nanos );
+        }
+    }
+
+    @Override
+    public void evictionLatency( String tag, long nanos )
+    {
+        latencies.evictions().record( nanos );
+        if ( tag != null )
+        {
+            tagLatencies( tag ).evictions().record( nanos );
+        }
+    }
+
+    private DefaultPageCacheLatencies tagLatencies( String tag )
+    {
+        DefaultPageCacheLatencies histograms = tagLatencies.get( tag );
+        if ( histograms == null )
+        {
+            histograms = tagLatencies.computeIfAbsent( tag, t -> new DefaultPageCacheLatencies() );
+        }
+        return histograms;
+    }
+
+    @Override
+    public PageCacheLatencies latencies()
+    {
+        return latencies;
+    }
+
+    @Override
+    public Map<String,PageCacheLatencies> tagLatencies()
+    {
+        return Map.copyOf( tagLatencies );
+    }
+
     @Override
     public void maxPages( long maxPages, long pageSize )
     {
         this.maxPages.set( maxPages );
     }
 
+    @Override
+    public void partitionPages( String partition, long pages )
+    {
+        partitionPages.put( partition, pages );
+    }
+
+    private class PageCacheEvictionEvent implements EvictionEvent
+    {
+        private PageFileSwapperTracer swapperTracer;
+        private long startNanos;
+
+        EvictionEvent begin()
+        {
+            swapperTracer = null;
+            startNanos = System.nanoTime();
+            return this;
+        }
+
+        @Override
+        public void setFilePageId( long filePageId )
+        {
+        }
+
+        @Override
+        public void setSwapper( PageSwapper swapper )
+        {
+            this.swapperTracer = swapper.fileSwapperTracer();
+        }
+
+        @Override
+        public void setProbationary( boolean probationary )
+        {
+            if ( probationary )
+            {
+                probationaryEvictions.increment();
+            }
+        }
+
+        @Override
+        public FlushEvent beginFlush( long pageRef, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator )
+        {
+            return flushEvents.get().begin( swapper );
+        }
+
+        @Override
+        public void threwException( IOException exception )
+        {
+            evictionExceptions.increment();
+            if ( swapperTracer != null )
+            {
+                swapperTracer.evictionExceptions( 1 );
+            }
+        }
+
+        @Override
+        public void close()
+        {
+            long nanos = System.nanoTime() - startNanos;
+            evictions.increment();
+            evictionLatency( null, nanos );
+            if ( swapperTracer != null )
+            {
+                swapperTracer.evictions( 1 );
+                swapperTracer.evictionLatency( nanos );
+            }
+        }
+    }
+
     private class PageCacheFlushEvent implements FlushEvent
     {
         private PageFileSwapperTracer swapperTracer;
+        private long startNanos;
+
+        FlushEvent begin( PageSwapper swapper )
+        {
+            swapperTracer = swapper.fileSwapperTracer();
+            startNanos = System.nanoTime();
+            return this;
+        }
 
         @Override
         public void addBytesWritten( long bytes )
@@ -463,6 +616,9 @@ public class DefaultPageCacheTracer implements PageCacheTracer
         @Override
         public void done()
         {
+            long nanos = System.nanoTime() - startNanos;
+            flushLatency( null, nanos );
+            swapperTracer.flushLatency( nanos );
         }
 
         @Override
@@ -21,6 +21,8 @@ package org.neo4j.io.pagecache.tracing;
 
 import java.util.concurrent.atomic.LongAdder;
 
+import org.neo4j.io.pagecache.monitoring.PageCacheLatencies;
+
 public class DefaultPageFileSwapperTracer implements PageFileSwapperTracer
 {
     private final LongAdder pins = new LongAdder();
@@ -33,6 +35,9 @@ public class DefaultPageFileSwapperTracer implements PageFileSwapperTracer
     private final LongAdder evictionExceptions = new LongAdder();
     private final LongAdder flushes = new LongAdder();
     private final LongAdder merges = new LongAdder();
+    private final LongAdder readAheads = new LongAdder();
+    private final LongAdder readAheadHits = new LongAdder();
+    private final DefaultPageCacheLatencies latencies = new DefaultPageCacheLatencies();
 
     /**
      * Report number of observed pins
@@ -134,6 +139,56 @@ public class DefaultPageFileSwapperTracer implements PageFileSwapperTracer
         this.merges.add( merges );
     }
 
+    /**
+     * Report number of pages read ahead
+     * @param pages number of pages read ahead
+     */
+    @Override
+    public void readAheads( long pages )
+    {
+        this.readAheads.add( pages );
+    }
+
+    /**
+     * Report number of read-ahead hits
+     * @param hits number of accesses to pages that had been read ahead
+     */
+    @Override
+    public void readAheadHits( long hits )
+    {
+        this.readAheadHits.add( hits );
+    }
+
+    /**
+     * Report the latency of a page fault
+     * @param nanos duration of the page fault in nanoseconds
+     */
+    @Override
+    public void faultLatency( long nanos )
+    {
+        latencies.faults().record( nanos );
+    }
+
+    /**
+     * Report the latency of a flush
+     * @param nanos duration of the flush in nanoseconds
+     */
+    @Override
+    public void flushLatency( long nanos )
+    {
+        latencies.flushes().record( nanos );
+    }
+
+    /**
+     * Report the latency of an eviction
+     * @param nanos duration of the eviction in nanoseconds
+     */
+    @Override
+    public void evictionLatency( long nanos )
+    {
+        latencies.evictions().record( nanos );
+    }
+
     @Override
     public long faults()
     {
@@ -176,6 +231,18 @@ public class DefaultPageFileSwapperTracer implements PageFileSwapperTracer
         return merges.sum();
     }
 
+    @Override
+    public long readAheads()
+    {
+        return readAheads.sum();
+    }
+
+    @Override
+    public long readAheadHits()
+    {
+        return readAheadHits.sum();
+    }
+
     @Override
     public long bytesRead()
     {
@@ -193,4 +260,10 @@ public class DefaultPageFileSwapperTracer implements PageFileSwapperTracer
     {
         return evictionExceptions.sum();
     }
+
+    @Override
+    public PageCacheLatencies latencies()
+    {
+        return latencies;
+    }
 }
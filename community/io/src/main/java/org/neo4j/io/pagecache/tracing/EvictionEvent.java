@@ -43,6 +43,11 @@ public interface EvictionEvent extends AutoCloseablePageCacheTracerEvent
         {
         }
 
+        @Override
+        public void setProbationary( boolean probationary )
+        {
+        }
+
         @Override
         public FlushEvent beginFlush( long pageRef, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator )
         {
@@ -70,6 +75,12 @@ public interface EvictionEvent extends AutoCloseablePageCacheTracerEvent
      */
     void setSwapper( PageSwapper swapper );
 
+    /**
+     * Whether the evicted page was selected from the probationary segment, i.e. it had not been accessed again since
+     * it was faulted in. Together with the total number of evictions this tells how well the hot set is retained.
+     */
+    void setProbationary( boolean probationary );
+
     /**
      * Begin flushing the given page.
      */
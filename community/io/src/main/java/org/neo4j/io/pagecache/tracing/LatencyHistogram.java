@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.io.pagecache.tracing;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.neo4j.io.pagecache.monitoring.LatencyDistribution;
+
+/**
+ * A concurrent, fixed size histogram of latencies in nanoseconds.
+ * <p>
+ * Buckets are log-linear, like in HDR histograms: every power of two range of values is split into {@link #SUB_BUCKETS} buckets of equal width.
+ * Recording a value is a few atomic updates and does not allocate, so it can be done on the page fault and flush paths.
+ */
+public final class LatencyHistogram implements LatencyDistribution
+{
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray( BUCKETS );
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record a latency.
+     * @param nanos latency in nanoseconds. Negative values, which can only come from a misbehaving clock, are recorded as zero.
+     */
+    public void record( long nanos )
+    {
+        long value = Math.max( nanos, 0 );
+        buckets.incrementAndGet( bucketIndex( value ) );
+        count.increment();
+        totalNanos.add( value );
+        if ( value > maxNanos.get() )
+        {
+            maxNanos.accumulateAndGet( value, Math::max );
+        }
+    }
+
+    @Override
+    public long count()
+    {
+        return count.sum();
+    }
+
+    @Override
+    public long totalNanos()
+    {
+        return totalNanos.sum();
+    }
+
+    @Override
+    public long maxNanos()
+    {
+        return maxNanos.get();
+    }
+
+    @Override
+    public long valueAtPercentile( double percentile )
+    {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for ( int i = 0; i < BUCKETS; i++ )
+        {
+            snapshot[i] = buckets.get( i );
+            total += snapshot[i];
+        }
+        if ( total == 0 )
+        {
+            return 0;
+        }
+        double boundedPercentile = Math.min( Math.max( percentile, 0.0 ), 100.0 );
+        long rank = Math.max( 1, (long) Math.ceil( boundedPercentile / 100.0 * total ) );
+        long seen = 0;
+        for ( int i = 0; i < BUCKETS; i++ )
+        {
+            seen += snapshot[i];
+            if ( seen >= rank )
+            {
+                return Math.min( bucketUpperBound( i ), maxNanos() );
+            }
+        }
+        return maxNanos();
+    }
+
+    static int bucketIndex( long value )
+    {
+        if ( value < SUB_BUCKETS )
+        {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros( value );
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound( int index )
+    {
+        if ( index < SUB_BUCKETS )
+        {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        long lowerBound = (long) (SUB_BUCKETS + subBucket) * width;
+        return lowerBound + width - 1;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "LatencyHistogram{count=" + count() + ", mean=" + meanNanos() + "ns, p50=" + valueAtPercentile( 50 ) + "ns, p99=" +
+                valueAtPercentile( 99 ) + "ns, max=" + maxNanos() + "ns}";
+    }
+}
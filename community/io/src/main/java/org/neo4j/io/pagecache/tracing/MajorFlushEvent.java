@@ -24,7 +24,7 @@ import org.neo4j.io.pagecache.PageSwapper;
 /**
  * Begin a mass-flushing of pages.
  */
-public interface MajorFlushEvent extends AutoCloseablePageCacheTracerEvent
+public interface MajorFlushEvent extends AutoCloseablePageCacheTracerEvent, FlushEventOpportunity
 {
     /**
      * A MajorFlushEvent that only returns the FlushEventOpportunity.NULL.
@@ -75,16 +75,6 @@ public interface MajorFlushEvent extends AutoCloseablePageCacheTracerEvent
         }
     };
 
-    /**
-     * Begin flushing the given pages.
-     */
-    FlushEvent beginFlush( long[] pageRefs, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator, int pagesToFlush, int mergedPages );
-
-    /**
-     * Begin flushing the given single page.
-     */
-    FlushEvent beginFlush( long pageRef, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator );
-
     /**
      * Start flushing of given translation table
      * @param translationTable table we flush
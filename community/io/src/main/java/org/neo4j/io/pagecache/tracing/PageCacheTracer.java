@@ -19,9 +19,12 @@
  */
 package org.neo4j.io.pagecache.tracing;
 
+import java.util.Map;
+
 import org.neo4j.io.pagecache.PageSwapper;
 import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.monitoring.PageCacheCounters;
+import org.neo4j.io.pagecache.monitoring.PageCacheLatencies;
 import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
 
 /**
@@ -82,6 +85,12 @@ public interface PageCacheTracer extends PageCacheCounters
             return MajorFlushEvent.NULL;
         }
 
+        @Override
+        public BackgroundWriteEvent beginBackgroundWrite( PageSwapper swapper )
+        {
+            return BackgroundWriteEvent.NULL;
+        }
+
         @Override
         public long faults()
         {
@@ -100,6 +109,18 @@ public interface PageCacheTracer extends PageCacheCounters
             return 0;
         }
 
+        @Override
+        public long probationaryEvictions()
+        {
+            return 0;
+        }
+
+        @Override
+        public long partitionPages( String partition )
+        {
+            return 0;
+        }
+
         @Override
         public long pins()
         {
@@ -237,6 +258,11 @@ public interface PageCacheTracer extends PageCacheCounters
         {
         }
 
+        @Override
+        public void probationaryEvictions( long evictions )
+        {
+        }
+
         @Override
         public void evictionExceptions( long evictionExceptions )
         {
@@ -262,6 +288,38 @@ public interface PageCacheTracer extends PageCacheCounters
         {
         }
 
+        @Override
+        public void partitionPages( String partition, long pages )
+        {
+        }
+
+        @Override
+        public void faultLatency( String tag, long nanos )
+        {
+        }
+
+        @Override
+        public void flushLatency( String tag, long nanos )
+        {
+        }
+
+        @Override
+        public void evictionLatency( String tag, long nanos )
+        {
+        }
+
+        @Override
+        public PageCacheLatencies latencies()
+        {
+            return PageCacheLatencies.EMPTY;
+        }
+
+        @Override
+        public Map<String,PageCacheLatencies> tagLatencies()
+        {
+            return Map.of();
+        }
+
         @Override
         public void iopq( long iopq )
         {
@@ -339,6 +397,11 @@ public interface PageCacheTracer extends PageCacheCounters
      */
     MajorFlushEvent beginCacheFlush();
 
+    /**
+     * The background writer of the PageCache wants to write some of the dirty pages of a file.
+     */
+    BackgroundWriteEvent beginBackgroundWrite( PageSwapper swapper );
+
     /**
      * Report number of observed pins
      * @param pins number of pins
@@ -381,6 +444,12 @@ public interface PageCacheTracer extends PageCacheCounters
      */
     void cooperativeEvictions( long evictions );
 
+    /**
+     * Report number of observed evictions of pages from the probationary segment of the scan resistant eviction policy
+     * @param evictions number of probationary evictions
+     */
+    void probationaryEvictions( long evictions );
+
     /**
      * Report number of eviction exceptions
      * @param evictionExceptions number of eviction exceptions
@@ -412,6 +481,34 @@ public interface PageCacheTracer extends PageCacheCounters
      */
     void maxPages( long maxPages, long pageSize );
 
+    /**
+     * Report the number of pages currently occupied by a page cache partition.
+     * @param partition name of the partition
+     * @param pages number of pages occupied by the partition
+     */
+    void partitionPages( String partition, long pages );
+
+    /**
+     * Report the latency of a page fault.
+     * @param tag tag of the page cursor tracer that observed the page fault, or {@code null} if it was not observed by a cursor.
+     * @param nanos duration of the page fault in nanoseconds.
+     */
+    void faultLatency( String tag, long nanos );
+
+    /**
+     * Report the latency of a flush.
+     * @param tag tag of the page cursor tracer that observed the flush, or {@code null} for background and file flushes.
+     * @param nanos duration of the flush in nanoseconds.
+     */
+    void flushLatency( String tag, long nanos );
+
+    /**
+     * Report the latency of an eviction.
+     * @param tag tag of the page cursor tracer that observed the eviction, or {@code null} for background evictions.
+     * @param nanos duration of the eviction in nanoseconds.
+     */
+    void evictionLatency( String tag, long nanos );
+
     /**
      * Report number of performed iopq.
      * @param iopq number of performed io operations per quantum of time.
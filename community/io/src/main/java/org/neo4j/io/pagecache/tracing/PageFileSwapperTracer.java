@@ -19,6 +19,7 @@
  */
 package org.neo4j.io.pagecache.tracing;
 
+import org.neo4j.io.pagecache.monitoring.PageCacheLatencies;
 import org.neo4j.io.pagecache.monitoring.PageFileCounters;
 
 /**
@@ -89,6 +90,36 @@ public interface PageFileSwapperTracer extends PageFileCounters
      */
     void merges( long merges );
 
+    /**
+     * Report number of pages read ahead
+     * @param pages number of pages read ahead
+     */
+    void readAheads( long pages );
+
+    /**
+     * Report number of read-ahead hits
+     * @param hits number of accesses to pages that had been read ahead
+     */
+    void readAheadHits( long hits );
+
+    /**
+     * Report the latency of a page fault
+     * @param nanos duration of the page fault in nanoseconds
+     */
+    void faultLatency( long nanos );
+
+    /**
+     * Report the latency of a flush
+     * @param nanos duration of the flush in nanoseconds
+     */
+    void flushLatency( long nanos );
+
+    /**
+     * Report the latency of an eviction
+     * @param nanos duration of the eviction in nanoseconds
+     */
+    void evictionLatency( long nanos );
+
     class NullPageFileSwapperTracer implements PageFileSwapperTracer
     {
         @Override
@@ -141,6 +172,31 @@ public interface PageFileSwapperTracer extends PageFileCounters
         {
         }
 
+        @Override
+        public void readAheads( long pages )
+        {
+        }
+
+        @Override
+        public void readAheadHits( long hits )
+        {
+        }
+
+        @Override
+        public void faultLatency( long nanos )
+        {
+        }
+
+        @Override
+        public void flushLatency( long nanos )
+        {
+        }
+
+        @Override
+        public void evictionLatency( long nanos )
+        {
+        }
+
         @Override
         public long faults()
         {
@@ -183,6 +239,18 @@ public interface PageFileSwapperTracer extends PageFileCounters
             return 0;
         }
 
+        @Override
+        public long readAheads()
+        {
+            return 0;
+        }
+
+        @Override
+        public long readAheadHits()
+        {
+            return 0;
+        }
+
         @Override
         public long bytesRead()
         {
@@ -200,5 +268,11 @@ public interface PageFileSwapperTracer extends PageFileCounters
         {
             return 0;
         }
+
+        @Override
+        public PageCacheLatencies latencies()
+        {
+            return PageCacheLatencies.EMPTY;
+        }
     }
 }
@@ -56,6 +56,7 @@ public class DefaultPageCursorTracer implements PageCursorTracer
     private long bytesWritten;
     private long evictions;
     private long evictionExceptions;
+    private long probationaryEvictions;
     private long flushes;
     private long merges;
 
@@ -135,6 +136,10 @@ public class DefaultPageCursorTracer implements PageCursorTracer
             // all evictions counted by PageCursorTracer are cooperative
             pageCacheTracer.cooperativeEvictions( evictions );
         }
+        if ( probationaryEvictions > 0 )
+        {
+            pageCacheTracer.probationaryEvictions( probationaryEvictions );
+        }
         if ( evictionExceptions > 0 )
         {
             pageCacheTracer.evictionExceptions( evictionExceptions );
@@ -196,6 +201,7 @@ public class DefaultPageCursorTracer implements PageCursorTracer
         bytesWritten = 0;
         evictions = 0;
         evictionExceptions = 0;
+        probationaryEvictions = 0;
         flushes = 0;
         merges = 0;
     }
@@ -308,6 +314,7 @@ public class DefaultPageCursorTracer implements PageCursorTracer
         {
             eventHits = 0;
             pageFaultEvent.swapperTracer = pageSwapper.fileSwapperTracer();
+            pageFaultEvent.startNanos = System.nanoTime();
             return pageFaultEvent;
         }
 
@@ -333,6 +340,7 @@ public class DefaultPageCursorTracer implements PageCursorTracer
     private class DefaultPageFaultEvent implements PageFaultEvent
     {
         private PageFileSwapperTracer swapperTracer;
+        private long startNanos;
 
         @Override
         public void addBytesRead( long bytes )
@@ -344,8 +352,11 @@ public class DefaultPageCursorTracer implements PageCursorTracer
         @Override
         public void done()
         {
+            long nanos = System.nanoTime() - startNanos;
             faults++;
             swapperTracer.faults( 1 );
+            swapperTracer.faultLatency( nanos );
+            pageCacheTracer.faultLatency( tag, nanos );
         }
 
         @Override
@@ -362,6 +373,8 @@ public class DefaultPageCursorTracer implements PageCursorTracer
         @Override
         public EvictionEvent beginEviction( long cachePageId )
         {
+            evictionEvent.swapperTracer = null;
+            evictionEvent.startNanos = System.nanoTime();
             return evictionEvent;
         }
 
@@ -374,6 +387,7 @@ public class DefaultPageCursorTracer implements PageCursorTracer
     private class DefaultFlushEvent implements FlushEvent
     {
         private PageFileSwapperTracer swapperTracer;
+        private long startNanos;
 
         @Override
         public void addBytesWritten( long bytes )
@@ -385,6 +399,9 @@ public class DefaultPageCursorTracer implements PageCursorTracer
         @Override
         public void done()
         {
+            long nanos = System.nanoTime() - startNanos;
+            swapperTracer.flushLatency( nanos );
+            pageCacheTracer.flushLatency( tag, nanos );
         }
 
         @Override
@@ -411,6 +428,7 @@ public class DefaultPageCursorTracer implements PageCursorTracer
     private class PageFaultEvictionEvent implements EvictionEvent
     {
         private PageFileSwapperTracer swapperTracer;
+        private long startNanos;
 
         @Override
         public void setFilePageId( long filePageId )
@@ -423,10 +441,20 @@ public class DefaultPageCursorTracer implements PageCursorTracer
             swapperTracer = swapper.fileSwapperTracer();
         }
 
+        @Override
+        public void setProbationary( boolean probationary )
+        {
+            if ( probationary )
+            {
+                probationaryEvictions++;
+            }
+        }
+
         @Override
         public FlushEvent beginFlush( long pageRef, PageSwapper swapper, PageReferenceTranslator pageReferenceTranslator )
         {
             flushEvent.swapperTracer = swapper.fileSwapperTracer();
+            flushEvent.startNanos = System.nanoTime();
             return flushEvent;
         }
 
@@ -434,17 +462,23 @@ public class DefaultPageCursorTracer implements PageCursorTracer
         public void threwException( IOException exception )
         {
             evictionExceptions++;
-            swapperTracer.evictionExceptions( 1 );
+            if ( swapperTracer != null )
+            {
+                swapperTracer.evictionExceptions( 1 );
+            }
         }
 
         @Override
         public void close()
         {
+            long nanos = System.nanoTime() - startNanos;
             evictions++;
+            pageCacheTracer.evictionLatency( tag, nanos );
             // it can be the case that we fail to do eviction since file was not there anymore, but we still were the one who actually cleared page binding
             if ( swapperTracer != null )
             {
                 swapperTracer.evictions( 1 );
+                swapperTracer.evictionLatency( nanos );
             }
         }
     }
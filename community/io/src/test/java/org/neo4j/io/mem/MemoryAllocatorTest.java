@@ -21,6 +21,8 @@ package org.neo4j.io.mem;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import org.neo4j.internal.unsafe.UnsafeUtil;
 import org.neo4j.io.ByteUnit;
@@ -173,6 +175,62 @@ class MemoryAllocatorTest
         assertEquals( 0, memoryTracker.usedNativeMemory() );
     }
 
+    @Test
+    void preTouchingAllocatorMustTakeAllExpectedMemoryUpFrontAndAllocateFromIt()
+    {
+        LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+        long expectedMemory = MebiByte.toBytes( 4 );
+        MemoryAllocator allocator = MemoryAllocator.createAllocator( expectedMemory, HugePages.DISABLED, true, memoryTracker );
+        try
+        {
+            assertEquals( expectedMemory, memoryTracker.usedNativeMemory() );
+            assertEquals( expectedMemory, allocator.availableMemory() );
+
+            for ( int i = 0; i < 200; i++ )
+            {
+                long page = allocator.allocateAligned( PageCache.PAGE_SIZE, UnsafeUtil.pageSize() );
+                assertThat( page ).isNotEqualTo( 0L );
+            }
+            assertEquals( expectedMemory, memoryTracker.usedNativeMemory() );
+            assertThat( allocator.availableMemory() ).isLessThanOrEqualTo( expectedMemory - 200L * PageCache.PAGE_SIZE );
+        }
+        finally
+        {
+            allocator.close();
+        }
+        assertEquals( 0, memoryTracker.usedNativeMemory() );
+    }
+
+    @ParameterizedTest
+    @EnumSource( HugePages.class )
+    void memoryBackedByHugePagesMustBeAccessibleAndTracked( HugePages hugePages )
+    {
+        // Huge pages may not be available where the tests run, in which case the allocator must quietly fall back to the system allocator.
+        LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+        MemoryAllocator allocator = MemoryAllocator.createAllocator( MebiByte.toBytes( 8 ), hugePages, false, memoryTracker );
+        try
+        {
+            long page = allocator.allocateAligned( PageCache.PAGE_SIZE, UnsafeUtil.pageSize() );
+            long largeBlock = allocator.allocateAligned( MebiByte.toBytes( 3 ), UnsafeUtil.pageSize() );
+            assertThat( page % UnsafeUtil.pageSize() ).isEqualTo( 0L );
+            assertThat( largeBlock % UnsafeUtil.pageSize() ).isEqualTo( 0L );
+
+            // This must not throw any bad access exceptions.
+            UnsafeUtil.putLong( page, 1 );
+            UnsafeUtil.putLong( page + PageCache.PAGE_SIZE - Long.BYTES, 2 );
+            UnsafeUtil.putLong( largeBlock, 3 );
+            UnsafeUtil.putLong( largeBlock + MebiByte.toBytes( 3 ) - Long.BYTES, 4 );
+            assertEquals( 1, UnsafeUtil.getLong( page ) );
+            assertEquals( 4, UnsafeUtil.getLong( largeBlock + MebiByte.toBytes( 3 ) - Long.BYTES ) );
+            assertThat( memoryTracker.usedNativeMemory() ).isGreaterThanOrEqualTo( MebiByte.toBytes( 3 ) + PageCache.PAGE_SIZE );
+        }
+        finally
+        {
+            allocator.close();
+        }
+        assertEquals( 0, memoryTracker.usedNativeMemory() );
+    }
+
     @Test
     void allAllocatedMemoryMustBeAccessibleForAllAlignments() throws Exception
     {
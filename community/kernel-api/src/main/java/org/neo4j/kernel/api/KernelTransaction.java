@@ -343,6 +343,18 @@ public interface KernelTransaction extends AssertOpen, AutoCloseable
      */
     long lastTransactionIdWhenStarted();
 
+    /**
+     * Declares this transaction as read only, typically right after it has been started by a client that said up front it is only going to read.
+     * The write side of the transaction is then never initialized, any later write attempt fails and closing it skips the commit machinery.
+     * Can not be called after the transaction has done writes.
+     */
+    void declareReadOnly();
+
+    /**
+     * @return whether or not this transaction has been {@link #declareReadOnly() declared as read only}.
+     */
+    boolean isDeclaredReadOnly();
+
     /**
      * Bind this kernel transaction to a user transaction
      */
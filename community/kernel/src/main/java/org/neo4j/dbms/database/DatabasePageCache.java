@@ -52,13 +52,25 @@ public class DatabasePageCache implements PageCache
     private final PageCache globalPageCache;
     private final CopyOnWriteArrayList<PagedFile> databasePagedFiles = new CopyOnWriteArrayList<>();
     private final IOController ioController;
+    private final IOController flushLimiter;
     private final List<FileMappedListener> mappedListeners = new CopyOnWriteArrayList<>();
     private boolean closed;
 
     public DatabasePageCache( PageCache globalPageCache, IOController ioController )
+    {
+        this( globalPageCache, ioController, null );
+    }
+
+    /**
+     * @param ioController the IO controller the files of the database are mapped with, that limits all their IO.
+     * @param flushLimiter the IO controller that limits {@link #flushAndForce()} of the database instead, or {@code null} to leave that to
+     * {@code ioController} as well.
+     */
+    public DatabasePageCache( PageCache globalPageCache, IOController ioController, IOController flushLimiter )
     {
         this.globalPageCache = requireNonNull( globalPageCache );
         this.ioController = requireNonNull( ioController );
+        this.flushLimiter = flushLimiter;
     }
 
     @Override
@@ -90,9 +102,19 @@ public class DatabasePageCache implements PageCache
     @Override
     public void flushAndForce() throws IOException
     {
+        // Let the global page cache flush the files of the database in parallel, sharing the IO budget of our IO controller.
+        List<PagedFile> files = new ArrayList<>( databasePagedFiles.size() );
         for ( PagedFile pagedFile : databasePagedFiles )
         {
-            pagedFile.flushAndForce();
+            files.add( ((DatabasePageFile) pagedFile).delegate );
+        }
+        if ( flushLimiter != null )
+        {
+            globalPageCache.flushAndForce( files, flushLimiter );
+        }
+        else
+        {
+            globalPageCache.flushAndForce( files );
         }
     }
 
@@ -180,6 +202,12 @@ public class DatabasePageCache implements PageCache
             return delegate.io( pageId, pf_flags, context );
         }
 
+        @Override
+        public int touch( long pageId, int count, CursorContext context ) throws IOException
+        {
+            return delegate.touch( pageId, count, context );
+        }
+
         @Override
         public int pageSize()
         {
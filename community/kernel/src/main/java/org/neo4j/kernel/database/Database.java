@@ -107,6 +107,7 @@ import org.neo4j.kernel.impl.factory.KernelTransactionFactory;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.kernel.impl.pagecache.IOControllerService;
 import org.neo4j.kernel.impl.pagecache.PageCacheLifecycle;
+import org.neo4j.kernel.impl.pagecache.PageCacheWarmer;
 import org.neo4j.kernel.impl.query.QueryEngineProvider;
 import org.neo4j.kernel.impl.query.QueryExecutionEngine;
 import org.neo4j.kernel.impl.query.TransactionExecutionMonitor;
@@ -118,16 +119,19 @@ import org.neo4j.kernel.impl.transaction.log.LogicalTransactionStore;
 import org.neo4j.kernel.impl.transaction.log.PhysicalLogicalTransactionStore;
 import org.neo4j.kernel.impl.transaction.log.PhysicalTransactionRepresentation;
 import org.neo4j.kernel.impl.transaction.log.TransactionAppender;
+import org.neo4j.kernel.impl.transaction.log.TransactionLogPositionIndex;
 import org.neo4j.kernel.impl.transaction.log.TransactionMetadataCache;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointScheduler;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointThreshold;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckPointerImpl;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.CheckpointerLifecycle;
+import org.neo4j.kernel.impl.transaction.log.checkpoint.PacingIOController;
 import org.neo4j.kernel.impl.transaction.log.checkpoint.StoreCopyCheckPointMutex;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryReader;
 import org.neo4j.kernel.impl.transaction.log.entry.VersionAwareLogEntryReader;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
 import org.neo4j.kernel.impl.transaction.log.files.LogFilesBuilder;
+import org.neo4j.kernel.impl.transaction.log.files.RecycledLogFilesReplenisher;
 import org.neo4j.kernel.impl.transaction.log.files.checkpoint.AbstractLogTailScanner;
 import org.neo4j.kernel.impl.transaction.log.pruning.LogPruneStrategyFactory;
 import org.neo4j.kernel.impl.transaction.log.pruning.LogPruning;
@@ -258,6 +262,8 @@ public class Database extends LifecycleAdapter
     private DatabaseAvailability databaseAvailability;
     private DatabaseTransactionEventListeners databaseTransactionEventListeners;
     private IOController ioController;
+    private PacingIOController pacingIOController;
+    private IOController checkPointIOController;
 
     public Database( DatabaseCreationContext context )
     {
@@ -326,7 +332,14 @@ public class Database extends LifecycleAdapter
         {
             databaseDependencies = new Dependencies( globalDependencies );
             ioController = ioControllerService.createIOController( databaseConfig, clock );
-            databasePageCache = new DatabasePageCache( globalPageCache, ioController );
+            pacingIOController = databaseConfig.get( GraphDatabaseSettings.check_point_policy ) == GraphDatabaseSettings.CheckpointPolicy.CONTINUOUS
+                                 ? new PacingIOController( ioController, clock,
+                                         databaseConfig.get( GraphDatabaseInternalSettings.check_point_continuous_flush_duration ).toNanos() )
+                                 : null;
+            // Only the check point's own flush is paced. Eviction and background flushing stay limited by the plain IO controller,
+            // and the check pointer disables pacing along with it for check points that must run at full speed.
+            checkPointIOController = pacingIOController != null ? pacingIOController : ioController;
+            databasePageCache = new DatabasePageCache( globalPageCache, ioController, pacingIOController );
             databaseMonitors = new Monitors( parentMonitors, internalLogProvider );
 
             life = new LifeSupport();
@@ -467,6 +480,10 @@ public class Database extends LifecycleAdapter
 
             CheckPointerImpl.ForceOperation forceOperation =
                     new DefaultForceOperation( indexingService, storageEngine );
+            if ( pacingIOController != null )
+            {
+                forceOperation = pacingIOController.pace( forceOperation );
+            }
             DatabaseTransactionLogModule transactionLogModule =
                     buildTransactionLogs( logFiles, databaseConfig, internalLogProvider, scheduler, forceOperation,
                             logEntryReader, metadataProvider, databaseMonitors, databaseDependencies );
@@ -503,8 +520,10 @@ public class Database extends LifecycleAdapter
             var providerSpi = QueryEngineProvider.spi( internalLogProvider, databaseMonitors, scheduler, life, getKernel(), databaseConfig );
             this.executionEngine = QueryEngineProvider.initialize( databaseDependencies, databaseFacade, engineProvider, isSystem(), providerSpi );
 
-            this.checkpointerLifecycle = new CheckpointerLifecycle( transactionLogModule.checkPointer(), databaseHealth, ioController );
+            this.checkpointerLifecycle = new CheckpointerLifecycle( transactionLogModule.checkPointer(), databaseHealth, checkPointIOController );
 
+            life.add( new PageCacheWarmer( fs, databasePageCache, scheduler, databaseLayout.databaseDirectory(), namedDatabaseId.name(), databaseConfig,
+                    pageCacheTracer, internalLogProvider.getLog( PageCacheWarmer.class ) ) );
             life.add( onStart( this::registerUpgradeListener ) );
             life.add( databaseHealth );
             life.add( databaseAvailabilityGuard );
@@ -740,28 +759,38 @@ public class Database extends LifecycleAdapter
             CheckPointerImpl.ForceOperation forceOperation, LogEntryReader logEntryReader, MetadataProvider metadataProvider, Monitors monitors,
             Dependencies databaseDependencies )
     {
-        TransactionMetadataCache transactionMetadataCache = new TransactionMetadataCache();
+        TransactionLogPositionIndex positionIndex = life.add( new TransactionLogPositionIndex( fs, logFiles, logEntryReader,
+                metadataProvider::getLastCommittedTransactionId, config.get( GraphDatabaseInternalSettings.transaction_log_position_index_interval ),
+                otherDatabaseMemoryTracker ) );
+        TransactionMetadataCache transactionMetadataCache = new TransactionMetadataCache( positionIndex );
+
+        RecycledLogFilesReplenisher recycledLogFilesReplenisher =
+                life.add( new RecycledLogFilesReplenisher( logFiles, scheduler, readOnlyDatabaseChecker, namedDatabaseId.name(), logProvider ) );
 
         Lock pruneLock = new ReentrantLock();
-        final LogPruning logPruning =
-                new LogPruningImpl( fs, logFiles, logProvider, new LogPruneStrategyFactory(), clock, config, pruneLock );
+        final LogPruning logPruning = new LogPruningImpl( fs, logFiles, logProvider, new LogPruneStrategyFactory(), clock, config, pruneLock, () ->
+        {
+            positionIndex.logFilesPruned();
+            recycledLogFilesReplenisher.trigger();
+        } );
 
         var transactionAppender =
-                createTransactionAppender( logFiles, metadataProvider, transactionMetadataCache, config, databaseHealth, scheduler, logProvider );
+                createTransactionAppender( logFiles, metadataProvider, transactionMetadataCache, config, databaseHealth, scheduler, logProvider,
+                        otherDatabaseMemoryTracker );
         life.add( transactionAppender );
 
         final LogicalTransactionStore logicalTransactionStore =
-                new PhysicalLogicalTransactionStore( logFiles, transactionMetadataCache, logEntryReader, monitors, true, config );
+                new PhysicalLogicalTransactionStore( logFiles, transactionMetadataCache, positionIndex, logEntryReader, monitors, true, config );
 
         CheckPointThreshold threshold = CheckPointThreshold.createThreshold( config, clock, logPruning, logProvider );
 
         var checkpointAppender = logFiles.getCheckpointFile().getCheckpointAppender();
         final CheckPointerImpl checkPointer =
                 new CheckPointerImpl( metadataProvider, threshold, forceOperation, logPruning, checkpointAppender, databaseHealth, logProvider,
-                        tracers, ioController, storeCopyCheckPointMutex, versionContextSupplier, clock );
+                        tracers, checkPointIOController, storeCopyCheckPointMutex, versionContextSupplier, clock );
 
         long recurringPeriod = threshold.checkFrequencyMillis();
-        CheckPointScheduler checkPointScheduler = new CheckPointScheduler( checkPointer, ioController, scheduler,
+        CheckPointScheduler checkPointScheduler = new CheckPointScheduler( checkPointer, checkPointIOController, scheduler,
                 recurringPeriod, databaseHealth, namedDatabaseId.name() );
 
         life.add( checkPointer );
@@ -786,6 +815,10 @@ public class Database extends LifecycleAdapter
 
         TransactionCommitProcess transactionCommitProcess =
                 commitProcessFactory.create( appender, storageEngine, namedDatabaseId, readOnlyDatabaseChecker, databaseHealth );
+        if ( transactionCommitProcess instanceof Lifecycle )
+        {
+            life.add( (Lifecycle) transactionCommitProcess );
+        }
 
         /*
          * This is used by explicit indexes and constraint indexes whenever a transaction is to be spawned
@@ -22,11 +22,12 @@ package org.neo4j.kernel.impl.api;
 import org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker;
 import org.neo4j.internal.kernel.api.exceptions.TransactionFailureException;
 import org.neo4j.kernel.impl.transaction.tracing.CommitEvent;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 import org.neo4j.storageengine.api.TransactionApplicationMode;
 
-public class DatabaseTransactionCommitProcess implements TransactionCommitProcess
+public class DatabaseTransactionCommitProcess extends LifecycleAdapter implements TransactionCommitProcess
 {
-    private final TransactionCommitProcess commitProcess;
+    private final InternalTransactionCommitProcess commitProcess;
     private final DatabaseReadOnlyChecker readOnlyDatabaseChecker;
 
     public DatabaseTransactionCommitProcess( InternalTransactionCommitProcess commitProcess, DatabaseReadOnlyChecker readOnlyDatabaseChecker )
@@ -35,6 +36,12 @@ public class DatabaseTransactionCommitProcess implements TransactionCommitProces
         this.readOnlyDatabaseChecker = readOnlyDatabaseChecker;
     }
 
+    @Override
+    public void shutdown() throws Exception
+    {
+        commitProcess.shutdown();
+    }
+
     @Override
     public long commit( TransactionToApply batch, CommitEvent commitEvent, TransactionApplicationMode mode ) throws TransactionFailureException
     {
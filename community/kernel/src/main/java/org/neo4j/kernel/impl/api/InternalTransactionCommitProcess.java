@@ -24,24 +24,43 @@ import org.neo4j.kernel.impl.transaction.log.TransactionAppender;
 import org.neo4j.kernel.impl.transaction.tracing.CommitEvent;
 import org.neo4j.kernel.impl.transaction.tracing.LogAppendEvent;
 import org.neo4j.kernel.impl.transaction.tracing.StoreApplyEvent;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 import org.neo4j.monitoring.DatabaseHealth;
 import org.neo4j.storageengine.api.StorageEngine;
 import org.neo4j.storageengine.api.TransactionApplicationMode;
+import org.neo4j.util.FeatureToggles;
 
 import static org.neo4j.kernel.api.exceptions.Status.Transaction.TransactionCommitFailed;
 import static org.neo4j.kernel.api.exceptions.Status.Transaction.TransactionLogError;
 
-public class InternalTransactionCommitProcess implements TransactionCommitProcess
+public class InternalTransactionCommitProcess extends LifecycleAdapter implements TransactionCommitProcess
 {
+    /**
+     * Number of threads to apply the transactions of batches containing more than one transaction with, or {@code 0} to apply them
+     * one after another on the committing thread.
+     */
+    private static final int PARALLEL_BATCH_APPLIERS = FeatureToggles.getInteger( InternalTransactionCommitProcess.class, "parallelBatchAppliers", 0 );
+
     private final TransactionAppender appender;
     private final StorageEngine storageEngine;
     private final DatabaseHealth health;
+    private final ParallelBatchApplier parallelBatchApplier;
 
     public InternalTransactionCommitProcess( TransactionAppender appender, StorageEngine storageEngine, DatabaseHealth health )
     {
         this.appender = appender;
         this.storageEngine = storageEngine;
         this.health = health;
+        this.parallelBatchApplier = PARALLEL_BATCH_APPLIERS > 0 ? new ParallelBatchApplier( storageEngine, PARALLEL_BATCH_APPLIERS ) : null;
+    }
+
+    @Override
+    public void shutdown() throws Exception
+    {
+        if ( parallelBatchApplier != null )
+        {
+            parallelBatchApplier.shutdown();
+        }
     }
 
     @Override
@@ -78,7 +97,14 @@ public class InternalTransactionCommitProcess implements TransactionCommitProces
     {
         try ( StoreApplyEvent storeApplyEvent = commitEvent.beginStoreApply() )
         {
-            storageEngine.apply( batch, mode );
+            if ( parallelBatchApplier != null && batch.next() != null )
+            {
+                parallelBatchApplier.apply( batch, mode );
+            }
+            else
+            {
+                storageEngine.apply( batch, mode );
+            }
         }
         catch ( Throwable cause )
         {
@@ -42,6 +42,7 @@ import org.neo4j.exceptions.KernelException;
 import org.neo4j.graphdb.NotInTransactionException;
 import org.neo4j.graphdb.TransactionTerminatedException;
 import org.neo4j.graphdb.TransientFailureException;
+import org.neo4j.graphdb.WriteOperationsNotAllowedException;
 import org.neo4j.internal.kernel.api.CursorFactory;
 import org.neo4j.internal.kernel.api.ExecutionStatistics;
 import org.neo4j.internal.kernel.api.NodeCursor;
@@ -159,6 +160,11 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
     private static final long NOT_COMMITTED_TRANSACTION_ID = -1;
     private static final long NOT_COMMITTED_TRANSACTION_COMMIT_TIME = -1;
     private static final String TRANSACTION_TAG = "transaction";
+    private static final AccessCapability DECLARED_READ_ONLY = () ->
+    {
+        throw new WriteOperationsNotAllowedException( "No write operations are allowed in a transaction declared as read only.",
+                Status.Statement.AccessMode );
+    };
 
     private final CollectionsFactory collectionsFactory;
 
@@ -192,6 +198,8 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
     private TxState txState;
     private volatile TransactionWriteState writeState;
     private AccessCapability accessCapability;
+    private boolean declaredReadOnly;
+    private boolean commandCreationContextInitialized;
     private final KernelStatement currentStatement;
     private SecurityContext securityContext;
     private volatile Locks.Client lockClient;
@@ -332,6 +340,7 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
         this.cursorContext = new CursorContext( pageCacheTracer.createPageCursorTracer( TRANSACTION_TAG ), versionContextSupplier.createVersionContext() );
         this.transactionalCursors.reset( cursorContext );
         this.accessCapability = accessCapabilityFactory.newAccessCapability( readOnlyDatabaseChecker );
+        this.declaredReadOnly = false;
         this.kernelTransactionMonitor = KernelTransaction.NO_MONITOR;
         this.type = type;
         this.userTransactionId = userTransactionId;
@@ -354,7 +363,7 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
         this.commitTime = NOT_COMMITTED_TRANSACTION_COMMIT_TIME;
         this.clientInfo = clientInfo;
         this.statistics.init( currentThread().getId(), cursorContext );
-        this.commandCreationContext.initialize( cursorContext, transactionalCursors );
+        this.commandCreationContextInitialized = false;
         this.currentStatement.initialize( lockClient, cursorContext, startTimeMillis );
         this.operations.initialize( cursorContext );
         this.initializationTrace = traceProvider.getTraceInfo();
@@ -363,6 +372,24 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
         return this;
     }
 
+    @Override
+    public void declareReadOnly()
+    {
+        assertTransactionOpen();
+        if ( txState != null || writeState != TransactionWriteState.NONE )
+        {
+            throw new IllegalStateException( "Transaction can not be declared as read only after having done writes." );
+        }
+        declaredReadOnly = true;
+        accessCapability = DECLARED_READ_ONLY;
+    }
+
+    @Override
+    public boolean isDeclaredReadOnly()
+    {
+        return declaredReadOnly;
+    }
+
     @Override
     public void bindToUserTransaction( InternalTransaction internalTransaction )
     {
@@ -631,6 +658,25 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
         writeState = writeState.upgradeToSchemaWrites();
     }
 
+    private void assertCanWrite()
+    {
+        accessCapability.assertCanWrite();
+        initializeCommandCreationContext();
+    }
+
+    /**
+     * The command creation context is only needed by transactions that write, so it is initialized on the first write access
+     * instead of in {@link #initialize(long, long, Type, SecurityContext, long, long, ClientConnectionInfo)}.
+     */
+    private void initializeCommandCreationContext()
+    {
+        if ( !commandCreationContextInitialized )
+        {
+            commandCreationContext.initialize( cursorContext, transactionalCursors );
+            commandCreationContextInitialized = true;
+        }
+    }
+
     private void dropCreatedConstraintIndexes() throws TransactionFailureException
     {
         if ( hasTxStateWithChanges() )
@@ -649,6 +695,11 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
     {
         if ( txState == null )
         {
+            if ( declaredReadOnly )
+            {
+                DECLARED_READ_ONLY.assertCanWrite();
+            }
+            initializeCommandCreationContext();
             leaseClient.ensureValid();
             readOnlyDatabaseChecker.check();
             transactionMonitor.upgradeToWriteTransaction();
@@ -826,6 +877,10 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
 
     private long commitTransaction() throws KernelException
     {
+        if ( declaredReadOnly )
+        {
+            return commitReadOnlyTransaction();
+        }
         boolean success = false;
         long txId = READ_ONLY_ID;
         TransactionListenersState listenersState = null;
@@ -916,6 +971,25 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
         }
     }
 
+    /**
+     * A transaction declared as read only can not have any transaction state, so there are neither commands to create nor
+     * before commit listeners to invoke.
+     */
+    private long commitReadOnlyTransaction()
+    {
+        try
+        {
+            transactionId = READ_ONLY_ID;
+            afterCommit( null );
+            return READ_ONLY_ID;
+        }
+        finally
+        {
+            transactionMonitor.addHeapTransactionSize( memoryTracker.heapHighWaterMark() );
+            transactionMonitor.addNativeTransactionSize( memoryTracker.usedNativeMemory() );
+        }
+    }
+
     private void rollback( TransactionListenersState listenersState ) throws KernelException
     {
         try
@@ -945,7 +1019,7 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
     @Override
     public Write dataWrite() throws InvalidTransactionTypeKernelException
     {
-        accessCapability.assertCanWrite();
+        assertCanWrite();
         upgradeToDataWrites();
         return operations;
     }
@@ -953,14 +1027,14 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
     @Override
     public TokenWrite tokenWrite()
     {
-        accessCapability.assertCanWrite();
+        assertCanWrite();
         return operations.token();
     }
 
     @Override
     public Token token()
     {
-        accessCapability.assertCanWrite();
+        assertCanWrite();
         return operations.token();
     }
 
@@ -979,7 +1053,7 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
     @Override
     public SchemaWrite schemaWrite() throws InvalidTransactionTypeKernelException
     {
-        accessCapability.assertCanWrite();
+        assertCanWrite();
         //TODO: Consider removing this since we re-check with fine graned a few lines below
         securityAuthorizationHandler.assertAllowsSchemaWrites( securityContext() );
 
@@ -1133,7 +1207,11 @@ public class KernelTransactionImplementation implements KernelTransaction, TxSta
             statistics.reset();
             releaseStatementResources();
             operations.release();
-            commandCreationContext.close();
+            if ( commandCreationContextInitialized )
+            {
+                commandCreationContext.close();
+                commandCreationContextInitialized = false;
+            }
             transactionalCursors.close();
             cursorContext.close();
             initializationTrace = NONE;
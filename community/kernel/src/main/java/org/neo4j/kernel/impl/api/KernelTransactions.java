@@ -30,6 +30,7 @@ import java.util.function.Supplier;
 import org.neo4j.collection.Dependencies;
 import org.neo4j.collection.pool.LinkedQueuePool;
 import org.neo4j.collection.pool.Pool;
+import org.neo4j.collection.pool.ThreadAffinePool;
 import org.neo4j.configuration.Config;
 import org.neo4j.configuration.GraphDatabaseSettings;
 import org.neo4j.dbms.database.DbmsRuntimeRepository;
@@ -73,6 +74,7 @@ import org.neo4j.storageengine.api.TransactionId;
 import org.neo4j.storageengine.api.TransactionIdStore;
 import org.neo4j.time.SystemNanoClock;
 import org.neo4j.token.TokenHolders;
+import org.neo4j.util.FeatureToggles;
 
 import static java.util.stream.Collectors.toSet;
 import static org.neo4j.configuration.GraphDatabaseSettings.memory_transaction_database_max_size;
@@ -88,6 +90,12 @@ import static org.neo4j.configuration.GraphDatabaseSettings.memory_transaction_d
 public class KernelTransactions extends LifecycleAdapter implements Supplier<IdController.IdFreeCondition>
 {
     public static final long SYSTEM_TRANSACTION_ID = 0;
+    /**
+     * Number of released transactions kept aside for the thread releasing them, to be handed back to a thread mapping to the same slot on its next
+     * acquisition without going through the shared pool. Zero disables it.
+     */
+    private static final int THREAD_AFFINE_POOL_SLOTS =
+            FeatureToggles.getInteger( KernelTransactions.class, "threadAffinePoolSlots", Runtime.getRuntime().availableProcessors() * 4 );
     private final Locks locks;
     private final ConstraintIndexCreator constraintIndexCreator;
     private final TransactionCommitProcess transactionCommitProcess;
@@ -192,9 +200,9 @@ public class KernelTransactions extends LifecycleAdapter implements Supplier<IdC
         this.constraintSemantics = constraintSemantics;
         this.schemaState = schemaState;
         this.leaseService = leaseService;
-        this.txPool = new MonitoredTransactionPool(
+        this.txPool = new MonitoredTransactionPool( new ThreadAffinePool<>(
                 new GlobalKernelTransactionPool( allTransactions, new KernelTransactionImplementationFactory( allTransactions, tracers ) ),
-                activeTransactionCounter, config );
+                THREAD_AFFINE_POOL_SLOTS, transactionMonitor::transactionAcquiredFromPool ), activeTransactionCounter, config );
         this.securityLog = databaseDependendies.resolveDependency( AbstractSecurityLog.class );
         doBlockNewTransactions();
     }
@@ -461,10 +469,10 @@ public class KernelTransactions extends LifecycleAdapter implements Supplier<IdC
     static class MonitoredTransactionPool implements Pool<KernelTransactionImplementation>
     {
         private final AtomicInteger activeTransactionCounter;
-        private final GlobalKernelTransactionPool delegate;
+        private final ThreadAffinePool<KernelTransactionImplementation> delegate;
         private volatile int maxNumberOfTransaction;
 
-        MonitoredTransactionPool( GlobalKernelTransactionPool delegate, AtomicInteger activeTransactionCounter, Config config )
+        MonitoredTransactionPool( ThreadAffinePool<KernelTransactionImplementation> delegate, AtomicInteger activeTransactionCounter, Config config )
         {
             this.delegate = delegate;
             this.activeTransactionCounter = activeTransactionCounter;
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.internal.helpers.Exceptions;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.DefaultPageCursorTracer;
+import org.neo4j.lock.LockGroup;
+import org.neo4j.lock.LockService;
+import org.neo4j.lock.ReentrantLockService;
+import org.neo4j.storageengine.api.StorageEngine;
+import org.neo4j.storageengine.api.TransactionApplicationMode;
+
+import static org.neo4j.internal.helpers.NamedThreadFactory.daemon;
+import static org.neo4j.kernel.impl.transaction.log.Commitment.NO_COMMITMENT;
+
+/**
+ * Applies the transactions of a batch using multiple threads, with the same scheme as parallel recovery uses:
+ * each transaction acquires locks for the entities its commands touch, strictly in batch order, and is then applied
+ * concurrently with the transactions it doesn't conflict with. Transactions touching the same entities are therefore applied in batch order.
+ * Transactions with changes that aren't covered by those locks, like schema and token changes, are applied on their own instead,
+ * after all transactions before them and before any transaction after them.
+ * <p>
+ * Publishing the transactions as closed is left to the caller, which does so in batch order once the whole batch has been applied.
+ * The applier threads wait for their turn parked, and are stopped by {@link #shutdown()} when the owner shuts down.
+ */
+final class ParallelBatchApplier
+{
+    private static final String TRACER_TAG = "parallelBatchApply";
+
+    private final StorageEngine storageEngine;
+    private final ThreadPoolExecutor appliers;
+
+    ParallelBatchApplier( StorageEngine storageEngine, int numAppliers )
+    {
+        this.storageEngine = storageEngine;
+        this.appliers = new ThreadPoolExecutor( numAppliers, numAppliers, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                daemon( "ParallelBatchApplier" ) );
+        // The threads are only needed while there are batches to apply
+        this.appliers.allowCoreThreadTimeOut( true );
+    }
+
+    void apply( TransactionToApply batch, TransactionApplicationMode mode ) throws Exception
+    {
+        LockService lockService = new ReentrantLockService();
+        Progress progress = new Progress();
+        List<CursorContext> cursorContexts = new ArrayList<>();
+        List<Future<?>> applications = new ArrayList<>();
+        int index = 0;
+        for ( TransactionToApply tx = batch; tx != null; tx = tx.next(), index++ )
+        {
+            // Page cache accesses are traced separately per transaction and merged into the batch when all of them are applied
+            CursorContext cursorContext = new CursorContext( new DefaultPageCursorTracer( PageCacheTracer.NULL, TRACER_TAG ) );
+            cursorContexts.add( cursorContext );
+            TransactionToApply transaction = tx;
+            int order = index;
+            applications.add( appliers.submit( () ->
+            {
+                try
+                {
+                    if ( !progress.awaitTurnToLock( order ) )
+                    {
+                        return;
+                    }
+                    if ( storageEngine.requiresExclusiveApplication( transaction.transactionRepresentation() ) )
+                    {
+                        // Keep the later transactions from locking until this one is applied, and wait for the earlier ones to finish
+                        if ( progress.awaitFinished( order ) )
+                        {
+                            apply( transaction, cursorContext, mode );
+                            progress.locked( order );
+                        }
+                        return;
+                    }
+                    try ( LockGroup locks = new LockGroup() )
+                    {
+                        storageEngine.lockRecoveryCommands( transaction.transactionRepresentation(), lockService, locks, mode );
+                        progress.locked( order );
+                        apply( transaction, cursorContext, mode );
+                    }
+                }
+                catch ( Throwable e )
+                {
+                    progress.failed( e );
+                }
+                finally
+                {
+                    progress.finished();
+                }
+            } ) );
+        }
+
+        awaitUninterruptibly( applications );
+        for ( CursorContext cursorContext : cursorContexts )
+        {
+            batch.cursorContext().merge( cursorContext );
+            cursorContext.close();
+        }
+        Throwable cause = progress.failure();
+        if ( cause != null )
+        {
+            Exceptions.throwIfUnchecked( cause );
+            throw new Exception( "One or more transactions in the batch failed to apply", cause );
+        }
+    }
+
+    private void apply( TransactionToApply transaction, CursorContext cursorContext, TransactionApplicationMode mode ) throws Exception
+    {
+        try ( var storeCursors = storageEngine.createStorageCursors( cursorContext ) )
+        {
+            long txId = transaction.transactionId();
+            TransactionToApply tx = new TransactionToApply( transaction.transactionRepresentation(), txId, cursorContext, storeCursors );
+            tx.commitment( NO_COMMITMENT, txId );
+            storageEngine.apply( tx, mode );
+        }
+    }
+
+    /**
+     * All transactions must have been applied, or given up, before the batch is published, regardless of interrupts.
+     */
+    private static void awaitUninterruptibly( List<Future<?>> applications ) throws ExecutionException
+    {
+        boolean interrupted = false;
+        for ( Future<?> application : applications )
+        {
+            while ( true )
+            {
+                try
+                {
+                    application.get();
+                    break;
+                }
+                catch ( InterruptedException e )
+                {
+                    interrupted = true;
+                }
+            }
+        }
+        if ( interrupted )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stop the applier threads, waiting for any batch that is being applied to finish.
+     */
+    void shutdown() throws InterruptedException
+    {
+        appliers.shutdown();
+        appliers.awaitTermination( 1, TimeUnit.MINUTES );
+    }
+
+    /**
+     * How far the transactions of a batch have come, in batch order. The applier threads park on it while waiting for their turn.
+     */
+    private static final class Progress
+    {
+        private int nextToLock;
+        private int finished;
+        private Throwable failure;
+
+        /**
+         * @return {@code true} when all transactions before {@code order} have taken their locks, or {@code false} if a transaction failed.
+         */
+        synchronized boolean awaitTurnToLock( int order ) throws InterruptedException
+        {
+            while ( nextToLock < order && failure == null )
+            {
+                wait();
+            }
+            return failure == null;
+        }
+
+        /**
+         * @return {@code true} when {@code order} transactions have finished, or {@code false} if a transaction failed.
+         */
+        synchronized boolean awaitFinished( int order ) throws InterruptedException
+        {
+            while ( finished < order && failure == null )
+            {
+                wait();
+            }
+            // Transactions after this one only finish early when one of them has failed
+            return failure == null;
+        }
+
+        synchronized void locked( int order )
+        {
+            nextToLock = order + 1;
+            notifyAll();
+        }
+
+        synchronized void finished()
+        {
+            finished++;
+            notifyAll();
+        }
+
+        synchronized void failed( Throwable e )
+        {
+            if ( failure == null )
+            {
+                failure = e;
+            }
+            notifyAll();
+        }
+
+        synchronized Throwable failure()
+        {
+            return failure;
+        }
+    }
+}
@@ -33,6 +33,7 @@ import java.util.List;
 import org.neo4j.collection.trackable.HeapTrackingCollections;
 import org.neo4j.function.ThrowingLongConsumer;
 import org.neo4j.graphdb.Direction;
+import org.neo4j.kernel.impl.util.collection.CollectionsFactory;
 import org.neo4j.memory.HeapEstimator;
 import org.neo4j.memory.MemoryTracker;
 import org.neo4j.storageengine.api.RelationshipDirection;
@@ -82,18 +83,21 @@ public class RelationshipChangesForNode
     }
 
     private final DiffStrategy diffStrategy;
+    private final CollectionsFactory collectionsFactory;
     private final MemoryTracker memoryTracker;
     private final MutableIntObjectMap<RelationshipSetsByDirection> byType;
 
-    static RelationshipChangesForNode createRelationshipChangesForNode( DiffStrategy diffStrategy, MemoryTracker memoryTracker )
+    static RelationshipChangesForNode createRelationshipChangesForNode( DiffStrategy diffStrategy, CollectionsFactory collectionsFactory,
+            MemoryTracker memoryTracker )
     {
         memoryTracker.allocateHeap( SHALLOW_SIZE );
-        return new RelationshipChangesForNode( diffStrategy, memoryTracker );
+        return new RelationshipChangesForNode( diffStrategy, collectionsFactory, memoryTracker );
     }
 
-    private RelationshipChangesForNode( DiffStrategy diffStrategy, MemoryTracker memoryTracker )
+    private RelationshipChangesForNode( DiffStrategy diffStrategy, CollectionsFactory collectionsFactory, MemoryTracker memoryTracker )
     {
         this.diffStrategy = diffStrategy;
+        this.collectionsFactory = collectionsFactory;
         this.memoryTracker = memoryTracker;
         this.byType = HeapTrackingCollections.newIntObjectHashMap( memoryTracker );
     }
@@ -253,9 +257,9 @@ public class RelationshipChangesForNode
         return byType.keySet();
     }
 
-    private static LongIterator primitiveIds( LongSet relationships )
+    private LongIterator primitiveIds( LongSet relationships )
     {
-        return relationships == null ? ImmutableEmptyLongIterator.INSTANCE : relationships.freeze().longIterator();
+        return relationships == null ? ImmutableEmptyLongIterator.INSTANCE : collectionsFactory.frozenIterator( relationships );
     }
 
     <E extends Exception> void visitIds( ThrowingLongConsumer<E> visitor ) throws E
@@ -396,7 +400,9 @@ public class RelationshipChangesForNode
             }
             if ( ids[index] == null )
             {
-                ids[index] = HeapTrackingCollections.newLongSet( memoryTracker );
+                // The id sets are what grows with the size of the transaction, so let the collections factory decide where they live.
+                // Sets dropped again by deleteIds are released together with the rest of the transaction state.
+                ids[index] = collectionsFactory.newLongSet( memoryTracker );
             }
             return ids[index];
         }
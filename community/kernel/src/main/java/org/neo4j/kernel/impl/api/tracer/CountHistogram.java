@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.tracer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of small counts, like the number of transactions in a batch.
+ * <p>
+ * Every count up to {@link #EXACT_COUNTS} has a bucket of its own, so percentiles of those are exact. Larger counts share a single bucket,
+ * and percentiles that end up in it are reported as the highest recorded count.
+ */
+class CountHistogram
+{
+    static final int EXACT_COUNTS = 1024;
+
+    private final AtomicLongArray buckets = new AtomicLongArray( EXACT_COUNTS + 2 );
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a count. Negative counts are recorded as zero.
+     */
+    void record( long count )
+    {
+        long value = Math.max( count, 0 );
+        buckets.incrementAndGet( (int) Math.min( value, EXACT_COUNTS + 1 ) );
+        samples.increment();
+        total.add( value );
+        if ( value > max.get() )
+        {
+            max.accumulateAndGet( value, Math::max );
+        }
+    }
+
+    /**
+     * @return number of recorded counts.
+     */
+    long samples()
+    {
+        return samples.sum();
+    }
+
+    /**
+     * @return the highest recorded count.
+     */
+    long max()
+    {
+        return max.get();
+    }
+
+    /**
+     * @return the mean of the recorded counts, or zero if nothing was recorded.
+     */
+    double mean()
+    {
+        long samples = samples();
+        return samples == 0 ? 0 : (double) total.sum() / samples;
+    }
+
+    /**
+     * @param percentile percentile between 0 and 100.
+     * @return the count that the given percentage of the recorded counts is at or below, or zero if nothing was recorded.
+     */
+    long valueAtPercentile( double percentile )
+    {
+        long[] snapshot = new long[buckets.length()];
+        long samples = 0;
+        for ( int i = 0; i < snapshot.length; i++ )
+        {
+            snapshot[i] = buckets.get( i );
+            samples += snapshot[i];
+        }
+        if ( samples == 0 )
+        {
+            return 0;
+        }
+        double boundedPercentile = Math.min( Math.max( percentile, 0.0 ), 100.0 );
+        long rank = Math.max( 1, (long) Math.ceil( boundedPercentile / 100.0 * samples ) );
+        long seen = 0;
+        for ( int i = 0; i <= EXACT_COUNTS; i++ )
+        {
+            seen += snapshot[i];
+            if ( seen >= rank )
+            {
+                return i;
+            }
+        }
+        return max();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.tracer;
+
+import org.neo4j.io.pagecache.monitoring.LatencyDistribution;
+import org.neo4j.io.pagecache.tracing.LatencyHistogram;
+import org.neo4j.kernel.impl.transaction.stats.GroupCommitStatistics;
+
+/**
+ * Group commit statistics backed by histograms. Batch sizes are kept in a histogram of counts, and wait times in a histogram of latencies.
+ */
+class DefaultGroupCommitStatistics implements GroupCommitStatistics
+{
+    private final CountHistogram batchSizes = new CountHistogram();
+    private final LatencyHistogram waitTimes = new LatencyHistogram();
+
+    void batch( int batchSize, long waitNanos )
+    {
+        batchSizes.record( batchSize );
+        waitTimes.record( waitNanos );
+    }
+
+    @Override
+    public long batches()
+    {
+        return batchSizes.samples();
+    }
+
+    @Override
+    public long maxBatchSize()
+    {
+        return batchSizes.max();
+    }
+
+    @Override
+    public long batchSizeAtPercentile( double percentile )
+    {
+        return batchSizes.valueAtPercentile( percentile );
+    }
+
+    @Override
+    public double meanBatchSize()
+    {
+        return batchSizes.mean();
+    }
+
+    @Override
+    public LatencyDistribution waitTimes()
+    {
+        return waitTimes;
+    }
+}
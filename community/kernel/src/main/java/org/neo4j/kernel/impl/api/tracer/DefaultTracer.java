@@ -23,6 +23,7 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import org.neo4j.io.pagecache.context.CursorContext;
 import org.neo4j.kernel.impl.transaction.log.LogPosition;
+import org.neo4j.kernel.impl.transaction.stats.GroupCommitStatistics;
 import org.neo4j.kernel.impl.transaction.tracing.AppendTransactionEvent;
 import org.neo4j.kernel.impl.transaction.tracing.CommitEvent;
 import org.neo4j.kernel.impl.transaction.tracing.DatabaseTracer;
@@ -46,6 +47,7 @@ public class DefaultTracer implements DatabaseTracer
     private final AtomicLong appendedBytes = new AtomicLong();
     private final AtomicLong numberOfFlushes = new AtomicLong();
     private final AtomicLong appliedBatchSize = new AtomicLong();
+    private final DefaultGroupCommitStatistics groupCommitStatistics = new DefaultGroupCommitStatistics();
 
     private final CountingLogRotateEvent countingLogRotateEvent = new CountingLogRotateEvent();
     private final LogFileCreateEvent logFileCreateEvent = () -> appendedBytes.addAndGet( CURRENT_FORMAT_LOG_HEADER_SIZE );
@@ -102,6 +104,12 @@ public class DefaultTracer implements DatabaseTracer
         return appliedBatchSize.get();
     }
 
+    @Override
+    public GroupCommitStatistics groupCommitStatistics()
+    {
+        return groupCommitStatistics;
+    }
+
     @Override
     public long numberOfCheckPoints()
     {
@@ -240,6 +248,12 @@ public class DefaultTracer implements DatabaseTracer
             return AppendTransactionEvent.NULL;
         }
 
+        @Override
+        public void batchGathered( int batchSize, long waitNanos )
+        {
+            groupCommitStatistics.batch( batchSize, waitNanos );
+        }
+
         @Override
         public LogForceWaitEvent beginLogForceWait()
         {
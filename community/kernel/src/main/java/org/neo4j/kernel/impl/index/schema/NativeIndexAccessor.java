@@ -45,6 +45,8 @@ import static org.neo4j.kernel.impl.index.schema.NativeIndexPopulator.BYTE_ONLIN
 public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> extends NativeIndex<KEY>
         implements IndexAccessor
 {
+    private static final int UPDATER_BATCH_SIZE = 1_000;
+
     private final NativeIndexUpdater<KEY> singleUpdater;
     final NativeIndexHeaderWriter headerWriter;
 
@@ -52,7 +54,7 @@ public abstract class NativeIndexAccessor<KEY extends NativeIndexKey<KEY>> exten
             IndexDescriptor descriptor )
     {
         super( databaseIndexContext, layout, indexFiles, descriptor );
-        singleUpdater = new NativeIndexUpdater<>( layout.newKey(), indexUpdateIgnoreStrategy() );
+        singleUpdater = new NativeIndexUpdater<>( layout, indexUpdateIgnoreStrategy(), UPDATER_BATCH_SIZE );
         headerWriter = new NativeIndexHeaderWriter( BYTE_ONLINE );
     }
 
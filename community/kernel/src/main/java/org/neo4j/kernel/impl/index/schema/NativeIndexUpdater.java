@@ -19,6 +19,10 @@
  */
 package org.neo4j.kernel.impl.index.schema;
 
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.neo4j.index.internal.gbptree.GBPTree;
 import org.neo4j.index.internal.gbptree.Writer;
 import org.neo4j.io.IOUtils;
 import org.neo4j.kernel.api.exceptions.index.IndexEntryConflictException;
@@ -29,19 +33,39 @@ import org.neo4j.values.storable.Value;
 
 import static org.neo4j.kernel.impl.index.schema.NativeIndexKey.Inclusion.NEUTRAL;
 
+/**
+ * {@link IndexUpdater} for native value indexes, or rather a {@link Writer} for its internal {@link GBPTree}.
+ * <p>
+ * {@link #process(IndexEntryUpdate) Updates} are turned into key removals and additions which are queued up to a maximum batch size
+ * and applied in key order when the batch is full or on {@link #close()}. Updates to the same key keep their relative order.
+ * Applying keys in order lets the tree writer stay on the same path between adjacent keys instead of seeking from the root for each of them.
+ * <p>
+ * Updates aren't visible to readers immediately, rather when the queue happens to be applied.
+ */
 class NativeIndexUpdater<KEY extends NativeIndexKey<KEY>> implements IndexUpdater
 {
-    private final KEY treeKey;
+    private final IndexLayout<KEY> layout;
     private final IndexUpdateIgnoreStrategy ignoreStrategy;
     private final ConflictDetectingValueMerger<KEY,Value[]> conflictDetectingValueMerger = new ThrowingConflictDetector<>( true );
+    private final Comparator<PendingChange<KEY>> pendingChangeComparator;
+
+    /**
+     * Changes currently building up as {@link #process(IndexEntryUpdate) updates} come in. Entries, and their keys, are reused
+     * between batches. The length of this queue defines the maximum batch size.
+     */
+    private final PendingChange<KEY>[] pendingChanges;
+    private int pendingChangesCursor;
     private Writer<KEY,NullValue> writer;
 
     private boolean closed = true;
 
-    NativeIndexUpdater( KEY treeKey, IndexUpdateIgnoreStrategy ignoreStrategy )
+    @SuppressWarnings( "unchecked" )
+    NativeIndexUpdater( IndexLayout<KEY> layout, IndexUpdateIgnoreStrategy ignoreStrategy, int batchSize )
     {
-        this.treeKey = treeKey;
+        this.layout = layout;
         this.ignoreStrategy = ignoreStrategy;
+        this.pendingChanges = new PendingChange[batchSize];
+        this.pendingChangeComparator = ( left, right ) -> layout.compare( left.key, right.key );
     }
 
     NativeIndexUpdater<KEY> initialize( Writer<KEY,NullValue> writer )
@@ -52,6 +76,7 @@ class NativeIndexUpdater<KEY extends NativeIndexKey<KEY>> implements IndexUpdate
         }
 
         this.writer = writer;
+        this.pendingChangesCursor = 0;
         closed = false;
         return this;
     }
@@ -61,14 +86,79 @@ class NativeIndexUpdater<KEY extends NativeIndexKey<KEY>> implements IndexUpdate
     {
         assertOpen();
         ValueIndexEntryUpdate<?> valueUpdate = asValueUpdate( update );
-        processUpdate( treeKey, valueUpdate, writer, conflictDetectingValueMerger, ignoreStrategy );
+        switch ( valueUpdate.updateMode() )
+        {
+        case REMOVED:
+            queue( valueUpdate.getEntityId(), valueUpdate.values(), false );
+            break;
+        case CHANGED:
+            queue( valueUpdate.getEntityId(), valueUpdate.beforeValues(), false );
+            // fallthrough
+        case ADDED:
+            queue( valueUpdate.getEntityId(), valueUpdate.values(), true );
+            break;
+        default:
+            throw new IllegalArgumentException();
+        }
     }
 
     @Override
-    public void close()
+    public void close() throws IndexEntryConflictException
     {
         closed = true;
-        IOUtils.closeAllUnchecked( writer );
+        try
+        {
+            flushPendingChanges();
+        }
+        finally
+        {
+            IOUtils.closeAllUnchecked( writer );
+        }
+    }
+
+    private void queue( long entityId, Value[] values, boolean addition ) throws IndexEntryConflictException
+    {
+        if ( ignoreStrategy.ignore( values ) )
+        {
+            return;
+        }
+        if ( pendingChangesCursor == pendingChanges.length )
+        {
+            flushPendingChanges();
+        }
+        PendingChange<KEY> change = pendingChanges[pendingChangesCursor];
+        if ( change == null )
+        {
+            change = pendingChanges[pendingChangesCursor] = new PendingChange<>( layout.newKey() );
+        }
+        initializeKeyFromUpdate( change.key, entityId, values );
+        change.values = values;
+        change.addition = addition;
+        pendingChangesCursor++;
+    }
+
+    private void flushPendingChanges() throws IndexEntryConflictException
+    {
+        // Arrays.sort on objects is stable, which keeps changes to the same key in the order they were processed
+        Arrays.sort( pendingChanges, 0, pendingChangesCursor, pendingChangeComparator );
+        int count = pendingChangesCursor;
+        pendingChangesCursor = 0;
+        for ( int i = 0; i < count; i++ )
+        {
+            PendingChange<KEY> change = pendingChanges[i];
+            Value[] values = change.values;
+            change.values = null;
+            if ( change.addition )
+            {
+                conflictDetectingValueMerger.controlConflictDetection( change.key );
+                writer.merge( change.key, NullValue.INSTANCE, conflictDetectingValueMerger );
+                conflictDetectingValueMerger.checkConflict( values );
+            }
+            else
+            {
+                writer.remove( change.key );
+            }
+        }
     }
 
     private void assertOpen()
@@ -79,6 +169,18 @@ class NativeIndexUpdater<KEY extends NativeIndexKey<KEY>> implements IndexUpdate
         }
     }
 
+    private static class PendingChange<KEY>
+    {
+        private final KEY key;
+        private Value[] values;
+        private boolean addition;
+
+        PendingChange( KEY key )
+        {
+            this.key = key;
+        }
+    }
+
     static <KEY extends NativeIndexKey<KEY>> void processUpdate( KEY treeKey,
                                                                  ValueIndexEntryUpdate<?> update, Writer<KEY,NullValue> writer,
                                                                  ConflictDetectingValueMerger<KEY,Value[]> conflictDetectingValueMerger,
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking;
+
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.neo4j.lock.LockWaitEvent;
+import org.neo4j.lock.ResourceType;
+import org.neo4j.time.SystemNanoClock;
+
+/**
+ * Keeps track of how much time clients spend waiting for locks, per {@link ResourceType}, and for the most contended resources of every type.
+ * <p>
+ * Only waits are recorded, so acquiring a lock that is not contended costs nothing. Waits are counted per resource type for as long as the lock
+ * manager lives. The most contended resources are tracked in a small table per resource type, where the contention of a resource decays with the
+ * configured half-life, so that resources that are no longer contended are eventually replaced by the ones that are. Instead of decaying every
+ * entry as time passes, contention recorded later is given an exponentially larger weight, and the weight is divided out again when the table
+ * is read.
+ */
+public class LockContentionProfiler
+{
+    /**
+     * Weights are brought back down to one when they grow past this, long before the doubles that hold them lose their precision.
+     */
+    private static final double MAX_WEIGHT = 0x1p32;
+
+    private final SystemNanoClock clock;
+    private final int trackedResources;
+    private final double halfLifeNanos;
+    private final ResourceTypeContention[] contention;
+
+    public LockContentionProfiler( SystemNanoClock clock, int trackedResources, Duration halfLife, ResourceType... resourceTypes )
+    {
+        this.clock = clock;
+        this.trackedResources = trackedResources;
+        this.halfLifeNanos = halfLife.toNanos();
+        int maxTypeId = 0;
+        for ( ResourceType resourceType : resourceTypes )
+        {
+            maxTypeId = Math.max( resourceType.typeId(), maxTypeId );
+        }
+        this.contention = new ResourceTypeContention[maxTypeId + 1];
+        long now = clock.nanos();
+        for ( ResourceType resourceType : resourceTypes )
+        {
+            contention[resourceType.typeId()] = new ResourceTypeContention( resourceType, now );
+        }
+    }
+
+    /**
+     * Start recording a wait for a lock, which ends when the returned event is closed.
+     *
+     * @param resourceType type of the resource that is waited for.
+     * @param resourceId id of the resource that is waited for.
+     * @param event wait event of the {@link org.neo4j.lock.LockTracer} of the waiting client, which is closed together with the returned event.
+     * @return the event to close when the wait is over.
+     */
+    public LockWaitEvent waitForLock( ResourceType resourceType, long resourceId, LockWaitEvent event )
+    {
+        ResourceTypeContention typeContention = contention[resourceType.typeId()];
+        typeContention.waiters.incrementAndGet();
+        return new ContentionWaitEvent( typeContention, resourceId, clock.nanos(), event );
+    }
+
+    /**
+     * Visit the contention of every resource type, and of the most contended resources of each type, most contended first.
+     */
+    public void accept( Locks.ContentionVisitor visitor )
+    {
+        long now = clock.nanos();
+        for ( ResourceTypeContention typeContention : contention )
+        {
+            if ( typeContention != null )
+            {
+                typeContention.accept( visitor, now );
+            }
+        }
+    }
+
+    private class ResourceTypeContention
+    {
+        private final ResourceType resourceType;
+        private final LongAdder waits = new LongAdder();
+        private final LongAdder waitTimeNanos = new LongAdder();
+        private final AtomicInteger waiters = new AtomicInteger();
+        // guarded by this
+        private final MutableLongObjectMap<ResourceContention> resources = new LongObjectHashMap<>();
+        private long landmarkNanos;
+
+        ResourceTypeContention( ResourceType resourceType, long now )
+        {
+            this.resourceType = resourceType;
+            this.landmarkNanos = now;
+        }
+
+        void waitEnded( long resourceId, long waitNanos, long now )
+        {
+            waiters.decrementAndGet();
+            waits.increment();
+            waitTimeNanos.add( waitNanos );
+            if ( trackedResources > 0 )
+            {
+                record( resourceId, waitNanos, now );
+            }
+        }
+
+        private synchronized void record( long resourceId, long waitNanos, long now )
+        {
+            double weight = weight( now );
+            if ( weight > MAX_WEIGHT )
+            {
+                resources.forEachValue( resource -> resource.scale( 1 / weight ) );
+                landmarkNanos = now;
+                record( resourceId, waitNanos, now );
+                return;
+            }
+
+            ResourceContention resource = resources.get( resourceId );
+            if ( resource == null )
+            {
+                // Keep some slack over the number of reported resources, to give newly contended resources a chance to climb in
+                if ( resources.size() >= 2 * trackedResources )
+                {
+                    resources.remove( leastContended() );
+                }
+                resource = new ResourceContention( resourceId );
+                resources.put( resourceId, resource );
+            }
+            resource.weightedWaits += weight;
+            resource.weightedWaitTimeNanos += weight * waitNanos;
+        }
+
+        private long leastContended()
+        {
+            ResourceContention least = null;
+            for ( ResourceContention resource : resources.values() )
+            {
+                if ( least == null || resource.weightedWaitTimeNanos < least.weightedWaitTimeNanos )
+                {
+                    least = resource;
+                }
+            }
+            return least.resourceId;
+        }
+
+        void accept( Locks.ContentionVisitor visitor, long now )
+        {
+            visitor.visitResourceType( resourceType, waits.sum(), waitTimeNanos.sum(), waiters.get() );
+            if ( trackedResources == 0 )
+            {
+                return;
+            }
+
+            List<ResourceContention> mostContended;
+            double weight;
+            synchronized ( this )
+            {
+                weight = weight( now );
+                mostContended = new ArrayList<>( resources.size() );
+                resources.forEachValue( resource -> mostContended.add( resource.copy() ) );
+            }
+            mostContended.sort( Comparator.comparingDouble( ( ResourceContention resource ) -> resource.weightedWaitTimeNanos ).reversed() );
+            for ( int i = 0; i < Math.min( trackedResources, mostContended.size() ); i++ )
+            {
+                ResourceContention resource = mostContended.get( i );
+                visitor.visitResource( resourceType, resource.resourceId, resource.weightedWaits / weight, resource.weightedWaitTimeNanos / weight );
+            }
+        }
+
+        private double weight( long now )
+        {
+            return Math.pow( 2, (now - landmarkNanos) / halfLifeNanos );
+        }
+    }
+
+    private static class ResourceContention
+    {
+        private final long resourceId;
+        private double weightedWaits;
+        private double weightedWaitTimeNanos;
+
+        ResourceContention( long resourceId )
+        {
+            this.resourceId = resourceId;
+        }
+
+        void scale( double factor )
+        {
+            weightedWaits *= factor;
+            weightedWaitTimeNanos *= factor;
+        }
+
+        ResourceContention copy()
+        {
+            ResourceContention copy = new ResourceContention( resourceId );
+            copy.weightedWaits = weightedWaits;
+            copy.weightedWaitTimeNanos = weightedWaitTimeNanos;
+            return copy;
+        }
+    }
+
+    private class ContentionWaitEvent implements LockWaitEvent
+    {
+        private final ResourceTypeContention typeContention;
+        private final long resourceId;
+        private final long startNanos;
+        private final LockWaitEvent event;
+
+        ContentionWaitEvent( ResourceTypeContention typeContention, long resourceId, long startNanos, LockWaitEvent event )
+        {
+            this.typeContention = typeContention;
+            this.resourceId = resourceId;
+            this.startNanos = startNanos;
+            this.event = event;
+        }
+
+        @Override
+        public void close()
+        {
+            long now = clock.nanos();
+            typeContention.waitEnded( resourceId, now - startNanos, now );
+            event.close();
+        }
+    }
+}
@@ -55,6 +55,25 @@ public interface Locks
                 String description, long estimatedWaitTime, long lockIdentityHashCode );
     }
 
+    /** For introspection of lock contention. */
+    interface ContentionVisitor
+    {
+        /** Visit the number of waits and the total wait time for locks of a resource type, and the number of clients waiting right now. */
+        void visitResourceType( ResourceType resourceType, long waits, long waitTimeNanos, int currentWaiters );
+
+        /** Visit the recent, decaying, number of waits and wait time for locks on one of the most contended resources of a type. */
+        default void visitResource( ResourceType resourceType, long resourceId, double waits, double waitTimeNanos )
+        {
+        }
+    }
+
+    /** For introspection of the clients that are waiting for each other. */
+    interface WaitForVisitor
+    {
+        /** Visit a client that waits for a lock on a resource that is held by another client. */
+        void visit( long waitingTransactionId, long holdingTransactionId, ResourceType resourceType, long resourceId );
+    }
+
     interface Client extends ResourceLocker, AutoCloseable
     {
         /**
@@ -119,6 +138,16 @@ public interface Locks
     /** Visit all held locks. */
     void accept( Visitor visitor );
 
+    /** Visit the lock contention seen by this lock manager, if it keeps track of it. */
+    default void acceptContention( ContentionVisitor visitor )
+    {
+    }
+
+    /** Visit the edges of the wait-for graph between the clients that are waiting for locks right now. */
+    default void acceptWaitFor( WaitForVisitor visitor )
+    {
+    }
+
     void close();
 
     /** An implementation that doesn't do any locking **/
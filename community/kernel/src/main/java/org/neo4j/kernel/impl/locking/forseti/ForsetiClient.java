@@ -40,6 +40,7 @@ import org.neo4j.kernel.impl.api.LeaseClient;
 import org.neo4j.kernel.impl.locking.LockAcquisitionTimeoutException;
 import org.neo4j.kernel.impl.locking.LockClientStateHolder;
 import org.neo4j.kernel.impl.locking.LockClientStoppedException;
+import org.neo4j.kernel.impl.locking.LockContentionProfiler;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.lock.AcquireLockTimeoutException;
 import org.neo4j.lock.ActiveLock;
@@ -136,12 +137,19 @@ public class ForsetiClient implements Locks.Client
      * secondary deadlock verification process, where we traverse the waiter/lock-owner dependency graph.
      */
     private volatile ForsetiLockManager.Lock waitingForLock;
+    /** The resource of the lock in {@link #waitingForLock}, written before that field and read after it. */
+    private ResourceType waitingForResourceType;
+    private long waitingForResourceId;
     private volatile long transactionId;
     private final long clientId;
     private volatile MemoryTracker memoryTracker;
     private static final long CONCURRENT_NODE_SIZE = HeapEstimator.LONG_SIZE + HeapEstimator.HASH_MAP_NODE_SHALLOW_SIZE;
 
-    public ForsetiClient( ConcurrentMap<Long,ForsetiLockManager.Lock>[] lockMaps, SystemNanoClock clock, boolean verboseDeadlocks, long clientId )
+    private final LockContentionProfiler contentionProfiler;
+    private final Set<ForsetiClient> waitingClients;
+
+    public ForsetiClient( ConcurrentMap<Long,ForsetiLockManager.Lock>[] lockMaps, SystemNanoClock clock, boolean verboseDeadlocks, long clientId,
+            LockContentionProfiler contentionProfiler, Set<ForsetiClient> waitingClients )
     {
         this.lockMaps = lockMaps;
         this.sharedLockCounts = new HeapTrackingLongIntHashMap[lockMaps.length];
@@ -149,6 +157,8 @@ public class ForsetiClient implements Locks.Client
         this.clock = clock;
         this.verboseDeadlocks = verboseDeadlocks;
         this.clientId = clientId;
+        this.contentionProfiler = contentionProfiler;
+        this.waitingClients = waitingClients;
     }
 
     @Override
@@ -254,7 +264,7 @@ public class ForsetiClient implements Locks.Client
 
                     if ( waitEvent == null )
                     {
-                        waitEvent = tracer.waitForLock( SHARED, resourceType, transactionId, resourceId );
+                        waitEvent = waitForLock( tracer, SHARED, resourceType, resourceId );
                     }
                     // And take note of who we are waiting for. This is used for deadlock detection.
                     waitFor( existingLock, resourceType, resourceId, tries++ );
@@ -350,7 +360,7 @@ public class ForsetiClient implements Locks.Client
 
                     if ( waitEvent == null )
                     {
-                        waitEvent = tracer.waitForLock( EXCLUSIVE, resourceType, transactionId, resourceId );
+                        waitEvent = waitForLock( tracer, EXCLUSIVE, resourceType, resourceId );
                     }
                     waitFor( existingLock, resourceType, resourceId, tries++ );
                 }
@@ -878,7 +888,7 @@ public class ForsetiClient implements Locks.Client
                     assertValid( waitStartNano, resourceType, resourceId );
                     if ( waitEvent == null && priorEvent == null )
                     {
-                        waitEvent = tracer.waitForLock( EXCLUSIVE, resourceType, transactionId, resourceId );
+                        waitEvent = waitForLock( tracer, EXCLUSIVE, resourceType, resourceId );
                     }
                     waitFor( sharedLock, resourceType, resourceId, tries++ );
                 }
@@ -912,8 +922,26 @@ public class ForsetiClient implements Locks.Client
         waitList.clear();
     }
 
+    /**
+     * Start waiting for a lock, which is traced by the given tracer, recorded as lock contention, and makes this client part of the wait-for graph
+     * until the returned event is closed.
+     */
+    private LockWaitEvent waitForLock( LockTracer tracer, LockType lockType, ResourceType resourceType, long resourceId )
+    {
+        LockWaitEvent event = contentionProfiler.waitForLock( resourceType, resourceId,
+                tracer.waitForLock( lockType, resourceType, transactionId, resourceId ) );
+        waitingClients.add( this );
+        return () ->
+        {
+            waitingClients.remove( this );
+            event.close();
+        };
+    }
+
     private void waitFor( ForsetiLockManager.Lock lock, ResourceType type, long resourceId, int tries )
     {
+        waitingForResourceType = type;
+        waitingForResourceId = resourceId;
         waitingForLock = lock;
         clearAndCopyWaitList( lock );
         incrementalBackoffWait( tries );
@@ -1122,6 +1150,29 @@ public class ForsetiClient implements Locks.Client
         return transactionId;
     }
 
+    /**
+     * Visit the edges of the wait-for graph from this client, to the holders of the lock it waits for, if it is waiting for one.
+     */
+    void visitWaitFor( Locks.WaitForVisitor visitor )
+    {
+        ForsetiLockManager.Lock lock = waitingForLock;
+        if ( lock == null || lock.isClosed() )
+        {
+            return;
+        }
+        ResourceType resourceType = waitingForResourceType;
+        long resourceId = waitingForResourceId;
+        Set<ForsetiClient> holders = new HashSet<>();
+        lock.collectOwners( holders );
+        for ( ForsetiClient holder : holders )
+        {
+            if ( holder != this )
+            {
+                visitor.visit( transactionId, holder.transactionId(), resourceType, resourceId );
+            }
+        }
+    }
+
     // Visitors used for bulk ops on the lock maps (such as releasing all locks)
 
     /**
@@ -29,6 +29,7 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import org.neo4j.configuration.Config;
 import org.neo4j.configuration.GraphDatabaseInternalSettings;
+import org.neo4j.kernel.impl.locking.LockContentionProfiler;
 import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.lock.LockType;
 import org.neo4j.lock.ResourceType;
@@ -163,8 +164,12 @@ public class ForsetiLockManager implements Locks
     /** Counter to keep internal client ids unique, important to be thread safe! */
     private final AtomicLong clientIds = new AtomicLong();
 
+    /** Clients that are waiting for a lock right now, used for introspection of the wait-for graph. */
+    private final Set<ForsetiClient> waitingClients = ConcurrentHashMap.newKeySet();
+
     private final SystemNanoClock clock;
     private final boolean verboseDeadlocks;
+    private final LockContentionProfiler contentionProfiler;
     private volatile boolean closed;
 
     @SuppressWarnings( "unchecked" )
@@ -181,6 +186,8 @@ public class ForsetiLockManager implements Locks
         }
         this.clock = clock;
         this.verboseDeadlocks = config.get( GraphDatabaseInternalSettings.lock_manager_verbose_deadlocks );
+        this.contentionProfiler = new LockContentionProfiler( clock, config.get( GraphDatabaseInternalSettings.lock_contention_tracked_resources ),
+                config.get( GraphDatabaseInternalSettings.lock_contention_half_life ), resourceTypes );
     }
 
     /**
@@ -194,7 +201,7 @@ public class ForsetiLockManager implements Locks
             throw new IllegalStateException( this + " already closed" );
         }
 
-        return new ForsetiClient( lockMaps, clock, verboseDeadlocks, clientIds.incrementAndGet() );
+        return new ForsetiClient( lockMaps, clock, verboseDeadlocks, clientIds.incrementAndGet(), contentionProfiler, waitingClients );
     }
 
     @Override
@@ -217,6 +224,21 @@ public class ForsetiLockManager implements Locks
         }
     }
 
+    @Override
+    public void acceptContention( ContentionVisitor visitor )
+    {
+        contentionProfiler.accept( visitor );
+    }
+
+    @Override
+    public void acceptWaitFor( WaitForVisitor visitor )
+    {
+        for ( ForsetiClient client : waitingClients )
+        {
+            client.visitWaitFor( visitor );
+        }
+    }
+
     private static int findMaxResourceId( ResourceType[] resourceTypes )
     {
         int max = 0;
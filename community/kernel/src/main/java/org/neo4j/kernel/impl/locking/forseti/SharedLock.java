@@ -27,13 +27,24 @@ import java.lang.invoke.VarHandle;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.stream.Collectors;
 
 import org.neo4j.lock.LockType;
+import org.neo4j.util.FeatureToggles;
 
 /**
  * A Forseti share lock. Can be upgraded to an update lock, which will block new attempts at acquiring shared lock,
  * but will allow existing holders to complete.
+ * <p>
+ * The holders are counted in a single reference count, which all clients update with CAS. For locks that are taken by many clients
+ * at the same time, like locks on tokens or on hub nodes, that single count becomes a point of contention. When acquiring a reference
+ * keeps losing the CAS race, the lock switches to striped reader counts: every client then counts itself in a stripe of its own, on a
+ * cache line of its own, and the shared reference count is only read. Writers still go through the reference count. Taking the update
+ * lock sets the update flag there, after which readers that find the flag back out of their stripe again, so the number of holders
+ * that an upgrading client waits for is the reference count plus the sum of all stripes. Since a striped release cannot tell from its
+ * own stripe whether it was the last holder, a release that finds no holders left marks the lock as closing, which keeps new readers
+ * out while it counts again, and only then closes the lock.
  */
 class SharedLock implements ForsetiLockManager.Lock
 {
@@ -43,16 +54,48 @@ class SharedLock implements ForsetiLockManager.Lock
      * makes the reference counting code much mode complicated. May be worth revisiting.
      */
     private static final int UPDATE_LOCK_FLAG = 1 << 31;
+    /**
+     * Set once the lock has switched to striped reader counts, after which the reference count only holds the references
+     * that were acquired before the switch.
+     */
+    private static final int STRIPED_FLAG = 1 << 30;
+    /**
+     * Set while a striped release checks if it was the last holder of the lock.
+     */
+    private static final int CLOSING_FLAG = 1 << 29;
+    /**
+     * Set when a striped lock has been closed. A lock without stripes is closed when its reference count drops to zero.
+     */
+    private static final int CLOSED_FLAG = 1 << 28;
+    private static final int FLAGS = UPDATE_LOCK_FLAG | STRIPED_FLAG | CLOSING_FLAG | CLOSED_FLAG;
+
+    /**
+     * Number of reader count stripes of a striped lock, must be a power of two. Stripes are disabled if less than two.
+     */
+    private static final int STRIPES = Integer.highestOneBit(
+            FeatureToggles.getInteger( SharedLock.class, "stripes", 2 * Runtime.getRuntime().availableProcessors() ) );
+    /**
+     * Number of lost CAS races on the reference count, within a single acquisition, after which the lock switches to striped reader counts.
+     */
+    private static final int STRIPE_AFTER_CONTENDED_ATTEMPTS = FeatureToggles.getInteger( SharedLock.class, "stripeAfterContendedAttempts", 3 );
+    /**
+     * Distance between two stripes, in ints, to keep every stripe on a cache line of its own.
+     */
+    private static final int STRIPE_PADDING = 16;
 
     @SuppressWarnings( "FieldMayBeFinal" )
     private volatile int refCount = 1;
     private static final VarHandle REF_COUNT;
 
+    private volatile AtomicIntegerArray readerCounts;
+    private static final VarHandle READER_COUNTS;
+
     static
     {
         try
         {
             REF_COUNT = MethodHandles.lookup().findVarHandle( SharedLock.class, "refCount", int.class );
+            READER_COUNTS = MethodHandles.lookup().findVarHandle( SharedLock.class, "readerCounts", AtomicIntegerArray.class );
         }
         catch ( ReflectiveOperationException e )
         {
@@ -70,7 +113,7 @@ class SharedLock implements ForsetiLockManager.Lock
     public boolean acquire( ForsetiClient client )
     {
         // First, bump refcount to make sure no one drops this lock on the floor
-        if ( !acquireReference() )
+        if ( !acquireReference( client ) )
         {
             return false;
         }
@@ -83,7 +126,7 @@ class SharedLock implements ForsetiLockManager.Lock
         }
         else
         {
-            releaseReference();
+            releaseReference( client );
             return false;
         }
     }
@@ -91,7 +134,7 @@ class SharedLock implements ForsetiLockManager.Lock
     public boolean release( ForsetiClient client )
     {
         removeClientHoldingLock( client );
-        return releaseReference();
+        return releaseReference( client );
     }
 
     @Override
@@ -135,7 +178,17 @@ class SharedLock implements ForsetiLockManager.Lock
 
     int numberOfHolders()
     {
-        return refCount & ~UPDATE_LOCK_FLAG;
+        int refs = refCount;
+        int holders = refs & ~FLAGS;
+        if ( (refs & STRIPED_FLAG) != 0 )
+        {
+            AtomicIntegerArray counts = readerCounts;
+            for ( int stripe = 0; stripe < STRIPES; stripe++ )
+            {
+                holders += counts.get( stripe * STRIPE_PADDING );
+            }
+        }
+        return holders;
     }
 
     boolean isUpdateLock()
@@ -180,7 +233,40 @@ class SharedLock implements ForsetiLockManager.Lock
     @Override
     public boolean isClosed()
     {
-        return numberOfHolders() == 0;
+        int refs = refCount;
+        return (refs & STRIPED_FLAG) != 0 ? (refs & CLOSED_FLAG) != 0 : (refs & ~FLAGS) == 0;
+    }
+
+    /**
+     * Switch this lock over to striped reader counts, unless it already has, or has been closed.
+     */
+    void stripe()
+    {
+        if ( STRIPES < 2 )
+        {
+            return;
+        }
+        if ( readerCounts == null )
+        {
+            READER_COUNTS.compareAndSet( this, null, new AtomicIntegerArray( STRIPES * STRIPE_PADDING ) );
+        }
+        while ( true )
+        {
+            int refs = refCount;
+            if ( (refs & STRIPED_FLAG) != 0 || (refs & ~FLAGS) == 0 )
+            {
+                return;
+            }
+            if ( REF_COUNT.weakCompareAndSet( this, refs, refs | STRIPED_FLAG ) )
+            {
+                return;
+            }
+        }
+    }
+
+    boolean isStriped()
+    {
+        return (refCount & STRIPED_FLAG) != 0;
     }
 
     @Override
@@ -197,7 +283,7 @@ class SharedLock implements ForsetiLockManager.Lock
         }
         else
         {
-            return "SharedLock{" + "owners=" + owners + ", refCount=" + refCount + '}';
+            return "SharedLock{" + "owners=" + owners + ", refCount=" + numberOfHolders() + '}';
         }
     }
 
@@ -209,11 +295,16 @@ class SharedLock implements ForsetiLockManager.Lock
         }
     }
 
-    private boolean acquireReference()
+    private boolean acquireReference( ForsetiClient client )
     {
+        int contendedAttempts = 0;
         while ( true )
         {
             int refs = refCount;
+            if ( (refs & STRIPED_FLAG) != 0 )
+            {
+                return acquireStripedReference( client );
+            }
             // UPDATE_LOCK flips the sign bit, so refs will be < 0 if it is an update lock.
             if ( refs > 0 )
             {
@@ -221,6 +312,10 @@ class SharedLock implements ForsetiLockManager.Lock
                 {
                     return true;
                 }
+                if ( ++contendedAttempts == STRIPE_AFTER_CONTENDED_ATTEMPTS )
+                {
+                    stripe();
+                }
             }
             else
             {
@@ -229,11 +324,41 @@ class SharedLock implements ForsetiLockManager.Lock
         }
     }
 
-    private boolean releaseReference()
+    private boolean acquireStripedReference( ForsetiClient client )
+    {
+        AtomicIntegerArray counts = readerCounts;
+        int stripe = stripeOf( client );
+        while ( true )
+        {
+            // Count ourselves in first, and only then look for writers, so that either they see us or we see them
+            counts.getAndIncrement( stripe );
+            int refs = refCount;
+            if ( (refs & (UPDATE_LOCK_FLAG | CLOSING_FLAG | CLOSED_FLAG)) == 0 )
+            {
+                return true;
+            }
+            counts.getAndDecrement( stripe );
+            if ( (refs & (UPDATE_LOCK_FLAG | CLOSED_FLAG)) != 0 )
+            {
+                return false;
+            }
+            // Someone is checking if they were the last holder, wait for them to make up their mind
+            while ( (refCount & CLOSING_FLAG) != 0 )
+            {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private boolean releaseReference( ForsetiClient client )
     {
         while ( true )
         {
             int refAndUpdateFlag = refCount;
+            if ( (refAndUpdateFlag & STRIPED_FLAG) != 0 )
+            {
+                return releaseStripedReference( client );
+            }
             int newRefCount = (refAndUpdateFlag & ~UPDATE_LOCK_FLAG) - 1;
             if ( REF_COUNT.weakCompareAndSet( this, refAndUpdateFlag, newRefCount | (refAndUpdateFlag & UPDATE_LOCK_FLAG) ) )
             {
@@ -241,4 +366,44 @@ class SharedLock implements ForsetiLockManager.Lock
             }
         }
     }
+
+    private boolean releaseStripedReference( ForsetiClient client )
+    {
+        // A client always counts itself in the same stripe, so a stripe can only drop below one when it was emptied by its
+        // own clients, or by clients that acquired their reference before the lock was striped. Otherwise someone else will
+        // release after us.
+        if ( readerCounts.decrementAndGet( stripeOf( client ) ) > 0 || numberOfHolders() > 0 )
+        {
+            return false;
+        }
+        while ( true )
+        {
+            int refs = refCount;
+            if ( (refs & CLOSED_FLAG) != 0 )
+            {
+                return false;
+            }
+            if ( (refs & CLOSING_FLAG) != 0 )
+            {
+                Thread.onSpinWait();
+                continue;
+            }
+            if ( REF_COUNT.weakCompareAndSet( this, refs, refs | CLOSING_FLAG ) )
+            {
+                // No new readers get in while we are closing, so if we now count no holders there are none
+                boolean closed = numberOfHolders() == 0;
+                if ( closed )
+                {
+                    REF_COUNT.getAndBitwiseOr( this, CLOSED_FLAG );
+                }
+                REF_COUNT.getAndBitwiseAnd( this, ~CLOSING_FLAG );
+                return closed;
+            }
+        }
+    }
+
+    private static int stripeOf( ForsetiClient client )
+    {
+        return (client.hashCode() & (STRIPES - 1)) * STRIPE_PADDING;
+    }
 }
@@ -22,15 +22,21 @@ package org.neo4j.kernel.impl.pagecache;
 import java.util.function.Function;
 
 import org.neo4j.configuration.Config;
+import org.neo4j.configuration.GraphDatabaseInternalSettings.PageCacheEvictionPolicy;
+import org.neo4j.configuration.GraphDatabaseInternalSettings.PageCacheHugePages;
+import org.neo4j.configuration.GraphDatabaseInternalSettings.PageCacheReadAhead;
 import org.neo4j.configuration.pagecache.ConfigurableIOBufferFactory;
 import org.neo4j.io.ByteUnit;
 import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.mem.HugePages;
 import org.neo4j.io.mem.MemoryAllocator;
 import org.neo4j.io.os.OsBeanUtil;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.PageSwapperFactory;
 import org.neo4j.io.pagecache.impl.SingleFilePageSwapperFactory;
+import org.neo4j.io.pagecache.impl.muninn.EvictionPolicy;
 import org.neo4j.io.pagecache.impl.muninn.MuninnPageCache;
+import org.neo4j.io.pagecache.impl.muninn.ReadAheadPolicy;
 import org.neo4j.io.pagecache.tracing.PageCacheTracer;
 import org.neo4j.logging.Log;
 import org.neo4j.memory.MachineMemory;
@@ -39,6 +45,14 @@ import org.neo4j.memory.MemoryTracker;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.time.SystemNanoClock;
 
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_compressed_tier_size;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_eviction_policy;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_huge_pages;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_native_vectored_io;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_partitions;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_pretouch;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_read_ahead;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_target_dirty_percentage;
 import static org.neo4j.configuration.GraphDatabaseInternalSettings.reserved_page_header_bytes;
 import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_memory;
 import static org.neo4j.configuration.GraphDatabaseSettings.preallocate_store_files;
@@ -93,7 +107,7 @@ public class ConfiguringPageCacheFactory
     {
         if ( pageCache == null )
         {
-            this.swapperFactory = createAndConfigureSwapperFactory( fs, pageCacheTracer );
+            this.swapperFactory = createAndConfigureSwapperFactory( fs, config, pageCacheTracer );
             this.pageCache = createPageCache();
         }
         return pageCache;
@@ -111,15 +125,63 @@ public class ConfiguringPageCacheFactory
                 .bufferFactory( bufferFactory )
                 .reservedPageBytes( config.get( reserved_page_header_bytes ) )
                 .preallocateStoreFiles( config.get( preallocate_store_files ) )
+                .evictionPolicy( evictionPolicy( config.get( pagecache_eviction_policy ) ) )
+                .partitions( config.get( pagecache_partitions ) )
+                .compressedTierSize( config.get( pagecache_compressed_tier_size ) )
+                .targetDirtyPercentage( config.get( pagecache_target_dirty_percentage ) )
+                .readAheadPolicy( readAheadPolicy( config.get( pagecache_read_ahead ) ) )
                 .clock( clock )
                 .pageCacheTracer( pageCacheTracer );
         configuration = pageCacheConfigurator.apply( configuration );
         return new MuninnPageCache( swapperFactory, scheduler, configuration );
     }
 
-    private static MemoryAllocator buildMemoryAllocator( long pageCacheMaxMemory, MemoryTracker memoryTracker )
+    private static EvictionPolicy evictionPolicy( PageCacheEvictionPolicy policy )
     {
-        return createAllocator( pageCacheMaxMemory, memoryTracker );
+        switch ( policy )
+        {
+        case CLOCK:
+            return EvictionPolicy.CLOCK;
+        case SCAN_RESISTANT:
+            return EvictionPolicy.SCAN_RESISTANT;
+        default:
+            throw new IllegalArgumentException( "Unknown eviction policy: " + policy );
+        }
+    }
+
+    private static ReadAheadPolicy readAheadPolicy( PageCacheReadAhead readAhead )
+    {
+        switch ( readAhead )
+        {
+        case DISABLED:
+            return ReadAheadPolicy.DISABLED;
+        case REQUESTED:
+            return ReadAheadPolicy.REQUESTED;
+        case ALL:
+            return ReadAheadPolicy.ALL;
+        default:
+            throw new IllegalArgumentException( "Unknown read-ahead policy: " + readAhead );
+        }
+    }
+
+    private MemoryAllocator buildMemoryAllocator( long pageCacheMaxMemory, MemoryTracker memoryTracker )
+    {
+        return createAllocator( pageCacheMaxMemory, hugePages( config.get( pagecache_huge_pages ) ), config.get( pagecache_pretouch ), memoryTracker );
+    }
+
+    private static HugePages hugePages( PageCacheHugePages hugePages )
+    {
+        switch ( hugePages )
+        {
+        case DISABLED:
+            return HugePages.DISABLED;
+        case TRANSPARENT:
+            return HugePages.TRANSPARENT;
+        case EXPLICIT:
+            return HugePages.EXPLICIT;
+        default:
+            throw new IllegalArgumentException( "Unknown huge pages mode: " + hugePages );
+        }
     }
 
     private long getPageCacheMaxMemory( Config config )
@@ -197,8 +259,8 @@ public class ConfiguringPageCacheFactory
         log.info( msg );
     }
 
-    private static PageSwapperFactory createAndConfigureSwapperFactory( FileSystemAbstraction fs, PageCacheTracer pageCacheTracer )
+    private static PageSwapperFactory createAndConfigureSwapperFactory( FileSystemAbstraction fs, Config config, PageCacheTracer pageCacheTracer )
     {
-        return new SingleFilePageSwapperFactory( fs, pageCacheTracer );
+        return new SingleFilePageSwapperFactory( fs, pageCacheTracer, config.get( pagecache_native_vectored_io ) );
     }
 }
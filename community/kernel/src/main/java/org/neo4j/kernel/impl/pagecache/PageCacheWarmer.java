@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.Log;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.time.Stopwatch;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_warmer_enabled;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_warmup_blocking;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_enabled;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_prefetch;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_prefetch_allowlist;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_profiling_interval;
+import static org.neo4j.io.pagecache.PagedFile.PF_NO_FAULT;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_TRANSIENT;
+import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
+
+/**
+ * Brings the page cache back to its steady state after a restart.
+ * <p>
+ * While the database is running, a background job periodically records which pages of every file mapped by the database are in memory,
+ * as a compact bitmap per file in the {@value #PROFILES_DIRECTORY} directory of the database. A final profile is taken when the database stops.
+ * When the database starts again, the pages in those profiles are loaded back into the page cache with {@link PagedFile#touch(long, int, CursorContext)},
+ * which turns runs of consecutive pages into large vectored reads, rather than faulting the working set in one page at a time.
+ * <p>
+ * If {@code dbms.memory.pagecache.warmup.preload} is enabled, the files matching the allowlist are loaded in their entirety instead.
+ * <p>
+ * The warmer only does anything if {@code unsupported.dbms.memory.pagecache.warmer.enable} is enabled, in addition to
+ * {@code dbms.memory.pagecache.warmup.enable}.
+ */
+public class PageCacheWarmer extends LifecycleAdapter
+{
+    static final String PROFILES_DIRECTORY = "profiles";
+    static final String PROFILE_SUFFIX = ".cacheprof";
+    private static final long PROFILE_MAGIC = 0x4E34_4A50_524F_4631L;
+    // The max number of pages to touch with a single call, so that we can react to being stopped in a timely manner.
+    private static final int TOUCH_CHUNK_SIZE = 4096;
+
+    private final FileSystemAbstraction fs;
+    private final PageCache pageCache;
+    private final JobScheduler scheduler;
+    private final Path databaseDirectory;
+    private final Path profilesDirectory;
+    private final String databaseName;
+    private final PageCacheTracer pageCacheTracer;
+    private final Log log;
+    private final boolean enabled;
+    private final boolean blocking;
+    private final boolean prefetch;
+    private final Pattern prefetchAllowlist;
+    private final long profilingIntervalMillis;
+
+    private volatile boolean stopped;
+    private volatile boolean warmedUp;
+    private volatile JobHandle<?> warmupHandle;
+    private volatile JobHandle<?> profileHandle;
+
+    public PageCacheWarmer( FileSystemAbstraction fs, PageCache pageCache, JobScheduler scheduler, Path databaseDirectory, String databaseName,
+            Config config, PageCacheTracer pageCacheTracer, Log log )
+    {
+        this.fs = fs;
+        this.pageCache = pageCache;
+        this.scheduler = scheduler;
+        this.databaseDirectory = databaseDirectory;
+        this.profilesDirectory = databaseDirectory.resolve( PROFILES_DIRECTORY );
+        this.databaseName = databaseName;
+        this.pageCacheTracer = pageCacheTracer;
+        this.log = log;
+        this.enabled = config.get( pagecache_warmer_enabled ) && config.get( pagecache_warmup_enabled );
+        this.blocking = config.get( pagecache_warmup_blocking );
+        this.prefetch = config.get( pagecache_warmup_prefetch );
+        this.prefetchAllowlist = Pattern.compile( config.get( pagecache_warmup_prefetch_allowlist ) );
+        this.profilingIntervalMillis = config.get( pagecache_warmup_profiling_interval ).toMillis();
+    }
+
+    @Override
+    public void start()
+    {
+        if ( !enabled )
+        {
+            return;
+        }
+        stopped = false;
+        warmedUp = false;
+        if ( blocking )
+        {
+            warmUp();
+        }
+        else
+        {
+            warmupHandle = scheduler.schedule( Group.FILE_IO_HELPER, systemJob( databaseName, "Page cache warmup" ), this::warmUp );
+        }
+        if ( !prefetch )
+        {
+            profileHandle = scheduler.scheduleRecurring( Group.FILE_IO_HELPER, systemJob( databaseName, "Page cache profiling" ), this::profile,
+                    profilingIntervalMillis, profilingIntervalMillis, TimeUnit.MILLISECONDS );
+        }
+    }
+
+    @Override
+    public void stop()
+    {
+        if ( !enabled )
+        {
+            return;
+        }
+        stopped = true;
+        cancel( warmupHandle );
+        cancel( profileHandle );
+        warmupHandle = null;
+        profileHandle = null;
+        synchronized ( this )
+        {
+            // Any running warmup or profiling job will notice that we are stopped, and we wait for it to finish here.
+            // A final profile is taken while the files are still mapped, unless the warmup never completed, since the
+            // page cache would then not reflect the working set yet.
+            if ( warmedUp && !prefetch )
+            {
+                doProfile();
+            }
+        }
+    }
+
+    private static void cancel( JobHandle<?> handle )
+    {
+        if ( handle != null )
+        {
+            handle.cancel();
+        }
+    }
+
+    synchronized void warmUp()
+    {
+        if ( stopped )
+        {
+            return;
+        }
+        Stopwatch stopwatch = Stopwatch.start();
+        long pagesLoaded = 0;
+        long pageBudget = pageCache.maxCachedPages();
+        try ( CursorContext cursorContext = new CursorContext( pageCacheTracer.createPageCursorTracer( "pageCacheWarmup" ) ) )
+        {
+            for ( PagedFile file : pageCache.listExistingMappings() )
+            {
+                if ( stopped || pagesLoaded >= pageBudget )
+                {
+                    break;
+                }
+                try
+                {
+                    pagesLoaded += prefetch ? prefetchFile( file, pageBudget - pagesLoaded, cursorContext )
+                                            : reheatFile( file, pageBudget - pagesLoaded, cursorContext );
+                }
+                catch ( IOException | RuntimeException e )
+                {
+                    log.warn( "Failed to warm up the page cache for " + file.path() + ".", e );
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            log.warn( "Failed to warm up the page cache.", e );
+        }
+        warmedUp = !stopped;
+        log.info( "Page cache warmup %s. %d pages loaded in %s.", stopped ? "aborted" : "completed", pagesLoaded, stopwatch.elapsed() );
+    }
+
+    private long prefetchFile( PagedFile file, long pageBudget, CursorContext cursorContext ) throws IOException
+    {
+        if ( !prefetchAllowlist.matcher( file.path().getFileName().toString() ).matches() )
+        {
+            return 0;
+        }
+        return touch( file, 0, Math.min( file.getLastPageId() + 1, pageBudget ), cursorContext );
+    }
+
+    private long reheatFile( PagedFile file, long pageBudget, CursorContext cursorContext ) throws IOException
+    {
+        Path profile = profileFile( file );
+        if ( profile == null || !fs.fileExists( profile ) )
+        {
+            return 0;
+        }
+        long pagesLoaded = 0;
+        try ( DataInputStream input = new DataInputStream( new BufferedInputStream( new GZIPInputStream( fs.openAsInputStream( profile ) ) ) ) )
+        {
+            if ( input.readLong() != PROFILE_MAGIC )
+            {
+                log.warn( "Ignoring page cache profile " + profile + ", because it is not a valid profile." );
+                return 0;
+            }
+            long pageCount = input.readLong();
+            long runStart = -1;
+            for ( long pageId = 0; pageId < pageCount && !stopped && pagesLoaded < pageBudget; pageId += Long.SIZE )
+            {
+                long word = input.readLong();
+                for ( int bit = 0; bit < Long.SIZE; bit++ )
+                {
+                    boolean resident = (word & (1L << bit)) != 0 && pageId + bit < pageCount;
+                    if ( resident && runStart == -1 )
+                    {
+                        runStart = pageId + bit;
+                    }
+                    else if ( !resident && runStart != -1 )
+                    {
+                        pagesLoaded += touch( file, runStart, Math.min( pageId + bit - runStart, pageBudget - pagesLoaded ), cursorContext );
+                        runStart = -1;
+                    }
+                }
+            }
+            if ( runStart != -1 && !stopped && pagesLoaded < pageBudget )
+            {
+                pagesLoaded += touch( file, runStart, Math.min( pageCount - runStart, pageBudget - pagesLoaded ), cursorContext );
+            }
+        }
+        return pagesLoaded;
+    }
+
+    private long touch( PagedFile file, long startPageId, long pageCount, CursorContext cursorContext ) throws IOException
+    {
+        long pagesLoaded = 0;
+        for ( long pageId = startPageId; pageId < startPageId + pageCount && !stopped; pageId += TOUCH_CHUNK_SIZE )
+        {
+            pagesLoaded += file.touch( pageId, (int) Math.min( TOUCH_CHUNK_SIZE, startPageId + pageCount - pageId ), cursorContext );
+        }
+        return pagesLoaded;
+    }
+
+    synchronized void profile()
+    {
+        if ( !stopped )
+        {
+            doProfile();
+        }
+    }
+
+    private void doProfile()
+    {
+        try ( CursorContext cursorContext = new CursorContext( pageCacheTracer.createPageCursorTracer( "pageCacheProfiler" ) ) )
+        {
+            for ( PagedFile file : pageCache.listExistingMappings() )
+            {
+                Path profile = profileFile( file );
+                if ( profile != null )
+                {
+                    try
+                    {
+                        profileFile( file, profile, cursorContext );
+                    }
+                    catch ( IOException | RuntimeException e )
+                    {
+                        log.warn( "Failed to write page cache profile for " + file.path() + ".", e );
+                    }
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            log.warn( "Failed to profile the page cache.", e );
+        }
+    }
+
+    private void profileFile( PagedFile file, Path profile, CursorContext cursorContext ) throws IOException
+    {
+        Path tmpProfile = profile.resolveSibling( profile.getFileName() + ".tmp" );
+        fs.mkdirs( profile.getParent() );
+        long pageCount = Math.max( file.getLastPageId() + 1, 0 );
+        try ( DataOutputStream output = new DataOutputStream( new BufferedOutputStream( new GZIPOutputStream( fs.openAsOutputStream( tmpProfile, false ) ) ) );
+              PageCursor cursor = file.io( 0, PF_SHARED_READ_LOCK | PF_NO_FAULT | PF_TRANSIENT, cursorContext ) )
+        {
+            output.writeLong( PROFILE_MAGIC );
+            output.writeLong( pageCount );
+            long word = 0;
+            for ( long pageId = 0; pageId < pageCount; pageId++ )
+            {
+                // With PF_NO_FAULT, the cursor is left unbound on pages that are not in memory.
+                if ( cursor.next() && cursor.getCurrentPageId() != PageCursor.UNBOUND_PAGE_ID )
+                {
+                    word |= 1L << (pageId & (Long.SIZE - 1));
+                }
+                if ( (pageId & (Long.SIZE - 1)) == Long.SIZE - 1 )
+                {
+                    output.writeLong( word );
+                    word = 0;
+                }
+            }
+            if ( (pageCount & (Long.SIZE - 1)) != 0 )
+            {
+                output.writeLong( word );
+            }
+        }
+        fs.renameFile( tmpProfile, profile, ATOMIC_MOVE, REPLACE_EXISTING );
+    }
+
+    /**
+     * @return the location of the profile of the given file, or {@code null} if the file does not belong in the database directory.
+     */
+    private Path profileFile( PagedFile file )
+    {
+        Path path = file.path().toAbsolutePath().normalize();
+        Path directory = databaseDirectory.toAbsolutePath().normalize();
+        if ( !path.startsWith( directory ) || path.startsWith( profilesDirectory.toAbsolutePath().normalize() ) )
+        {
+            return null;
+        }
+        return profilesDirectory.resolve( directory.relativize( path ) + PROFILE_SUFFIX );
+    }
+}
@@ -33,4 +33,12 @@ public interface TransactionMonitor extends TransactionSizeMonitor
     void transactionTerminated( boolean writeTx );
 
     void upgradeToWriteTransaction();
+
+    /**
+     * Called when a transaction instance is taken from the pool.
+     * @param reused {@code true} if it was the instance last released by the acquiring thread, otherwise it came from the shared pool.
+     */
+    default void transactionAcquiredFromPool( boolean reused )
+    {
+    }
 }
@@ -164,7 +164,7 @@ class BatchingTransactionAppender extends LifecycleAdapter implements Transactio
             var logPositionAfterCommit = transactionLogWriter.getCurrentPosition();
             logAppendEvent.appendToLogFile( logPositionBeforeCommit, logPositionAfterCommit );
 
-            transactionMetadataCache.cacheTransactionMetadata( transactionId, logPositionBeforeCommit );
+            transactionMetadataCache.transactionAppended( transactionId, logPositionBeforeCommit );
 
             return new TransactionCommitment( transactionId, checksum, transaction.getTimeCommitted(), logPositionAfterCommit, transactionIdStore );
         }
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.neo4j.io.fs.ByteArrayChecksumChannel;
+import org.neo4j.kernel.KernelVersion;
+import org.neo4j.kernel.database.LogEntryWriterFactory;
+import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
+import org.neo4j.memory.MemoryLimitExceededException;
+import org.neo4j.memory.MemoryTracker;
+import org.neo4j.util.FeatureToggles;
+
+import static org.neo4j.io.ByteUnit.kibiBytes;
+import static org.neo4j.io.ByteUnit.mebiBytes;
+
+/**
+ * Serializes the command entries of transactions into pooled buffers, so that it can be done by the committing threads while
+ * they wait for the log appender. The appender then only has to copy the serialized commands into the log channel in bulk,
+ * between the start and commit entries that it writes itself, instead of serializing every command field by field.
+ * <p>
+ * Transactions without a kernel version get their version from the log entry writer at the time they are appended, and are
+ * therefore not serialized ahead of time.
+ * <p>
+ * The buffers retained by the pool are accounted for as heap memory in the given memory tracker. Buffers that would take the
+ * tracker over its limit are dropped instead of retained.
+ */
+class CommandSerializationPool
+{
+    static final boolean ENABLED = FeatureToggles.flag( CommandSerializationPool.class, "enabled", true );
+    private static final int INITIAL_BUFFER_SIZE = (int) kibiBytes( 4 );
+    private static final int MAX_RETAINED_BUFFER_SIZE = FeatureToggles.getInteger( CommandSerializationPool.class, "maxRetainedBufferSize",
+            (int) mebiBytes( 1 ) );
+    private static final int MAX_RETAINED_BUFFERS = FeatureToggles.getInteger( CommandSerializationPool.class, "maxRetainedBuffers", 256 );
+
+    private final Queue<ByteArrayChecksumChannel> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger retained = new AtomicInteger();
+    private final LogEntryWriterFactory logEntryWriterFactory;
+    private final MemoryTracker memoryTracker;
+    private volatile boolean closed;
+
+    CommandSerializationPool( LogEntryWriterFactory logEntryWriterFactory, MemoryTracker memoryTracker )
+    {
+        this.logEntryWriterFactory = logEntryWriterFactory;
+        this.memoryTracker = memoryTracker;
+    }
+
+    /**
+     * @return the serialized command entries of {@code transaction}, to be {@link #release(ByteArrayChecksumChannel) released} once
+     * appended, or {@code null} if the transaction has to be serialized by the appender.
+     */
+    ByteArrayChecksumChannel serialize( TransactionRepresentation transaction ) throws IOException
+    {
+        KernelVersion version = transaction.version();
+        if ( !ENABLED || version == null )
+        {
+            return null;
+        }
+        ByteArrayChecksumChannel buffer = poll();
+        if ( buffer == null )
+        {
+            buffer = new ByteArrayChecksumChannel( INITIAL_BUFFER_SIZE );
+        }
+        buffer.clear();
+        try
+        {
+            logEntryWriterFactory.createEntryWriter( buffer, version ).serialize( transaction );
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            release( buffer );
+            throw e;
+        }
+        return buffer;
+    }
+
+    /**
+     * Release the given buffer back to the pool, or let it go if the pool is full, closed, or the buffer has grown too large.
+     */
+    void release( ByteArrayChecksumChannel buffer )
+    {
+        if ( buffer == null || closed || buffer.array().length > MAX_RETAINED_BUFFER_SIZE )
+        {
+            return;
+        }
+        if ( retained.incrementAndGet() > MAX_RETAINED_BUFFERS )
+        {
+            retained.decrementAndGet();
+            return;
+        }
+        try
+        {
+            memoryTracker.allocateHeap( buffer.array().length );
+        }
+        catch ( MemoryLimitExceededException e )
+        {
+            retained.decrementAndGet();
+            return;
+        }
+        buffers.offer( buffer );
+        if ( closed )
+        {
+            // Raced with close, make sure that nothing stays retained
+            clear();
+        }
+    }
+
+    /**
+     * Release all the buffers in the given array that have not been released yet, clearing the array so that they are only released once.
+     */
+    void release( ByteArrayChecksumChannel[] serializedCommands )
+    {
+        for ( int i = 0; i < serializedCommands.length; i++ )
+        {
+            ByteArrayChecksumChannel buffer = serializedCommands[i];
+            serializedCommands[i] = null;
+            release( buffer );
+        }
+    }
+
+    /**
+     * Let go of all retained buffers, and of any buffer released from now on.
+     */
+    void close()
+    {
+        closed = true;
+        clear();
+    }
+
+    private void clear()
+    {
+        while ( poll() != null )
+        {
+            // Just let it go
+        }
+    }
+
+    private ByteArrayChecksumChannel poll()
+    {
+        ByteArrayChecksumChannel buffer = buffers.poll();
+        if ( buffer != null )
+        {
+            retained.decrementAndGet();
+            memoryTracker.releaseHeap( buffer.array().length );
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import java.time.Duration;
+
+/**
+ * Decides how long the transaction appender keeps gathering transactions into a batch before forcing the log.
+ * <p>
+ * All transactions in a batch share one force, so gathering more of them raises the number of commits per force, at the cost of
+ * latency for the transactions already in the batch. The policy keeps moving averages of the force latency and of the time between
+ * arriving transactions. It keeps gathering as long as another transaction is expected to arrive before the oldest transaction in the
+ * batch, including the expected force, would exceed the target latency. Under low load the expected time until the next transaction
+ * is longer than what is left of the target, and batches are forced right away.
+ * <p>
+ * Not thread safe, only used by the thread writing the transaction log.
+ */
+class GroupCommitPolicy
+{
+    /**
+     * Moving averages give new samples a weight of {@code 1 / 2^AVERAGE_SHIFT}.
+     */
+    private static final int AVERAGE_SHIFT = 3;
+
+    private final long targetLatencyNanos;
+    private long averageForceNanos;
+    private long averageArrivalIntervalNanos;
+    private long lastArrivalNanos;
+
+    GroupCommitPolicy( Duration targetLatency )
+    {
+        this.targetLatencyNanos = targetLatency.toNanos();
+        this.averageArrivalIntervalNanos = targetLatencyNanos;
+    }
+
+    boolean isEnabled()
+    {
+        return targetLatencyNanos > 0;
+    }
+
+    /**
+     * A transaction that was submitted at {@code submitNanos} got gathered into the current batch.
+     */
+    void arrived( long submitNanos )
+    {
+        if ( lastArrivalNanos != 0 )
+        {
+            // Intervals longer than twice the target all mean the same thing, that waiting won't pay off, and capping them keeps
+            // a single idle period from dominating the average once transactions start arriving again.
+            long interval = Math.min( Math.max( submitNanos - lastArrivalNanos, 0 ), 2 * targetLatencyNanos );
+            averageArrivalIntervalNanos = average( averageArrivalIntervalNanos, interval );
+        }
+        lastArrivalNanos = Math.max( lastArrivalNanos, submitNanos );
+    }
+
+    /**
+     * The log was forced, which took {@code forceNanos}.
+     */
+    void forced( long forceNanos )
+    {
+        averageForceNanos = averageForceNanos == 0 ? forceNanos : average( averageForceNanos, forceNanos );
+    }
+
+    /**
+     * @param oldestSubmitNanos when the oldest transaction in the current batch was submitted.
+     * @param nowNanos the current time.
+     * @return for how many more nanoseconds it is worth waiting for transactions to join the current batch, or {@code 0} if the batch
+     * should be forced now.
+     */
+    long gatherNanos( long oldestSubmitNanos, long nowNanos )
+    {
+        if ( !isEnabled() )
+        {
+            return 0;
+        }
+        long remaining = targetLatencyNanos - averageForceNanos - (nowNanos - oldestSubmitNanos);
+        long expectedNextArrival = lastArrivalNanos + averageArrivalIntervalNanos;
+        if ( remaining <= 0 || expectedNextArrival - nowNanos >= remaining )
+        {
+            return 0;
+        }
+        // Stop waiting for a transaction that is long overdue, the arrival rate has most likely dropped
+        if ( nowNanos - lastArrivalNanos > 2 * averageArrivalIntervalNanos )
+        {
+            return 0;
+        }
+        return remaining;
+    }
+
+    long averageForceNanos()
+    {
+        return averageForceNanos;
+    }
+
+    long averageArrivalIntervalNanos()
+    {
+        return averageArrivalIntervalNanos;
+    }
+
+    private static long average( long average, long sample )
+    {
+        return average + ((sample - average) >> AVERAGE_SHIFT);
+    }
+}
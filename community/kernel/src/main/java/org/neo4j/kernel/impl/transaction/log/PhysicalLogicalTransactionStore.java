@@ -47,11 +47,21 @@ public class PhysicalLogicalTransactionStore implements LogicalTransactionStore
     private final Monitors monitors;
     private final boolean failOnCorruptedLogFiles;
     private final boolean presketchLogFiles;
+    private final TransactionLogPositionIndex positionIndex;
 
     public PhysicalLogicalTransactionStore( LogFiles logFiles,
                                             TransactionMetadataCache transactionMetadataCache,
                                             LogEntryReader logEntryReader, Monitors monitors,
                                             boolean failOnCorruptedLogFiles, Config config )
+    {
+        this( logFiles, transactionMetadataCache, TransactionLogPositionIndex.NO_INDEX, logEntryReader, monitors, failOnCorruptedLogFiles, config );
+    }
+
+    public PhysicalLogicalTransactionStore( LogFiles logFiles,
+                                            TransactionMetadataCache transactionMetadataCache,
+                                            TransactionLogPositionIndex positionIndex,
+                                            LogEntryReader logEntryReader, Monitors monitors,
+                                            boolean failOnCorruptedLogFiles, Config config )
     {
         this.logFile = logFiles.getLogFile();
         this.transactionMetadataCache = transactionMetadataCache;
@@ -59,6 +69,7 @@ public class PhysicalLogicalTransactionStore implements LogicalTransactionStore
         this.monitors = monitors;
         this.failOnCorruptedLogFiles = failOnCorruptedLogFiles;
         this.presketchLogFiles = config.get( pre_sketch_transaction_logs );
+        this.positionIndex = positionIndex;
     }
 
     @Override
@@ -89,6 +100,14 @@ public class PhysicalLogicalTransactionStore implements LogicalTransactionStore
                 return new PhysicalTransactionCursor( channel, logEntryReader );
             }
 
+            // start from the closest indexed transaction before it
+            LogPosition indexedPosition = locateFromIndex( transactionIdToStartFrom );
+            if ( indexedPosition != null )
+            {
+                transactionMetadataCache.cacheTransactionMetadata( transactionIdToStartFrom, indexedPosition );
+                return new PhysicalTransactionCursor( logFile.getReader( indexedPosition ), logEntryReader );
+            }
+
             // ask logFiles about the version it may be in
             LogVersionLocator headerVisitor = new LogVersionLocator( transactionIdToStartFrom );
             logFile.accept( headerVisitor );
@@ -110,6 +129,19 @@ public class PhysicalLogicalTransactionStore implements LogicalTransactionStore
         }
     }
 
+    private LogPosition locateFromIndex( long transactionId ) throws IOException
+    {
+        LogPosition indexedPosition = positionIndex.positionAtOrBefore( transactionId );
+        if ( indexedPosition == null || !logFile.versionExists( indexedPosition.getLogVersion() ) )
+        {
+            return null;
+        }
+        TransactionPositionLocator transactionPositionLocator = new TransactionPositionLocator( transactionId, logEntryReader );
+        logFile.accept( transactionPositionLocator, indexedPosition );
+        // the index is only a hint, a transaction that isn't where it points is looked up the slow way
+        return transactionPositionLocator.transactionStartEntry != null ? transactionPositionLocator.getLogPosition() : null;
+    }
+
     public static class TransactionPositionLocator implements LogFile.LogFileVisitor
     {
         private final long startTransactionId;
@@ -22,6 +22,7 @@ package org.neo4j.kernel.impl.transaction.log;
 import org.neo4j.configuration.Config;
 import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
 import org.neo4j.logging.LogProvider;
+import org.neo4j.memory.MemoryTracker;
 import org.neo4j.monitoring.Health;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.TransactionIdStore;
@@ -32,12 +33,12 @@ public class TransactionAppenderFactory
 {
     public static TransactionAppender createTransactionAppender( LogFiles logFiles, TransactionIdStore transactionIdStore,
             TransactionMetadataCache transactionMetadataCache, Config config, Health databaseHealth, JobScheduler scheduler,
-            LogProvider logProvider )
+            LogProvider logProvider, MemoryTracker memoryTracker )
     {
         if ( config.get( dedicated_transaction_appender ) )
         {
             var queue = new TransactionLogQueue( logFiles, transactionIdStore, databaseHealth, transactionMetadataCache, config, scheduler,
-                    logProvider );
+                    logProvider, memoryTracker );
             return new QueueTransactionAppender( queue );
         }
 
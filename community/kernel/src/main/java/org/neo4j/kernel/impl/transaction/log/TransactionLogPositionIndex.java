@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.impl.list.mutable.primitive.LongArrayList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+import org.neo4j.io.IOUtils;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.memory.HeapScopedBuffer;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntry;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryCommit;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryReader;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryStart;
+import org.neo4j.kernel.impl.transaction.log.entry.LogHeader;
+import org.neo4j.kernel.impl.transaction.log.files.LogFile;
+import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.memory.MemoryTracker;
+
+import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes.TX_COMMIT;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes.TX_START;
+
+/**
+ * A sparse, persistent index from transaction id to the log position of the transaction's start entry.
+ * <p>
+ * Every transaction with an id that is a multiple of the interval is recorded, both in memory and as a fixed size record appended
+ * to a file next to the transaction logs. Any transaction can then be found by reading forward from the closest recorded
+ * transaction before it, which is at most one interval of transactions away, instead of scanning all retained log files.
+ * <p>
+ * The file is written without forcing, so records for transactions that were lost in a crash may survive the crash. Those are
+ * dropped on {@link #start()}, which runs after recovery, together with records of pruned log files. Records of log files pruned while
+ * running are dropped by {@link #logFilesPruned()}. Records for transactions
+ * appended since the last record, including those replayed by recovery, are then rebuilt by reading the log from the last record
+ * onwards. Positions from the index are only ever used as a place to start looking for a transaction, so a stale record can at
+ * worst make a lookup fall back to scanning.
+ */
+public class TransactionLogPositionIndex extends LifecycleAdapter
+{
+    public static final String INDEX_FILE_NAME = "transaction.positions";
+    public static final TransactionLogPositionIndex NO_INDEX =
+            new TransactionLogPositionIndex( null, null, null, () -> 0, 0, EmptyMemoryTracker.INSTANCE );
+
+    private static final int RECORD_SIZE = 3 * Long.BYTES;
+    // The heap used by a record in the lists, not counting their spare capacity.
+    private static final long RECORD_HEAP_SIZE = 3 * Long.BYTES;
+
+    private final FileSystemAbstraction fileSystem;
+    private final LogFiles logFiles;
+    private final LogEntryReader logEntryReader;
+    private final LongSupplier lastCommittedTransactionId;
+    private final int interval;
+    private final MemoryTracker memoryTracker;
+    private final MutableLongList transactionIds = new LongArrayList();
+    private final MutableLongList logVersions = new LongArrayList();
+    private final MutableLongList byteOffsets = new LongArrayList();
+    private StoreChannel channel;
+    private ByteBuffer recordBuffer;
+
+    public TransactionLogPositionIndex( FileSystemAbstraction fileSystem, LogFiles logFiles, LogEntryReader logEntryReader,
+            LongSupplier lastCommittedTransactionId, int interval, MemoryTracker memoryTracker )
+    {
+        this.fileSystem = fileSystem;
+        this.logFiles = logFiles;
+        this.logEntryReader = logEntryReader;
+        this.lastCommittedTransactionId = lastCommittedTransactionId;
+        this.interval = interval;
+        this.memoryTracker = memoryTracker;
+    }
+
+    public boolean isEnabled()
+    {
+        return interval > 0;
+    }
+
+    @Override
+    public synchronized void start() throws IOException
+    {
+        if ( !isEnabled() )
+        {
+            return;
+        }
+        recordBuffer = ByteBuffer.allocate( RECORD_SIZE );
+        Path file = logFiles.logFilesDirectory().resolve( INDEX_FILE_NAME );
+        channel = fileSystem.write( file );
+        boolean dropped = load();
+        if ( dropped )
+        {
+            rewrite();
+        }
+        channel.position( (long) transactionIds.size() * RECORD_SIZE );
+        catchUp();
+    }
+
+    @Override
+    public synchronized void stop() throws IOException
+    {
+        if ( channel != null )
+        {
+            channel.close();
+            channel = null;
+        }
+        memoryTracker.releaseHeap( transactionIds.size() * RECORD_HEAP_SIZE );
+        transactionIds.clear();
+        logVersions.clear();
+        byteOffsets.clear();
+    }
+
+    /**
+     * Called after log files have been pruned, to drop the records pointing into them, both from memory and from the file.
+     * Failing to rewrite the file stops the index from writing records, like failing to write a record does.
+     */
+    public synchronized void logFilesPruned()
+    {
+        if ( channel == null )
+        {
+            return;
+        }
+        long lowestVersion = logFiles.getLogFile().getLowestLogVersion();
+        int pruned = 0;
+        while ( pruned < logVersions.size() && logVersions.get( pruned ) < lowestVersion )
+        {
+            pruned++;
+        }
+        if ( pruned == 0 )
+        {
+            return;
+        }
+        dropFirst( transactionIds, pruned );
+        dropFirst( logVersions, pruned );
+        dropFirst( byteOffsets, pruned );
+        memoryTracker.releaseHeap( pruned * RECORD_HEAP_SIZE );
+        try
+        {
+            rewrite();
+        }
+        catch ( IOException e )
+        {
+            IOUtils.closeAllSilently( channel );
+            channel = null;
+        }
+    }
+
+    /**
+     * Called for every appended transaction, in transaction id order. Transactions that fall between two records are ignored.
+     * Failing to write a record must not fail the commit, so on failure the index stops writing records and leaves the
+     * missing ones to be rebuilt on the next start.
+     */
+    public void transactionAppended( long transactionId, LogPosition startPosition )
+    {
+        if ( isEnabled() && transactionId % interval == 0 )
+        {
+            record( transactionId, startPosition );
+        }
+    }
+
+    /**
+     * @return position of the start entry of the closest recorded transaction at or before {@code transactionId},
+     * or {@code null} if no such transaction is recorded.
+     */
+    public synchronized LogPosition positionAtOrBefore( long transactionId )
+    {
+        int low = 0;
+        int high = transactionIds.size() - 1;
+        int found = -1;
+        while ( low <= high )
+        {
+            int mid = (low + high) >>> 1;
+            if ( transactionIds.get( mid ) <= transactionId )
+            {
+                found = mid;
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid - 1;
+            }
+        }
+        return found == -1 ? null : new LogPosition( logVersions.get( found ), byteOffsets.get( found ) );
+    }
+
+    private synchronized void record( long transactionId, LogPosition startPosition )
+    {
+        if ( channel == null || (!transactionIds.isEmpty() && transactionIds.getLast() >= transactionId) )
+        {
+            return;
+        }
+        memoryTracker.allocateHeap( RECORD_HEAP_SIZE );
+        transactionIds.add( transactionId );
+        logVersions.add( startPosition.getLogVersion() );
+        byteOffsets.add( startPosition.getByteOffset() );
+        recordBuffer.clear();
+        recordBuffer.putLong( transactionId ).putLong( startPosition.getLogVersion() ).putLong( startPosition.getByteOffset() ).flip();
+        try
+        {
+            channel.writeAll( recordBuffer );
+        }
+        catch ( IOException e )
+        {
+            IOUtils.closeAllSilently( channel );
+            channel = null;
+        }
+    }
+
+    /**
+     * Reads all complete records, keeping those that point into log files that still exist and into committed transactions.
+     * @return {@code true} if any records were dropped.
+     */
+    private boolean load() throws IOException
+    {
+        LogFile logFile = logFiles.getLogFile();
+        long lowestVersion = logFile.getLowestLogVersion();
+        long lastCommitted = lastCommittedTransactionId.getAsLong();
+        long size = channel.size();
+        boolean dropped = size % RECORD_SIZE != 0;
+        try ( var scopedBuffer = new HeapScopedBuffer( RECORD_SIZE, memoryTracker ) )
+        {
+            ByteBuffer buffer = scopedBuffer.getBuffer();
+            for ( long position = 0; position + RECORD_SIZE <= size; position += RECORD_SIZE )
+            {
+                buffer.clear();
+                channel.read( buffer, position );
+                buffer.flip();
+                long transactionId = buffer.getLong();
+                long logVersion = buffer.getLong();
+                long byteOffset = buffer.getLong();
+                boolean ordered = transactionIds.isEmpty() || transactionIds.getLast() < transactionId;
+                if ( ordered && logVersion >= lowestVersion && transactionId <= lastCommitted && logFile.versionExists( logVersion ) )
+                {
+                    memoryTracker.allocateHeap( RECORD_HEAP_SIZE );
+                    transactionIds.add( transactionId );
+                    logVersions.add( logVersion );
+                    byteOffsets.add( byteOffset );
+                }
+                else
+                {
+                    dropped = true;
+                }
+            }
+        }
+        return dropped;
+    }
+
+    private static void dropFirst( MutableLongList list, int count )
+    {
+        long[] kept = list.toArray();
+        list.clear();
+        list.addAll( Arrays.copyOfRange( kept, count, kept.length ) );
+    }
+
+    private void rewrite() throws IOException
+    {
+        channel.truncate( 0 );
+        channel.position( 0 );
+        for ( int i = 0; i < transactionIds.size(); i++ )
+        {
+            recordBuffer.clear();
+            recordBuffer.putLong( transactionIds.get( i ) ).putLong( logVersions.get( i ) ).putLong( byteOffsets.get( i ) ).flip();
+            channel.writeAll( recordBuffer );
+        }
+    }
+
+    /**
+     * Records the transactions appended since the last record, by reading the log from that record onwards.
+     */
+    private void catchUp() throws IOException
+    {
+        long lastRecorded = transactionIds.isEmpty() ? 0 : transactionIds.getLast();
+        if ( lastCommittedTransactionId.getAsLong() - lastRecorded < interval )
+        {
+            return;
+        }
+        LogFile logFile = logFiles.getLogFile();
+        LogPosition startPosition;
+        if ( transactionIds.isEmpty() )
+        {
+            LogHeader header = logFile.extractHeader( logFile.getLowestLogVersion() );
+            if ( header == null )
+            {
+                return;
+            }
+            startPosition = header.getStartPosition();
+        }
+        else
+        {
+            startPosition = new LogPosition( logVersions.getLast(), byteOffsets.getLast() );
+        }
+        try ( ReadableLogChannel reader = logFile.getReader( startPosition ) )
+        {
+            LogEntry entry;
+            LogPosition transactionStart = null;
+            while ( (entry = logEntryReader.readLogEntry( reader )) != null )
+            {
+                if ( entry.getType() == TX_START )
+                {
+                    transactionStart = ((LogEntryStart) entry).getStartPosition();
+                }
+                else if ( entry.getType() == TX_COMMIT && transactionStart != null )
+                {
+                    transactionAppended( ((LogEntryCommit) entry).getTxId(), transactionStart );
+                }
+            }
+        }
+    }
+}
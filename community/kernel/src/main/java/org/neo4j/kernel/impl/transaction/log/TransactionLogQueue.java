@@ -31,6 +31,7 @@ import java.util.concurrent.Future;
 
 import org.neo4j.configuration.Config;
 import org.neo4j.graphdb.DatabaseShutdownException;
+import org.neo4j.io.fs.ByteArrayChecksumChannel;
 import org.neo4j.kernel.impl.api.TransactionToApply;
 import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
 import org.neo4j.kernel.impl.transaction.log.files.LogFile;
@@ -40,14 +41,18 @@ import org.neo4j.kernel.impl.transaction.tracing.LogAppendEvent;
 import org.neo4j.kernel.lifecycle.LifecycleAdapter;
 import org.neo4j.logging.Log;
 import org.neo4j.logging.LogProvider;
+import org.neo4j.memory.MemoryTracker;
 import org.neo4j.monitoring.Health;
 import org.neo4j.scheduler.Group;
 import org.neo4j.scheduler.JobHandle;
 import org.neo4j.scheduler.JobScheduler;
 import org.neo4j.storageengine.api.TransactionIdStore;
 
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.locks.LockSupport.parkNanos;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.group_commit_target_latency;
 import static org.neo4j.configuration.GraphDatabaseSettings.max_concurrent_transactions;
 import static org.neo4j.internal.helpers.Exceptions.throwIfUnchecked;
 import static org.neo4j.kernel.impl.api.TransactionToApply.TRANSACTION_ID_NOT_SPECIFIED;
@@ -64,12 +69,16 @@ public class TransactionLogQueue extends LifecycleAdapter
     private final MpscChunkedArrayQueue<TxQueueElement> txAppendQueue;
     private final JobScheduler jobScheduler;
     private final Log log;
+    private final Config config;
+    private final MemoryTracker memoryTracker;
+    private CommandSerializationPool commandSerializationPool;
     private JobHandle<?> jobHandle;
     private TransactionWriter transactionWriter;
     private volatile boolean stopped;
 
     public TransactionLogQueue( LogFiles logFiles, TransactionIdStore transactionIdStore, Health databaseHealth,
-            TransactionMetadataCache transactionMetadataCache, Config config, JobScheduler jobScheduler, LogProvider logProvider )
+            TransactionMetadataCache transactionMetadataCache, Config config, JobScheduler jobScheduler, LogProvider logProvider,
+            MemoryTracker memoryTracker )
     {
         this.logFiles = logFiles;
         this.logRotation = logFiles.getLogFile().getLogRotation();
@@ -78,8 +87,10 @@ public class TransactionLogQueue extends LifecycleAdapter
         this.transactionMetadataCache = transactionMetadataCache;
         this.txAppendQueue = new MpscChunkedArrayQueue<>( INITIAL_CAPACITY, config.get( max_concurrent_transactions ) );
         this.jobScheduler = jobScheduler;
+        this.config = config;
         this.stopped = true;
         this.log = logProvider.getLog( getClass() );
+        this.memoryTracker = memoryTracker;
     }
 
     public Future<Long> submit( TransactionToApply batch, LogAppendEvent logAppendEvent ) throws IOException
@@ -88,11 +99,12 @@ public class TransactionLogQueue extends LifecycleAdapter
         {
             return CompletableFuture.failedFuture( new DatabaseShutdownException() );
         }
-        TxQueueElement txQueueElement = new TxQueueElement( batch, logAppendEvent );
+        TxQueueElement txQueueElement = new TxQueueElement( batch, logAppendEvent, serializeCommands( batch ) );
         while ( !txAppendQueue.offer( txQueueElement ) )
         {
             if ( stopped )
             {
+                commandSerializationPool.release( txQueueElement.serializedCommands );
                 return CompletableFuture.failedFuture( new DatabaseShutdownException() );
             }
             parkNanos( MILLISECONDS.toNanos( 10 ) );
@@ -100,11 +112,39 @@ public class TransactionLogQueue extends LifecycleAdapter
         return txQueueElement.resultFuture;
     }
 
+    /**
+     * Serialize the commands of the transactions in the batch on the committing thread, leaving less work for the appender.
+     */
+    private ByteArrayChecksumChannel[] serializeCommands( TransactionToApply batch ) throws IOException
+    {
+        int transactions = 0;
+        for ( TransactionToApply tx = batch; tx != null; tx = tx.next() )
+        {
+            transactions++;
+        }
+        ByteArrayChecksumChannel[] serializedCommands = new ByteArrayChecksumChannel[transactions];
+        try
+        {
+            int i = 0;
+            for ( TransactionToApply tx = batch; tx != null; tx = tx.next() )
+            {
+                serializedCommands[i++] = commandSerializationPool.serialize( tx.transactionRepresentation() );
+            }
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            commandSerializationPool.release( serializedCommands );
+            throw e;
+        }
+        return serializedCommands;
+    }
+
     @Override
     public synchronized void start()
     {
-        transactionWriter =
-                new TransactionWriter( txAppendQueue, logFiles.getLogFile(), transactionIdStore, databaseHealth, transactionMetadataCache, logRotation, log );
+        commandSerializationPool = new CommandSerializationPool( logFiles.getLogFile().getTransactionLogWriter().getLogEntryWriterFactory(), memoryTracker );
+        transactionWriter = new TransactionWriter( txAppendQueue, logFiles.getLogFile(), transactionIdStore, databaseHealth, transactionMetadataCache,
+                logRotation, new GroupCommitPolicy( config.get( group_commit_target_latency ) ), commandSerializationPool, log );
         jobHandle = jobScheduler.schedule( Group.LOG_WRITER, transactionWriter );
         stopped = false;
     }
@@ -131,24 +171,34 @@ public class TransactionLogQueue extends LifecycleAdapter
             {
             }
         }
+        if ( commandSerializationPool != null )
+        {
+            commandSerializationPool.close();
+        }
     }
 
     private static class TxQueueElement
     {
         final TransactionToApply batch;
         final LogAppendEvent logAppendEvent;
+        final ByteArrayChecksumChannel[] serializedCommands;
         final CompletableFuture<Long> resultFuture;
+        final long submitNanos;
 
-        TxQueueElement( TransactionToApply batch, LogAppendEvent logAppendEvent )
+        TxQueueElement( TransactionToApply batch, LogAppendEvent logAppendEvent, ByteArrayChecksumChannel[] serializedCommands )
         {
             this.batch = batch;
             this.logAppendEvent = logAppendEvent;
+            this.serializedCommands = serializedCommands;
             this.resultFuture = new CompletableFuture<>();
+            this.submitNanos = System.nanoTime();
         }
     }
 
     private static class TransactionWriter implements Runnable
     {
+        private static final long GATHER_PARK_NANOS = MICROSECONDS.toNanos( 50 );
+
         private final MpscChunkedArrayQueue<TxQueueElement> txQueue;
         private final TransactionLogWriter transactionLogWriter;
         private final LogFile logFile;
@@ -156,13 +206,16 @@ public class TransactionLogQueue extends LifecycleAdapter
         private final Health databaseHealth;
         private final TransactionMetadataCache transactionMetadataCache;
         private final LogRotation logRotation;
+        private final GroupCommitPolicy groupCommitPolicy;
+        private final CommandSerializationPool commandSerializationPool;
         private final Log log;
         private final int checksum;
         private volatile boolean stopped;
         private final MessagePassingQueue.WaitStrategy waitStrategy;
 
         TransactionWriter( MpscChunkedArrayQueue<TxQueueElement> txQueue, LogFile logFile, TransactionIdStore transactionIdStore, Health databaseHealth,
-                TransactionMetadataCache transactionMetadataCache, LogRotation logRotation, Log log )
+                TransactionMetadataCache transactionMetadataCache, LogRotation logRotation, GroupCommitPolicy groupCommitPolicy,
+                CommandSerializationPool commandSerializationPool, Log log )
         {
             this.txQueue = txQueue;
             this.transactionLogWriter = logFile.getTransactionLogWriter();
@@ -172,6 +225,8 @@ public class TransactionLogQueue extends LifecycleAdapter
             this.databaseHealth = databaseHealth;
             this.transactionMetadataCache = transactionMetadataCache;
             this.logRotation = logRotation;
+            this.groupCommitPolicy = groupCommitPolicy;
+            this.commandSerializationPool = commandSerializationPool;
             this.log = log;
             this.waitStrategy = new SleepingWaitingStrategy();
         }
@@ -179,7 +234,8 @@ public class TransactionLogQueue extends LifecycleAdapter
         @Override
         public void run()
         {
-            TxConsumer txConsumer = new TxConsumer( databaseHealth, transactionIdStore, transactionLogWriter, checksum, transactionMetadataCache );
+            TxConsumer txConsumer = new TxConsumer( databaseHealth, transactionIdStore, transactionLogWriter, checksum, transactionMetadataCache,
+                    groupCommitPolicy, commandSerializationPool );
 
             int idleCounter = 0;
             while ( !stopped )
@@ -191,13 +247,17 @@ public class TransactionLogQueue extends LifecycleAdapter
                     {
                         idleCounter = 0;
                         txConsumer.processBatch();
+                        long waitNanos = gatherMore( txConsumer );
 
-                        LogAppendEvent logAppendEvent = txConsumer.txElements[drainedElements - 1].logAppendEvent;
+                        LogAppendEvent logAppendEvent = txConsumer.txElements[txConsumer.index - 1].logAppendEvent;
+                        logAppendEvent.batchGathered( txConsumer.index, waitNanos );
                         boolean logRotated = logRotation.locklessRotateLogIfNeeded( logAppendEvent );
                         logAppendEvent.setLogRotated( logRotated );
                         if ( !logRotated )
                         {
+                            long forceStart = System.nanoTime();
                             logFile.locklessForce( logAppendEvent );
+                            groupCommitPolicy.forced( System.nanoTime() - forceStart );
                         }
 
                         txConsumer.complete();
@@ -219,43 +279,90 @@ public class TransactionLogQueue extends LifecycleAdapter
             TxQueueElement element;
             while ( (element = txQueue.poll()) != null )
             {
+                commandSerializationPool.release( element.serializedCommands );
                 element.resultFuture.completeExceptionally( databaseShutdownException );
             }
         }
 
+        /**
+         * Keep appending transactions to the current batch for as long as the group commit policy finds it worth waiting for them.
+         * @return time spent waiting for transactions to arrive.
+         */
+        private long gatherMore( TxConsumer txConsumer ) throws IOException
+        {
+            if ( !groupCommitPolicy.isEnabled() )
+            {
+                return 0;
+            }
+            long oldestSubmitNanos = txConsumer.txElements[0].submitNanos;
+            long waitNanos = 0;
+            long now = System.nanoTime();
+            while ( txConsumer.index < CONSUMER_MAX_BATCH && !stopped )
+            {
+                long gatherNanos = groupCommitPolicy.gatherNanos( oldestSubmitNanos, now );
+                if ( gatherNanos <= 0 )
+                {
+                    break;
+                }
+                if ( txQueue.drain( txConsumer, CONSUMER_MAX_BATCH - txConsumer.index ) > 0 )
+                {
+                    txConsumer.processBatch();
+                    now = System.nanoTime();
+                }
+                else
+                {
+                    parkNanos( min( gatherNanos, GATHER_PARK_NANOS ) );
+                    long parkEnd = System.nanoTime();
+                    waitNanos += parkEnd - now;
+                    now = parkEnd;
+                }
+            }
+            return waitNanos;
+        }
+
         private static class TxConsumer implements MessagePassingQueue.Consumer<TxQueueElement>
         {
             private final Health databaseHealth;
             private final TransactionIdStore transactionIdStore;
             private final TransactionLogWriter transactionLogWriter;
             private final TransactionMetadataCache transactionMetadataCache;
+            private final GroupCommitPolicy groupCommitPolicy;
+            private final CommandSerializationPool commandSerializationPool;
 
             private int checksum;
             private final TxQueueElement[] txElements = new TransactionLogQueue.TxQueueElement[CONSUMER_MAX_BATCH];
             private final long[] txIds = new long[CONSUMER_MAX_BATCH];
             private int index;
+            private int appended;
 
             TxConsumer( Health databaseHealth, TransactionIdStore transactionIdStore, TransactionLogWriter transactionLogWriter, int checksum,
-                    TransactionMetadataCache transactionMetadataCache )
+                    TransactionMetadataCache transactionMetadataCache, GroupCommitPolicy groupCommitPolicy,
+                    CommandSerializationPool commandSerializationPool )
             {
                 this.transactionMetadataCache = transactionMetadataCache;
                 this.databaseHealth = databaseHealth;
                 this.transactionIdStore = transactionIdStore;
                 this.transactionLogWriter = transactionLogWriter;
                 this.checksum = checksum;
+                this.groupCommitPolicy = groupCommitPolicy;
+                this.commandSerializationPool = commandSerializationPool;
             }
 
             @Override
             public void accept( TxQueueElement txQueueElement )
             {
                 txElements[index++] = txQueueElement;
+                groupCommitPolicy.arrived( txQueueElement.submitNanos );
             }
 
+            /**
+             * Append the transactions that were drained since the last call.
+             */
             private void processBatch() throws IOException
             {
                 databaseHealth.assertHealthy( IOException.class );
                 int drainedElements = index;
-                for ( int i = 0; i < drainedElements; i++ )
+                for ( int i = appended; i < drainedElements; i++ )
                 {
                     TxQueueElement txQueueElement = txElements[i];
                     LogAppendEvent logAppendEvent = txQueueElement.logAppendEvent;
@@ -263,6 +370,7 @@ public class TransactionLogQueue extends LifecycleAdapter
                     try ( var appendEvent = logAppendEvent.beginAppendTransaction( drainedElements ) )
                     {
                         TransactionToApply tx = txQueueElement.batch;
+                        int txIndex = 0;
                         while ( tx != null )
                         {
                             long transactionId = transactionIdStore.nextCommittingTransactionId();
@@ -273,7 +381,17 @@ public class TransactionLogQueue extends LifecycleAdapter
                             // really recover from and would point to a bug somewhere.
                             matchAgainstExpectedTransactionIdIfAny( transactionId, tx );
 
-                            TransactionCommitment commitment = appendToLog( tx.transactionRepresentation(), transactionId, logAppendEvent, checksum );
+                            ByteArrayChecksumChannel serializedCommands = txQueueElement.serializedCommands[txIndex];
+                            TransactionCommitment commitment;
+                            try
+                            {
+                                commitment = appendToLog( tx.transactionRepresentation(), transactionId, logAppendEvent, checksum, serializedCommands );
+                            }
+                            finally
+                            {
+                                txQueueElement.serializedCommands[txIndex++] = null;
+                                commandSerializationPool.release( serializedCommands );
+                            }
                             checksum = commitment.getTransactionChecksum();
                             tx.commitment( commitment, transactionId );
                             tx.logPosition( commitment.logPosition() );
@@ -281,6 +399,7 @@ public class TransactionLogQueue extends LifecycleAdapter
                             lastTransactionId = transactionId;
                         }
                         txIds[i] = lastTransactionId;
+                        appended = i + 1;
                     }
                     catch ( Exception e )
                     {
@@ -307,14 +426,14 @@ public class TransactionLogQueue extends LifecycleAdapter
             }
 
             private TransactionCommitment appendToLog( TransactionRepresentation transaction, long transactionId, LogAppendEvent logAppendEvent,
-                    int previousChecksum ) throws IOException
+                    int previousChecksum, ByteArrayChecksumChannel serializedCommands ) throws IOException
             {
                 var logPositionBeforeCommit = transactionLogWriter.getCurrentPosition();
-                int checksum = transactionLogWriter.append( transaction, transactionId, previousChecksum );
+                int checksum = transactionLogWriter.append( transaction, transactionId, previousChecksum, serializedCommands );
                 var logPositionAfterCommit = transactionLogWriter.getCurrentPosition();
                 logAppendEvent.appendToLogFile( logPositionBeforeCommit, logPositionAfterCommit );
 
-                transactionMetadataCache.cacheTransactionMetadata( transactionId, logPositionBeforeCommit );
+                transactionMetadataCache.transactionAppended( transactionId, logPositionBeforeCommit );
 
                 return new TransactionCommitment( transactionId, checksum, transaction.getTimeCommitted(), logPositionAfterCommit, transactionIdStore );
             }
@@ -327,16 +446,20 @@ public class TransactionLogQueue extends LifecycleAdapter
                 }
                 Arrays.fill( txElements, 0, index, null );
                 index = 0;
+                appended = 0;
             }
 
             public void cancelBatch( Exception e )
             {
                 for ( int i = 0; i < index; i++ )
                 {
+                    // Transactions that never got appended still hold on to their serialized commands
+                    commandSerializationPool.release( txElements[i].serializedCommands );
                     txElements[i].resultFuture.completeExceptionally( e );
                 }
                 Arrays.fill( txElements, 0, index, null );
                 index = 0;
+                appended = 0;
             }
         }
 
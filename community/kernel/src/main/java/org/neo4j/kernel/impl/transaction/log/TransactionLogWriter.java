@@ -21,9 +21,12 @@ package org.neo4j.kernel.impl.transaction.log;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.function.BooleanSupplier;
 
+import org.neo4j.io.fs.ByteArrayChecksumChannel;
 import org.neo4j.kernel.database.LogEntryWriterFactory;
 import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
+import org.neo4j.kernel.impl.transaction.log.entry.CompressedTransactionEnvelope;
 import org.neo4j.kernel.impl.transaction.log.entry.LogEntryWriter;
 import org.neo4j.util.VisibleForTesting;
 
@@ -31,11 +34,24 @@ public class TransactionLogWriter
 {
     private final FlushablePositionAwareChecksumChannel channel;
     private final LogEntryWriterFactory logEntryWriterFactory;
+    private final BooleanSupplier compressTransactions;
+    private CompressedTransactionEnvelope envelope;
 
     public TransactionLogWriter( FlushablePositionAwareChecksumChannel channel, LogEntryWriterFactory logEntryWriterFactory )
+    {
+        this( channel, logEntryWriterFactory, () -> false );
+    }
+
+    /**
+     * @param compressTransactions whether transactions should be compressed, checked for every appended transaction since it depends
+     * on the format version of the log file currently written to.
+     */
+    public TransactionLogWriter( FlushablePositionAwareChecksumChannel channel, LogEntryWriterFactory logEntryWriterFactory,
+            BooleanSupplier compressTransactions )
     {
         this.channel = channel;
         this.logEntryWriterFactory = logEntryWriterFactory;
+        this.compressTransactions = compressTransactions;
     }
 
     /**
@@ -44,11 +60,53 @@ public class TransactionLogWriter
      */
     public int append( TransactionRepresentation transaction, long transactionId, int previousChecksum ) throws IOException
     {
+        return append( transaction, transactionId, previousChecksum, null );
+    }
+
+    /**
+     * Append a transaction to the transaction log file
+     * @param serializedCommands command entries of the transaction, serialized ahead of time for the same kernel version as the transaction,
+     * or {@code null} if they should be serialized here.
+     * @return checksum of the transaction
+     */
+    public int append( TransactionRepresentation transaction, long transactionId, int previousChecksum, ByteArrayChecksumChannel serializedCommands )
+            throws IOException
+    {
+        if ( compressTransactions.getAsBoolean() )
+        {
+            return appendCompressed( transaction, transactionId, previousChecksum, serializedCommands );
+        }
         var writer = logEntryWriterFactory.createEntryWriter( channel, transaction.version() );
+        return appendEntries( writer, transaction, transactionId, previousChecksum, serializedCommands );
+    }
+
+    private int appendCompressed( TransactionRepresentation transaction, long transactionId, int previousChecksum,
+            ByteArrayChecksumChannel serializedCommands ) throws IOException
+    {
+        if ( envelope == null )
+        {
+            envelope = new CompressedTransactionEnvelope();
+        }
+        var writer = logEntryWriterFactory.createEntryWriter( envelope.beginTransaction(), transaction.version() );
+        int checksum = appendEntries( writer, transaction, transactionId, previousChecksum, serializedCommands );
+        envelope.writeTo( channel );
+        return checksum;
+    }
+
+    private static int appendEntries( LogEntryWriter<?> writer, TransactionRepresentation transaction, long transactionId, int previousChecksum,
+            ByteArrayChecksumChannel serializedCommands ) throws IOException
+    {
         writer.writeStartEntry( transaction.getTimeStarted(), transaction.getLatestCommittedTxWhenStarted(), previousChecksum, transaction.additionalHeader() );
 
         // Write all the commands to the log channel
-        writer.serialize( transaction );
+        if ( serializedCommands != null )
+        {
+            writer.getChannel().put( serializedCommands.array(), 0, serializedCommands.size() );
+        }
+        else
+        {
+            writer.serialize( transaction );
+        }
 
         // Write commit record
         return writer.writeCommitEntry( transactionId, transaction.getTimeCommitted() );
@@ -61,6 +119,11 @@ public class TransactionLogWriter
         writer.writeLegacyCheckPointEntry( logPosition );
     }
 
+    public LogEntryWriterFactory getLogEntryWriterFactory()
+    {
+        return logEntryWriterFactory;
+    }
+
     public LogPosition getCurrentPosition() throws IOException
     {
         return channel.getCurrentPosition();
@@ -27,10 +27,17 @@ public class TransactionMetadataCache
 {
     private static final int DEFAULT_TRANSACTION_CACHE_SIZE = 10_000;
     private final LruCache<Long,TransactionMetadata> txIdMetadataCache;
+    private final TransactionLogPositionIndex positionIndex;
 
     public TransactionMetadataCache()
+    {
+        this( TransactionLogPositionIndex.NO_INDEX );
+    }
+
+    public TransactionMetadataCache( TransactionLogPositionIndex positionIndex )
     {
         this.txIdMetadataCache = new LruCache<>( "Tx start position cache", DEFAULT_TRANSACTION_CACHE_SIZE );
+        this.positionIndex = positionIndex;
     }
 
     public void clear()
@@ -43,6 +50,16 @@ public class TransactionMetadataCache
         return txIdMetadataCache.get( txId );
     }
 
+    /**
+     * Caches the position of a transaction that was just appended, and records it in the {@link TransactionLogPositionIndex} if there is one.
+     * Transactions must be appended in transaction id order.
+     */
+    public void transactionAppended( long txId, LogPosition position )
+    {
+        cacheTransactionMetadata( txId, position );
+        positionIndex.transactionAppended( txId, position );
+    }
+
     public void cacheTransactionMetadata( long txId, LogPosition position )
     {
         if ( position.getByteOffset() == -1 )
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import org.neo4j.kernel.impl.transaction.log.LogPosition;
+
+class ContinuousCheckPointThreshold extends AbstractCheckPointThreshold
+{
+    private static final long CHECKING_FREQUENCY_MILLIS = 100;
+
+    private volatile long lastCheckPointedTransactionId;
+
+    ContinuousCheckPointThreshold()
+    {
+        super( "continuous threshold" );
+    }
+
+    @Override
+    public void initialize( long transactionId, LogPosition logPosition )
+    {
+        lastCheckPointedTransactionId = transactionId;
+    }
+
+    @Override
+    protected boolean thresholdReached( long lastCommittedTransactionId, LogPosition logPosition )
+    {
+        return lastCommittedTransactionId > lastCheckPointedTransactionId;
+    }
+
+    @Override
+    public void checkPointHappened( long transactionId, LogPosition logPosition )
+    {
+        lastCheckPointedTransactionId = transactionId;
+    }
+
+    @Override
+    public long checkFrequencyMillis()
+    {
+        return CHECKING_FREQUENCY_MILLIS;
+    }
+}
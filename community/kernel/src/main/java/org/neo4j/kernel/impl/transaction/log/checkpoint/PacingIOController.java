@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import java.io.Flushable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.io.pagecache.IOController;
+import org.neo4j.io.pagecache.tracing.MajorFlushEvent;
+import org.neo4j.time.SystemNanoClock;
+
+import static java.lang.Math.min;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.locks.LockSupport.parkNanos;
+
+/**
+ * An {@link IOController} that spreads the IO of a check point over a target duration, on top of whatever limits its delegate imposes.
+ * <p>
+ * The page cache does not know how much there is to flush until it has been flushed, so the IO of the previous check point is taken
+ * as the estimate for the current one. While a {@link #pace(CheckPointerImpl.ForceOperation) paced} flush is running, every reported
+ * IO moves the check point along its schedule, and whenever it is ahead of schedule the flushing thread is paused until the schedule catches up.
+ * A check point with more IO than the previous one simply finishes behind schedule, and the next one is paced for the larger amount.
+ * The first check point has no estimate and is not paced.
+ * <p>
+ * Only the flush of the database files by the check point is limited by it, so eviction and other flushing neither count towards
+ * the estimate nor get paused.
+ * <p>
+ * Like any other {@link IOController}, pacing is suspended while {@link #disable() disabled}, which is how forced check points run at
+ * full speed.
+ */
+public class PacingIOController implements IOController
+{
+    private static final long MAX_PAUSE_NANOS = MILLISECONDS.toNanos( 100 );
+
+    private final IOController delegate;
+    private final SystemNanoClock clock;
+    private final long targetNanos;
+    private final AtomicInteger disabledCounter = new AtomicInteger();
+    private final AtomicLong checkPointIOs = new AtomicLong();
+    private volatile long expectedIOs;
+    private volatile long checkPointStartNanos;
+    private volatile boolean checkPointing;
+
+    public PacingIOController( IOController delegate, SystemNanoClock clock, long targetNanos )
+    {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.targetNanos = targetNanos;
+    }
+
+    /**
+     * @return a {@link CheckPointerImpl.ForceOperation} that paces the IO of the given one.
+     */
+    public CheckPointerImpl.ForceOperation pace( CheckPointerImpl.ForceOperation forceOperation )
+    {
+        return cursorContext ->
+        {
+            beginCheckPoint();
+            try
+            {
+                forceOperation.flushAndForce( cursorContext );
+            }
+            finally
+            {
+                endCheckPoint();
+            }
+        };
+    }
+
+    /**
+     * Start pacing the IO of a check point.
+     */
+    void beginCheckPoint()
+    {
+        checkPointIOs.set( 0 );
+        checkPointStartNanos = clock.nanos();
+        checkPointing = true;
+    }
+
+    /**
+     * Stop pacing, and remember the amount of IO of the check point as the estimate for the next one.
+     */
+    void endCheckPoint()
+    {
+        checkPointing = false;
+        expectedIOs = checkPointIOs.get();
+    }
+
+    @Override
+    public void maybeLimitIO( int recentlyCompletedIOs, Flushable flushable, MajorFlushEvent flushEvent )
+    {
+        delegate.maybeLimitIO( recentlyCompletedIOs, flushable, flushEvent );
+        if ( !checkPointing )
+        {
+            return;
+        }
+        long ios = checkPointIOs.addAndGet( recentlyCompletedIOs );
+        long expected = expectedIOs;
+        if ( expected == 0 )
+        {
+            return;
+        }
+        long scheduledNanos = (long) (targetNanos * min( 1.0, (double) ios / expected ));
+        // pause in short steps, to notice when we get disabled by a check point that needs to run at full speed
+        while ( checkPointing && disabledCounter.get() == 0 )
+        {
+            long aheadNanos = scheduledNanos - (clock.nanos() - checkPointStartNanos);
+            if ( aheadNanos <= 0 )
+            {
+                break;
+            }
+            parkNanos( min( aheadNanos, MAX_PAUSE_NANOS ) );
+        }
+    }
+
+    @Override
+    public void reportIO( int completedIOs )
+    {
+        delegate.reportIO( completedIOs );
+    }
+
+    @Override
+    public void disable()
+    {
+        disabledCounter.getAndIncrement();
+        delegate.disable();
+    }
+
+    @Override
+    public void enable()
+    {
+        delegate.enable();
+        disabledCounter.getAndDecrement();
+    }
+
+    @Override
+    public boolean isEnabled()
+    {
+        return disabledCounter.get() == 0;
+    }
+}
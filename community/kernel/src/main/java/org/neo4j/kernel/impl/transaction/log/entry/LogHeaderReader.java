@@ -36,6 +36,7 @@ import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.LOG_HEADER
 import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.LOG_HEADER_SIZE_4_0;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.LOG_VERSION_3_5;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.LOG_VERSION_4_0;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.LOG_VERSION_4_4;
 
 public final class LogHeaderReader
 {
@@ -102,7 +103,7 @@ public final class LogHeaderReader
             long previousCommittedTx = buffer.getLong();
             return new LogHeader( logFormatVersion, logVersion, previousCommittedTx, LOG_HEADER_SIZE_3_5 );
         }
-        if ( logFormatVersion == LOG_VERSION_4_0 )
+        if ( logFormatVersion == LOG_VERSION_4_0 || logFormatVersion == LOG_VERSION_4_4 )
         {
             if ( !safeRead( buffer, channel, LOG_HEADER_SIZE_4_0 - LOG_HEADER_VERSION_SIZE, strict, fileForAdditionalErrorInformationOrNull ) )
             {
@@ -160,4 +160,17 @@ public interface LogFile extends RotatableFile
      * @param maxDeletedVersion version up to terminate external readers.
      */
     void terminateExternalReaders( long maxDeletedVersion );
+
+    /**
+     * Hand a pruned log file over for reuse by a later rotation.
+     * @param version version of the pruned log file
+     * @return {@code true} if the file was taken over, {@code false} if it should be deleted by the caller
+     */
+    boolean recycleLogFile( long version ) throws IOException;
+
+    /**
+     * Prepare recycled log files for later rotations, so that rotation itself never has to allocate a new file, and delete the recycled
+     * files that are not wanted anymore. This zero fills whole log files, so it should not be called from a thread anything waits for.
+     */
+    void replenishRecycledLogFiles() throws IOException;
 }
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.neo4j.dbms.database.readonly.DatabaseReadOnlyChecker;
+import org.neo4j.kernel.lifecycle.LifecycleAdapter;
+import org.neo4j.logging.Log;
+import org.neo4j.logging.LogProvider;
+import org.neo4j.scheduler.Group;
+import org.neo4j.scheduler.JobHandle;
+import org.neo4j.scheduler.JobScheduler;
+
+import static org.neo4j.scheduler.JobMonitoringParams.systemJob;
+
+/**
+ * Replenishes the recycled transaction log files in the background, so that neither pruning nor rotation waits for log files to be zero filled.
+ * Runs once when started, to deal with the files left by a previous run, and again every time it is {@link #trigger() triggered}.
+ */
+public class RecycledLogFilesReplenisher extends LifecycleAdapter
+{
+    private final LogFiles logFiles;
+    private final JobScheduler scheduler;
+    private final DatabaseReadOnlyChecker readOnlyChecker;
+    private final String databaseName;
+    private final Log log;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile JobHandle<?> handle;
+    private volatile boolean stopped = true;
+
+    public RecycledLogFilesReplenisher( LogFiles logFiles, JobScheduler scheduler, DatabaseReadOnlyChecker readOnlyChecker, String databaseName,
+            LogProvider logProvider )
+    {
+        this.logFiles = logFiles;
+        this.scheduler = scheduler;
+        this.readOnlyChecker = readOnlyChecker;
+        this.databaseName = databaseName;
+        this.log = logProvider.getLog( getClass() );
+    }
+
+    @Override
+    public void start()
+    {
+        stopped = false;
+        trigger();
+    }
+
+    /**
+     * Schedule a replenishing run, unless one is already scheduled.
+     */
+    public void trigger()
+    {
+        if ( !stopped && !readOnlyChecker.isReadOnly() && scheduled.compareAndSet( false, true ) )
+        {
+            handle = scheduler.schedule( Group.FILE_IO_HELPER, systemJob( databaseName, "Replenishing of recycled transaction log files" ), this::replenish );
+        }
+    }
+
+    @Override
+    public void stop() throws InterruptedException
+    {
+        stopped = true;
+        JobHandle<?> current = handle;
+        if ( current != null )
+        {
+            try
+            {
+                current.waitTermination();
+            }
+            catch ( ExecutionException e )
+            {
+                log.warn( "Replenishing of recycled transaction log files failed.", e );
+            }
+        }
+    }
+
+    private void replenish()
+    {
+        scheduled.set( false );
+        if ( stopped )
+        {
+            return;
+        }
+        try
+        {
+            logFiles.getLogFile().replenishRecycledLogFiles();
+        }
+        catch ( Exception e )
+        {
+            log.warn( "Replenishing of recycled transaction log files failed.", e );
+        }
+    }
+}
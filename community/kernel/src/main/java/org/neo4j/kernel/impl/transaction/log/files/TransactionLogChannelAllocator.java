@@ -35,9 +35,11 @@ import org.neo4j.kernel.impl.transaction.tracing.DatabaseTracer;
 import org.neo4j.kernel.impl.transaction.tracing.LogFileCreateEvent;
 
 import static java.lang.String.format;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.compress_transaction_logs;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogHeaderReader.readLogHeader;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.CURRENT_FORMAT_LOG_HEADER_SIZE;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.CURRENT_LOG_FORMAT_VERSION;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.LOG_VERSION_4_4;
 
 public class TransactionLogChannelAllocator
 {
@@ -47,9 +49,16 @@ public class TransactionLogChannelAllocator
     private final LogHeaderCache logHeaderCache;
     private final ChannelNativeAccessor nativeChannelAccessor;
     private final DatabaseTracer databaseTracer;
+    private final TransactionLogFileRecycler recycler;
 
     public TransactionLogChannelAllocator( TransactionLogFilesContext logFilesContext, TransactionLogFilesHelper fileHelper, LogHeaderCache logHeaderCache,
             ChannelNativeAccessor nativeChannelAccessor )
+    {
+        this( logFilesContext, fileHelper, logHeaderCache, nativeChannelAccessor, TransactionLogFileRecycler.DISABLED );
+    }
+
+    TransactionLogChannelAllocator( TransactionLogFilesContext logFilesContext, TransactionLogFilesHelper fileHelper, LogHeaderCache logHeaderCache,
+            ChannelNativeAccessor nativeChannelAccessor, TransactionLogFileRecycler recycler )
     {
         this.logFilesContext = logFilesContext;
         this.fileSystem = logFilesContext.getFileSystem();
@@ -57,6 +66,7 @@ public class TransactionLogChannelAllocator
         this.fileHelper = fileHelper;
         this.logHeaderCache = logHeaderCache;
         this.nativeChannelAccessor = nativeChannelAccessor;
+        this.recycler = recycler;
     }
 
     public PhysicalLogVersionedStoreChannel createLogChannel( long version, LongSupplier lastCommittedTransactionId ) throws IOException
@@ -75,13 +85,13 @@ public class TransactionLogChannelAllocator
                     // we always write file header from the beginning of the file
                     storeChannel.position( 0 );
                     long lastTxId = lastCommittedTransactionId.getAsLong();
-                    LogHeader logHeader = new LogHeader( version, lastTxId, logFilesContext.getStoreId() );
-                    LogHeaderWriter.writeLogHeader( storeChannel, logHeader, logFilesContext.getMemoryTracker() );
-                    logHeaderCache.putHeader( version, logHeader );
+                    header = new LogHeader( newLogFormatVersion(), version, lastTxId, logFilesContext.getStoreId(), CURRENT_FORMAT_LOG_HEADER_SIZE );
+                    LogHeaderWriter.writeLogHeader( storeChannel, header, logFilesContext.getMemoryTracker() );
+                    logHeaderCache.putHeader( version, header );
                 }
             }
-            byte formatVersion = header == null ? CURRENT_LOG_FORMAT_VERSION : header.getLogFormatVersion();
-            return new PhysicalLogVersionedStoreChannel( storeChannel, version, formatVersion, logFile, nativeChannelAccessor, databaseTracer );
+            return new PhysicalLogVersionedStoreChannel( storeChannel, version, header.getLogFormatVersion(), logFile, nativeChannelAccessor,
+                    databaseTracer );
         }
     }
 
@@ -144,10 +154,20 @@ public class TransactionLogChannelAllocator
         }
     }
 
+    /**
+     * Log files that may contain compressed transactions get their own format version, so that versions of Neo4j that are unable to read
+     * them fail on the header rather than on the first compressed transaction.
+     */
+    private byte newLogFormatVersion()
+    {
+        return logFilesContext.getConfig().get( compress_transaction_logs ) ? LOG_VERSION_4_4 : CURRENT_LOG_FORMAT_VERSION;
+    }
+
     private AllocatedFile allocateFile( long version ) throws IOException
     {
         Path file = fileHelper.getLogFileForVersion( version );
-        boolean fileExist = fileSystem.fileExists( file );
+        // a recycled file is already fully written, so it needs no pre-allocation and gets a new header just like a pre-allocated file
+        boolean fileExist = fileSystem.fileExists( file ) || recycler.take( file );
         StoreChannel storeChannel = fileSystem.write( file );
         if ( fileExist )
         {
@@ -76,8 +76,10 @@ import org.neo4j.monitoring.DatabaseHealth;
 import org.neo4j.storageengine.api.LogVersionRepository;
 import org.neo4j.util.VisibleForTesting;
 
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.recycled_transaction_log_files;
 import static org.neo4j.configuration.GraphDatabaseSettings.transaction_log_buffer_size;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogHeaderReader.readLogHeader;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.LOG_VERSION_4_4;
 import static org.neo4j.kernel.impl.transaction.log.rotation.FileLogRotation.transactionLogRotation;
 import static org.neo4j.util.Preconditions.checkArgument;
 
@@ -97,6 +99,7 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
     private final MemoryTracker memoryTracker;
     private final TransactionLogFileInformation logFileInformation;
     private final TransactionLogChannelAllocator channelAllocator;
+    private final TransactionLogFileRecycler recycler;
     private final DatabaseHealth databaseHealth;
     private final String baseName;
     private final LogRotation logRotation;
@@ -119,8 +122,10 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         this.fileHelper = new TransactionLogFilesHelper( fileSystem, logFiles.logFilesDirectory(), baseName );
         this.logHeaderCache = new LogHeaderCache( 1000 );
         this.logFileInformation = new TransactionLogFileInformation( logFiles, logHeaderCache, context );
+        this.recycler = new TransactionLogFileRecycler( fileSystem, logFiles.logFilesDirectory(), baseName,
+                context.getConfig().get( recycled_transaction_log_files ), rotateAtSize, context.getMemoryTracker() );
         this.channelAllocator = new TransactionLogChannelAllocator( context, fileHelper, logHeaderCache,
-                new LogFileChannelNativeAccessor( fileSystem, context ) );
+                new LogFileChannelNativeAccessor( fileSystem, context ), recycler );
         this.readerLogVersionBridge = new ReaderLogVersionBridge( this );
         this.pageCacheTracer = context.getDatabaseTracers().getPageCacheTracer();
         this.logRotation = transactionLogRotation( this, context.getClock(), databaseHealth, context.getMonitors().newMonitor( LogRotationMonitor.class ) );
@@ -136,6 +141,7 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
     @Override
     public void start() throws IOException
     {
+        recycler.start();
         long currentLogVersion = logVersionRepository.getCurrentLogVersion();
         channel = createLogChannelForVersion( currentLogVersion, context::getLastCommittedTransactionId );
         context.getMonitors().newMonitor( LogRotationMonitor.class ).started( channel.getPath(), currentLogVersion );
@@ -145,7 +151,8 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
 
         writer = new PositionAwarePhysicalFlushableChecksumChannel( channel,
                 new NativeScopedBuffer( context.getConfig().get( transaction_log_buffer_size ), memoryTracker ) );
-        transactionLogWriter = new TransactionLogWriter( writer, new DbmsLogEntryWriterFactory( context.getKernelVersionProvider() ) );
+        transactionLogWriter = new TransactionLogWriter( writer, new DbmsLogEntryWriterFactory( context.getKernelVersionProvider() ),
+                () -> channel.getLogFormatVersion() >= LOG_VERSION_4_4 );
     }
 
     // In order to be able to write into a logfile after life.stop during shutdown sequence
@@ -587,6 +594,18 @@ public class TransactionLogFile extends LifecycleAdapter implements LogFile
         } );
     }
 
+    @Override
+    public boolean recycleLogFile( long version ) throws IOException
+    {
+        return recycler.isEnabled() && recycler.recycle( getLogFileForVersion( version ) );
+    }
+
+    @Override
+    public void replenishRecycledLogFiles() throws IOException
+    {
+        recycler.replenish();
+    }
+
     @VisibleForTesting
     public ConcurrentMap<Long,List<StoreChannel>> getExternalFileReaders()
     {
@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.io.memory.HeapScopedBuffer;
+import org.neo4j.memory.EmptyMemoryTracker;
+import org.neo4j.memory.MemoryTracker;
+
+import static org.neo4j.io.ByteUnit.kibiBytes;
+
+/**
+ * Keeps pruned transaction log files around for reuse by later rotations, instead of deleting them and creating new ones.
+ * <p>
+ * A recycled file is zero filled up to at least the rotation threshold and forced before it is handed out. Appending to it
+ * therefore never extends the file, so forcing the log only has to make the data durable and not the file system metadata that
+ * comes with a growing file. A zeroed file reads as a pre-allocated file without a header, so the channel allocator writes a
+ * new header for the log version that takes it over, and all existing readers stop at the zeroes after the last entry.
+ * <p>
+ * Recycling a file only renames it to {@value #RECYCLING_PREFIX}, so pruning never waits for it to be zeroed. The zero filling is done
+ * by {@link #replenish()}, which is meant to run in the background, and renames the file to {@value #RECYCLED_PREFIX} once it is ready.
+ * Neither name starts with the transaction log base name, so the files are invisible to everything that looks for log files.
+ * A file left behind half zeroed by a crash is zeroed again the next time the pool is replenished. Files that no longer fit in the pool,
+ * because recycling has been disabled or its capacity lowered, are deleted by the next {@link #replenish()} instead.
+ */
+class TransactionLogFileRecycler
+{
+    static final String RECYCLED_PREFIX = "recycled.";
+    static final String RECYCLING_PREFIX = "recycling.";
+    private static final int ZERO_CHUNK_SIZE = (int) kibiBytes( 512 );
+    static final TransactionLogFileRecycler DISABLED = new TransactionLogFileRecycler( null, null, "", 0, new AtomicLong(), EmptyMemoryTracker.INSTANCE );
+
+    private final FileSystemAbstraction fileSystem;
+    private final Path directory;
+    private final String recycledName;
+    private final String recyclingName;
+    private final int capacity;
+    private final AtomicLong rotationThreshold;
+    private final MemoryTracker memoryTracker;
+    private final Deque<Path> available = new ConcurrentLinkedDeque<>();
+    private final Deque<Path> pending = new ConcurrentLinkedDeque<>();
+    private final List<Path> abandoned = new ArrayList<>();
+    private final AtomicLong nextId = new AtomicLong();
+
+    TransactionLogFileRecycler( FileSystemAbstraction fileSystem, Path directory, String baseName, int capacity, AtomicLong rotationThreshold,
+            MemoryTracker memoryTracker )
+    {
+        this.fileSystem = fileSystem;
+        this.directory = directory;
+        this.recycledName = RECYCLED_PREFIX + baseName + ".";
+        this.recyclingName = RECYCLING_PREFIX + baseName + ".";
+        this.capacity = capacity;
+        this.rotationThreshold = rotationThreshold;
+        this.memoryTracker = memoryTracker;
+    }
+
+    boolean isEnabled()
+    {
+        return capacity > 0;
+    }
+
+    /**
+     * Picks up the recycled files left by a previous run, also when recycling is disabled. Files that were being zeroed, and files that do not
+     * fit in the pool, are only remembered here and zeroed or deleted by the next {@link #replenish()}, since starting the log file must not
+     * write anything to a read only database.
+     */
+    void start() throws IOException
+    {
+        available.clear();
+        pending.clear();
+        abandoned.clear();
+        if ( !fileSystem.fileExists( directory ) )
+        {
+            return;
+        }
+        long highestId = -1;
+        List<Path> recycling = new ArrayList<>();
+        for ( Path file : fileSystem.listFiles( directory ) )
+        {
+            String name = file.getFileName().toString();
+            if ( name.startsWith( recycledName ) )
+            {
+                keepIfRoom( available, file );
+                highestId = Math.max( highestId, idOf( name, recycledName ) );
+            }
+            else if ( name.startsWith( recyclingName ) )
+            {
+                recycling.add( file );
+                highestId = Math.max( highestId, idOf( name, recyclingName ) );
+            }
+        }
+        for ( Path file : recycling )
+        {
+            keepIfRoom( pending, file );
+        }
+        nextId.set( highestId + 1 );
+    }
+
+    private void keepIfRoom( Deque<Path> files, Path file )
+    {
+        if ( size() < capacity )
+        {
+            files.add( file );
+        }
+        else
+        {
+            abandoned.add( file );
+        }
+    }
+
+    /**
+     * Moves a recycled file into place as {@code target}, if there is one.
+     *
+     * @return {@code true} if {@code target} is now a zero filled file, {@code false} if the pool was empty.
+     */
+    boolean take( Path target ) throws IOException
+    {
+        Path file = available.pollFirst();
+        if ( file == null )
+        {
+            return false;
+        }
+        fileSystem.renameFile( file, target );
+        return true;
+    }
+
+    /**
+     * Takes ownership of a log file that is no longer needed, if the pool has room for it. The file is zero filled by the next
+     * {@link #replenish()}.
+     *
+     * @return {@code true} if the file was recycled, {@code false} if the pool is full and the caller should delete the file.
+     */
+    boolean recycle( Path logFile ) throws IOException
+    {
+        if ( size() >= capacity )
+        {
+            return false;
+        }
+        Path recycling = newFile( recyclingName );
+        fileSystem.renameFile( logFile, recycling );
+        pending.addLast( recycling );
+        return true;
+    }
+
+    /**
+     * Deletes files that do not fit in the pool, zero fills the recycled files and creates new zero filled files until the pool is full.
+     * This does all the writing of the recycler, and must not be called concurrently with itself.
+     */
+    void replenish() throws IOException
+    {
+        for ( Path file : abandoned )
+        {
+            fileSystem.deleteFile( file );
+        }
+        abandoned.clear();
+        Path recycling;
+        while ( (recycling = pending.peekFirst()) != null )
+        {
+            makeAvailable( recycling );
+            pending.pollFirst();
+        }
+        while ( available.size() < capacity )
+        {
+            makeAvailable( newFile( recyclingName ) );
+        }
+    }
+
+    int available()
+    {
+        return available.size();
+    }
+
+    private int size()
+    {
+        return available.size() + pending.size();
+    }
+
+    private void makeAvailable( Path recycling ) throws IOException
+    {
+        zeroFill( recycling );
+        Path recycled = directory.resolve( recycledName + recycling.getFileName().toString().substring( recyclingName.length() ) );
+        fileSystem.renameFile( recycling, recycled );
+        available.addLast( recycled );
+    }
+
+    private void zeroFill( Path file ) throws IOException
+    {
+        try ( StoreChannel channel = fileSystem.write( file );
+              var scopedBuffer = new HeapScopedBuffer( ZERO_CHUNK_SIZE, memoryTracker ) )
+        {
+            ByteBuffer zeroes = scopedBuffer.getBuffer();
+            long size = Math.max( rotationThreshold.get(), channel.size() );
+            long position = 0;
+            while ( position < size )
+            {
+                zeroes.clear();
+                zeroes.limit( (int) Math.min( zeroes.capacity(), size - position ) );
+                channel.writeAll( zeroes, position );
+                position += zeroes.limit();
+            }
+            channel.force( false );
+        }
+    }
+
+    private Path newFile( String prefix )
+    {
+        return directory.resolve( prefix + nextId.getAndIncrement() );
+    }
+
+    private static long idOf( String name, String prefix )
+    {
+        try
+        {
+            return Long.parseLong( name.substring( prefix.length() ) );
+        }
+        catch ( NumberFormatException e )
+        {
+            return -1;
+        }
+    }
+}
@@ -51,6 +51,7 @@ public class LogPruningImpl implements LogPruning
     private final Clock clock;
     private final LogProvider logProvider;
     private final int checkpointFilesToKeep;
+    private final Runnable prunedListener;
     private volatile LogPruneStrategy pruneStrategy;
 
     public LogPruningImpl( FileSystemAbstraction fs,
@@ -60,6 +61,21 @@ public class LogPruningImpl implements LogPruning
                            Clock clock,
                            Config config,
                            Lock pruneLock )
+    {
+        this( fs, logFiles, logProvider, strategyFactory, clock, config, pruneLock, () -> {} );
+    }
+
+    /**
+     * @param prunedListener called, while holding the prune lock, after log files have been pruned.
+     */
+    public LogPruningImpl( FileSystemAbstraction fs,
+                           LogFiles logFiles,
+                           LogProvider logProvider,
+                           LogPruneStrategyFactory strategyFactory,
+                           Clock clock,
+                           Config config,
+                           Lock pruneLock,
+                           Runnable prunedListener )
     {
         this.fs = fs;
         this.logFiles = logFiles;
@@ -68,6 +84,7 @@ public class LogPruningImpl implements LogPruning
         this.strategyFactory = strategyFactory;
         this.clock = clock;
         this.pruneLock = pruneLock;
+        this.prunedListener = prunedListener;
         this.pruneStrategy = strategyFactory.strategyFromConfigValue( fs, logFiles, logProvider, clock, config.get( keep_logical_logs ) );
         this.checkpointFilesToKeep = config.get( checkpoint_logical_log_keep_threshold );
 
@@ -96,6 +113,10 @@ public class LogPruningImpl implements LogPruning
             logFile.terminateExternalReaders( versionsToDelete.to() );
             versionsToDelete.stream().forEachOrdered( deleter );
             log.info( deleter.describeResult( strategy ) );
+            if ( !versionsToDelete.isEmpty() )
+            {
+                prunedListener.run();
+            }
 
             cleanupCheckpointLogFiles();
         }
@@ -158,10 +179,12 @@ public class LogPruningImpl implements LogPruning
         {
             fromVersion = fromVersion == NO_VERSION ? version : Math.min( fromVersion, version );
             toVersion = toVersion == NO_VERSION ? version : Math.max( toVersion, version );
-            Path logFilePath = logFile.getLogFileForVersion( version );
             try
             {
-                fs.deleteFile( logFilePath );
+                if ( !logFile.recycleLogFile( version ) )
+                {
+                    fs.deleteFile( logFile.getLogFileForVersion( version ) );
+                }
             }
             catch ( IOException e )
             {
@@ -36,6 +36,8 @@ public class DatabaseTransactionStats implements TransactionMonitor, Transaction
     private final LongAdder rolledBackWriteTransactionCount = new LongAdder();
     private final LongAdder terminatedReadTransactionCount = new LongAdder();
     private final LongAdder terminatedWriteTransactionCount = new LongAdder();
+    private final LongAdder threadAffinePoolHitCount = new LongAdder();
+    private final LongAdder threadAffinePoolMissCount = new LongAdder();
     private volatile long peakTransactionCount;
     private volatile TransactionSizeMonitor transactionSizeCallback = NullTransactionSizeCallback.INSTANCE;
 
@@ -81,6 +83,19 @@ public class DatabaseTransactionStats implements TransactionMonitor, Transaction
         activeWriteTransactionCount.increment();
     }
 
+    @Override
+    public void transactionAcquiredFromPool( boolean reused )
+    {
+        if ( reused )
+        {
+            threadAffinePoolHitCount.increment();
+        }
+        else
+        {
+            threadAffinePoolMissCount.increment();
+        }
+    }
+
     @Override
     public long getPeakConcurrentNumberOfTransactions()
     {
@@ -165,6 +180,18 @@ public class DatabaseTransactionStats implements TransactionMonitor, Transaction
         return rolledBackWriteTransactionCount.longValue();
     }
 
+    @Override
+    public long getNumberOfThreadAffinePoolHits()
+    {
+        return threadAffinePoolHitCount.longValue();
+    }
+
+    @Override
+    public long getNumberOfThreadAffinePoolMisses()
+    {
+        return threadAffinePoolMissCount.longValue();
+    }
+
     @Override
     public void setTransactionSizeCallback( TransactionSizeMonitor transactionSizeMonitor )
     {
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.stats;
+
+import org.neo4j.io.pagecache.monitoring.LatencyDistribution;
+
+/**
+ * Distributions of the batches of transactions that the dedicated transaction appender forces to the transaction log together.
+ */
+public interface GroupCommitStatistics
+{
+    GroupCommitStatistics EMPTY = new GroupCommitStatistics()
+    {
+        @Override
+        public long batches()
+        {
+            return 0;
+        }
+
+        @Override
+        public long maxBatchSize()
+        {
+            return 0;
+        }
+
+        @Override
+        public long batchSizeAtPercentile( double percentile )
+        {
+            return 0;
+        }
+
+        @Override
+        public double meanBatchSize()
+        {
+            return 0;
+        }
+
+        @Override
+        public LatencyDistribution waitTimes()
+        {
+            return LatencyDistribution.EMPTY;
+        }
+    };
+
+    /**
+     * @return number of batches forced to the transaction log.
+     */
+    long batches();
+
+    /**
+     * @return number of transactions in the largest batch.
+     */
+    long maxBatchSize();
+
+    /**
+     * @param percentile percentile between 0 and 100.
+     * @return upper bound of the number of transactions in batches at the given percentile.
+     */
+    long batchSizeAtPercentile( double percentile );
+
+    /**
+     * @return mean number of transactions per batch.
+     */
+    double meanBatchSize();
+
+    /**
+     * @return distribution of the time spent waiting for more transactions to join a batch before forcing it.
+     */
+    LatencyDistribution waitTimes();
+}
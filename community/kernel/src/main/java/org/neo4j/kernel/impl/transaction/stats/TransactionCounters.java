@@ -51,5 +51,9 @@ public interface TransactionCounters
 
     long getNumberOfRolledBackWriteTransactions();
 
+    long getNumberOfThreadAffinePoolHits();
+
+    long getNumberOfThreadAffinePoolMisses();
+
     void setTransactionSizeCallback( TransactionSizeMonitor transactionSizeMonitor );
 }
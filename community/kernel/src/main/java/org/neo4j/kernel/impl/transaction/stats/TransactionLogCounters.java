@@ -56,4 +56,10 @@ public interface TransactionLogCounters
      * @return last append batch size
      */
     long lastTransactionLogAppendBatch();
+
+    /**
+     * Sizes of, and time spent gathering, the batches of transactions that were forced together
+     * @return group commit statistics
+     */
+    GroupCommitStatistics groupCommitStatistics();
 }
@@ -20,6 +20,7 @@
 package org.neo4j.kernel.impl.transaction.tracing;
 
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.transaction.stats.GroupCommitStatistics;
 
 public interface DatabaseTracer extends TransactionTracer, CheckPointTracer
 {
@@ -108,6 +109,12 @@ public interface DatabaseTracer extends TransactionTracer, CheckPointTracer
         {
             return 0;
         }
+
+        @Override
+        public GroupCommitStatistics groupCommitStatistics()
+        {
+            return GroupCommitStatistics.EMPTY;
+        }
     };
 
     LogFileCreateEvent createLogFile();
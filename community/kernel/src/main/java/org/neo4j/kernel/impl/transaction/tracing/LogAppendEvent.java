@@ -54,6 +54,13 @@ public interface LogAppendEvent extends LogForceEvents, LogRotateEvents, AutoClo
      */
     AppendTransactionEvent beginAppendTransaction( int appendItems );
 
+    /**
+     * A batch of transactions has been appended and is about to be forced as one.
+     * @param batchSize number of transactions in the batch
+     * @param waitNanos time spent waiting for transactions to join the batch
+     */
+    void batchGathered( int batchSize, long waitNanos );
+
     class Empty implements LogAppendEvent
     {
         @Override
@@ -84,6 +91,11 @@ public interface LogAppendEvent extends LogForceEvents, LogRotateEvents, AutoClo
             return AppendTransactionEvent.NULL;
         }
 
+        @Override
+        public void batchGathered( int batchSize, long waitNanos )
+        {
+        }
+
         @Override
         public LogForceWaitEvent beginLogForceWait()
         {
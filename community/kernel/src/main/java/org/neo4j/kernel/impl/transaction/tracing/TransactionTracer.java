@@ -20,6 +20,7 @@
 package org.neo4j.kernel.impl.transaction.tracing;
 
 import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.transaction.stats.GroupCommitStatistics;
 import org.neo4j.kernel.impl.transaction.stats.TransactionLogCounters;
 
 /**
@@ -78,6 +79,12 @@ public interface TransactionTracer extends TransactionLogCounters
         {
             return 0;
         }
+
+        @Override
+        public GroupCommitStatistics groupCommitStatistics()
+        {
+            return GroupCommitStatistics.EMPTY;
+        }
     };
 
     /**
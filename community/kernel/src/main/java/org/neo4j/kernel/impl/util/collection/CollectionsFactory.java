@@ -19,7 +19,9 @@
  */
 package org.neo4j.kernel.impl.util.collection;
 
+import org.eclipse.collections.api.iterator.LongIterator;
 import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.api.set.primitive.LongSet;
 import org.eclipse.collections.api.set.primitive.MutableLongSet;
 
 import org.neo4j.kernel.impl.util.diffsets.MutableLongDiffSets;
@@ -38,6 +40,15 @@ public interface CollectionsFactory
 
     MutableLongObjectMap<Value> newValuesMap( MemoryTracker memoryTracker );
 
+    /**
+     * Iterate over the given set, created by this factory, as it is now, regardless of later changes to it. Same as
+     * {@code set.freeze().longIterator()}, except that the factory may let go of the frozen copy as soon as the iterator is exhausted.
+     */
+    default LongIterator frozenIterator( LongSet set )
+    {
+        return set.freeze().longIterator();
+    }
+
     /**
      * Release previously created collections. This method does not invalidate the factory.
      */
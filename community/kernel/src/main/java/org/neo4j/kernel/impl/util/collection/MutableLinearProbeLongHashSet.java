@@ -21,6 +21,7 @@ package org.neo4j.kernel.impl.util.collection;
 
 import org.eclipse.collections.api.LongIterable;
 import org.eclipse.collections.api.block.procedure.primitive.LongProcedure;
+import org.eclipse.collections.api.iterator.LongIterator;
 import org.eclipse.collections.api.iterator.MutableLongIterator;
 import org.eclipse.collections.api.multimap.MutableMultimap;
 import org.eclipse.collections.api.set.primitive.ImmutableLongSet;
@@ -253,12 +254,45 @@ class MutableLinearProbeLongHashSet extends AbstractLinearProbeLongHashSet imple
         return frozenCopy;
     }
 
+    /**
+     * Same as {@code freeze().longIterator()}, except that the frozen copy is let go of once the iterator is exhausted, rather than when
+     * the set is closed. If the set has copied its memory since, the memory of the frozen copy is freed right away, otherwise the set no
+     * longer needs to copy its memory on the next modification. This keeps a transaction that alternates between modifying and iterating
+     * the set from accumulating a copy of it per iteration.
+     */
+    LongIterator frozenIterator()
+    {
+        frozen = true;
+        final FrozenCopy frozenCopy = new FrozenCopy();
+        frozenCopies.put( memory, frozenCopy );
+        return frozenCopy.new ReleasingIterator();
+    }
+
     @Override
     public ImmutableLongSet toImmutable()
     {
         throw new UnsupportedOperationException();
     }
 
+    private void release( FrozenCopy frozenCopy )
+    {
+        final Memory copyMemory = frozenCopy.memory;
+        frozenCopies.remove( copyMemory, frozenCopy );
+        if ( memory == null || frozenCopies.containsKey( copyMemory ) )
+        {
+            // Closed already, or still used by other frozen copies.
+            return;
+        }
+        if ( copyMemory == memory )
+        {
+            frozen = false;
+        }
+        else
+        {
+            copyMemory.free( memoryTracker );
+        }
+    }
+
     private boolean removeFromMemory( long element )
     {
         final int idx = indexOf( element );
@@ -389,5 +423,22 @@ class MutableLinearProbeLongHashSet extends AbstractLinearProbeLongHashSet imple
         {
             ++FrozenCopy.this.modCount;
         }
+
+        private class ReleasingIterator extends FailFastIterator
+        {
+            private boolean released;
+
+            @Override
+            public boolean hasNext()
+            {
+                final boolean hasNext = super.hasNext();
+                if ( !hasNext && !released )
+                {
+                    released = true;
+                    release( FrozenCopy.this );
+                }
+                return hasNext;
+            }
+        }
     }
 }
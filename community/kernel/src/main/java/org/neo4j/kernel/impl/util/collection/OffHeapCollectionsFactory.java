@@ -19,7 +19,9 @@
  */
 package org.neo4j.kernel.impl.util.collection;
 
+import org.eclipse.collections.api.iterator.LongIterator;
 import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.api.set.primitive.LongSet;
 import org.eclipse.collections.api.set.primitive.MutableLongSet;
 
 import java.util.ArrayList;
@@ -73,6 +75,16 @@ public class OffHeapCollectionsFactory implements CollectionsFactory
         return new ValuesMap( refs, valuesContainer );
     }
 
+    @Override
+    public LongIterator frozenIterator( LongSet set )
+    {
+        if ( set instanceof MutableLinearProbeLongHashSet )
+        {
+            return ((MutableLinearProbeLongHashSet) set).frozenIterator();
+        }
+        return set.freeze().longIterator();
+    }
+
     @Override
     public void release()
     {
@@ -535,7 +535,7 @@ public final class Recovery
                                                                                                 failOnCorruptedLogFiles, config );
 
         var transactionAppender =
-                createTransactionAppender( logFiles, metadataProvider, metadataCache, config, databaseHealth, scheduler, logProvider );
+                createTransactionAppender( logFiles, metadataProvider, metadataCache, config, databaseHealth, scheduler, logProvider, memoryTracker );
 
         LifeSupport schemaLife = new LifeSupport();
         schemaLife.add( storageEngine.schemaAndTokensLifecycle() );
@@ -31,6 +31,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import org.neo4j.io.pagecache.IOController;
 import org.neo4j.io.pagecache.PageCache;
 import org.neo4j.io.pagecache.PagedFile;
 import org.neo4j.io.pagecache.tracing.FileMappedListener;
@@ -47,7 +48,9 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -71,6 +74,8 @@ class DatabasePageCacheTest
         globalPageCache = mock( PageCache.class );
         pagedFileMapper = new PagedFileAnswer();
         when( globalPageCache.map( any( Path.class ), eq( PAGE_SIZE ), any(), any(), any() ) ).then( pagedFileMapper );
+        doCallRealMethod().when( globalPageCache ).flushAndForce( anyList() );
+        doCallRealMethod().when( globalPageCache ).flushAndForce( anyList(), any() );
         databasePageCache = new DatabasePageCache( globalPageCache, DISABLED );
     }
 
@@ -223,6 +228,29 @@ class DatabasePageCacheTest
         }
     }
 
+    @Test
+    void flushWithFlushLimiterLimitsOnlyTheFlush() throws IOException
+    {
+        IOController ioController = mock( IOController.class );
+        IOController flushLimiter = mock( IOController.class );
+        try ( DatabasePageCache limitedCache = new DatabasePageCache( globalPageCache, ioController, flushLimiter ) )
+        {
+            Path mapFile1 = testDirectory.createFile( "mapFile1" );
+            Path mapFile2 = testDirectory.createFile( "mapFile2" );
+            limitedCache.map( mapFile1, PAGE_SIZE, DATABASE_NAME );
+            limitedCache.map( mapFile2, PAGE_SIZE, DATABASE_NAME );
+
+            limitedCache.flushAndForce();
+
+            verify( globalPageCache ).map( mapFile1, PAGE_SIZE, DATABASE_NAME, immutable.empty(), ioController );
+            verify( globalPageCache ).map( mapFile2, PAGE_SIZE, DATABASE_NAME, immutable.empty(), ioController );
+            verify( globalPageCache ).flushAndForce( anyList(), eq( flushLimiter ) );
+            List<PagedFile> pagedFiles = pagedFileMapper.getPagedFiles();
+            verify( findPagedFile( pagedFiles, mapFile1 ) ).flushAndForce();
+            verify( findPagedFile( pagedFiles, mapFile2 ) ).flushAndForce();
+        }
+    }
+
     @Test
     void closingFileCloseCacheMapping() throws IOException
     {
@@ -43,6 +43,7 @@ import org.neo4j.configuration.Config;
 import org.neo4j.configuration.GraphDatabaseSettings;
 import org.neo4j.graphdb.NotInTransactionException;
 import org.neo4j.graphdb.TransactionTerminatedException;
+import org.neo4j.graphdb.WriteOperationsNotAllowedException;
 import org.neo4j.internal.kernel.api.exceptions.TransactionFailureException;
 import org.neo4j.internal.kernel.api.security.CommunitySecurityLog;
 import org.neo4j.internal.kernel.api.security.LoginContext;
@@ -93,6 +94,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.RETURNS_MOCKS;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -811,6 +813,54 @@ class KernelTransactionImplementationTest extends KernelTransactionTestBase
         assertThat( rte ).hasCauseInstanceOf( WriteOnReadOnlyAccessDbException.class );
     }
 
+    @Test
+    void shouldFailWritesInTransactionDeclaredReadOnly() throws Exception
+    {
+        try ( KernelTransactionImplementation transaction = newTransaction( AUTH_DISABLED ) )
+        {
+            // when
+            transaction.declareReadOnly();
+
+            // then
+            assertTrue( transaction.isDeclaredReadOnly() );
+            WriteOperationsNotAllowedException e = assertThrows( WriteOperationsNotAllowedException.class, transaction::dataWrite );
+            assertEquals( Status.Statement.AccessMode, e.status() );
+            assertThrows( WriteOperationsNotAllowedException.class, transaction::tokenWrite );
+            assertThrows( WriteOperationsNotAllowedException.class, transaction::schemaWrite );
+            assertThrows( WriteOperationsNotAllowedException.class, transaction::txState );
+            transaction.commit();
+        }
+        verify( commandCreationContext, never() ).initialize( any(), any() );
+        assertTrue( commitProcess.transactions.isEmpty() );
+    }
+
+    @Test
+    void shouldNotDeclareReadOnlyAfterWrites() throws Exception
+    {
+        try ( KernelTransactionImplementation transaction = newTransaction( AUTH_DISABLED ) )
+        {
+            transaction.dataWrite();
+
+            assertThrows( IllegalStateException.class, transaction::declareReadOnly );
+            assertFalse( transaction.isDeclaredReadOnly() );
+            verify( commandCreationContext ).initialize( any(), any() );
+        }
+    }
+
+    @Test
+    void shouldNotCarryReadOnlyDeclarationOverToReusedTransaction() throws Exception
+    {
+        KernelTransactionImplementation transaction = newTransaction( AUTH_DISABLED );
+        transaction.declareReadOnly();
+        transaction.close();
+
+        transaction.initialize( 5L, BASE_TX_COMMIT_TIMESTAMP, KernelTransaction.Type.IMPLICIT, SecurityContext.AUTH_DISABLED, 0L, 1L, EMBEDDED_CONNECTION );
+
+        assertFalse( transaction.isDeclaredReadOnly() );
+        transaction.dataWrite();
+        transaction.close();
+    }
+
     @Test
     void shouldDeregisterConfigListenersOnDispose()
     {
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
+import org.neo4j.lock.LockGroup;
+import org.neo4j.lock.LockService;
+import org.neo4j.lock.LockType;
+import org.neo4j.storageengine.api.CommandsToApply;
+import org.neo4j.storageengine.api.StorageEngine;
+import org.neo4j.storageengine.api.cursor.StoreCursors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.neo4j.storageengine.api.TransactionApplicationMode.EXTERNAL;
+
+class ParallelBatchApplierTest
+{
+    private final StorageEngine storageEngine = mock( StorageEngine.class );
+    private final ConcurrentLinkedQueue<Long> applyOrder = new ConcurrentLinkedQueue<>();
+
+    @Test
+    void shouldApplyUnrelatedTransactionsInParallel() throws Exception
+    {
+        // given
+        CountDownLatch thirdApplied = new CountDownLatch( 1 );
+        doAnswer( invocation ->
+        {
+            long txId = ((CommandsToApply) invocation.getArgument( 0 )).transactionId();
+            if ( txId == 2 )
+            {
+                assertThat( thirdApplied.await( 1, TimeUnit.MINUTES ) ).isTrue();
+            }
+            applyOrder.add( txId );
+            if ( txId == 3 )
+            {
+                thirdApplied.countDown();
+            }
+            return null;
+        } ).when( storageEngine ).apply( any(), any() );
+
+        // when
+        new ParallelBatchApplier( storageEngine, 2 ).apply( batch( 2, 3 ), EXTERNAL );
+
+        // then
+        assertThat( applyOrder ).containsExactly( 3L, 2L );
+    }
+
+    @Test
+    void shouldApplyRelatedTransactionsInBatchOrder() throws Exception
+    {
+        // given
+        doAnswer( invocation ->
+        {
+            LockService lockService = invocation.getArgument( 1 );
+            LockGroup locks = invocation.getArgument( 2 );
+            locks.add( lockService.acquireNodeLock( 99, LockType.EXCLUSIVE ) );
+            return null;
+        } ).when( storageEngine ).lockRecoveryCommands( any(), any(), any(), any() );
+        doAnswer( invocation ->
+        {
+            long txId = ((CommandsToApply) invocation.getArgument( 0 )).transactionId();
+            if ( txId == 2 )
+            {
+                // Just make it very likely that, if the locking wouldn't work as expected, then the test will fail,
+                // but the test will not be flaky if the applier works as expected.
+                Thread.sleep( 50 );
+            }
+            applyOrder.add( txId );
+            return null;
+        } ).when( storageEngine ).apply( any(), any() );
+
+        // when
+        new ParallelBatchApplier( storageEngine, 2 ).apply( batch( 2, 3 ), EXTERNAL );
+
+        // then
+        assertThat( applyOrder ).containsExactly( 2L, 3L );
+    }
+
+    @Test
+    void shouldApplySchemaChangesOnTheirOwn() throws Exception
+    {
+        // given an entity write, an index creation and an entity write depending on the index, none of them taking any locks
+        TransactionToApply batch = batch( 2, 3, 4 );
+        TransactionRepresentation indexCreation = batch.next().transactionRepresentation();
+        when( storageEngine.requiresExclusiveApplication( indexCreation ) ).thenReturn( true );
+        doAnswer( invocation ->
+        {
+            long txId = ((CommandsToApply) invocation.getArgument( 0 )).transactionId();
+            if ( txId != 4 )
+            {
+                // Just make it very likely that, if the index creation wouldn't be applied on its own, then the test will fail,
+                // but the test will not be flaky if the applier works as expected.
+                Thread.sleep( 50 );
+            }
+            applyOrder.add( txId );
+            return null;
+        } ).when( storageEngine ).apply( any(), any() );
+
+        // when
+        new ParallelBatchApplier( storageEngine, 3 ).apply( batch, EXTERNAL );
+
+        // then
+        assertThat( applyOrder ).containsExactly( 2L, 3L, 4L );
+        verify( storageEngine, never() ).lockRecoveryCommands( same( indexCreation ), any(), any(), any() );
+    }
+
+    @Test
+    void shouldPropagateApplyFailure() throws Exception
+    {
+        // given
+        IllegalStateException failure = new IllegalStateException( "Failed to apply" );
+        doAnswer( invocation ->
+        {
+            long txId = ((CommandsToApply) invocation.getArgument( 0 )).transactionId();
+            if ( txId == 3 )
+            {
+                throw failure;
+            }
+            applyOrder.add( txId );
+            return null;
+        } ).when( storageEngine ).apply( any(), any() );
+
+        // when/then
+        ParallelBatchApplier applier = new ParallelBatchApplier( storageEngine, 2 );
+        assertThatThrownBy( () -> applier.apply( batch( 2, 3, 4 ), EXTERNAL ) ).isSameAs( failure );
+    }
+
+    @Test
+    void shouldNotAcceptBatchesAfterShutdown() throws Exception
+    {
+        // given
+        ParallelBatchApplier applier = new ParallelBatchApplier( storageEngine, 2 );
+        applier.apply( batch( 2, 3 ), EXTERNAL );
+
+        // when
+        applier.shutdown();
+
+        // then
+        assertThatThrownBy( () -> applier.apply( batch( 4, 5 ), EXTERNAL ) ).isInstanceOf( RejectedExecutionException.class );
+    }
+
+    private static TransactionToApply batch( long... txIds )
+    {
+        TransactionToApply first = null;
+        TransactionToApply last = null;
+        for ( long txId : txIds )
+        {
+            TransactionToApply tx = new TransactionToApply( mock( TransactionRepresentation.class ), txId, CursorContext.NULL, StoreCursors.NULL );
+            if ( first == null )
+            {
+                first = tx;
+            }
+            else
+            {
+                last.next( tx );
+            }
+            last = tx;
+        }
+        return first;
+    }
+}
@@ -32,6 +32,10 @@ import java.util.Map;
 import java.util.function.Function;
 
 import org.neo4j.graphdb.Direction;
+import org.neo4j.kernel.impl.util.collection.CachingOffHeapBlockAllocator;
+import org.neo4j.kernel.impl.util.collection.OffHeapCollectionsFactory;
+import org.neo4j.kernel.impl.util.collection.OnHeapCollectionsFactory;
+import org.neo4j.memory.LocalMemoryTracker;
 import org.neo4j.storageengine.api.RelationshipDirection;
 import org.neo4j.storageengine.api.txstate.RelationshipModifications;
 import org.neo4j.test.extension.Inject;
@@ -57,7 +61,7 @@ class RelationshipChangesForNodeTest
     @Test
     void shouldGetRelationships()
     {
-        RelationshipChangesForNode changes = createRelationshipChangesForNode( ADD, INSTANCE );
+        RelationshipChangesForNode changes = createRelationshipChangesForNode( ADD, OnHeapCollectionsFactory.INSTANCE, INSTANCE );
 
         final int TYPE = 2;
 
@@ -72,10 +76,36 @@ class RelationshipChangesForNodeTest
         assertThat( asArray( rawRelationships ) ).containsExactly( 1, 2, 3, 4, 5, 6 );
     }
 
+    @Test
+    void shouldNotAccumulateCopiesWhenAlternatingAddAndTraverseOffHeap()
+    {
+        int relationships = 1_000;
+        CachingOffHeapBlockAllocator blockAllocator = new CachingOffHeapBlockAllocator();
+        OffHeapCollectionsFactory collectionsFactory = new OffHeapCollectionsFactory( blockAllocator );
+        LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+        try
+        {
+            RelationshipChangesForNode changes = createRelationshipChangesForNode( ADD, collectionsFactory, memoryTracker );
+            for ( int i = 0; i < relationships; i++ )
+            {
+                changes.addRelationship( i, 1, OUTGOING );
+                assertThat( asArray( changes.getRelationships() ) ).hasSize( i + 1 );
+            }
+
+            // A copy of the ids per traversal would be in the order of relationships^2 longs
+            assertThat( memoryTracker.usedNativeMemory() + memoryTracker.estimatedHeapMemory() ).isLessThan( relationships * 64L );
+        }
+        finally
+        {
+            collectionsFactory.release();
+            blockAllocator.release();
+        }
+    }
+
     @Test
     void shouldGetRelationshipsByTypeAndDirection()
     {
-        RelationshipChangesForNode changes = createRelationshipChangesForNode( ADD, INSTANCE );
+        RelationshipChangesForNode changes = createRelationshipChangesForNode( ADD, OnHeapCollectionsFactory.INSTANCE, INSTANCE );
 
         final int TYPE = 2;
         final int DECOY_TYPE = 666;
@@ -101,7 +131,7 @@ class RelationshipChangesForNodeTest
     void shouldVisitRelationshipIds()
     {
         // given
-        RelationshipChangesForNode changes = createRelationshipChangesForNode( REMOVE, INSTANCE );
+        RelationshipChangesForNode changes = createRelationshipChangesForNode( REMOVE, OnHeapCollectionsFactory.INSTANCE, INSTANCE );
         MutableIntObjectMap<Map<RelationshipDirection,MutableLongSet>> expected = IntObjectMaps.mutable.empty();
         MutableLongSet allExpected = LongSets.mutable.empty();
         for ( int id = 0; id < 100; id++ )
@@ -138,7 +168,7 @@ class RelationshipChangesForNodeTest
     {
         // given
         int type = 1;
-        RelationshipChangesForNode changes = createRelationshipChangesForNode( ADD, INSTANCE );
+        RelationshipChangesForNode changes = createRelationshipChangesForNode( ADD, OnHeapCollectionsFactory.INSTANCE, INSTANCE );
         assertThat( changes.hasRelationships( type ) ).isFalse();
 
         long relId = 123;
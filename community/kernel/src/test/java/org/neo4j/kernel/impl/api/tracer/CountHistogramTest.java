@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.api.tracer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CountHistogramTest
+{
+    @Test
+    void emptyHistogramMustReportZeroes()
+    {
+        CountHistogram histogram = new CountHistogram();
+
+        assertEquals( 0, histogram.samples() );
+        assertEquals( 0, histogram.max() );
+        assertEquals( 0, histogram.valueAtPercentile( 99 ) );
+        assertEquals( 0.0, histogram.mean() );
+    }
+
+    @Test
+    void percentilesOfSmallCountsMustBeExact()
+    {
+        CountHistogram histogram = new CountHistogram();
+        for ( int count = 1; count <= 100; count++ )
+        {
+            histogram.record( count );
+        }
+
+        assertEquals( 100, histogram.samples() );
+        assertEquals( 100, histogram.max() );
+        assertEquals( 50.5, histogram.mean() );
+        assertEquals( 50, histogram.valueAtPercentile( 50 ) );
+        assertEquals( 99, histogram.valueAtPercentile( 99 ) );
+        assertEquals( 100, histogram.valueAtPercentile( 100 ) );
+    }
+
+    @Test
+    void percentilesOfLargeCountsMustBeTheHighestRecordedCount()
+    {
+        CountHistogram histogram = new CountHistogram();
+        histogram.record( 1 );
+        histogram.record( CountHistogram.EXACT_COUNTS + 10 );
+        histogram.record( CountHistogram.EXACT_COUNTS * 3 );
+
+        assertEquals( 1, histogram.valueAtPercentile( 10 ) );
+        assertEquals( CountHistogram.EXACT_COUNTS * 3, histogram.valueAtPercentile( 50 ) );
+        assertEquals( CountHistogram.EXACT_COUNTS * 3, histogram.max() );
+    }
+}
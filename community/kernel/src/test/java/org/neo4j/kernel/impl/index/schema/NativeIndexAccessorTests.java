@@ -175,6 +175,32 @@ abstract class NativeIndexAccessorTests<KEY extends NativeIndexKey<KEY>>
         }
     }
 
+    @Test
+    void shouldKeepOrderOfChangesToSameKeyWithinOneUpdater() throws Exception
+    {
+        // given
+        ValueIndexEntryUpdate<IndexDescriptor>[] updates = someUpdatesSingleType();
+        ValueIndexEntryUpdate<IndexDescriptor>[] expected = Arrays.copyOf( updates, updates.length / 2 );
+
+        // when
+        try ( IndexUpdater updater = accessor.newUpdater( ONLINE, NULL ) )
+        {
+            processAll( updater, updates );
+            for ( int i = updates.length - 1; i >= 0; i-- )
+            {
+                updater.process( remove( updates[i].getEntityId(), indexDescriptor, updates[i].values() ) );
+            }
+            for ( int i = expected.length - 1; i >= 0; i-- )
+            {
+                updater.process( expected[i] );
+            }
+        }
+
+        // then
+        forceAndCloseAccessor();
+        valueUtil.verifyUpdates( expected, this::getTree );
+    }
+
     @Test
     void shouldHandleRandomUpdates() throws Exception
     {
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.locking;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.neo4j.lock.LockWaitEvent;
+import org.neo4j.lock.ResourceType;
+import org.neo4j.lock.ResourceTypes;
+import org.neo4j.time.Clocks;
+import org.neo4j.time.FakeClock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class LockContentionProfilerTest
+{
+    private final FakeClock clock = Clocks.fakeClock();
+
+    @Test
+    void shouldCountWaitsAndWaitersPerResourceType()
+    {
+        LockContentionProfiler profiler = new LockContentionProfiler( clock, 4, Duration.ofMinutes( 1 ), ResourceTypes.values() );
+        LockWaitEvent tracerEvent = mock( LockWaitEvent.class );
+
+        LockWaitEvent first = profiler.waitForLock( ResourceTypes.NODE, 1, tracerEvent );
+        LockWaitEvent second = profiler.waitForLock( ResourceTypes.NODE, 2, LockWaitEvent.NONE );
+        assertThat( resourceTypes( profiler ) ).containsEntry( ResourceTypes.NODE, new long[]{0, 0, 2} );
+
+        clock.forward( 10, MILLISECONDS );
+        first.close();
+        verify( tracerEvent ).close();
+        clock.forward( 10, MILLISECONDS );
+        second.close();
+
+        assertThat( resourceTypes( profiler ) )
+                .containsEntry( ResourceTypes.NODE, new long[]{2, MILLISECONDS.toNanos( 30 ), 0} )
+                .containsEntry( ResourceTypes.RELATIONSHIP, new long[]{0, 0, 0} );
+    }
+
+    @Test
+    void shouldReportMostContendedResourcesFirst()
+    {
+        LockContentionProfiler profiler = new LockContentionProfiler( clock, 2, Duration.ofMinutes( 1 ), ResourceTypes.values() );
+
+        waitFor( profiler, ResourceTypes.NODE, 1, 10 );
+        waitFor( profiler, ResourceTypes.NODE, 2, 30 );
+        waitFor( profiler, ResourceTypes.NODE, 3, 20 );
+        waitFor( profiler, ResourceTypes.NODE, 3, 15 );
+        waitFor( profiler, ResourceTypes.RELATIONSHIP, 4, 5 );
+
+        List<String> resources = resources( profiler );
+        assertThat( resources ).containsExactly( "NODE(3)", "NODE(2)", "RELATIONSHIP(4)" );
+    }
+
+    @Test
+    void shouldDecayContentionOfResourcesByHalfEveryHalfLife()
+    {
+        LockContentionProfiler profiler = new LockContentionProfiler( clock, 2, Duration.ofMinutes( 1 ), ResourceTypes.values() );
+        waitFor( profiler, ResourceTypes.NODE, 1, 100 );
+
+        clock.forward( 1, MINUTES );
+        double[] contention = resourceContention( profiler, ResourceTypes.NODE, 1 );
+        assertThat( contention[0] ).isCloseTo( 0.5, within( 0.01 ) );
+        assertThat( contention[1] ).isCloseTo( MILLISECONDS.toNanos( 50 ), within( 1_000_000.0 ) );
+
+        // a resource that is contended now overtakes one that was contended a while ago
+        waitFor( profiler, ResourceTypes.NODE, 2, 60 );
+        assertThat( resources( profiler ) ).containsExactly( "NODE(2)", "NODE(1)" );
+    }
+
+    @Test
+    void shouldKeepDecayingAcrossManyHalfLives()
+    {
+        LockContentionProfiler profiler = new LockContentionProfiler( clock, 2, Duration.ofSeconds( 1 ), ResourceTypes.values() );
+        waitFor( profiler, ResourceTypes.NODE, 1, 100 );
+
+        clock.forward( 1, MINUTES );
+        waitFor( profiler, ResourceTypes.NODE, 2, 100 );
+
+        assertThat( resourceContention( profiler, ResourceTypes.NODE, 2 )[0] ).isCloseTo( 1, within( 0.01 ) );
+        assertThat( resourceContention( profiler, ResourceTypes.NODE, 1 )[0] ).isCloseTo( 0, within( 0.01 ) );
+    }
+
+    @Test
+    void shouldEvictLeastContendedResourceWhenFull()
+    {
+        LockContentionProfiler profiler = new LockContentionProfiler( clock, 1, Duration.ofMinutes( 1 ), ResourceTypes.values() );
+        waitFor( profiler, ResourceTypes.NODE, 1, 30 );
+        waitFor( profiler, ResourceTypes.NODE, 2, 10 );
+        waitFor( profiler, ResourceTypes.NODE, 3, 20 );
+        waitFor( profiler, ResourceTypes.NODE, 3, 20 );
+
+        assertThat( resources( profiler ) ).containsExactly( "NODE(3)" );
+    }
+
+    @Test
+    void shouldNotTrackResourcesWhenDisabled()
+    {
+        LockContentionProfiler profiler = new LockContentionProfiler( clock, 0, Duration.ofMinutes( 1 ), ResourceTypes.values() );
+        waitFor( profiler, ResourceTypes.NODE, 1, 30 );
+
+        assertThat( resources( profiler ) ).isEmpty();
+        assertThat( resourceTypes( profiler ) ).containsEntry( ResourceTypes.NODE, new long[]{1, MILLISECONDS.toNanos( 30 ), 0} );
+    }
+
+    private void waitFor( LockContentionProfiler profiler, ResourceType resourceType, long resourceId, long waitMillis )
+    {
+        LockWaitEvent event = profiler.waitForLock( resourceType, resourceId, LockWaitEvent.NONE );
+        clock.forward( waitMillis, MILLISECONDS );
+        event.close();
+    }
+
+    private static Map<ResourceType,long[]> resourceTypes( LockContentionProfiler profiler )
+    {
+        Map<ResourceType,long[]> resourceTypes = new HashMap<>();
+        profiler.accept( ( resourceType, waits, waitTimeNanos, currentWaiters ) ->
+                resourceTypes.put( resourceType, new long[]{waits, waitTimeNanos, currentWaiters} ) );
+        return resourceTypes;
+    }
+
+    private static List<String> resources( LockContentionProfiler profiler )
+    {
+        List<String> resources = new ArrayList<>();
+        profiler.accept( new Locks.ContentionVisitor()
+        {
+            @Override
+            public void visitResourceType( ResourceType resourceType, long waits, long waitTimeNanos, int currentWaiters )
+            {
+            }
+
+            @Override
+            public void visitResource( ResourceType resourceType, long resourceId, double waits, double waitTimeNanos )
+            {
+                resources.add( resourceType + "(" + resourceId + ")" );
+            }
+        } );
+        return resources;
+    }
+
+    private static double[] resourceContention( LockContentionProfiler profiler, ResourceType type, long id )
+    {
+        double[] contention = new double[2];
+        profiler.accept( new Locks.ContentionVisitor()
+        {
+            @Override
+            public void visitResourceType( ResourceType resourceType, long waits, long waitTimeNanos, int currentWaiters )
+            {
+            }
+
+            @Override
+            public void visitResource( ResourceType resourceType, long resourceId, double waits, double waitTimeNanos )
+            {
+                if ( resourceType == type && resourceId == id )
+                {
+                    contention[0] = waits;
+                    contention[1] = waitTimeNanos;
+                }
+            }
+        } );
+        return contention;
+    }
+}
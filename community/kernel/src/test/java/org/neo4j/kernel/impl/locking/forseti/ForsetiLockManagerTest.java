@@ -30,6 +30,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -42,6 +43,7 @@ import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.lock.ActiveLock;
 import org.neo4j.lock.LockTracer;
 import org.neo4j.lock.LockType;
+import org.neo4j.lock.ResourceType;
 import org.neo4j.lock.ResourceTypes;
 import org.neo4j.memory.EmptyMemoryTracker;
 import org.neo4j.test.Race;
@@ -52,6 +54,7 @@ import org.neo4j.time.Clocks;
 import org.neo4j.util.concurrent.BinaryLatch;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.test.Race.throwing;
 
@@ -229,4 +232,56 @@ class ForsetiLockManagerTest
                     lock -> assertThat( lock.lockType().equals( LockType.EXCLUSIVE ) ? exclusiveLocks : sharedLocks ).containsKey( lock.resourceId() ) );
         }
     }
+
+    @Test
+    void shouldExposeWaitForGraphAndContentionOfWaitingClients() throws Exception
+    {
+        try ( Locks.Client holder = manager.newClient();
+              Locks.Client waiter = manager.newClient() )
+        {
+            holder.initialize( LeaseService.NoLeaseClient.INSTANCE, 1, EmptyMemoryTracker.INSTANCE, config );
+            waiter.initialize( LeaseService.NoLeaseClient.INSTANCE, 2, EmptyMemoryTracker.INSTANCE, config );
+            holder.acquireExclusive( LockTracer.NONE, ResourceTypes.NODE, 42 );
+
+            CompletableFuture<Void> waiting = CompletableFuture.runAsync( () -> waiter.acquireShared( LockTracer.NONE, ResourceTypes.NODE, 42 ) );
+            List<String> edges = new ArrayList<>();
+            while ( edges.isEmpty() )
+            {
+                manager.acceptWaitFor( ( waitingTransactionId, holdingTransactionId, resourceType, resourceId ) ->
+                        edges.add( waitingTransactionId + "->" + holdingTransactionId + " on " + resourceType + "(" + resourceId + ")" ) );
+                Thread.onSpinWait();
+            }
+            assertThat( edges ).containsExactly( "2->1 on NODE(42)" );
+
+            holder.releaseExclusive( ResourceTypes.NODE, 42 );
+            waiting.get( 1, TimeUnit.MINUTES );
+        }
+
+        List<String> edges = new ArrayList<>();
+        manager.acceptWaitFor( ( waitingTransactionId, holdingTransactionId, resourceType, resourceId ) -> edges.add( waitingTransactionId + "" ) );
+        assertThat( edges ).isEmpty();
+
+        Map<String,Long> waitsPerType = new HashMap<>();
+        List<Long> contendedNodes = new ArrayList<>();
+        manager.acceptContention( new Locks.ContentionVisitor()
+        {
+            @Override
+            public void visitResourceType( ResourceType resourceType, long waits, long waitTimeNanos, int currentWaiters )
+            {
+                waitsPerType.put( resourceType.name(), waits );
+                assertEquals( 0, currentWaiters );
+            }
+
+            @Override
+            public void visitResource( ResourceType resourceType, long resourceId, double waits, double waitTimeNanos )
+            {
+                if ( resourceType == ResourceTypes.NODE )
+                {
+                    contendedNodes.add( resourceId );
+                }
+            }
+        } );
+        assertThat( waitsPerType ).containsEntry( "NODE", 1L ).containsEntry( "RELATIONSHIP", 0L );
+        assertThat( contendedNodes ).containsExactly( 42L );
+    }
 }
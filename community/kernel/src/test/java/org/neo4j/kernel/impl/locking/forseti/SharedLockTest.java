@@ -21,10 +21,18 @@ package org.neo4j.kernel.impl.locking.forseti;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.neo4j.lock.LockType;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -76,4 +84,110 @@ class SharedLockTest
 
         assertEquals( LockType.EXCLUSIVE, lock.type() );
     }
+
+    @Test
+    void shouldCountHoldersOfStripedLock()
+    {
+        ForsetiClient clientA = mock( ForsetiClient.class );
+        ForsetiClient clientB = mock( ForsetiClient.class );
+        ForsetiClient clientC = mock( ForsetiClient.class );
+
+        SharedLock lock = new SharedLock( clientA );
+        lock.stripe();
+        assertTrue( lock.isStriped() );
+        assertTrue( lock.acquire( clientB ) );
+        assertTrue( lock.acquire( clientC ) );
+        assertThat( lock.numberOfHolders() ).isEqualTo( 3 );
+
+        // the first holder acquired its reference before the lock was striped
+        assertFalse( lock.release( clientA ) );
+        assertFalse( lock.release( clientB ) );
+        assertFalse( lock.isClosed() );
+        assertTrue( lock.release( clientC ) );
+
+        assertTrue( lock.isClosed() );
+        assertThat( lock.numberOfHolders() ).isEqualTo( 0 );
+        assertFalse( lock.acquire( clientA ) );
+    }
+
+    @Test
+    void updateLockMustKeepNewReadersOutOfStripedLock()
+    {
+        ForsetiClient clientA = mock( ForsetiClient.class );
+        ForsetiClient clientB = mock( ForsetiClient.class );
+        ForsetiClient clientC = mock( ForsetiClient.class );
+
+        SharedLock lock = new SharedLock( clientA );
+        lock.stripe();
+        assertTrue( lock.acquire( clientB ) );
+
+        assertTrue( lock.tryAcquireUpdateLock() );
+        assertFalse( lock.acquire( clientC ) );
+        assertThat( lock.numberOfHolders() ).isEqualTo( 2 );
+
+        assertFalse( lock.release( clientB ) );
+        assertThat( lock.numberOfHolders() ).isEqualTo( 1 );
+        assertEquals( LockType.EXCLUSIVE, lock.type() );
+
+        lock.releaseUpdateLock();
+        assertTrue( lock.acquire( clientC ) );
+        assertThat( lock.numberOfHolders() ).isEqualTo( 2 );
+    }
+
+    @Test
+    void shouldNotStripeClosedLock()
+    {
+        ForsetiClient client = mock( ForsetiClient.class );
+        SharedLock lock = new SharedLock( client );
+        assertTrue( lock.release( client ) );
+
+        lock.stripe();
+
+        assertFalse( lock.isStriped() );
+        assertTrue( lock.isClosed() );
+    }
+
+    @Test
+    void concurrentReadersMustNotCloseStripedLockWhileItIsHeld() throws Exception
+    {
+        int threads = 8;
+        ForsetiClient owner = mock( ForsetiClient.class );
+        SharedLock lock = new SharedLock( owner );
+        lock.stripe();
+
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
+        try
+        {
+            CountDownLatch start = new CountDownLatch( 1 );
+            List<Future<Boolean>> readers = new ArrayList<>();
+            for ( int i = 0; i < threads; i++ )
+            {
+                ForsetiClient client = mock( ForsetiClient.class );
+                readers.add( executor.submit( () ->
+                {
+                    start.await();
+                    boolean closedByReader = false;
+                    for ( int round = 0; round < 10_000; round++ )
+                    {
+                        assertTrue( lock.acquire( client ) );
+                        closedByReader |= lock.release( client );
+                    }
+                    return closedByReader;
+                } ) );
+            }
+            start.countDown();
+            for ( Future<Boolean> reader : readers )
+            {
+                assertFalse( reader.get() );
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        assertThat( lock.numberOfHolders() ).isEqualTo( 1 );
+        assertTrue( lock.release( owner ) );
+        assertTrue( lock.isClosed() );
+    }
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.pagecache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.neo4j.configuration.Config;
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.pagecache.PageCache;
+import org.neo4j.io.pagecache.PageCursor;
+import org.neo4j.io.pagecache.PagedFile;
+import org.neo4j.io.pagecache.context.CursorContext;
+import org.neo4j.io.pagecache.impl.muninn.StandalonePageCacheFactory;
+import org.neo4j.io.pagecache.tracing.DefaultPageCacheTracer;
+import org.neo4j.io.pagecache.tracing.PageCacheTracer;
+import org.neo4j.io.pagecache.tracing.cursor.PageCursorTracer;
+import org.neo4j.logging.NullLog;
+import org.neo4j.scheduler.JobScheduler;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
+import org.neo4j.test.utils.TestDirectory;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.eclipse.collections.api.factory.Sets.immutable;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_warmer_enabled;
+import static org.neo4j.configuration.GraphDatabaseInternalSettings.pagecache_warmup_blocking;
+import static org.neo4j.configuration.GraphDatabaseSettings.DEFAULT_DATABASE_NAME;
+import static org.neo4j.configuration.GraphDatabaseSettings.pagecache_warmup_prefetch;
+import static org.neo4j.io.pagecache.PageCache.PAGE_SIZE;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_READ_LOCK;
+import static org.neo4j.io.pagecache.PagedFile.PF_SHARED_WRITE_LOCK;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+
+@EphemeralTestDirectoryExtension
+class PageCacheWarmerTest
+{
+    private static final int PAGES = 100;
+
+    @Inject
+    private FileSystemAbstraction fs;
+    @Inject
+    private TestDirectory testDirectory;
+
+    private JobScheduler jobScheduler;
+    private Path databaseDirectory;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws IOException
+    {
+        jobScheduler = new ThreadPoolJobScheduler();
+        databaseDirectory = testDirectory.directory( "neo4j" );
+        file = databaseDirectory.resolve( "store" );
+        try ( PageCache pageCache = StandalonePageCacheFactory.createPageCache( fs, jobScheduler );
+              PagedFile pagedFile = pageCache.map( file, PAGE_SIZE, DEFAULT_DATABASE_NAME, immutable.of( CREATE ) );
+              PageCursor cursor = pagedFile.io( 0, PF_SHARED_WRITE_LOCK, NULL ) )
+        {
+            for ( int pageId = 0; pageId < PAGES; pageId++ )
+            {
+                assertTrue( cursor.next() );
+                cursor.putLong( pageId );
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception
+    {
+        jobScheduler.close();
+    }
+
+    @Test
+    void shouldReloadProfiledPagesAfterRestart() throws IOException
+    {
+        try ( PageCache pageCache = StandalonePageCacheFactory.createPageCache( fs, jobScheduler );
+              PagedFile pagedFile = pageCache.map( file, PAGE_SIZE, DEFAULT_DATABASE_NAME ) )
+        {
+            readPages( pagedFile, 10, 20, NULL );
+            readPages( pagedFile, 50, 60, NULL );
+            warmer( pageCache, PageCacheTracer.NULL, Config.defaults() ).profile();
+        }
+        assertTrue( fs.fileExists( databaseDirectory.resolve( PageCacheWarmer.PROFILES_DIRECTORY ).resolve( "store" + PageCacheWarmer.PROFILE_SUFFIX ) ) );
+
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        try ( PageCache pageCache = StandalonePageCacheFactory.createPageCache( fs, jobScheduler, tracer );
+              PagedFile pagedFile = pageCache.map( file, PAGE_SIZE, DEFAULT_DATABASE_NAME ) )
+        {
+            warmer( pageCache, tracer, Config.defaults() ).warmUp();
+
+            PageCursorTracer cursorTracer = tracer.createPageCursorTracer( "shouldReloadProfiledPagesAfterRestart" );
+            try ( CursorContext cursorContext = new CursorContext( cursorTracer ) )
+            {
+                readPages( pagedFile, 10, 20, cursorContext );
+                readPages( pagedFile, 50, 60, cursorContext );
+                assertThat( cursorTracer.faults() ).isZero();
+
+                readPages( pagedFile, 30, 31, cursorContext );
+                assertThat( cursorTracer.faults() ).isOne();
+            }
+        }
+    }
+
+    @Test
+    void shouldPrefetchWholeFilesWhenConfigured() throws IOException
+    {
+        DefaultPageCacheTracer tracer = new DefaultPageCacheTracer();
+        try ( PageCache pageCache = StandalonePageCacheFactory.createPageCache( fs, jobScheduler, tracer );
+              PagedFile pagedFile = pageCache.map( file, PAGE_SIZE, DEFAULT_DATABASE_NAME ) )
+        {
+            warmer( pageCache, tracer, Config.defaults( pagecache_warmup_prefetch, true ) ).warmUp();
+
+            PageCursorTracer cursorTracer = tracer.createPageCursorTracer( "shouldPrefetchWholeFilesWhenConfigured" );
+            try ( CursorContext cursorContext = new CursorContext( cursorTracer ) )
+            {
+                readPages( pagedFile, 0, PAGES, cursorContext );
+                assertThat( cursorTracer.faults() ).isZero();
+            }
+        }
+    }
+
+    @Test
+    void shouldNotProfileUnlessEnabled() throws IOException
+    {
+        try ( PageCache pageCache = StandalonePageCacheFactory.createPageCache( fs, jobScheduler );
+              PagedFile pagedFile = pageCache.map( file, PAGE_SIZE, DEFAULT_DATABASE_NAME ) )
+        {
+            readPages( pagedFile, 10, 20, NULL );
+            PageCacheWarmer warmer = warmer( pageCache, PageCacheTracer.NULL, Config.defaults() );
+            warmer.start();
+            warmer.stop();
+        }
+        assertFalse( fs.fileExists( databaseDirectory.resolve( PageCacheWarmer.PROFILES_DIRECTORY ) ) );
+
+        try ( PageCache pageCache = StandalonePageCacheFactory.createPageCache( fs, jobScheduler );
+              PagedFile pagedFile = pageCache.map( file, PAGE_SIZE, DEFAULT_DATABASE_NAME ) )
+        {
+            readPages( pagedFile, 10, 20, NULL );
+            Config config = Config.newBuilder().set( pagecache_warmer_enabled, true ).set( pagecache_warmup_blocking, true ).build();
+            PageCacheWarmer warmer = warmer( pageCache, PageCacheTracer.NULL, config );
+            warmer.start();
+            warmer.stop();
+        }
+        assertTrue( fs.fileExists( databaseDirectory.resolve( PageCacheWarmer.PROFILES_DIRECTORY ).resolve( "store" + PageCacheWarmer.PROFILE_SUFFIX ) ) );
+    }
+
+    private PageCacheWarmer warmer( PageCache pageCache, PageCacheTracer tracer, Config config )
+    {
+        return new PageCacheWarmer( fs, pageCache, jobScheduler, databaseDirectory, DEFAULT_DATABASE_NAME, config, tracer, NullLog.getInstance() );
+    }
+
+    private static void readPages( PagedFile pagedFile, long fromPageId, long toPageId, CursorContext cursorContext ) throws IOException
+    {
+        try ( PageCursor cursor = pagedFile.io( fromPageId, PF_SHARED_READ_LOCK, cursorContext ) )
+        {
+            for ( long pageId = fromPageId; pageId < toPageId; pageId++ )
+            {
+                assertTrue( cursor.next() );
+            }
+        }
+    }
+}
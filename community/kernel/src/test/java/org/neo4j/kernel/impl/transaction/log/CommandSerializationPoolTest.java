@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.neo4j.io.fs.ByteArrayChecksumChannel;
+import org.neo4j.io.fs.WritableChannel;
+import org.neo4j.kernel.KernelVersion;
+import org.neo4j.kernel.database.DbmsLogEntryWriterFactory;
+import org.neo4j.kernel.impl.api.TestCommand;
+import org.neo4j.kernel.impl.transaction.TransactionRepresentation;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.storageengine.api.StorageCommand;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.neo4j.internal.kernel.api.security.AuthSubject.ANONYMOUS;
+import static org.neo4j.kernel.KernelVersion.LATEST;
+
+class CommandSerializationPoolTest
+{
+    private final LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+    private final CommandSerializationPool pool = new CommandSerializationPool( new DbmsLogEntryWriterFactory( () -> LATEST ), memoryTracker );
+
+    @Test
+    void shouldAppendSameBytesAsSerializingOnAppend() throws IOException
+    {
+        TransactionRepresentation transaction = transaction( List.of( new TestCommand( 30 ), new TestCommand( 7000 ), new TestCommand( 1 ) ) );
+        byte[] expected = new byte[16_000];
+        byte[] actual = new byte[16_000];
+        int expectedChecksum = writer( expected ).append( transaction, 42, 17 );
+
+        ByteArrayChecksumChannel serializedCommands = pool.serialize( transaction );
+        assertNotNull( serializedCommands );
+        int actualChecksum = writer( actual ).append( transaction, 42, 17, serializedCommands );
+
+        assertEquals( expectedChecksum, actualChecksum );
+        assertArrayEquals( expected, actual );
+    }
+
+    @Test
+    void shouldLeaveTransactionsWithoutVersionToTheAppender() throws IOException
+    {
+        assertNull( pool.serialize( transaction( List.of() ) ) );
+    }
+
+    @Test
+    void shouldReuseReleasedBuffers() throws IOException
+    {
+        TransactionRepresentation transaction = transaction( List.of( new TestCommand() ) );
+        ByteArrayChecksumChannel first = pool.serialize( transaction );
+        int size = first.size();
+        pool.release( first );
+
+        ByteArrayChecksumChannel second = pool.serialize( transaction );
+        assertSame( first, second );
+        assertEquals( size, second.size() );
+    }
+
+    @Test
+    void shouldTrackRetainedBuffersInMemoryTracker() throws IOException
+    {
+        ByteArrayChecksumChannel buffer = pool.serialize( transaction( List.of( new TestCommand() ) ) );
+        assertEquals( 0, memoryTracker.estimatedHeapMemory() );
+
+        pool.release( buffer );
+        assertEquals( buffer.array().length, memoryTracker.estimatedHeapMemory() );
+
+        assertSame( buffer, pool.serialize( transaction( List.of( new TestCommand() ) ) ) );
+        assertEquals( 0, memoryTracker.estimatedHeapMemory() );
+    }
+
+    @Test
+    void shouldLetGoOfRetainedBuffersOnClose() throws IOException
+    {
+        pool.release( pool.serialize( transaction( List.of( new TestCommand() ) ) ) );
+
+        pool.close();
+        assertEquals( 0, memoryTracker.estimatedHeapMemory() );
+
+        pool.release( new ByteArrayChecksumChannel( 16 ) );
+        assertEquals( 0, memoryTracker.estimatedHeapMemory() );
+    }
+
+    @Test
+    void shouldReleaseBufferWhenSerializationFails() throws IOException
+    {
+        ByteArrayChecksumChannel buffer = pool.serialize( transaction( List.of( new TestCommand() ) ) );
+        pool.release( buffer );
+
+        assertThrows( IOException.class, () -> pool.serialize( transaction( List.of( new FailingCommand() ) ) ) );
+
+        assertEquals( buffer.array().length, memoryTracker.estimatedHeapMemory() );
+        assertSame( buffer, pool.serialize( transaction( List.of( new TestCommand() ) ) ) );
+    }
+
+    @Test
+    void shouldReleaseEachBufferOfArrayOnce() throws IOException
+    {
+        ByteArrayChecksumChannel buffer = pool.serialize( transaction( List.of( new TestCommand() ) ) );
+        ByteArrayChecksumChannel[] serializedCommands = {buffer, null};
+
+        pool.release( serializedCommands );
+        pool.release( serializedCommands );
+
+        assertNull( serializedCommands[0] );
+        assertEquals( buffer.array().length, memoryTracker.estimatedHeapMemory() );
+    }
+
+    private static TransactionLogWriter writer( byte[] bytes )
+    {
+        return new TransactionLogWriter( new InMemoryClosableChannel( bytes, false, false ), new DbmsLogEntryWriterFactory( () -> LATEST ) );
+    }
+
+    private static TransactionRepresentation transaction( List<StorageCommand> commands )
+    {
+        PhysicalTransactionRepresentation tx = new PhysicalTransactionRepresentation( commands );
+        tx.setHeader( new byte[]{1, 2, 3}, 10, 9, 11, -1, ANONYMOUS );
+        return tx;
+    }
+
+    private static class FailingCommand implements StorageCommand
+    {
+        @Override
+        public void serialize( WritableChannel channel ) throws IOException
+        {
+            throw new IOException( "Failing on purpose" );
+        }
+
+        @Override
+        public KernelVersion version()
+        {
+            return LATEST;
+        }
+    }
+}
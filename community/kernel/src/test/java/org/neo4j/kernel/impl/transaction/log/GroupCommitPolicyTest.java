@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class GroupCommitPolicyTest
+{
+    private static final long START = MILLISECONDS.toNanos( 1000 );
+
+    @Test
+    void shouldNeverGatherWhenDisabled()
+    {
+        GroupCommitPolicy policy = new GroupCommitPolicy( Duration.ZERO );
+        arriveEvery( policy, MICROSECONDS.toNanos( 1 ), 100 );
+
+        assertFalse( policy.isEnabled() );
+        assertEquals( 0, policy.gatherNanos( START, START ) );
+    }
+
+    @Test
+    void shouldGatherWhenTransactionsArriveFasterThanTheTargetLatency()
+    {
+        GroupCommitPolicy policy = new GroupCommitPolicy( Duration.ofMillis( 1 ) );
+        policy.forced( MICROSECONDS.toNanos( 200 ) );
+        long lastArrival = arriveEvery( policy, MICROSECONDS.toNanos( 10 ), 100 );
+
+        long gatherNanos = policy.gatherNanos( lastArrival, lastArrival );
+
+        assertThat( gatherNanos ).isEqualTo( MICROSECONDS.toNanos( 800 ) );
+    }
+
+    @Test
+    void shouldNotGatherBeyondTheTargetLatency()
+    {
+        GroupCommitPolicy policy = new GroupCommitPolicy( Duration.ofMillis( 1 ) );
+        policy.forced( MICROSECONDS.toNanos( 200 ) );
+        long lastArrival = arriveEvery( policy, MICROSECONDS.toNanos( 10 ), 100 );
+        long oldestSubmit = lastArrival - MICROSECONDS.toNanos( 800 );
+
+        assertEquals( 0, policy.gatherNanos( oldestSubmit, lastArrival ) );
+    }
+
+    @Test
+    void shouldNotGatherWhenTransactionsArriveSlowerThanTheTargetLatency()
+    {
+        GroupCommitPolicy policy = new GroupCommitPolicy( Duration.ofMillis( 1 ) );
+        policy.forced( MICROSECONDS.toNanos( 200 ) );
+        long lastArrival = arriveEvery( policy, MILLISECONDS.toNanos( 5 ), 100 );
+
+        assertEquals( 0, policy.gatherNanos( lastArrival, lastArrival ) );
+    }
+
+    @Test
+    void shouldStopGatheringWhenExpectedTransactionIsOverdue()
+    {
+        GroupCommitPolicy policy = new GroupCommitPolicy( Duration.ofMillis( 1 ) );
+        policy.forced( MICROSECONDS.toNanos( 200 ) );
+        long lastArrival = arriveEvery( policy, MICROSECONDS.toNanos( 10 ), 100 );
+
+        assertThat( policy.gatherNanos( lastArrival, lastArrival + MICROSECONDS.toNanos( 15 ) ) ).isPositive();
+        assertEquals( 0, policy.gatherNanos( lastArrival, lastArrival + MICROSECONDS.toNanos( 50 ) ) );
+    }
+
+    @Test
+    void shouldRecoverQuicklyFromIdlePeriods()
+    {
+        GroupCommitPolicy policy = new GroupCommitPolicy( Duration.ofMillis( 1 ) );
+        policy.forced( MICROSECONDS.toNanos( 200 ) );
+        long lastArrival = arriveEvery( policy, MICROSECONDS.toNanos( 10 ), 100 );
+        policy.arrived( lastArrival + MILLISECONDS.toNanos( 10_000 ) );
+
+        lastArrival = arriveEvery( policy, lastArrival + MILLISECONDS.toNanos( 10_000 ), MICROSECONDS.toNanos( 10 ), 30 );
+
+        assertThat( policy.gatherNanos( lastArrival, lastArrival ) ).isPositive();
+    }
+
+    private static long arriveEvery( GroupCommitPolicy policy, long intervalNanos, int arrivals )
+    {
+        return arriveEvery( policy, START, intervalNanos, arrivals );
+    }
+
+    private static long arriveEvery( GroupCommitPolicy policy, long start, long intervalNanos, int arrivals )
+    {
+        long time = start;
+        for ( int i = 0; i < arrivals; i++ )
+        {
+            time += intervalNanos;
+            policy.arrived( time );
+        }
+        return time;
+    }
+}
@@ -349,7 +349,7 @@ class PhysicalLogicalTransactionStoreTest
             LogFiles logFiles, Config config, JobScheduler jobScheduler )
     {
         return TransactionAppenderFactory.createTransactionAppender( logFiles, transactionIdStore, positionCache, config, DATABASE_HEALTH,
-                jobScheduler, NullLogProvider.getInstance() );
+                jobScheduler, NullLogProvider.getInstance(), INSTANCE );
     }
 
     private static class FakeRecoveryVisitor implements RecoveryApplier
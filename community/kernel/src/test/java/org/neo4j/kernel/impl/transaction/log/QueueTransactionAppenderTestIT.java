@@ -66,6 +66,7 @@ import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.neo4j.kernel.impl.transaction.log.TestLogEntryReader.logEntryReader;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
 
 @Neo4jLayoutExtension
 @ExtendWith( LifeExtension.class )
@@ -236,7 +237,7 @@ class QueueTransactionAppenderTestIT
     private QueueTransactionAppender createAppender( LogFiles logFiles )
     {
         TransactionLogQueue logQueue =
-                new TransactionLogQueue( logFiles, transactionIdStore, databaseHealth, metadataCache, config, jobScheduler, logProvider );
+                new TransactionLogQueue( logFiles, transactionIdStore, databaseHealth, metadataCache, config, jobScheduler, logProvider, INSTANCE );
         return new QueueTransactionAppender( logQueue );
     }
 
@@ -297,6 +298,11 @@ class QueueTransactionAppenderTestIT
             return new RecordingTransactionAppendEvent( events );
         }
 
+        @Override
+        public void batchGathered( int batchSize, long waitNanos )
+        {
+        }
+
         @Override
         public LogForceWaitEvent beginLogForceWait()
         {
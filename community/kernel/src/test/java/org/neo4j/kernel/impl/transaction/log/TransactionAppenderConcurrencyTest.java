@@ -275,7 +275,7 @@ public class TransactionAppenderConcurrencyTest
     {
         return TransactionAppenderFactory.createTransactionAppender( logFiles, transactionIdStore, transactionMetadataCache,
                 Config.defaults( dedicated_transaction_appender, false ),
-                databaseHealth, scheduler, NullLogProvider.getInstance() );
+                databaseHealth, scheduler, NullLogProvider.getInstance(), INSTANCE );
     }
 
     private static class OutOfMemoryAwareFileSystem extends EphemeralFileSystemAbstraction
@@ -130,7 +130,7 @@ class TransactionAppenderRotationIT
             TransactionMetadataCache transactionMetadataCache, TransactionIdStore transactionIdStore, JobScheduler scheduler )
     {
         return TransactionAppenderFactory.createTransactionAppender( logFiles, transactionIdStore, transactionMetadataCache, Config.defaults(),
-                databaseHealth, scheduler, NullLogProvider.getInstance() );
+                databaseHealth, scheduler, NullLogProvider.getInstance(), INSTANCE );
     }
 
     private static TransactionToApply prepareTransaction()
@@ -222,5 +222,10 @@ class TransactionAppenderRotationIT
                 }
             };
         }
+
+        @Override
+        public void batchGathered( int batchSize, long waitNanos )
+        {
+        }
     }
 }
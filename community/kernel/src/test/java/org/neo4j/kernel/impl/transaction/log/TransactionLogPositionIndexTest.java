@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.kernel.impl.transaction.log.entry.LogEntryReader;
+import org.neo4j.kernel.impl.transaction.log.files.LogFile;
+import org.neo4j.kernel.impl.transaction.log.files.LogFiles;
+import org.neo4j.memory.LocalMemoryTracker;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.neo4j.kernel.impl.transaction.log.TransactionLogPositionIndex.INDEX_FILE_NAME;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+@EphemeralTestDirectoryExtension
+class TransactionLogPositionIndexTest
+{
+    private static final int INTERVAL = 10;
+
+    @Inject
+    private FileSystemAbstraction fs;
+    @Inject
+    private TestDirectory testDirectory;
+
+    private final AtomicLong lastCommittedTransactionId = new AtomicLong();
+    private Path directory;
+    private LogFiles logFiles;
+    private LogFile logFile;
+
+    @BeforeEach
+    void setUp()
+    {
+        directory = testDirectory.directory( "logs" );
+        logFiles = mock( LogFiles.class );
+        logFile = mock( LogFile.class );
+        when( logFiles.logFilesDirectory() ).thenReturn( directory );
+        when( logFiles.getLogFile() ).thenReturn( logFile );
+        when( logFile.getLowestLogVersion() ).thenReturn( 0L );
+        when( logFile.versionExists( anyLong() ) ).thenReturn( true );
+    }
+
+    @Test
+    void shouldFindClosestRecordedTransactionAtOrBefore() throws IOException
+    {
+        TransactionLogPositionIndex index = startedIndex();
+        appendTransactions( index, 1, 35 );
+
+        assertNull( index.positionAtOrBefore( 9 ) );
+        assertEquals( positionOf( 10 ), index.positionAtOrBefore( 10 ) );
+        assertEquals( positionOf( 20 ), index.positionAtOrBefore( 29 ) );
+        assertEquals( positionOf( 30 ), index.positionAtOrBefore( 1000 ) );
+        index.stop();
+    }
+
+    @Test
+    void shouldKeepRecordsOverRestart() throws IOException
+    {
+        TransactionLogPositionIndex index = startedIndex();
+        appendTransactions( index, 1, 35 );
+        index.stop();
+
+        TransactionLogPositionIndex restarted = startedIndex();
+        assertEquals( positionOf( 30 ), restarted.positionAtOrBefore( 35 ) );
+        assertEquals( 3L * 3 * Long.BYTES, fs.getFileSize( directory.resolve( INDEX_FILE_NAME ) ) );
+        restarted.stop();
+    }
+
+    @Test
+    void shouldDropRecordsOfTransactionsLostInCrash() throws IOException
+    {
+        TransactionLogPositionIndex index = startedIndex();
+        appendTransactions( index, 1, 35 );
+        index.stop();
+
+        // recovery only got as far as transaction 25
+        lastCommittedTransactionId.set( 25 );
+        TransactionLogPositionIndex restarted = startedIndex();
+        assertEquals( positionOf( 20 ), restarted.positionAtOrBefore( 35 ) );
+        assertEquals( 2L * 3 * Long.BYTES, fs.getFileSize( directory.resolve( INDEX_FILE_NAME ) ) );
+
+        // and the transactions appended after recovery are recorded again
+        appendTransactions( restarted, 26, 30 );
+        assertEquals( positionOf( 30 ), restarted.positionAtOrBefore( 35 ) );
+        restarted.stop();
+    }
+
+    @Test
+    void shouldDropRecordsOfPrunedLogFiles() throws IOException
+    {
+        TransactionLogPositionIndex index = startedIndex();
+        appendTransactions( index, 1, 35 );
+        index.stop();
+
+        when( logFile.getLowestLogVersion() ).thenReturn( 3L );
+        TransactionLogPositionIndex restarted = startedIndex();
+        assertNull( restarted.positionAtOrBefore( 25 ) );
+        assertEquals( positionOf( 30 ), restarted.positionAtOrBefore( 35 ) );
+        restarted.stop();
+    }
+
+    @Test
+    void shouldDropRecordsOfLogFilesPrunedWhileRunning() throws IOException
+    {
+        LocalMemoryTracker memoryTracker = new LocalMemoryTracker();
+        TransactionLogPositionIndex index = new TransactionLogPositionIndex( fs, logFiles, mock( LogEntryReader.class ),
+                lastCommittedTransactionId::get, INTERVAL, memoryTracker );
+        index.start();
+        appendTransactions( index, 1, 35 );
+        assertEquals( 3L * 3 * Long.BYTES, memoryTracker.estimatedHeapMemory() );
+
+        when( logFile.getLowestLogVersion() ).thenReturn( 3L );
+        index.logFilesPruned();
+
+        assertNull( index.positionAtOrBefore( 25 ) );
+        assertEquals( positionOf( 30 ), index.positionAtOrBefore( 35 ) );
+        assertEquals( 3L * Long.BYTES, fs.getFileSize( directory.resolve( INDEX_FILE_NAME ) ) );
+        assertEquals( 3L * Long.BYTES, memoryTracker.estimatedHeapMemory() );
+
+        // and records keep being appended after the remaining ones
+        appendTransactions( index, 36, 45 );
+        assertEquals( positionOf( 40 ), index.positionAtOrBefore( 45 ) );
+        assertEquals( 2L * 3 * Long.BYTES, fs.getFileSize( directory.resolve( INDEX_FILE_NAME ) ) );
+        index.stop();
+        assertEquals( 0, memoryTracker.estimatedHeapMemory() );
+    }
+
+    @Test
+    void shouldNotRecordAnythingWhenDisabled() throws IOException
+    {
+        TransactionLogPositionIndex index = new TransactionLogPositionIndex( fs, logFiles, mock( LogEntryReader.class ),
+                lastCommittedTransactionId::get, 0, INSTANCE );
+        index.start();
+        appendTransactions( index, 1, 35 );
+
+        assertNull( index.positionAtOrBefore( 35 ) );
+        assertFalse( fs.fileExists( directory.resolve( INDEX_FILE_NAME ) ) );
+        index.stop();
+    }
+
+    private TransactionLogPositionIndex startedIndex() throws IOException
+    {
+        TransactionLogPositionIndex index = new TransactionLogPositionIndex( fs, logFiles, mock( LogEntryReader.class ),
+                lastCommittedTransactionId::get, INTERVAL, INSTANCE );
+        index.start();
+        return index;
+    }
+
+    private void appendTransactions( TransactionLogPositionIndex index, long from, long to )
+    {
+        for ( long txId = from; txId <= to; txId++ )
+        {
+            index.transactionAppended( txId, positionOf( txId ) );
+            lastCommittedTransactionId.set( txId );
+        }
+    }
+
+    /**
+     * Ten transactions per log file, 100 bytes each.
+     */
+    private static LogPosition positionOf( long txId )
+    {
+        return new LogPosition( txId / 10, 64 + (txId % 10) * 100 );
+    }
+}
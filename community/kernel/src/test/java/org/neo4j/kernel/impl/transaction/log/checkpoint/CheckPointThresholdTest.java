@@ -225,4 +225,21 @@ class CheckPointThresholdTest extends CheckPointThresholdTestSupport
         withIntervalTime( "100ms" );
         assertThat( createThreshold().checkFrequencyMillis() ).isEqualTo( 100L );
     }
+
+    @Test
+    void continuousThresholdMustTriggerWheneverThereAreNewTransactions()
+    {
+        withPolicy( "continuous" );
+        CheckPointThreshold threshold = createThreshold();
+        threshold.initialize( 2, UNSPECIFIED );
+
+        assertFalse( threshold.isCheckPointingNeeded( 2, ARBITRARY_LOG_POSITION, notTriggered ) );
+        assertTrue( threshold.isCheckPointingNeeded( 3, ARBITRARY_LOG_POSITION, triggered ) );
+        verifyTriggered( "continuous" );
+
+        threshold.checkPointHappened( 3, UNSPECIFIED );
+        assertFalse( threshold.isCheckPointingNeeded( 3, ARBITRARY_LOG_POSITION, notTriggered ) );
+        verifyNoMoreTriggers();
+        assertThat( threshold.checkFrequencyMillis() ).isLessThan( DEFAULT_CHECKING_FREQUENCY_MILLIS );
+    }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.checkpoint;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+import org.neo4j.io.pagecache.IOController;
+import org.neo4j.time.Clocks;
+import org.neo4j.time.FakeClock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.neo4j.io.pagecache.context.CursorContext.NULL;
+
+class PacingIOControllerTest
+{
+    private static final long TARGET_NANOS = SECONDS.toNanos( 10 );
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final FakeClock clock = Clocks.fakeClock();
+    private final IOController delegate = mock( IOController.class );
+    private final PacingIOController controller = new PacingIOController( delegate, clock, TARGET_NANOS );
+
+    @AfterEach
+    void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void mustNotPaceFirstCheckPoint() throws Exception
+    {
+        controller.pace( cursorContext -> controller.maybeLimitIO( 100, null, null ) ).flushAndForce( NULL );
+
+        verify( delegate ).maybeLimitIO( eq( 100 ), any(), any() );
+    }
+
+    @Test
+    void mustNotPaceIOOutsideOfCheckPoint() throws Exception
+    {
+        completeCheckPointWithIOs( 100 );
+
+        controller.maybeLimitIO( 100, null, null );
+    }
+
+    @Test
+    void mustPaceCheckPointByIOOfPreviousCheckPoint() throws Exception
+    {
+        completeCheckPointWithIOs( 100 );
+        controller.beginCheckPoint();
+
+        // half of the expected IO is due half way through the target duration
+        Future<?> flush = executor.submit( () -> controller.maybeLimitIO( 50, null, null ) );
+        assertThrows( TimeoutException.class, () -> flush.get( 100, MILLISECONDS ) );
+
+        clock.forward( TARGET_NANOS / 2 - 1, NANOSECONDS );
+        assertThrows( TimeoutException.class, () -> flush.get( 100, MILLISECONDS ) );
+
+        clock.forward( 1, NANOSECONDS );
+        flush.get( 10, SECONDS );
+        controller.endCheckPoint();
+    }
+
+    @Test
+    void mustStopPacingWhenDisabled() throws Exception
+    {
+        completeCheckPointWithIOs( 100 );
+        controller.beginCheckPoint();
+
+        Future<?> flush = executor.submit( () -> controller.maybeLimitIO( 100, null, null ) );
+        assertThrows( TimeoutException.class, () -> flush.get( 100, MILLISECONDS ) );
+
+        controller.disable();
+        flush.get( 10, SECONDS );
+        assertFalse( controller.isEnabled() );
+        verify( delegate ).disable();
+
+        controller.enable();
+        assertTrue( controller.isEnabled() );
+        controller.endCheckPoint();
+    }
+
+    private void completeCheckPointWithIOs( int ios ) throws Exception
+    {
+        controller.pace( cursorContext -> controller.maybeLimitIO( ios, null, null ) ).flushAndForce( NULL );
+    }
+}
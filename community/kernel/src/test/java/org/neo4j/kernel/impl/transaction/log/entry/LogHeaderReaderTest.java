@@ -56,6 +56,7 @@ import static org.neo4j.kernel.impl.transaction.log.entry.LogHeaderWriter.LOG_VE
 import static org.neo4j.kernel.impl.transaction.log.entry.LogHeaderWriter.encodeLogVersion;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.CURRENT_FORMAT_LOG_HEADER_SIZE;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.CURRENT_LOG_FORMAT_VERSION;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.LOG_VERSION_4_4;
 import static org.neo4j.kernel.impl.transaction.log.entry.LogVersions.LOG_HEADER_SIZE_3_5;
 import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
 
@@ -200,6 +201,24 @@ class LogHeaderReaderTest
         assertEquals( new LogHeader( CURRENT_LOG_FORMAT_VERSION, expectedLogVersion, expectedTxId, expectedStoreId, CURRENT_FORMAT_LOG_HEADER_SIZE ), result );
     }
 
+    @Test
+    void shouldReadALogHeaderOfFileWithCompressedTransactions() throws IOException
+    {
+        // given
+        final Path file = testDirectory.file( "ReadLogHeader" );
+        LogHeader expected = new LogHeader( LOG_VERSION_4_4, expectedLogVersion, expectedTxId, expectedStoreId, CURRENT_FORMAT_LOG_HEADER_SIZE );
+        try ( StoreChannel channel = fileSystem.write( file ) )
+        {
+            LogHeaderWriter.writeLogHeader( channel, expected, INSTANCE );
+        }
+
+        // when
+        final LogHeader result = readLogHeader( fileSystem, file, INSTANCE );
+
+        // then
+        assertEquals( expected, result );
+    }
+
     @Test
     void shouldFailWhenUnableToReadALogHeaderFromAFile() throws IOException
     {
@@ -23,7 +23,10 @@ import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
+import org.neo4j.io.fs.ByteArrayChecksumChannel;
 import org.neo4j.kernel.KernelVersion;
 import org.neo4j.kernel.impl.api.TestCommand;
 import org.neo4j.kernel.impl.api.TestCommandReaderFactory;
@@ -31,6 +34,7 @@ import org.neo4j.kernel.impl.transaction.log.InMemoryClosableChannel;
 import org.neo4j.kernel.impl.transaction.log.LogPosition;
 import org.neo4j.storageengine.api.CommandReader;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -144,6 +148,85 @@ class VersionAwareLogEntryReaderTest
         assertNull( logEntry );
     }
 
+    @Test
+    void shouldReadEntriesOfCompressedTransaction() throws IOException
+    {
+        // given
+        final InMemoryClosableChannel channel = new InMemoryClosableChannel( true );
+        final LogEntryStart start = new LogEntryStart( 1, 2, BASE_TX_CHECKSUM, new byte[]{4}, new LogPosition( 0, 0 ) );
+        final LogEntryCommand command = new LogEntryCommand( LATEST, new TestCommand( new byte[4096] ) );
+
+        CompressedTransactionEnvelope envelope = new CompressedTransactionEnvelope();
+        int checksum = writeTransaction( envelope.beginTransaction(), start, command, 42, 21 );
+        assertTrue( envelope.writeTo( channel ) );
+        final LogEntryStart uncompressedStart = new LogEntryStart( 35, 30, checksum, new byte[]{5}, new LogPosition( 0, 0 ) );
+        final LogEntryCommit uncompressedCommit = new LogEntryCommit( 43, 35, 0 );
+        writeStartEntry( channel, uncompressedStart );
+        writeCommitEntry( channel, uncompressedCommit );
+
+        // when/then
+        assertEquals( start, logEntryReader.readLogEntry( channel ) );
+        assertEquals( command, logEntryReader.readLogEntry( channel ) );
+        LogEntryCommit commit = (LogEntryCommit) logEntryReader.readLogEntry( channel );
+        assertEquals( 42, commit.getTxId() );
+        assertEquals( 21, commit.getTimeWritten() );
+        assertEquals( checksum, commit.getChecksum() );
+
+        LogEntryStart readUncompressedStart = (LogEntryStart) logEntryReader.readLogEntry( channel );
+        assertEquals( 35, readUncompressedStart.getTimeWritten() );
+        assertEquals( checksum, readUncompressedStart.getPreviousChecksum() );
+        assertEquals( 43, ((LogEntryCommit) logEntryReader.readLogEntry( channel )).getTxId() );
+        assertNull( logEntryReader.readLogEntry( channel ) );
+    }
+
+    @Test
+    void shouldReturnNullWhenCompressedTransactionIsIncomplete() throws IOException
+    {
+        // given
+        byte[] bytes = compressedTransactionBytes();
+        final InMemoryClosableChannel channel = new InMemoryClosableChannel( true );
+        channel.put( bytes, bytes.length - 1 );
+
+        // when
+        final LogEntry logEntry = logEntryReader.readLogEntry( channel );
+
+        // then
+        assertNull( logEntry );
+    }
+
+    @Test
+    void shouldFailOnCorruptCompressedTransaction() throws IOException
+    {
+        // given
+        byte[] bytes = compressedTransactionBytes();
+        bytes[bytes.length / 2] ^= 1;
+        final InMemoryClosableChannel channel = new InMemoryClosableChannel( true );
+        channel.put( bytes, bytes.length );
+
+        // when
+        IOException e = assertThrows( IOException.class, () -> logEntryReader.readLogEntry( channel ) );
+
+        // then
+        assertThat( e.getMessage() ).contains( "At position" );
+    }
+
+    @Test
+    void shouldFailOnCompressedTransactionWithImpossibleLengthWithoutAllocatingIt() throws IOException
+    {
+        // given
+        byte[] bytes = compressedTransactionBytes();
+        // the compressed length follows the version, the type code and the uncompressed length
+        ByteBuffer.wrap( bytes ).putInt( 2 * Byte.BYTES + Integer.BYTES, Integer.MAX_VALUE );
+        final InMemoryClosableChannel channel = new InMemoryClosableChannel( true );
+        channel.put( bytes, bytes.length );
+
+        // when
+        IOException e = assertThrows( IOException.class, () -> logEntryReader.readLogEntry( channel ) );
+
+        // then
+        assertThat( e ).hasStackTraceContaining( "Invalid compressed transaction envelope" );
+    }
+
     @Disabled // TODO it's not clear what the benefit verifying the chain will give us, so it's disable for now
     @Test
     void shouldValidateChecksumChain() throws IOException
@@ -185,6 +268,26 @@ class VersionAwareLogEntryReaderTest
         assertTrue( e.getMessage().contains( "The checksum chain is broken" ) );
     }
 
+    private static byte[] compressedTransactionBytes() throws IOException
+    {
+        CompressedTransactionEnvelope envelope = new CompressedTransactionEnvelope();
+        final LogEntryStart start = new LogEntryStart( 1, 2, BASE_TX_CHECKSUM, new byte[]{4}, new LogPosition( 0, 0 ) );
+        writeTransaction( envelope.beginTransaction(), start, new LogEntryCommand( LATEST, new TestCommand( new byte[4096] ) ), 42, 21 );
+        ByteArrayChecksumChannel channel = new ByteArrayChecksumChannel( 128 );
+        assertTrue( envelope.writeTo( channel ) );
+        return Arrays.copyOf( channel.array(), channel.size() );
+    }
+
+    private static int writeTransaction( ByteArrayChecksumChannel channel, LogEntryStart start, LogEntryCommand command, long txId, long timeWritten )
+            throws IOException
+    {
+        LogEntryWriter<ByteArrayChecksumChannel> writer = new LogEntryWriter<>( channel, LATEST );
+        writer.writeStartEntry( start.getTimeWritten(), start.getLastCommittedTxWhenTransactionStarted(), start.getPreviousChecksum(),
+                start.getAdditionalHeader() );
+        writer.serialize( command.getCommand() );
+        return writer.writeCommitEntry( txId, timeWritten );
+    }
+
     private static void writeStartEntry( InMemoryClosableChannel channel, LogEntryStart start )
     {
         channel.beginChecksum();
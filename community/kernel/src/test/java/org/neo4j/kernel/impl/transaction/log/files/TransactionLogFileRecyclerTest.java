@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.files;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.neo4j.io.fs.FileSystemAbstraction;
+import org.neo4j.io.fs.StoreChannel;
+import org.neo4j.test.extension.Inject;
+import org.neo4j.test.extension.testdirectory.EphemeralTestDirectoryExtension;
+import org.neo4j.test.utils.TestDirectory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
+
+@EphemeralTestDirectoryExtension
+class TransactionLogFileRecyclerTest
+{
+    private static final String BASE_NAME = "neostore.transaction.db";
+    private static final long ROTATION_THRESHOLD = 1024 * 1024 + 17;
+
+    @Inject
+    private FileSystemAbstraction fs;
+    @Inject
+    private TestDirectory testDirectory;
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp()
+    {
+        directory = testDirectory.directory( "logs" );
+    }
+
+    @Test
+    void shouldNotRecycleWhenDisabled() throws IOException
+    {
+        TransactionLogFileRecycler recycler = recycler( 0 );
+        recycler.start();
+        Path logFile = createLogFile( 1, 100 );
+
+        assertFalse( recycler.isEnabled() );
+        assertFalse( recycler.recycle( logFile ) );
+        assertFalse( recycler.take( directory.resolve( BASE_NAME + ".2" ) ) );
+        assertTrue( fs.fileExists( logFile ) );
+    }
+
+    @Test
+    void shouldZeroFillRecycledFileAndHandItOutOnTake() throws IOException
+    {
+        TransactionLogFileRecycler recycler = recycler( 1 );
+        recycler.start();
+        Path logFile = createLogFile( 1, 100 );
+
+        assertTrue( recycler.recycle( logFile ) );
+        assertFalse( fs.fileExists( logFile ) );
+        assertEquals( 0, recycler.available() );
+
+        recycler.replenish();
+        assertEquals( 1, recycler.available() );
+
+        Path target = directory.resolve( BASE_NAME + ".7" );
+        assertTrue( recycler.take( target ) );
+        assertEquals( 0, recycler.available() );
+        assertEquals( ROTATION_THRESHOLD, fs.getFileSize( target ) );
+        assertAllZeroes( target );
+    }
+
+    @Test
+    void shouldLeaveFilesToCallerWhenFull() throws IOException
+    {
+        TransactionLogFileRecycler recycler = recycler( 1 );
+        recycler.start();
+
+        assertTrue( recycler.recycle( createLogFile( 1, 10 ) ) );
+        Path second = createLogFile( 2, 10 );
+        assertFalse( recycler.recycle( second ) );
+        assertTrue( fs.fileExists( second ) );
+    }
+
+    @Test
+    void shouldReplenishAndPickUpRecycledFilesOnRestart() throws IOException
+    {
+        TransactionLogFileRecycler recycler = recycler( 3 );
+        recycler.start();
+        recycler.replenish();
+        assertEquals( 3, recycler.available() );
+        assertThat( fs.listFiles( directory ) ).allSatisfy(
+                file -> assertThat( file.getFileName().toString() ).startsWith( TransactionLogFileRecycler.RECYCLED_PREFIX + BASE_NAME ) );
+
+        TransactionLogFileRecycler restarted = recycler( 3 );
+        restarted.start();
+        assertEquals( 3, restarted.available() );
+        assertTrue( restarted.take( directory.resolve( BASE_NAME + ".0" ) ) );
+        assertTrue( restarted.recycle( createLogFile( 1, 10 ) ) );
+        assertEquals( 2, restarted.available() );
+        restarted.replenish();
+        assertEquals( 3, restarted.available() );
+        assertThat( fs.listFiles( directory ) ).hasSize( 4 );
+    }
+
+    @Test
+    void shouldZeroFillFilesLeftHalfZeroedOnReplenish() throws IOException
+    {
+        Path halfZeroed = directory.resolve( TransactionLogFileRecycler.RECYCLING_PREFIX + BASE_NAME + ".5" );
+        fs.write( halfZeroed ).close();
+
+        TransactionLogFileRecycler recycler = recycler( 1 );
+        recycler.start();
+        assertTrue( fs.fileExists( halfZeroed ) );
+        assertEquals( 0, recycler.available() );
+
+        recycler.replenish();
+        assertFalse( fs.fileExists( halfZeroed ) );
+        assertEquals( 1, recycler.available() );
+        Path recycled = directory.resolve( TransactionLogFileRecycler.RECYCLED_PREFIX + BASE_NAME + ".5" );
+        assertEquals( ROTATION_THRESHOLD, fs.getFileSize( recycled ) );
+        assertAllZeroes( recycled );
+    }
+
+    @Test
+    void shouldDeleteFilesLeftByPreviousRunOnReplenishWhenDisabled() throws IOException
+    {
+        TransactionLogFileRecycler previous = recycler( 2 );
+        previous.start();
+        previous.replenish();
+        Path logFile = directory.resolve( BASE_NAME + ".0" );
+        assertTrue( previous.take( logFile ) );
+        assertTrue( previous.recycle( createLogFile( 1, 10 ) ) );
+
+        TransactionLogFileRecycler recycler = recycler( 0 );
+        recycler.start();
+        assertThat( fs.listFiles( directory ) ).hasSize( 3 );
+        assertEquals( 0, recycler.available() );
+
+        recycler.replenish();
+        assertThat( fs.listFiles( directory ) ).containsExactly( logFile );
+    }
+
+    private TransactionLogFileRecycler recycler( int capacity )
+    {
+        return new TransactionLogFileRecycler( fs, directory, BASE_NAME, capacity, new AtomicLong( ROTATION_THRESHOLD ), INSTANCE );
+    }
+
+    private Path createLogFile( long version, int size ) throws IOException
+    {
+        Path file = directory.resolve( BASE_NAME + "." + version );
+        try ( StoreChannel channel = fs.write( file ) )
+        {
+            ByteBuffer buffer = ByteBuffer.allocate( size );
+            while ( buffer.hasRemaining() )
+            {
+                buffer.put( (byte) 0xFF );
+            }
+            buffer.flip();
+            channel.writeAll( buffer );
+        }
+        return file;
+    }
+
+    private void assertAllZeroes( Path file ) throws IOException
+    {
+        try ( StoreChannel channel = fs.read( file ) )
+        {
+            ByteBuffer buffer = ByteBuffer.allocate( 4096 );
+            while ( channel.read( buffer ) > 0 )
+            {
+                buffer.flip();
+                while ( buffer.hasRemaining() )
+                {
+                    assertEquals( 0, buffer.get() );
+                }
+                buffer.clear();
+            }
+        }
+    }
+}
@@ -862,6 +862,36 @@ class TransactionLogFileTest
             return NativeCallResult.SUCCESS;
         }
 
+        @Override
+        public long readVectored( int fd, long[] bufferAddresses, int[] bufferLengths, int length, long offset )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long writeVectored( int fd, long[] bufferAddresses, int[] bufferLengths, int length, long offset )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long mapMemory( long bytes, boolean hugeTlb )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void unmapMemory( long address, long bytes )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public NativeCallResult tryAdviseHugePages( long address, long bytes )
+        {
+            throw new UnsupportedOperationException();
+        }
+
         @Override
         public ErrorTranslator errorTranslator()
         {
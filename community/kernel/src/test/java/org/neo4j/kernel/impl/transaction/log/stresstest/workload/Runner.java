@@ -53,6 +53,7 @@ import org.neo4j.test.scheduler.ThreadPoolJobScheduler;
 import org.neo4j.util.concurrent.Futures;
 
 import static org.neo4j.kernel.impl.transaction.log.TransactionAppenderFactory.createTransactionAppender;
+import static org.neo4j.memory.EmptyMemoryTracker.INSTANCE;
 
 public class Runner implements Callable<Long>
 {
@@ -114,7 +115,7 @@ public class Runner implements Callable<Long>
         Log log = NullLog.getInstance();
         DatabaseHealth databaseHealth = new DatabaseHealth( PanicEventGenerator.NO_OP, log );
         return createTransactionAppender( logFiles, transactionIdStore, transactionMetadataCache, config, databaseHealth,
-                jobScheduler, NullLogProvider.getInstance() );
+                jobScheduler, NullLogProvider.getInstance(), INSTANCE );
     }
 
     private LogFiles createLogFiles( TransactionIdStore transactionIdStore,
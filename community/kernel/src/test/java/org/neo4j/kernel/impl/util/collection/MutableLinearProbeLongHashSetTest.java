@@ -347,6 +347,39 @@ class MutableLinearProbeLongHashSetTest
         assertEquals( newSetWith( 2, 3, 200, 300 ), values2 );
     }
 
+    @Test
+    void releasingFrozenIteratorMustIterateOverSnapshot()
+    {
+        set.addAll( 1, 2, 3, 100, 200, 300 );
+
+        final LongIterator iter1 = set.frozenIterator();
+        set.removeAll( 1, 100 );
+        final LongIterator iter2 = set.frozenIterator();
+        set.removeAll( 2, 200 );
+
+        assertEquals( newSetWith( 1, 2, 3, 100, 200, 300 ), drain( iter1 ) );
+        assertEquals( newSetWith( 2, 3, 200, 300 ), drain( iter2 ) );
+        assertEquals( newSetWith( 3, 300 ), set );
+    }
+
+    @Test
+    void releasingFrozenIteratorMustLetGoOfCopyOnceExhausted()
+    {
+        for ( int i = 0; i < 1_000; i++ )
+        {
+            set.add( 1_000 + i );
+            assertEquals( i + 1, drain( set.frozenIterator() ).size() );
+        }
+        assertEquals( (long) set.capacity * Long.BYTES, memoryTracker.usedNativeMemory() );
+
+        // A copy that was modified away from is freed when its iterator is exhausted, not when the set is closed.
+        final LongIterator iter = set.frozenIterator();
+        set.add( 42 );
+        assertEquals( 2L * set.capacity * Long.BYTES, memoryTracker.usedNativeMemory() );
+        assertEquals( 1_000, drain( iter ).size() );
+        assertEquals( (long) set.capacity * Long.BYTES, memoryTracker.usedNativeMemory() );
+    }
+
     @Test
     void frozenIteratorFailsWhenParentSetIsClosed()
     {
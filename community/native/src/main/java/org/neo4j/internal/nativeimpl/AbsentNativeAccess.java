@@ -19,6 +19,8 @@
  */
 package org.neo4j.internal.nativeimpl;
 
+import java.io.IOException;
+
 public class AbsentNativeAccess implements NativeAccess
 {
     @Override
@@ -51,6 +53,36 @@ public class AbsentNativeAccess implements NativeAccess
         return NativeCallResult.SUCCESS;
     }
 
+    @Override
+    public long readVectored( int fd, long[] bufferAddresses, int[] bufferLengths, int length, long offset ) throws IOException
+    {
+        throw new IOException( "Native vectored reads are not available for current platform." );
+    }
+
+    @Override
+    public long writeVectored( int fd, long[] bufferAddresses, int[] bufferLengths, int length, long offset ) throws IOException
+    {
+        throw new IOException( "Native vectored writes are not available for current platform." );
+    }
+
+    @Override
+    public long mapMemory( long bytes, boolean hugeTlb ) throws IOException
+    {
+        throw new IOException( "Native memory mapping is not available for current platform." );
+    }
+
+    @Override
+    public void unmapMemory( long address, long bytes ) throws IOException
+    {
+        throw new IOException( "Native memory mapping is not available for current platform." );
+    }
+
+    @Override
+    public NativeCallResult tryAdviseHugePages( long address, long bytes )
+    {
+        return NativeCallResult.SUCCESS;
+    }
+
     @Override
     public ErrorTranslator errorTranslator()
     {
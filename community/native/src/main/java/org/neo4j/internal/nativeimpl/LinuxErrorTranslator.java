@@ -27,6 +27,8 @@ public class LinuxErrorTranslator implements ErrorTranslator
     {
     }
 
+    // Interrupted system call
+    static final int EINTR = 4;
     //  No space left on device
     static final int ENOSPC = 28;
     // Invalid argument
@@ -20,11 +20,15 @@
 package org.neo4j.internal.nativeimpl;
 
 import com.sun.jna.LastErrorException;
+import com.sun.jna.Memory;
 import com.sun.jna.Native;
 import com.sun.jna.Platform;
 import com.sun.jna.Pointer;
 
+import java.io.IOException;
+
 import static org.apache.commons.lang3.exception.ExceptionUtils.getStackTrace;
+import static org.neo4j.internal.nativeimpl.LinuxErrorTranslator.EINTR;
 import static org.neo4j.internal.nativeimpl.LinuxErrorTranslator.EINVAL;
 import static org.neo4j.internal.nativeimpl.LinuxErrorTranslator.ERANGE;
 
@@ -49,6 +53,46 @@ public class LinuxNativeAccess implements NativeAccess
      */
     private static final int POSIX_FADV_DONTNEED = 4;
 
+    /**
+     * Constants defined in mman.h for the protection of mapped memory. For more info check man page for mmap.
+     */
+    private static final int PROT_READ = 0x1;
+    private static final int PROT_WRITE = 0x2;
+
+    /**
+     * Constants defined in mman.h for the type of mapping: a private copy-on-write mapping that is not backed by any file,
+     * optionally allocated from the explicitly reserved huge pages. For more info check man page for mmap.
+     */
+    private static final int MAP_PRIVATE = 0x02;
+    private static final int MAP_ANONYMOUS = 0x20;
+    private static final int MAP_HUGETLB = 0x40000;
+
+    /**
+     * Value returned by mmap on failure, which is (void *) -1.
+     */
+    private static final long MAP_FAILED = -1;
+
+    /**
+     * Constant defined in mman.h and suggest that the specified memory should be backed by transparent huge pages.
+     * For more info check man page for madvise.
+     */
+    private static final int MADV_HUGEPAGE = 14;
+
+    /**
+     * Max number of iovec structures that can be passed to a single preadv or pwritev call. Defined as IOV_MAX in limits.h.
+     */
+    private static final int IOV_MAX = 1024;
+
+    /**
+     * Size of the iovec structure: a pointer to the buffer followed by its size_t length.
+     */
+    private static final int IOVEC_SIZE = Native.POINTER_SIZE + Native.SIZE_T_SIZE;
+
+    /**
+     * Per thread native memory for the iovec structures of vectored reads and writes, so we do not allocate on every call.
+     */
+    private static final ThreadLocal<Memory> IOVECS = ThreadLocal.withInitial( () -> new Memory( (long) IOV_MAX * IOVEC_SIZE ) );
+
     private static final boolean NATIVE_ACCESS_AVAILABLE;
     private static final Throwable INITIALIZATION_FAILURE;
 
@@ -97,6 +141,62 @@ public class LinuxNativeAccess implements NativeAccess
      */
     private static native int posix_fallocate( int fd, long offset, long len ) throws LastErrorException;
 
+    /**
+     * Reads into multiple buffers described by iovcnt iovec structures, starting at the given offset in the file referred to by fd.
+     * The file offset of fd is not changed.
+     * For more info check man page for preadv.
+     * @param fd file descriptor
+     * @param iov pointer to the array of iovec structures
+     * @param iovcnt number of iovec structures
+     * @param offset offset in the file
+     * @return number of bytes read, or -1 on error, in which case errno is set
+     */
+    private static native long preadv( int fd, long iov, int iovcnt, long offset ) throws LastErrorException;
+
+    /**
+     * Writes from multiple buffers described by iovcnt iovec structures, starting at the given offset in the file referred to by fd.
+     * The file offset of fd is not changed.
+     * For more info check man page for pwritev.
+     * @param fd file descriptor
+     * @param iov pointer to the array of iovec structures
+     * @param iovcnt number of iovec structures
+     * @param offset offset in the file
+     * @return number of bytes written, or -1 on error, in which case errno is set
+     */
+    private static native long pwritev( int fd, long iov, int iovcnt, long offset ) throws LastErrorException;
+
+    /**
+     * Creates a new mapping in the virtual address space of the calling process.
+     * For more info check man page for mmap.
+     * @param addr hint for the address of the mapping, or 0 to let the kernel choose
+     * @param length length of the mapping in bytes
+     * @param prot memory protection of the mapping
+     * @param flags type of the mapping
+     * @param fd file descriptor of the file to map, or -1 for anonymous mappings
+     * @param offset offset in the file
+     * @return address of the mapping, or MAP_FAILED on error, in which case errno is set
+     */
+    private static native long mmap( long addr, long length, int prot, int flags, int fd, long offset ) throws LastErrorException;
+
+    /**
+     * Deletes the mappings for the specified address range.
+     * For more info check man page for munmap.
+     * @param addr address of the range, must be page aligned
+     * @param length length of the range in bytes
+     * @return 0 on success, or -1 on error, in which case errno is set
+     */
+    private static native int munmap( long addr, long length ) throws LastErrorException;
+
+    /**
+     * Give advice about use of memory in the specified address range.
+     * For more info check man page for madvise.
+     * @param addr address of the range, must be page aligned
+     * @param length length of the range in bytes
+     * @param advice advise options
+     * @return 0 on success, or -1 on error, in which case errno is set
+     */
+    private static native int madvise( long addr, long length, int advice ) throws LastErrorException;
+
     /**
      * Return pointer to a string describing error number, possibly using the LC_MESSAGES part of the current locale to select the appropriate language.
      * @param errnum error number to describe
@@ -155,6 +255,121 @@ public class LinuxNativeAccess implements NativeAccess
         return wrapResult( () -> posix_fallocate( fd, 0, bytes ) );
     }
 
+    @Override
+    public long readVectored( int fd, long[] bufferAddresses, int[] bufferLengths, int length, long offset ) throws IOException
+    {
+        return transferVectored( fd, bufferAddresses, bufferLengths, length, offset, true );
+    }
+
+    @Override
+    public long writeVectored( int fd, long[] bufferAddresses, int[] bufferLengths, int length, long offset ) throws IOException
+    {
+        return transferVectored( fd, bufferAddresses, bufferLengths, length, offset, false );
+    }
+
+    private static long transferVectored( int fd, long[] bufferAddresses, int[] bufferLengths, int length, long offset, boolean read )
+            throws IOException
+    {
+        if ( fd <= 0 )
+        {
+            throw new IOException( "Incorrect file descriptor." );
+        }
+        Memory iovecs = IOVECS.get();
+        long iovecsAddress = Pointer.nativeValue( iovecs );
+        long transferred = 0;
+        int bufferIndex = 0;
+        // Number of bytes of the buffer at bufferIndex that has already been transferred, in case of partial transfers.
+        long bufferProgress = 0;
+        while ( bufferIndex < length )
+        {
+            int iovecCount = Math.min( length - bufferIndex, IOV_MAX );
+            for ( int i = 0; i < iovecCount; i++ )
+            {
+                long skip = i == 0 ? bufferProgress : 0;
+                long iovecOffset = (long) i * IOVEC_SIZE;
+                iovecs.setLong( iovecOffset, bufferAddresses[bufferIndex + i] + skip );
+                iovecs.setLong( iovecOffset + Native.POINTER_SIZE, bufferLengths[bufferIndex + i] - skip );
+            }
+            long result;
+            try
+            {
+                result = read ? preadv( fd, iovecsAddress, iovecCount, offset + transferred )
+                              : pwritev( fd, iovecsAddress, iovecCount, offset + transferred );
+            }
+            catch ( LastErrorException e )
+            {
+                if ( e.getErrorCode() == EINTR )
+                {
+                    continue;
+                }
+                throw new IOException( (read ? "Vectored read" : "Vectored write") + " failed at file offset " + (offset + transferred) +
+                        ". Call error: " + new NativeCallResult( e.getErrorCode(), tryExtractError( e.getErrorCode() ) ), e );
+            }
+            if ( result == 0 )
+            {
+                // End of file for reads. Nothing more to transfer.
+                break;
+            }
+            transferred += result;
+            long remaining = bufferProgress + result;
+            while ( bufferIndex < length && remaining >= bufferLengths[bufferIndex] )
+            {
+                remaining -= bufferLengths[bufferIndex];
+                bufferIndex++;
+            }
+            bufferProgress = remaining;
+        }
+        return transferred;
+    }
+
+    @Override
+    public long mapMemory( long bytes, boolean hugeTlb ) throws IOException
+    {
+        if ( bytes <= 0 )
+        {
+            throw new IOException( "Number of bytes to map should be positive. Requested: " + bytes );
+        }
+        int flags = MAP_PRIVATE | MAP_ANONYMOUS | (hugeTlb ? MAP_HUGETLB : 0);
+        try
+        {
+            long address = mmap( 0, bytes, PROT_READ | PROT_WRITE, flags, -1, 0 );
+            if ( address == MAP_FAILED || address == 0 )
+            {
+                throw new IOException( "Failed to map " + bytes + " bytes of memory." );
+            }
+            return address;
+        }
+        catch ( LastErrorException e )
+        {
+            throw new IOException( "Failed to map " + bytes + " bytes of " + (hugeTlb ? "huge page " : "") + "memory. Call error: " +
+                    new NativeCallResult( e.getErrorCode(), tryExtractError( e.getErrorCode() ) ), e );
+        }
+    }
+
+    @Override
+    public void unmapMemory( long address, long bytes ) throws IOException
+    {
+        try
+        {
+            munmap( address, bytes );
+        }
+        catch ( LastErrorException e )
+        {
+            throw new IOException( "Failed to unmap " + bytes + " bytes of memory at address " + address + ". Call error: " +
+                    new NativeCallResult( e.getErrorCode(), tryExtractError( e.getErrorCode() ) ), e );
+        }
+    }
+
+    @Override
+    public NativeCallResult tryAdviseHugePages( long address, long bytes )
+    {
+        if ( address == 0 || bytes <= 0 )
+        {
+            return new NativeCallResult( ERROR, "Incorrect memory range." );
+        }
+        return wrapResult( () -> madvise( address, bytes, MADV_HUGEPAGE ) );
+    }
+
     @Override
     public ErrorTranslator errorTranslator()
     {
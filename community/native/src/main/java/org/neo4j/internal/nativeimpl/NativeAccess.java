@@ -19,6 +19,8 @@
  */
 package org.neo4j.internal.nativeimpl;
 
+import java.io.IOException;
+
 public interface NativeAccess
 {
     /**
@@ -69,6 +71,65 @@ public interface NativeAccess
      */
     NativeCallResult tryPreallocateSpace( int fd, long bytes );
 
+    /**
+     * Read data from the file referenced by provided file descriptor into the given set of buffers, starting at the given file offset.
+     * All buffers are filled in as few system calls as possible, and the file position of the descriptor is not used nor changed,
+     * so concurrent vectored reads and writes on the same descriptor do not need to be serialised.
+     * Useful for reading several adjacent pages of a store file in one go.
+     * @param fd file descriptor
+     * @param bufferAddresses native addresses of the buffers to read into
+     * @param bufferLengths lengths of the buffers to read into
+     * @param length number of buffers to use from the given arrays
+     * @param offset offset in the file to start reading from
+     * @return number of bytes read, which is less than the total length of the buffers only if the end of the file was reached
+     * @throws IOException if the read failed
+     */
+    long readVectored( int fd, long[] bufferAddresses, int[] bufferLengths, int length, long offset ) throws IOException;
+
+    /**
+     * Write data from the given set of buffers into the file referenced by provided file descriptor, starting at the given file offset.
+     * All buffers are written in as few system calls as possible, and the file position of the descriptor is not used nor changed,
+     * so concurrent vectored reads and writes on the same descriptor do not need to be serialised.
+     * Useful for flushing several adjacent pages of a store file in one go.
+     * @param fd file descriptor
+     * @param bufferAddresses native addresses of the buffers to write from
+     * @param bufferLengths lengths of the buffers to write from
+     * @param length number of buffers to use from the given arrays
+     * @param offset offset in the file to start writing at
+     * @return number of bytes written
+     * @throws IOException if the write failed
+     */
+    long writeVectored( int fd, long[] bufferAddresses, int[] bufferLengths, int length, long offset ) throws IOException;
+
+    /**
+     * Map a private, anonymous, readable and writable region of memory of the given size.
+     * The returned memory is zero filled and aligned to the operating system page size, and must be released with {@link #unmapMemory(long, long)}.
+     * Useful for large, long lived allocations that should be backed by huge pages. For example: page cache memory.
+     * @param bytes number of bytes to map
+     * @param hugeTlb true if the memory must be backed by explicitly reserved huge pages, in which case the size must be a multiple of the huge page size
+     * @return address of the mapped memory
+     * @throws IOException if the memory could not be mapped
+     */
+    long mapMemory( long bytes, boolean hugeTlb ) throws IOException;
+
+    /**
+     * Unmap a region of memory previously mapped with {@link #mapMemory(long, boolean)}.
+     * Any page aligned part of a mapped region can be unmapped on its own.
+     * @param address address of the memory to unmap
+     * @param bytes number of bytes to unmap
+     * @throws IOException if the memory could not be unmapped
+     */
+    void unmapMemory( long address, long bytes ) throws IOException;
+
+    /**
+     * Try to advise that the given region of memory should be backed by transparent huge pages.
+     * Useful for large regions of memory that are accessed randomly, where huge pages reduce the pressure on the TLB. For example: page cache memory.
+     * @param address address of the memory region, must be aligned to the operating system page size
+     * @param bytes length of the memory region
+     * @return returns zero on success, or an error number on failure
+     */
+    NativeCallResult tryAdviseHugePages( long address, long bytes );
+
     /**
      * High level error translator to be able to map high level exceptions checks with low level error codes on particular system
      */
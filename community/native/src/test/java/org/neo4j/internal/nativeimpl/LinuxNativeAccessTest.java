@@ -19,6 +19,8 @@
  */
 package org.neo4j.internal.nativeimpl;
 
+import com.sun.jna.Memory;
+import com.sun.jna.Pointer;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
@@ -42,6 +44,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.internal.nativeimpl.NativeAccess.ERROR;
 
@@ -162,6 +165,59 @@ class LinuxNativeAccessTest
             assertNotEquals( 0, nativeAccess.tryEvictFromCache( descriptor ) );
         }
 
+        @Test
+        void writeAndReadVectoredForCorrectDescriptor() throws IOException, IllegalAccessException, ClassNotFoundException
+        {
+            Path file = tempFile.resolve( "vectoredFile" );
+            int[] lengths = {16, 32, 8};
+            Memory[] writeBuffers = new Memory[lengths.length];
+            long[] writeAddresses = new long[lengths.length];
+            for ( int i = 0; i < lengths.length; i++ )
+            {
+                writeBuffers[i] = new Memory( lengths[i] );
+                for ( int j = 0; j < lengths[i]; j++ )
+                {
+                    writeBuffers[i].setByte( j, (byte) (i * 64 + j) );
+                }
+                writeAddresses[i] = Pointer.nativeValue( writeBuffers[i] );
+            }
+
+            Memory readBuffer = new Memory( 64 );
+            long readAddress = Pointer.nativeValue( readBuffer );
+            try ( FileChannel channel = FileChannel.open( file, READ, WRITE, CREATE ) )
+            {
+                int descriptor = getDescriptor( channel );
+                assertEquals( 56, nativeAccess.writeVectored( descriptor, writeAddresses, lengths, lengths.length, 8 ) );
+                assertEquals( 64, channel.size() );
+                // Native positioned io must leave the channel position alone.
+                assertEquals( 0, channel.position() );
+
+                // Read back everything past the first byte, including past the end of the file.
+                long[] readAddresses = {readAddress, readAddress + 24};
+                int[] readLengths = {24, 40};
+                assertEquals( 56, nativeAccess.readVectored( descriptor, readAddresses, readLengths, readLengths.length, 8 ) );
+            }
+
+            int offset = 0;
+            for ( int i = 0; i < lengths.length; i++ )
+            {
+                for ( int j = 0; j < lengths[i]; j++ )
+                {
+                    assertEquals( (byte) (i * 64 + j), readBuffer.getByte( offset++ ) );
+                }
+            }
+        }
+
+        @Test
+        void failToReadOrWriteVectoredForIncorrectDescriptor()
+        {
+            Memory buffer = new Memory( 8 );
+            long[] addresses = {Pointer.nativeValue( buffer )};
+            int[] lengths = {8};
+            assertThrows( IOException.class, () -> nativeAccess.readVectored( 0, addresses, lengths, 1, 0 ) );
+            assertThrows( IOException.class, () -> nativeAccess.writeVectored( -1, addresses, lengths, 1, 0 ) );
+        }
+
         @Test
         void skipCacheOnLinuxForCorrectDescriptor() throws IOException, IllegalAccessException, ClassNotFoundException
         {
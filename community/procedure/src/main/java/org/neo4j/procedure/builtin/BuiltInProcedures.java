@@ -54,12 +54,15 @@ import org.neo4j.internal.schema.IndexDescriptor;
 import org.neo4j.internal.schema.IndexProviderDescriptor;
 import org.neo4j.internal.schema.SchemaDescriptor;
 import org.neo4j.kernel.api.KernelTransaction;
+import org.neo4j.kernel.api.exceptions.InvalidArgumentsException;
 import org.neo4j.kernel.api.exceptions.Status;
 import org.neo4j.kernel.api.procedure.SystemProcedure;
 import org.neo4j.kernel.impl.api.index.IndexingService;
 import org.neo4j.kernel.impl.coreapi.InternalTransaction;
+import org.neo4j.kernel.impl.locking.Locks;
 import org.neo4j.kernel.impl.query.QueryExecutionEngine;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.lock.ResourceType;
 import org.neo4j.procedure.Admin;
 import org.neo4j.procedure.Context;
 import org.neo4j.procedure.Description;
@@ -512,6 +515,56 @@ public class BuiltInProcedures
         return Stream.of( new BooleanResult( Boolean.TRUE ) );
     }
 
+    @Admin
+    @Description( "List how long transactions have waited for locks, per resource type and for the most contended resources of every type. " +
+                  "The waits of resources decay over time, so that they show recent contention." )
+    @Procedure( name = "db.lockContention", mode = READ )
+    public Stream<LockContentionResult> lockContention()
+    {
+        List<LockContentionResult> results = new ArrayList<>();
+        resolver.resolveDependency( Locks.class ).acceptContention( new Locks.ContentionVisitor()
+        {
+            @Override
+            public void visitResourceType( ResourceType resourceType, long waits, long waitTimeNanos, int currentWaiters )
+            {
+                results.add( new LockContentionResult( resourceType.name(), null, waits, waitTimeNanos, (long) currentWaiters ) );
+            }
+
+            @Override
+            public void visitResource( ResourceType resourceType, long resourceId, double waits, double waitTimeNanos )
+            {
+                results.add( new LockContentionResult( resourceType.name(), resourceId, waits, waitTimeNanos, null ) );
+            }
+        } );
+        return results.stream();
+    }
+
+    @Admin
+    @Description( "List the transactions that are waiting for locks right now, together with the transactions that hold those locks." )
+    @Procedure( name = "db.lockWaitForGraph", mode = READ )
+    public Stream<LockWaitResult> lockWaitForGraph()
+    {
+        String databaseName = graphDatabaseAPI.databaseName();
+        List<LockWaitResult> results = new ArrayList<>();
+        resolver.resolveDependency( Locks.class ).acceptWaitFor( ( waitingTransactionId, holdingTransactionId, resourceType, resourceId ) ->
+                results.add( new LockWaitResult( transactionId( databaseName, waitingTransactionId ), transactionId( databaseName, holdingTransactionId ),
+                        resourceType.name(), resourceId ) ) );
+        return results.stream();
+    }
+
+    private static String transactionId( String databaseName, long transactionId )
+    {
+        try
+        {
+            return new TransactionId( databaseName, transactionId ).toString();
+        }
+        catch ( InvalidArgumentsException e )
+        {
+            // Lock clients that are not used by a transaction have no transaction id
+            return null;
+        }
+    }
+
     private static List<String> propertyNames( TokenNameLookup tokens, IndexDescriptor index )
     {
         int[] propertyIds = index.schema().getPropertyIds();
@@ -583,6 +636,40 @@ public class BuiltInProcedures
         }
     }
 
+    public static class LockContentionResult
+    {
+        public final String resourceType;
+        public final Long resourceId;         // null for all resources of the type
+        public final double waits;
+        public final double waitTimeMillis;
+        public final Long currentWaiters;     // null for a single resource
+
+        private LockContentionResult( String resourceType, Long resourceId, double waits, double waitTimeNanos, Long currentWaiters )
+        {
+            this.resourceType = resourceType;
+            this.resourceId = resourceId;
+            this.waits = waits;
+            this.waitTimeMillis = waitTimeNanos / TimeUnit.MILLISECONDS.toNanos( 1 );
+            this.currentWaiters = currentWaiters;
+        }
+    }
+
+    public static class LockWaitResult
+    {
+        public final String waitingTransactionId;
+        public final String holdingTransactionId;
+        public final String resourceType;
+        public final long resourceId;
+
+        private LockWaitResult( String waitingTransactionId, String holdingTransactionId, String resourceType, long resourceId )
+        {
+            this.waitingTransactionId = waitingTransactionId;
+            this.holdingTransactionId = holdingTransactionId;
+            this.resourceType = resourceType;
+            this.resourceId = resourceId;
+        }
+    }
+
     public static class BooleanResult
     {
         public BooleanResult( Boolean success )
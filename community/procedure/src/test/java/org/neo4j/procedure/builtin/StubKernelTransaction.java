@@ -248,6 +248,18 @@ public class StubKernelTransaction implements KernelTransaction
         throw new UnsupportedOperationException( "not implemented" );
     }
 
+    @Override
+    public void declareReadOnly()
+    {
+        throw new UnsupportedOperationException( "not implemented" );
+    }
+
+    @Override
+    public boolean isDeclaredReadOnly()
+    {
+        throw new UnsupportedOperationException( "not implemented" );
+    }
+
     @Override
     public void bindToUserTransaction( InternalTransaction internalTransaction )
     {
@@ -82,6 +82,13 @@ class MappedNodeDataLookup implements RelationshipCreator.NodeDataLookup
         return group;
     }
 
+    @Override
+    public boolean canSwitchToExternalDegrees( long nodeId )
+    {
+        NodeContext nodeContext = contexts.get( nodeId );
+        return nodeContext == null || nodeContext.canSwitchToExternalDegrees();
+    }
+
     /**
      * Reads group from recordChanges, but also caches the group in the internal context.
      */
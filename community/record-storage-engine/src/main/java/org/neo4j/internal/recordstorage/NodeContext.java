@@ -45,6 +45,7 @@ class NodeContext
 
     private final MemoryTracker memoryTracker;
     private boolean hasExclusiveGroupLock;
+    private boolean hasSharedGroupLock;
     private boolean hasAnyEmptyGroup;
     private boolean hasEmptyFirstGroup;
     private RecordProxy<NodeRecord,Void> node;
@@ -109,6 +110,20 @@ class NodeContext
         return hasExclusiveGroupLock;
     }
 
+    void markSharedGroupLock()
+    {
+        hasSharedGroupLock = true;
+    }
+
+    /**
+     * Switching a chain over to external degrees changes the group record, which is only safe if no other transaction can change it concurrently.
+     * A node that was only shared group locked has its chains stabilized, but not its group records.
+     */
+    boolean canSwitchToExternalDegrees()
+    {
+        return hasExclusiveGroupLock || !hasSharedGroupLock;
+    }
+
     RecordProxy<NodeRecord,Void> node()
     {
         return node;
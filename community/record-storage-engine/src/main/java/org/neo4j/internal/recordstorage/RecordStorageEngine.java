@@ -493,6 +493,20 @@ public class RecordStorageEngine implements StorageEngine, Lifecycle
         }
     }
 
+    @Override
+    public boolean requiresExclusiveApplication( CommandStream commands )
+    {
+        try
+        {
+            return commands.accept( element -> element instanceof Command.SchemaRuleCommand || element instanceof StorageCommand.TokenCommand ||
+                    element instanceof Command.NeoStoreCommand || element instanceof Command.MetaDataCommand );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
     @Override
     public void apply( CommandsToApply batch, TransactionApplicationMode mode ) throws Exception
     {
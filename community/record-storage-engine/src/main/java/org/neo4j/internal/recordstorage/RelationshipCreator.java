@@ -58,6 +58,14 @@ public class RelationshipCreator
         RecordProxy<RelationshipRecord,Void> insertionPoint( long nodeId, int type, int direction );
 
         RecordProxy<RelationshipGroupRecord,Integer> group( long nodeId, int type, boolean create );
+
+        /**
+         * @return whether or not the group records of the node are locked well enough to switch a chain over to external degrees.
+         */
+        default boolean canSwitchToExternalDegrees( long nodeId )
+        {
+            return true;
+        }
     }
 
     public static class InsertFirst extends RelationshipGroupGetter.DirectGroupLookup implements NodeDataLookup
@@ -216,7 +224,7 @@ public class RelationshipCreator
         NodeRecord node = nodeChange.forReadingLinkage();
         DirectionWrapper dir = DirectionWrapper.wrapDirection( createdRelationship, node );
         connectDense( node, nodeDataLookup.group( nodeChange.getKey(), createdRelationship.getType(), true ), dir, createdRelationship, relRecords,
-                groupDegreesUpdater, insertionPoint );
+                groupDegreesUpdater, insertionPoint, nodeDataLookup.canSwitchToExternalDegrees( node.getId() ) );
     }
 
     private void convertNodeToDenseNode( RecordProxy<NodeRecord,Void> nodeChange, RelationshipRecord firstRel, RecordAccess<RelationshipRecord,Void> relRecords,
@@ -256,7 +264,7 @@ public class RelationshipCreator
      */
     private void connectDense( NodeRecord node, RecordProxy<RelationshipGroupRecord,Integer> groupProxy, DirectionWrapper direction,
             RelationshipRecord createdRelationship, RecordAccess<RelationshipRecord,Void> relRecords, RelationshipGroupDegreesStore.Updater groupDegreesUpdater,
-            RecordProxy<RelationshipRecord,Void> insertionPoint )
+            RecordProxy<RelationshipRecord,Void> insertionPoint, boolean canSwitchToExternalDegrees )
     {
         long nodeId = node.getId();
         RelationshipGroupRecord group = groupProxy.forReadingLinkage();
@@ -340,8 +348,9 @@ public class RelationshipCreator
             RecordProxy<RelationshipRecord,Void> firstRelProxy = relRecords.getOrLoad( firstRelId, null );
             long prevCount = firstRelProxy.forReadingLinkage().getPrevRel( nodeId );
             long count = prevCount + 1;
-            //If we can we switch to external degrees for better concurrency in future updates
-            if ( count > externalDegreesThreshold )
+            //If we can we switch to external degrees for better concurrency in future updates. Without the exclusive group lock the chain keeps
+            //its internal degrees a while longer and a later transaction, seeing the larger degree, will do the switch
+            if ( count > externalDegreesThreshold && canSwitchToExternalDegrees )
             {
                 group = groupProxy.forChangingData();
                 direction.setHasExternalDegrees( group );
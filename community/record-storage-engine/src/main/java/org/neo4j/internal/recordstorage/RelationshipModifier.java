@@ -63,6 +63,8 @@ public class RelationshipModifier
 
     private final RelationshipGroupGetter relGroupGetter;
     private final int denseNodeThreshold;
+    private final boolean relaxedLockingForDenseNodes;
+    private final long externalDegreesThreshold;
     private final CursorContext cursorContext;
     private final MemoryTracker memoryTracker;
     private final RelationshipCreator creator;
@@ -73,9 +75,10 @@ public class RelationshipModifier
     {
         this.relGroupGetter = relGroupGetter;
         this.denseNodeThreshold = denseNodeThreshold;
+        this.relaxedLockingForDenseNodes = relaxedLockingForDenseNodes;
         this.cursorContext = cursorContext;
         this.memoryTracker = memoryTracker;
-        long externalDegreesThreshold = relaxedLockingForDenseNodes ? DEFAULT_EXTERNAL_DEGREES_THRESHOLD_SWITCH : Long.MAX_VALUE;
+        this.externalDegreesThreshold = relaxedLockingForDenseNodes ? DEFAULT_EXTERNAL_DEGREES_THRESHOLD_SWITCH : Long.MAX_VALUE;
         this.creator = new RelationshipCreator( denseNodeThreshold, externalDegreesThreshold, cursorContext );
         this.deleter = new RelationshipDeleter( relGroupGetter, propertyChainDeleter, externalDegreesThreshold );
     }
@@ -147,6 +150,7 @@ public class RelationshipModifier
                 locks.acquireShared( lockTracer, RELATIONSHIP_GROUP, nodeId );
                 // Creations
                 NodeContext nodeContext = NodeContext.createNodeContext( nodeProxy, memoryTracker );
+                nodeContext.markSharedGroupLock();
                 contexts.put( nodeId, nodeContext );
                 if ( byNode.hasCreations() )
                 {
@@ -199,9 +203,13 @@ public class RelationshipModifier
                             //But if we are creating relationships to a chain that does not exist on the group
                             //or we might need to flip the external degrees flag
                             RelationshipGroupRecord group = nodeContext.denseContext( byType.type() ).group().forReadingLinkage();
-                            if ( byType.hasOut() && (!group.hasExternalDegreesOut() || isNull( group.getFirstOut() ) )
-                                    || byType.hasIn() && (!group.hasExternalDegreesIn() || isNull( group.getFirstIn() ) )
-                                    || byType.hasLoop() && (!group.hasExternalDegreesLoop() || isNull( group.getFirstLoop() ) ) )
+                            RecordAccess<RelationshipRecord,Void> relRecords = recordChanges.getRelRecords();
+                            if ( byType.hasOut() && needsExclusiveGroupLockForCreations( byType.out(), group.getFirstOut(), group.hasExternalDegreesOut(),
+                                            nodeId, relRecords )
+                                    || byType.hasIn() && needsExclusiveGroupLockForCreations( byType.in(), group.getFirstIn(), group.hasExternalDegreesIn(),
+                                            nodeId, relRecords )
+                                    || byType.hasLoop() && needsExclusiveGroupLockForCreations( byType.loop(), group.getFirstLoop(),
+                                            group.hasExternalDegreesLoop(), nodeId, relRecords ) )
                             {
                                 //Then we need the exclusive lock to change it
                                 locks.releaseShared( RELATIONSHIP_GROUP, nodeId );
@@ -301,6 +309,33 @@ public class RelationshipModifier
                 } );
     }
 
+    /**
+     * Creations into a chain that does not exist yet need the exclusive group lock, since the group gets a new first in chain.
+     * Creations into an existing chain with external degrees only need the relationships around the insertion point.
+     * Creations into an existing chain with its degree stored in the first in chain additionally need the first in chain, but not the exclusive
+     * group lock unless the chain is about to be switched over to external degrees. That way concurrent appends to the chains of a dense node
+     * are only serialized per chain and not per node. The degree is read optimistically here, if it grows beyond the threshold concurrently
+     * the chain keeps its internal degrees until a later transaction switches it.
+     */
+    private boolean needsExclusiveGroupLockForCreations( RelationshipBatch creations, long firstInChain, boolean hasExternalDegrees, long nodeId,
+            RecordAccess<RelationshipRecord,Void> relRecords )
+    {
+        if ( isNull( firstInChain ) )
+        {
+            return true;
+        }
+        if ( hasExternalDegrees )
+        {
+            return false;
+        }
+        if ( !relaxedLockingForDenseNodes )
+        {
+            return true;
+        }
+        RelationshipRecord first = relRecords.getOrLoad( firstInChain, null, ALWAYS ).forReadingLinkage();
+        return !first.inUse() || !first.isFirstInChain( nodeId ) || first.getPrevRel( nodeId ) + creations.size() > externalDegreesThreshold;
+    }
+
     private void acquireRelationshipLocksAndSomeOthers( RelationshipModifications modifications, RecordAccessSet recordChanges, ResourceLocker locks,
             LockTracer lockTracer, MutableLongObjectMap<NodeContext> contexts )
     {
@@ -272,13 +272,33 @@ class RelationshipModifierTest
         // given
         long node = createEmptyNode();
         createRelationships( generateRelationshipData( DENSE_THRESHOLD, node, type( 1 ), this::createEmptyNode, OUT ) );
-        createRelationships( generateRelationshipData( 1, node, type( 1 ), this::createEmptyNode, IN ) );
+        List<RelationshipData> inRelationships = generateRelationshipData( 1, node, type( 1 ), this::createEmptyNode, IN );
+        createRelationships( inRelationships );
 
         // when
         modify( singleCreate( relationship( nextRelationshipId(), 1, createEmptyNode(), node ) ) );
 
         // then
         locks.assertNoLock( NODE, EXCLUSIVE, node );
+        locks.assertNoLock( RELATIONSHIP_GROUP, EXCLUSIVE, node );
+        locks.assertHasLock( RELATIONSHIP, EXCLUSIVE, inRelationships.get( 0 ).id );
+    }
+
+    @Test
+    void denseChainReachingExternalDegreesThresholdCreate()
+    {
+        // given
+        long node = createEmptyNode();
+        int numRelationships = RelationshipModifier.DEFAULT_EXTERNAL_DEGREES_THRESHOLD_SWITCH;
+        createRelationships( generateRelationshipData( DENSE_THRESHOLD, node, type( 1 ), this::createEmptyNode, OUT ) );
+        createRelationships( generateRelationshipData( numRelationships, node, type( 1 ), this::createEmptyNode, IN ) );
+
+        // when
+        modify( singleCreate( relationship( nextRelationshipId(), 1, createEmptyNode(), node ) ) );
+
+        // then
+        assertThat( groupUpdater.degree( node, 1, INCOMING ) ).isEqualTo( numRelationships + 1 );
+        locks.assertNoLock( NODE, EXCLUSIVE, node );
         locks.assertHasLock( RELATIONSHIP_GROUP, EXCLUSIVE, node );
     }
 
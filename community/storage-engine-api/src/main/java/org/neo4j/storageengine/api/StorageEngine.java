@@ -129,6 +129,19 @@ public interface StorageEngine extends Lifecycle
      */
     void lockRecoveryCommands( CommandStream commands, LockService lockService, LockGroup lockGroup, TransactionApplicationMode mode );
 
+    /**
+     * Tells whether the given commands must be applied with no other transaction being applied concurrently, because they make changes
+     * that {@link #lockRecoveryCommands(CommandStream, LockService, LockGroup, TransactionApplicationMode)} takes no locks for,
+     * like changes to the schema or the tokens, that the commands of other transactions may depend on.
+     *
+     * @param commands the commands of a transaction that is about to be applied in parallel with others.
+     * @return {@code true} if the commands must be applied on their own, otherwise {@code false}.
+     */
+    default boolean requiresExclusiveApplication( CommandStream commands )
+    {
+        return true;
+    }
+
     /**
      * Apply a batch of groups of commands to this storage.
      *
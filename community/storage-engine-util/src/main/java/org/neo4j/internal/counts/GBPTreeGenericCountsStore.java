@@ -28,7 +28,7 @@ import java.io.PrintStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -346,7 +346,7 @@ public class GBPTreeGenericCountsStore implements CountsStorage
         try ( TreeWriter writer = new TreeWriter( tree.unsafeWriter( cursorContext ), userLogProvider ) )
         {
             // Sort the entries in the natural tree order to get more performance in the writer
-            changes.sortedChanges( layout ).forEach( entry -> writer.write( entry.getKey(), entry.getValue().get() ) );
+            changes.sortedChanges( layout ).forEach( entry -> writer.write( entry.getKey(), entry.getValue().sum() ) );
         }
     }
 
@@ -392,12 +392,13 @@ public class GBPTreeGenericCountsStore implements CountsStorage
     public void visitAllCounts( CountVisitor visitor, CursorContext cursorContext )
     {
         // First visit the changes that we haven't check-pointed yet
-        for ( Map.Entry<CountsKey,AtomicLong> changedEntry : changes.sortedChanges( layout ) )
+        for ( Map.Entry<CountsKey,LongAdder> changedEntry : changes.sortedChanges( layout ) )
         {
             // Our simplistic approach to the changes map makes it contain 0 counts at times, we don't remove entries from it
-            if ( changedEntry.getValue().get() != 0 )
+            long count = changedEntry.getValue().sum();
+            if ( count != 0 )
             {
-                visitor.visit( changedEntry.getKey(), changedEntry.getValue().get() );
+                visitor.visit( changedEntry.getKey(), count );
             }
         }
 
@@ -424,7 +425,7 @@ public class GBPTreeGenericCountsStore implements CountsStorage
      * (where changes are written to the tree) can only be done if the write-lock is acquired. For plain unmodified reads this is read from the tree
      * without a lock, which is fine and follows general transaction isolation guarantees.
      * @param key count value to read from the tree.
-     * @return AtomicLong with the read count, or initialized to 0 if the count didn't exist in the tree.
+     * @return the read count, or 0 if the count didn't exist in the tree.
      */
     private long readCountFromTree( CountsKey key, CursorContext cursorContext )
     {
@@ -19,11 +19,13 @@
  */
 package org.neo4j.internal.counts;
 
+import org.eclipse.collections.api.map.primitive.MutableObjectLongMap;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectLongHashMap;
+
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.Function;
 import java.util.function.ToLongFunction;
 
+import org.neo4j.counts.InvalidCountException;
 import org.neo4j.util.concurrent.OutOfOrderSequence;
 
 import static org.apache.commons.lang3.ArrayUtils.EMPTY_LONG_ARRAY;
@@ -31,31 +33,59 @@ import static org.apache.commons.lang3.ArrayUtils.EMPTY_LONG_ARRAY;
 /**
  * Used during recovery and normal operations mode where changes gets applied to a {@link ConcurrentHashMap} and counts that haven't been seen before
  * are looked up from stored counts and placed into the map too.
+ * <p>
+ * Deltas are summed up per key locally and applied to the shared {@link CountsChanges} on {@link #close()}, so that a transaction making
+ * many changes to the same key, e.g. creating many nodes with the same label, touches the shared counter only once.
  */
 public class MapWriter implements CountUpdater.CountWriter
 {
     private final CountsChanges changes;
     private final OutOfOrderSequence idSequence;
     private final long txId;
-    private final Function<CountsKey,AtomicLong> defaultToStoredCount;
+    private final ToLongFunction<CountsKey> defaultToStoredCount;
+    private final MutableObjectLongMap<CountsKey> deltas = new ObjectLongHashMap<>();
 
     MapWriter( ToLongFunction<CountsKey> storeLookup, CountsChanges changes, OutOfOrderSequence idSequence, long txId )
     {
         this.changes = changes;
         this.idSequence = idSequence;
         this.txId = txId;
-        defaultToStoredCount = k -> new AtomicLong( storeLookup.applyAsLong( k ) );
+        this.defaultToStoredCount = storeLookup;
     }
 
     @Override
     public void write( CountsKey key, long delta )
     {
-        changes.add( key, delta, defaultToStoredCount );
+        deltas.addToValue( key, delta );
     }
 
     @Override
     public void close()
     {
-        idSequence.offer( txId, EMPTY_LONG_ARRAY );
+        try
+        {
+            deltas.forEachKeyValue( this::applyDelta );
+        }
+        finally
+        {
+            idSequence.offer( txId, EMPTY_LONG_ARRAY );
+        }
+    }
+
+    private void applyDelta( CountsKey key, long delta )
+    {
+        if ( delta == 0 )
+        {
+            return;
+        }
+        try
+        {
+            changes.add( key, delta, defaultToStoredCount );
+        }
+        catch ( InvalidCountException e )
+        {
+            // The value stored for this key is invalid and the fact was logged when it was written, see CountUpdater#increment.
+            // Ignore updates to this key, but keep applying the others.
+        }
     }
 }
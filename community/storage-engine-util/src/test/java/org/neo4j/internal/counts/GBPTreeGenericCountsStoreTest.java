@@ -239,6 +239,34 @@ class GBPTreeGenericCountsStoreTest
         assertEquals( 5, countsStore.read( relationshipKey( LABEL_ID_1, RELATIONSHIP_TYPE_ID_2, LABEL_ID_2 ), NULL ) );
     }
 
+    @Test
+    void shouldSumUpMultipleChangesToSameKeyInOneUpdater() throws IOException
+    {
+        // given
+        long txId = BASE_TX_ID;
+        try ( CountUpdater updater = countsStore.updater( ++txId, NULL ) )
+        {
+            updater.increment( nodeKey( LABEL_ID_2 ), 4 );
+        }
+
+        // when
+        try ( CountUpdater updater = countsStore.updater( ++txId, NULL ) )
+        {
+            for ( int i = 0; i < 100; i++ )
+            {
+                updater.increment( nodeKey( LABEL_ID_1 ), 1 );
+                updater.increment( nodeKey( LABEL_ID_2 ), i % 2 == 0 ? 3 : -3 );
+            }
+        }
+
+        // then
+        assertEquals( 100, countsStore.read( nodeKey( LABEL_ID_1 ), NULL ) );
+        assertEquals( 4, countsStore.read( nodeKey( LABEL_ID_2 ), NULL ) );
+        countsStore.checkpoint( NULL );
+        assertEquals( 100, countsStore.read( nodeKey( LABEL_ID_1 ), NULL ) );
+        assertEquals( 4, countsStore.read( nodeKey( LABEL_ID_2 ), NULL ) );
+    }
+
     @Test
     void shouldCheckpointAndRecoverConsistentlyUnderStressfulLoad() throws Throwable
     {
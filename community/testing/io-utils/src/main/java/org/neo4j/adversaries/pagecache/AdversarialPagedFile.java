@@ -61,6 +61,13 @@ public class AdversarialPagedFile implements PagedFile
         return new AdversarialWritePageCursor( pageCursor, adversary );
     }
 
+    @Override
+    public int touch( long pageId, int count, CursorContext context ) throws IOException
+    {
+        adversary.injectFailure( IllegalStateException.class, IOException.class );
+        return delegate.touch( pageId, count, context );
+    }
+
     @Override
     public int pageSize()
     {
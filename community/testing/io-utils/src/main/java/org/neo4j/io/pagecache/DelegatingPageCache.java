@@ -93,4 +93,16 @@ public class DelegatingPageCache implements PageCache
         delegate.flushAndForce();
     }
 
+    @Override
+    public void flushAndForce( List<PagedFile> files ) throws IOException
+    {
+        delegate.flushAndForce( files );
+    }
+
+    @Override
+    public void flushAndForce( List<PagedFile> files, IOController limiter ) throws IOException
+    {
+        delegate.flushAndForce( files, limiter );
+    }
+
 }
@@ -40,6 +40,12 @@ public class DelegatingPagedFile implements PagedFile
         return delegate.io( pageId, pf_flags, context );
     }
 
+    @Override
+    public int touch( long pageId, int count, CursorContext context ) throws IOException
+    {
+        return delegate.touch( pageId, count, context );
+    }
+
     @Override
     public void flushAndForce() throws IOException
     {
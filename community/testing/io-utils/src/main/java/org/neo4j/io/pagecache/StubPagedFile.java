@@ -46,6 +46,12 @@ public class StubPagedFile implements PagedFile
         return cursor;
     }
 
+    @Override
+    public int touch( long pageId, int count, CursorContext context )
+    {
+        return 0;
+    }
+
     protected void prepareCursor( StubPageCursor cursor )
     {
     }
@@ -407,6 +407,23 @@ public final class UnsafeUtil
         memoryTracker.releaseNative( bytes );
     }
 
+    /**
+     * Register memory that was not allocated with {@link #allocateMemory}, for instance memory that was mapped, so it can be accessed
+     * when native access checking is enabled.
+     */
+    public static void registerAllocation( long pointer, long bytes )
+    {
+        addAllocatedPointer( pointer, bytes );
+    }
+
+    /**
+     * Unregister memory registered with {@link #registerAllocation}, before it is released.
+     */
+    public static void unregisterAllocation( long pointer )
+    {
+        checkFree( pointer );
+    }
+
     private static void addAllocatedPointer( long pointer, long sizeInBytes )
     {
         if ( CHECK_NATIVE_ACCESS )
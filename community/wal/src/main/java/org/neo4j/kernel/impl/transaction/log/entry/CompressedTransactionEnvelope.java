@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) "Neo4j"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.kernel.impl.transaction.log.entry;
+
+import com.github.luben.zstd.Zstd;
+
+import java.io.IOException;
+
+import org.neo4j.io.ByteUnit;
+import org.neo4j.io.fs.ByteArrayChecksumChannel;
+import org.neo4j.io.fs.ReadableChecksumChannel;
+import org.neo4j.io.fs.WritableChecksumChannel;
+import org.neo4j.util.FeatureToggles;
+
+import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes.COMPRESSED_TX;
+
+/**
+ * Envelope around the start, command and commit entries of a single transaction, compressed with zstd.
+ * <pre>
+ *   | version | COMPRESSED_TX | uncompressed length | compressed length | compressed entries | checksum |
+ * </pre>
+ * The compressed entries are byte for byte what would otherwise have been appended to the log, checksum of the commit entry included,
+ * which means that the checksum chain of transactions is the same regardless of whether they were compressed or not.
+ * The trailing checksum covers the envelope itself and is validated before anything is decompressed.
+ * <p>
+ * Transactions that are too small to be worth compressing, that don't compress well, or whose entries are larger than
+ * {@link #MAX_ENVELOPE_SIZE}, are written without an envelope. The lengths of an envelope are checked against that same size before
+ * anything is allocated for reading it, since they are only covered by the checksum that comes after the compressed entries.
+ * Instances keep their buffers between transactions and are not thread safe.
+ */
+public class CompressedTransactionEnvelope
+{
+    private static final int COMPRESSION_LEVEL = FeatureToggles.getInteger( CompressedTransactionEnvelope.class, "compressionLevel", 3 );
+    private static final int MIN_COMPRESSED_SIZE = FeatureToggles.getInteger( CompressedTransactionEnvelope.class, "minCompressedSize", 512 );
+    private static final int MAX_RETAINED_BUFFER_SIZE = FeatureToggles.getInteger( CompressedTransactionEnvelope.class, "maxRetainedBufferSize",
+            (int) ByteUnit.mebiBytes( 4 ) );
+    private static final int MAX_ENVELOPE_SIZE = FeatureToggles.getInteger( CompressedTransactionEnvelope.class, "maxEnvelopeSize",
+            (int) ByteUnit.mebiBytes( 256 ) );
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+    private static final int ENVELOPE_OVERHEAD = 2 * Byte.BYTES + 3 * Integer.BYTES;
+
+    private ByteArrayChecksumChannel content = new ByteArrayChecksumChannel( INITIAL_BUFFER_SIZE );
+    private byte[] compressed = new byte[0];
+
+    /**
+     * @return an empty channel to write the entries of one transaction into, before calling {@link #writeTo(WritableChecksumChannel)}.
+     */
+    public ByteArrayChecksumChannel beginTransaction()
+    {
+        if ( content.array().length > MAX_RETAINED_BUFFER_SIZE )
+        {
+            content = new ByteArrayChecksumChannel( INITIAL_BUFFER_SIZE );
+            compressed = new byte[0];
+        }
+        content.clear();
+        return content;
+    }
+
+    /**
+     * Write the entries written to the channel returned from {@link #beginTransaction()} to the given channel, in an envelope if it pays off.
+     *
+     * @param channel the channel to write the transaction to.
+     * @return {@code true} if the transaction was compressed, otherwise {@code false}.
+     * @throws IOException I/O error from channel.
+     */
+    public boolean writeTo( WritableChecksumChannel channel ) throws IOException
+    {
+        byte[] entries = content.array();
+        int length = content.size();
+        if ( length >= MIN_COMPRESSED_SIZE && length <= MAX_ENVELOPE_SIZE )
+        {
+            int bound = (int) Zstd.compressBound( length );
+            if ( compressed.length < bound )
+            {
+                compressed = new byte[bound];
+            }
+            long compressedLength = Zstd.compressByteArray( compressed, 0, bound, entries, 0, length, COMPRESSION_LEVEL );
+            if ( !Zstd.isError( compressedLength ) && compressedLength + ENVELOPE_OVERHEAD < length )
+            {
+                channel.beginChecksum();
+                // The first byte of the entries is the version of the start entry, which is the version of the whole transaction
+                channel.put( entries[0] ).put( COMPRESSED_TX )
+                        .putInt( length )
+                        .putInt( (int) compressedLength )
+                        .put( compressed, 0, (int) compressedLength );
+                channel.putChecksum();
+                return true;
+            }
+        }
+        channel.put( entries, 0, length );
+        return false;
+    }
+
+    /**
+     * Read an envelope, whose version and type code have already been read from the given channel, and decompress its entries.
+     *
+     * @param channel the channel to read the envelope from.
+     * @return a channel positioned at the first of the decompressed entries, valid until the next call to this method.
+     * @throws IOException I/O error from channel, or if the envelope is corrupt.
+     */
+    public ByteArrayChecksumChannel readFrom( ReadableChecksumChannel channel ) throws IOException
+    {
+        int length = channel.getInt();
+        int compressedLength = channel.getInt();
+        // Envelopes are only written when the entries shrink, so a compressed length that isn't smaller than the uncompressed one is corrupt
+        if ( length <= 0 || length > MAX_ENVELOPE_SIZE || compressedLength <= 0 || compressedLength >= length )
+        {
+            throw new IOException( "Invalid compressed transaction envelope, uncompressed length " + length + ", compressed length " + compressedLength );
+        }
+        if ( compressed.length < compressedLength )
+        {
+            compressed = new byte[compressedLength];
+        }
+        channel.get( compressed, compressedLength );
+        channel.endChecksumAndValidate();
+
+        if ( content.array().length > MAX_RETAINED_BUFFER_SIZE && length <= MAX_RETAINED_BUFFER_SIZE )
+        {
+            content = new ByteArrayChecksumChannel( INITIAL_BUFFER_SIZE );
+        }
+        byte[] entries = content.prepareForReading( length );
+        long decompressedLength = Zstd.decompressByteArray( entries, 0, length, compressed, 0, compressedLength );
+        if ( Zstd.isError( decompressedLength ) )
+        {
+            throw new IOException( "Unable to decompress transaction: " + Zstd.getErrorName( decompressedLength ) );
+        }
+        if ( decompressedLength != length )
+        {
+            throw new IOException( "Compressed transaction decompressed to " + decompressedLength + " bytes, expected " + length );
+        }
+        return content;
+    }
+}
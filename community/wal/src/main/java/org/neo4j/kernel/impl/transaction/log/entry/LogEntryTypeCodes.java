@@ -32,4 +32,6 @@ public class LogEntryTypeCodes
     public static final byte LEGACY_CHECK_POINT = (byte) 7;
     // Detached check point log entries lives in a separate file
     public static final byte DETACHED_CHECK_POINT = (byte) 8;
+    // Envelope around a compressed transaction, only present in log files of format version LOG_VERSION_4_4 or later
+    public static final byte COMPRESSED_TX = (byte) 9;
 }
@@ -60,6 +60,12 @@ public class LogVersions
      */
     public static final int LOG_HEADER_SIZE_4_0 = 64;
 
+    /**
+     * Same header layout as {@link #LOG_VERSION_4_0}, but the log file may contain compressed transaction envelopes,
+     * see {@link CompressedTransactionEnvelope}.
+     */
+    public static final byte LOG_VERSION_4_4 = 8;
+
     /**
      * Current and latest log format version
      */
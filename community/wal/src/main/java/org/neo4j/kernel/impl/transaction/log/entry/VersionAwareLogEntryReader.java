@@ -21,6 +21,7 @@ package org.neo4j.kernel.impl.transaction.log.entry;
 
 import java.io.IOException;
 
+import org.neo4j.io.fs.ByteArrayChecksumChannel;
 import org.neo4j.io.fs.PositionableChannel;
 import org.neo4j.io.fs.ReadPastEndException;
 import org.neo4j.kernel.KernelVersion;
@@ -32,10 +33,14 @@ import org.neo4j.util.FeatureToggles;
 
 import static org.neo4j.internal.helpers.Exceptions.throwIfInstanceOf;
 import static org.neo4j.internal.helpers.Exceptions.withMessage;
+import static org.neo4j.kernel.impl.transaction.log.entry.LogEntryTypeCodes.COMPRESSED_TX;
 import static org.neo4j.storageengine.api.TransactionIdStore.BASE_TX_CHECKSUM;
 
 /**
  * Reads {@link LogEntry log entries} off of a channel. Supported versions can be read intermixed.
+ * <p>
+ * Entries of a {@link CompressedTransactionEnvelope compressed transaction} are decompressed all at once when the envelope is read,
+ * and then returned one by one from the following calls. They all report the position of the envelope as their position.
  */
 public class VersionAwareLogEntryReader implements LogEntryReader
 {
@@ -45,6 +50,9 @@ public class VersionAwareLogEntryReader implements LogEntryReader
     private final boolean verifyChecksumChain;
     private LogEntryParserSet parserSet;
     private int lastTxChecksum = BASE_TX_CHECKSUM;
+    private CompressedTransactionEnvelope envelope;
+    private ByteArrayChecksumChannel compressedEntries;
+    private ReadableClosablePositionAwareChecksumChannel compressedEntriesSource;
 
     public VersionAwareLogEntryReader( CommandReaderFactory commandReaderFactory )
     {
@@ -61,6 +69,16 @@ public class VersionAwareLogEntryReader implements LogEntryReader
     @Override
     public LogEntry readLogEntry( ReadableClosablePositionAwareChecksumChannel channel ) throws IOException
     {
+        if ( compressedEntries != null )
+        {
+            if ( compressedEntriesSource == channel && compressedEntries.hasRemaining() )
+            {
+                return readCompressedEntry();
+            }
+            compressedEntries = null;
+            compressedEntriesSource = null;
+        }
+
         try
         {
             while ( true )
@@ -108,6 +126,11 @@ public class VersionAwareLogEntryReader implements LogEntryReader
                 }
 
                 byte typeCode = channel.get();
+                if ( typeCode == COMPRESSED_TX )
+                {
+                    readEnvelope( channel, versionCode );
+                    return readCompressedEntry();
+                }
 
                 LogEntryParser entryReader;
                 LogEntry entry;
@@ -138,6 +161,61 @@ public class VersionAwareLogEntryReader implements LogEntryReader
         }
     }
 
+    private void readEnvelope( ReadableClosablePositionAwareChecksumChannel channel, byte versionCode ) throws IOException
+    {
+        if ( envelope == null )
+        {
+            envelope = new CompressedTransactionEnvelope();
+        }
+        try
+        {
+            compressedEntries = envelope.readFrom( channel );
+            compressedEntriesSource = channel;
+        }
+        catch ( ReadPastEndException e )
+        {   // A partially written envelope at the end of the log is the same thing as a partially written transaction
+            throw e;
+        }
+        catch ( IOException e )
+        {
+            throw new IOException( e.getMessage() + ". At position " + positionMarker.newPosition() + " and entry version " + versionCode, e );
+        }
+    }
+
+    private LogEntry readCompressedEntry() throws IOException
+    {
+        LogEntry entry;
+        try
+        {
+            byte versionCode = compressedEntries.get();
+            if ( versionCode != parserSet.getIntroductionVersion().version() )
+            {
+                throw new IOException( "Compressed transaction contains entry with version " + versionCode + ", but the envelope has version " +
+                        parserSet.getIntroductionVersion().version() );
+            }
+            byte typeCode = compressedEntries.get();
+            entry = parserSet.select( typeCode ).parse( parserSet.getIntroductionVersion(), compressedEntries, positionMarker, commandReaderFactory );
+        }
+        catch ( ReadPastEndException e )
+        {   // Running out of decompressed data is corruption, not the end of the log
+            compressedEntries = null;
+            compressedEntriesSource = null;
+            throw new IOException( "Compressed transaction at position " + positionMarker.newPosition() + " ended prematurely", e );
+        }
+        catch ( Exception e )
+        {
+            compressedEntries = null;
+            compressedEntriesSource = null;
+            LogPosition position = positionMarker.newPosition();
+            withMessage( e, e.getMessage() + ". In compressed transaction at position " + position );
+            throwIfInstanceOf( e, UnsupportedLogVersionException.class );
+            throw new IOException( e );
+        }
+
+        verifyChecksumChain( entry );
+        return entry;
+    }
+
     private void verifyChecksumChain( LogEntry e )
     {
         if ( VERIFY_CHECKSUM_CHAIN && verifyChecksumChain )